@@ -0,0 +1,246 @@
+package org.highj.benchmark;
+
+import org.highj.data.Dequeue;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.pcollections.AmortizedPQueue;
+import org.pcollections.PQueue;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link Dequeue} compared to {@link ArrayDeque}, Vavr's {@link io.vavr.collection.Queue}
+ * and PCollections' {@link AmortizedPQueue}.
+ * <p>
+ * Insert pushes all elements to the back, delete pops all elements from the front,
+ * lookup peeks at both ends after every push, and union appends the elements of a second queue.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DequeueBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class HighJ extends SizedState {
+        Dequeue<Integer> dequeue;
+        Dequeue<Integer> other;
+
+        @Setup
+        public void setup() {
+            generateKeys();
+            dequeue = fill(keys);
+            other = fill(otherKeys);
+        }
+
+        static Dequeue<Integer> fill(Integer[] keys) {
+            Dequeue<Integer> result = Dequeue.empty();
+            for (Integer key : keys) {
+                result = result.pushBack(key);
+            }
+            return result;
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Jdk extends SizedState {
+        ArrayDeque<Integer> dequeue;
+        ArrayDeque<Integer> other;
+
+        @Setup
+        public void setup() {
+            generateKeys();
+            dequeue = new ArrayDeque<>(Arrays.asList(keys));
+            other = new ArrayDeque<>(Arrays.asList(otherKeys));
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Vavr extends SizedState {
+        io.vavr.collection.Queue<Integer> dequeue;
+        io.vavr.collection.Queue<Integer> other;
+
+        @Setup
+        public void setup() {
+            generateKeys();
+            dequeue = fill(keys);
+            other = fill(otherKeys);
+        }
+
+        static io.vavr.collection.Queue<Integer> fill(Integer[] keys) {
+            io.vavr.collection.Queue<Integer> result = io.vavr.collection.Queue.empty();
+            for (Integer key : keys) {
+                result = result.enqueue(key);
+            }
+            return result;
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class PCollections extends SizedState {
+        PQueue<Integer> dequeue;
+        PQueue<Integer> other;
+
+        @Setup
+        public void setup() {
+            generateKeys();
+            dequeue = fill(keys);
+            other = fill(otherKeys);
+        }
+
+        static PQueue<Integer> fill(Integer[] keys) {
+            PQueue<Integer> result = AmortizedPQueue.empty();
+            for (Integer key : keys) {
+                result = result.plus(key);
+            }
+            return result;
+        }
+    }
+
+    @Benchmark
+    public Dequeue<Integer> insertHighJ(HighJ state) {
+        return HighJ.fill(state.keys);
+    }
+
+    @Benchmark
+    public ArrayDeque<Integer> insertJdk(Jdk state) {
+        ArrayDeque<Integer> result = new ArrayDeque<>();
+        for (Integer key : state.keys) {
+            result.addLast(key);
+        }
+        return result;
+    }
+
+    @Benchmark
+    public io.vavr.collection.Queue<Integer> insertVavr(Vavr state) {
+        return Vavr.fill(state.keys);
+    }
+
+    @Benchmark
+    public PQueue<Integer> insertPCollections(PCollections state) {
+        return PCollections.fill(state.keys);
+    }
+
+    @Benchmark
+    public void lookupHighJ(HighJ state, Blackhole bh) {
+        Dequeue<Integer> result = Dequeue.empty();
+        for (Integer key : state.keys) {
+            result = result.pushBack(key);
+            bh.consume(result.getFirst());
+            bh.consume(result.getLast());
+        }
+    }
+
+    @Benchmark
+    public void lookupJdk(Jdk state, Blackhole bh) {
+        ArrayDeque<Integer> result = new ArrayDeque<>();
+        for (Integer key : state.keys) {
+            result.addLast(key);
+            bh.consume(result.peekFirst());
+            bh.consume(result.peekLast());
+        }
+    }
+
+    @Benchmark
+    public void lookupVavr(Vavr state, Blackhole bh) {
+        io.vavr.collection.Queue<Integer> result = io.vavr.collection.Queue.empty();
+        for (Integer key : state.keys) {
+            result = result.enqueue(key);
+            bh.consume(result.head());
+            bh.consume(result.last());
+        }
+    }
+
+    @Benchmark
+    public Dequeue<Integer> deleteHighJ(HighJ state) {
+        Dequeue<Integer> result = state.dequeue;
+        while (!result.isEmpty()) {
+            result = result.popFront()._2();
+        }
+        return result;
+    }
+
+    @Benchmark
+    public ArrayDeque<Integer> deleteJdk(Jdk state) {
+        ArrayDeque<Integer> result = new ArrayDeque<>(state.dequeue);
+        while (!result.isEmpty()) {
+            result.pollFirst();
+        }
+        return result;
+    }
+
+    @Benchmark
+    public io.vavr.collection.Queue<Integer> deleteVavr(Vavr state) {
+        io.vavr.collection.Queue<Integer> result = state.dequeue;
+        while (!result.isEmpty()) {
+            result = result.tail();
+        }
+        return result;
+    }
+
+    @Benchmark
+    public PQueue<Integer> deletePCollections(PCollections state) {
+        PQueue<Integer> result = state.dequeue;
+        while (!result.isEmpty()) {
+            result = result.minus();
+        }
+        return result;
+    }
+
+    @Benchmark
+    public void iterateHighJ(HighJ state, Blackhole bh) {
+        for (Integer key : state.dequeue) {
+            bh.consume(key);
+        }
+    }
+
+    @Benchmark
+    public void iterateJdk(Jdk state, Blackhole bh) {
+        for (Integer key : state.dequeue) {
+            bh.consume(key);
+        }
+    }
+
+    @Benchmark
+    public void iterateVavr(Vavr state, Blackhole bh) {
+        for (Integer key : state.dequeue) {
+            bh.consume(key);
+        }
+    }
+
+    @Benchmark
+    public void iteratePCollections(PCollections state, Blackhole bh) {
+        for (Integer key : state.dequeue) {
+            bh.consume(key);
+        }
+    }
+
+    @Benchmark
+    public Dequeue<Integer> unionHighJ(HighJ state) {
+        Dequeue<Integer> result = state.dequeue;
+        for (Integer key : state.other) {
+            result = result.pushBack(key);
+        }
+        return result;
+    }
+
+    @Benchmark
+    public ArrayDeque<Integer> unionJdk(Jdk state) {
+        ArrayDeque<Integer> result = new ArrayDeque<>(state.dequeue);
+        result.addAll(state.other);
+        return result;
+    }
+
+    @Benchmark
+    public io.vavr.collection.Queue<Integer> unionVavr(Vavr state) {
+        return state.dequeue.appendAll(state.other);
+    }
+
+    @Benchmark
+    public PQueue<Integer> unionPCollections(PCollections state) {
+        return state.dequeue.plusAll(state.other);
+    }
+}
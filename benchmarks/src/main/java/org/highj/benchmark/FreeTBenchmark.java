@@ -0,0 +1,45 @@
+package org.highj.benchmark;
+
+import org.highj.data.transformer.FreeT;
+import org.highj.data.tuple.T1;
+import org.highj.function.NF;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.highj.Hkt.asT1;
+
+/**
+ * Building and running chains of {@link FreeT} binds over the identity monad, nested to the left
+ * (<code>((m &gt;&gt;= f) &gt;&gt;= f) &gt;&gt;= f</code>) or to the right (<code>m &gt;&gt;= (\x -&gt; f x &gt;&gt;= ...)</code>).
+ * Both should scale linearly with the depth.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FreeTBenchmark {
+
+    @Param({"100", "10000", "1000000"})
+    public int depth;
+
+    @Benchmark
+    public int leftNested() {
+        FreeT<T1.µ, T1.µ, Integer> free = FreeT.liftM(T1.of(0));
+        for (int i = 0; i < depth; i++) {
+            free = FreeT.bind(free, x -> FreeT.liftM(T1.of(x + 1)));
+        }
+        return asT1(free.run(T1.monadRec, NF.identity()))._1();
+    }
+
+    @Benchmark
+    public int rightNested() {
+        return asT1(countUp(0).run(T1.monadRec, NF.identity()))._1();
+    }
+
+    private FreeT<T1.µ, T1.µ, Integer> countUp(int n) {
+        return n == depth ? FreeT.done(n) : FreeT.bind(FreeT.liftM(T1.of(n + 1)), this::countUp);
+    }
+}
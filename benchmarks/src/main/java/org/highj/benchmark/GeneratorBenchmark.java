@@ -0,0 +1,55 @@
+package org.highj.benchmark;
+
+import org.highj.data.coroutine.Generator;
+import org.highj.data.coroutine.ProducerT;
+import org.highj.data.tuple.T0;
+import org.highj.data.tuple.T1;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Iterating a generator yielding the numbers 0 until size, written as the same program for
+ * {@link Generator} and for {@link ProducerT} over the identity monad (which runs on {@link org.highj.data.transformer.FreeT}).
+ * Use <code>-prof gc</code> to compare the allocation per element.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class GeneratorBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    public int size;
+
+    @Benchmark
+    public long generator() {
+        return sum(range(0).iterator());
+    }
+
+    @Benchmark
+    public long producer() {
+        return sum(ProducerT.toIterator(producerRange(0)));
+    }
+
+    private static long sum(Iterator<Integer> iterator) {
+        long sum = 0;
+        while (iterator.hasNext()) {
+            sum += iterator.next();
+        }
+        return sum;
+    }
+
+    private Generator<Integer, T0> range(int from) {
+        return from == size ? Generator.done(T0.of())
+                : Generator.bind(Generator.yield(from), unit -> range(from + 1));
+    }
+
+    private ProducerT<Integer, T1.µ, T0> producerRange(int from) {
+        return from == size ? ProducerT.done(T0.of())
+                : ProducerT.bind(ProducerT.yield(from), unit -> producerRange(from + 1));
+    }
+}
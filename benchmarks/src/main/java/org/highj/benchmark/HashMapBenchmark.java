@@ -0,0 +1,249 @@
+package org.highj.benchmark;
+
+import org.highj.data.HashMap;
+import org.highj.data.tuple.T2;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.pcollections.HashTreePMap;
+import org.pcollections.PMap;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link HashMap} compared to {@link java.util.HashMap}, Vavr's and PCollections' hash maps.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HashMapBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class HighJ extends SizedState {
+        HashMap<Integer, Integer> map;
+        HashMap<Integer, Integer> other;
+
+        @Setup
+        public void setup() {
+            generateKeys();
+            map = fill(keys);
+            other = fill(otherKeys);
+        }
+
+        static HashMap<Integer, Integer> fill(Integer[] keys) {
+            HashMap<Integer, Integer> result = HashMap.empty();
+            for (Integer key : keys) {
+                result = result.insert(key, key);
+            }
+            return result;
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Jdk extends SizedState {
+        java.util.HashMap<Integer, Integer> map;
+        java.util.HashMap<Integer, Integer> other;
+
+        @Setup
+        public void setup() {
+            generateKeys();
+            map = fill(keys);
+            other = fill(otherKeys);
+        }
+
+        static java.util.HashMap<Integer, Integer> fill(Integer[] keys) {
+            java.util.HashMap<Integer, Integer> result = new java.util.HashMap<>();
+            for (Integer key : keys) {
+                result.put(key, key);
+            }
+            return result;
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Vavr extends SizedState {
+        io.vavr.collection.HashMap<Integer, Integer> map;
+        io.vavr.collection.HashMap<Integer, Integer> other;
+
+        @Setup
+        public void setup() {
+            generateKeys();
+            map = fill(keys);
+            other = fill(otherKeys);
+        }
+
+        static io.vavr.collection.HashMap<Integer, Integer> fill(Integer[] keys) {
+            io.vavr.collection.HashMap<Integer, Integer> result = io.vavr.collection.HashMap.empty();
+            for (Integer key : keys) {
+                result = result.put(key, key);
+            }
+            return result;
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class PCollections extends SizedState {
+        PMap<Integer, Integer> map;
+        PMap<Integer, Integer> other;
+
+        @Setup
+        public void setup() {
+            generateKeys();
+            map = fill(keys);
+            other = fill(otherKeys);
+        }
+
+        static PMap<Integer, Integer> fill(Integer[] keys) {
+            PMap<Integer, Integer> result = HashTreePMap.empty();
+            for (Integer key : keys) {
+                result = result.plus(key, key);
+            }
+            return result;
+        }
+    }
+
+    @Benchmark
+    public HashMap<Integer, Integer> insertHighJ(HighJ state) {
+        return HighJ.fill(state.keys);
+    }
+
+    @Benchmark
+    public HashMap<Integer, Integer> insertTransientHighJ(HighJ state) {
+        HashMap.Transient<Integer, Integer> builder = HashMap.<Integer, Integer>empty().toTransient();
+        for (Integer key : state.keys) {
+            builder.insert(key, key);
+        }
+        return builder.persistent();
+    }
+
+    @Benchmark
+    public java.util.HashMap<Integer, Integer> insertJdk(Jdk state) {
+        return Jdk.fill(state.keys);
+    }
+
+    @Benchmark
+    public io.vavr.collection.HashMap<Integer, Integer> insertVavr(Vavr state) {
+        return Vavr.fill(state.keys);
+    }
+
+    @Benchmark
+    public PMap<Integer, Integer> insertPCollections(PCollections state) {
+        return PCollections.fill(state.keys);
+    }
+
+    @Benchmark
+    public void lookupHighJ(HighJ state, Blackhole bh) {
+        for (Integer key : state.keys) {
+            bh.consume(state.map.lookup(key));
+        }
+    }
+
+    @Benchmark
+    public void lookupJdk(Jdk state, Blackhole bh) {
+        for (Integer key : state.keys) {
+            bh.consume(state.map.get(key));
+        }
+    }
+
+    @Benchmark
+    public void lookupVavr(Vavr state, Blackhole bh) {
+        for (Integer key : state.keys) {
+            bh.consume(state.map.get(key));
+        }
+    }
+
+    @Benchmark
+    public void lookupPCollections(PCollections state, Blackhole bh) {
+        for (Integer key : state.keys) {
+            bh.consume(state.map.get(key));
+        }
+    }
+
+    @Benchmark
+    public HashMap<Integer, Integer> deleteHighJ(HighJ state) {
+        HashMap<Integer, Integer> result = state.map;
+        for (Integer key : state.keys) {
+            result = result.delete(key);
+        }
+        return result;
+    }
+
+    @Benchmark
+    public java.util.HashMap<Integer, Integer> deleteJdk(Jdk state) {
+        java.util.HashMap<Integer, Integer> result = new java.util.HashMap<>(state.map);
+        for (Integer key : state.keys) {
+            result.remove(key);
+        }
+        return result;
+    }
+
+    @Benchmark
+    public io.vavr.collection.HashMap<Integer, Integer> deleteVavr(Vavr state) {
+        io.vavr.collection.HashMap<Integer, Integer> result = state.map;
+        for (Integer key : state.keys) {
+            result = result.remove(key);
+        }
+        return result;
+    }
+
+    @Benchmark
+    public PMap<Integer, Integer> deletePCollections(PCollections state) {
+        PMap<Integer, Integer> result = state.map;
+        for (Integer key : state.keys) {
+            result = result.minus(key);
+        }
+        return result;
+    }
+
+    @Benchmark
+    public void iterateHighJ(HighJ state, Blackhole bh) {
+        for (T2<Integer, Integer> entry : state.map) {
+            bh.consume(entry);
+        }
+    }
+
+    @Benchmark
+    public void iterateJdk(Jdk state, Blackhole bh) {
+        for (Map.Entry<Integer, Integer> entry : state.map.entrySet()) {
+            bh.consume(entry);
+        }
+    }
+
+    @Benchmark
+    public void iterateVavr(Vavr state, Blackhole bh) {
+        for (io.vavr.Tuple2<Integer, Integer> entry : state.map) {
+            bh.consume(entry);
+        }
+    }
+
+    @Benchmark
+    public void iteratePCollections(PCollections state, Blackhole bh) {
+        for (Map.Entry<Integer, Integer> entry : state.map.entrySet()) {
+            bh.consume(entry);
+        }
+    }
+
+    @Benchmark
+    public HashMap<Integer, Integer> unionHighJ(HighJ state) {
+        return state.map.unionWith(state.other, (x, y) -> y);
+    }
+
+    @Benchmark
+    public java.util.HashMap<Integer, Integer> unionJdk(Jdk state) {
+        java.util.HashMap<Integer, Integer> result = new java.util.HashMap<>(state.map);
+        result.putAll(state.other);
+        return result;
+    }
+
+    @Benchmark
+    public io.vavr.collection.HashMap<Integer, Integer> unionVavr(Vavr state) {
+        return state.map.merge(state.other);
+    }
+
+    @Benchmark
+    public PMap<Integer, Integer> unionPCollections(PCollections state) {
+        return state.map.plusAll(state.other);
+    }
+}
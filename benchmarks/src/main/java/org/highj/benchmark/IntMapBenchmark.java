@@ -0,0 +1,218 @@
+package org.highj.benchmark;
+
+import org.highj.data.IntMap;
+import org.highj.data.tuple.T2;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.pcollections.IntTreePMap;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link IntMap} compared to {@link java.util.HashMap} and PCollections' {@link IntTreePMap}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IntMapBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class HighJ extends SizedState {
+        IntMap<Integer> map;
+        IntMap<Integer> other;
+
+        @Setup
+        public void setup() {
+            generateKeys();
+            map = fill(keys);
+            other = fill(otherKeys);
+        }
+
+        static IntMap<Integer> fill(Integer[] keys) {
+            IntMap<Integer> result = IntMap.empty();
+            for (Integer key : keys) {
+                result = result.insert(key, key);
+            }
+            return result;
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Jdk extends SizedState {
+        java.util.HashMap<Integer, Integer> map;
+        java.util.HashMap<Integer, Integer> other;
+
+        @Setup
+        public void setup() {
+            generateKeys();
+            map = fill(keys);
+            other = fill(otherKeys);
+        }
+
+        static java.util.HashMap<Integer, Integer> fill(Integer[] keys) {
+            java.util.HashMap<Integer, Integer> result = new java.util.HashMap<>();
+            for (Integer key : keys) {
+                result.put(key, key);
+            }
+            return result;
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class PCollections extends SizedState {
+        IntTreePMap<Integer> map;
+        IntTreePMap<Integer> other;
+
+        @Setup
+        public void setup() {
+            generateKeys();
+            map = fill(keys);
+            other = fill(otherKeys);
+        }
+
+        static IntTreePMap<Integer> fill(Integer[] keys) {
+            IntTreePMap<Integer> result = IntTreePMap.empty();
+            for (Integer key : keys) {
+                result = result.plus(key, key);
+            }
+            return result;
+        }
+    }
+
+    @Benchmark
+    public IntMap<Integer> insertHighJ(HighJ state) {
+        return HighJ.fill(state.keys);
+    }
+
+    @Benchmark
+    public IntMap<Integer> insertTransientHighJ(HighJ state) {
+        IntMap.Transient<Integer> builder = IntMap.<Integer>empty().toTransient();
+        for (Integer key : state.keys) {
+            builder.insert(key, key);
+        }
+        return builder.persistent();
+    }
+
+    @Benchmark
+    public java.util.HashMap<Integer, Integer> insertJdk(Jdk state) {
+        return Jdk.fill(state.keys);
+    }
+
+    @Benchmark
+    public IntTreePMap<Integer> insertPCollections(PCollections state) {
+        return PCollections.fill(state.keys);
+    }
+
+    @Benchmark
+    public void lookupHighJ(HighJ state, Blackhole bh) {
+        for (Integer key : state.keys) {
+            bh.consume(state.map.lookup(key));
+        }
+    }
+
+    @Benchmark
+    public void getOrDefaultHighJ(HighJ state, Blackhole bh) {
+        for (Integer key : state.keys) {
+            bh.consume(state.map.getOrDefault(key, null));
+        }
+    }
+
+    @Benchmark
+    public void lookupJdk(Jdk state, Blackhole bh) {
+        for (Integer key : state.keys) {
+            bh.consume(state.map.get(key));
+        }
+    }
+
+    @Benchmark
+    public void lookupPCollections(PCollections state, Blackhole bh) {
+        for (Integer key : state.keys) {
+            bh.consume(state.map.get(key));
+        }
+    }
+
+    @Benchmark
+    public IntMap<Integer> deleteHighJ(HighJ state) {
+        IntMap<Integer> result = state.map;
+        for (Integer key : state.keys) {
+            result = result.delete(key);
+        }
+        return result;
+    }
+
+    @Benchmark
+    public java.util.HashMap<Integer, Integer> deleteJdk(Jdk state) {
+        java.util.HashMap<Integer, Integer> result = new java.util.HashMap<>(state.map);
+        for (Integer key : state.keys) {
+            result.remove(key);
+        }
+        return result;
+    }
+
+    @Benchmark
+    public IntTreePMap<Integer> deletePCollections(PCollections state) {
+        IntTreePMap<Integer> result = state.map;
+        for (Integer key : state.keys) {
+            result = result.minus(key);
+        }
+        return result;
+    }
+
+    @Benchmark
+    public void iterateHighJ(HighJ state, Blackhole bh) {
+        for (T2<Integer, Integer> entry : state.map) {
+            bh.consume(entry);
+        }
+    }
+
+    @Benchmark
+    public void forEachEntryHighJ(HighJ state, Blackhole bh) {
+        state.map.forEachEntry((key, value) -> {
+            bh.consume(key);
+            bh.consume(value);
+        });
+    }
+
+    @Benchmark
+    public void iterateJdk(Jdk state, Blackhole bh) {
+        for (Map.Entry<Integer, Integer> entry : state.map.entrySet()) {
+            bh.consume(entry);
+        }
+    }
+
+    @Benchmark
+    public void iteratePCollections(PCollections state, Blackhole bh) {
+        for (Map.Entry<Integer, Integer> entry : state.map.entrySet()) {
+            bh.consume(entry);
+        }
+    }
+
+    @Benchmark
+    public IntMap<Integer> unionHighJ(HighJ state) {
+        IntMap<Integer> result = state.map;
+        for (T2<Integer, Integer> entry : state.other) {
+            result = result.insert(entry._1(), entry._2());
+        }
+        return result;
+    }
+
+    @Benchmark
+    public IntMap<Integer> unionWithHighJ(HighJ state) {
+        return state.map.union(state.other);
+    }
+
+    @Benchmark
+    public java.util.HashMap<Integer, Integer> unionJdk(Jdk state) {
+        java.util.HashMap<Integer, Integer> result = new java.util.HashMap<>(state.map);
+        result.putAll(state.other);
+        return result;
+    }
+
+    @Benchmark
+    public IntTreePMap<Integer> unionPCollections(PCollections state) {
+        return state.map.plusAll(state.other);
+    }
+}
@@ -0,0 +1,52 @@
+package org.highj.benchmark;
+
+import java.util.Random;
+
+/**
+ * Deterministic key material shared by all benchmarks.
+ * <p>
+ * Keys are boxed up front, so the benchmarks measure the collections and not the boxing.
+ */
+public final class Keys {
+
+    private Keys() {
+    }
+
+    /**
+     * The integers from <code>from</code> (inclusive) to <code>from + size</code> (exclusive) in a shuffled order.
+     *
+     * @param from the smallest key
+     * @param size the number of keys
+     * @param seed the seed of the shuffle
+     * @return the keys
+     */
+    public static Integer[] shuffled(int from, int size, long seed) {
+        Integer[] result = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            result[i] = from + i;
+        }
+        Random random = new Random(seed);
+        for (int i = size - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            Integer swap = result[i];
+            result[i] = result[j];
+            result[j] = swap;
+        }
+        return result;
+    }
+
+    /**
+     * The integers from <code>from</code> (inclusive) to <code>from + size</code> (exclusive) in ascending order.
+     *
+     * @param from the smallest key
+     * @param size the number of keys
+     * @return the keys
+     */
+    public static Integer[] sequential(int from, int size) {
+        Integer[] result = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            result[i] = from + i;
+        }
+        return result;
+    }
+}
@@ -0,0 +1,225 @@
+package org.highj.benchmark;
+
+import org.highj.data.List;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.pcollections.ConsPStack;
+import org.pcollections.PStack;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link List} compared to {@link ArrayList}, Vavr's {@link io.vavr.collection.List} and PCollections' {@link ConsPStack}.
+ * <p>
+ * As indexed access and removal are linear for cons lists, lookup and delete only access the middle element.
+ * Union means appending two lists and traversing the result, as {@link List#append} is lazy.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ListBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class HighJ extends SizedState {
+        List<Integer> list;
+        List<Integer> other;
+
+        @Setup
+        public void setup() {
+            generateKeys();
+            list = fill(keys);
+            other = fill(otherKeys);
+        }
+
+        static List<Integer> fill(Integer[] keys) {
+            List<Integer> result = List.empty();
+            for (Integer key : keys) {
+                result = result.plus(key);
+            }
+            return result;
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Jdk extends SizedState {
+        ArrayList<Integer> list;
+        ArrayList<Integer> other;
+
+        @Setup
+        public void setup() {
+            generateKeys();
+            list = new ArrayList<>(Arrays.asList(keys));
+            other = new ArrayList<>(Arrays.asList(otherKeys));
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Vavr extends SizedState {
+        io.vavr.collection.List<Integer> list;
+        io.vavr.collection.List<Integer> other;
+
+        @Setup
+        public void setup() {
+            generateKeys();
+            list = fill(keys);
+            other = fill(otherKeys);
+        }
+
+        static io.vavr.collection.List<Integer> fill(Integer[] keys) {
+            io.vavr.collection.List<Integer> result = io.vavr.collection.List.empty();
+            for (Integer key : keys) {
+                result = result.prepend(key);
+            }
+            return result;
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class PCollections extends SizedState {
+        PStack<Integer> list;
+        PStack<Integer> other;
+
+        @Setup
+        public void setup() {
+            generateKeys();
+            list = fill(keys);
+            other = fill(otherKeys);
+        }
+
+        static PStack<Integer> fill(Integer[] keys) {
+            PStack<Integer> result = ConsPStack.empty();
+            for (Integer key : keys) {
+                result = result.plus(key);
+            }
+            return result;
+        }
+    }
+
+    @Benchmark
+    public List<Integer> insertHighJ(HighJ state) {
+        return HighJ.fill(state.keys);
+    }
+
+    @Benchmark
+    public ArrayList<Integer> insertJdk(Jdk state) {
+        ArrayList<Integer> result = new ArrayList<>();
+        for (Integer key : state.keys) {
+            result.add(key);
+        }
+        return result;
+    }
+
+    @Benchmark
+    public io.vavr.collection.List<Integer> insertVavr(Vavr state) {
+        return Vavr.fill(state.keys);
+    }
+
+    @Benchmark
+    public PStack<Integer> insertPCollections(PCollections state) {
+        return PCollections.fill(state.keys);
+    }
+
+    @Benchmark
+    public Integer lookupHighJ(HighJ state) {
+        return state.list.get(state.size / 2);
+    }
+
+    @Benchmark
+    public Integer lookupJdk(Jdk state) {
+        return state.list.get(state.size / 2);
+    }
+
+    @Benchmark
+    public Integer lookupVavr(Vavr state) {
+        return state.list.get(state.size / 2);
+    }
+
+    @Benchmark
+    public Integer lookupPCollections(PCollections state) {
+        return state.list.get(state.size / 2);
+    }
+
+    @Benchmark
+    public List<Integer> deleteHighJ(HighJ state) {
+        return state.list.minus(state.keys[state.size / 2]);
+    }
+
+    @Benchmark
+    public ArrayList<Integer> deleteJdk(Jdk state) {
+        ArrayList<Integer> result = new ArrayList<>(state.list);
+        result.remove(state.keys[state.size / 2]);
+        return result;
+    }
+
+    @Benchmark
+    public io.vavr.collection.List<Integer> deleteVavr(Vavr state) {
+        return state.list.remove(state.keys[state.size / 2]);
+    }
+
+    @Benchmark
+    public PStack<Integer> deletePCollections(PCollections state) {
+        return state.list.minus(state.keys[state.size / 2]);
+    }
+
+    @Benchmark
+    public void iterateHighJ(HighJ state, Blackhole bh) {
+        for (Integer key : state.list) {
+            bh.consume(key);
+        }
+    }
+
+    @Benchmark
+    public void iterateJdk(Jdk state, Blackhole bh) {
+        for (Integer key : state.list) {
+            bh.consume(key);
+        }
+    }
+
+    @Benchmark
+    public void iterateVavr(Vavr state, Blackhole bh) {
+        for (Integer key : state.list) {
+            bh.consume(key);
+        }
+    }
+
+    @Benchmark
+    public void iteratePCollections(PCollections state, Blackhole bh) {
+        for (Integer key : state.list) {
+            bh.consume(key);
+        }
+    }
+
+    @Benchmark
+    public void unionHighJ(HighJ state, Blackhole bh) {
+        for (Integer key : List.append(state.list, state.other)) {
+            bh.consume(key);
+        }
+    }
+
+    @Benchmark
+    public void unionJdk(Jdk state, Blackhole bh) {
+        ArrayList<Integer> result = new ArrayList<>(state.list);
+        result.addAll(state.other);
+        for (Integer key : result) {
+            bh.consume(key);
+        }
+    }
+
+    @Benchmark
+    public void unionVavr(Vavr state, Blackhole bh) {
+        for (Integer key : state.list.appendAll(state.other)) {
+            bh.consume(key);
+        }
+    }
+
+    @Benchmark
+    public void unionPCollections(PCollections state, Blackhole bh) {
+        for (Integer key : state.other.plusAll(state.list)) {
+            bh.consume(key);
+        }
+    }
+}
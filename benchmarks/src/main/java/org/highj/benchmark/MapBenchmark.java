@@ -0,0 +1,131 @@
+package org.highj.benchmark;
+
+import org.highj.data.Map;
+import org.highj.data.tuple.T2;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link Map} compared to {@link org.highj.data.HashMap} and {@link java.util.HashMap}.
+ * <p>
+ * Note that the keys are sequential integers, which is a bad case for a hash ordered search tree.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class HighJ extends SizedState {
+        Map<Integer, Integer> map;
+        Map<Integer, Integer> other;
+
+        @Setup
+        public void setup() {
+            generateKeys();
+            map = fill(keys);
+            other = fill(otherKeys);
+        }
+
+        static Map<Integer, Integer> fill(Integer[] keys) {
+            Map<Integer, Integer> result = Map.empty();
+            for (Integer key : keys) {
+                result = result.plus(key, key);
+            }
+            return result;
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Jdk extends SizedState {
+        java.util.HashMap<Integer, Integer> map;
+        java.util.HashMap<Integer, Integer> other;
+
+        @Setup
+        public void setup() {
+            generateKeys();
+            map = fill(keys);
+            other = fill(otherKeys);
+        }
+
+        static java.util.HashMap<Integer, Integer> fill(Integer[] keys) {
+            java.util.HashMap<Integer, Integer> result = new java.util.HashMap<>();
+            for (Integer key : keys) {
+                result.put(key, key);
+            }
+            return result;
+        }
+    }
+
+    @Benchmark
+    public Map<Integer, Integer> insertHighJ(HighJ state) {
+        return HighJ.fill(state.keys);
+    }
+
+    @Benchmark
+    public java.util.HashMap<Integer, Integer> insertJdk(Jdk state) {
+        return Jdk.fill(state.keys);
+    }
+
+    @Benchmark
+    public void lookupHighJ(HighJ state, Blackhole bh) {
+        for (Integer key : state.keys) {
+            bh.consume(state.map.apply(key));
+        }
+    }
+
+    @Benchmark
+    public void lookupJdk(Jdk state, Blackhole bh) {
+        for (Integer key : state.keys) {
+            bh.consume(state.map.get(key));
+        }
+    }
+
+    @Benchmark
+    public Map<Integer, Integer> deleteHighJ(HighJ state) {
+        Map<Integer, Integer> result = state.map;
+        for (Integer key : state.keys) {
+            result = result.minus(key);
+        }
+        return result;
+    }
+
+    @Benchmark
+    public java.util.HashMap<Integer, Integer> deleteJdk(Jdk state) {
+        java.util.HashMap<Integer, Integer> result = new java.util.HashMap<>(state.map);
+        for (Integer key : state.keys) {
+            result.remove(key);
+        }
+        return result;
+    }
+
+    @Benchmark
+    public void iterateHighJ(HighJ state, Blackhole bh) {
+        for (T2<Integer, Integer> entry : state.map) {
+            bh.consume(entry);
+        }
+    }
+
+    @Benchmark
+    public void iterateJdk(Jdk state, Blackhole bh) {
+        for (java.util.Map.Entry<Integer, Integer> entry : state.map.entrySet()) {
+            bh.consume(entry);
+        }
+    }
+
+    @Benchmark
+    public Map<Integer, Integer> unionHighJ(HighJ state) {
+        return state.map.unionWith(state.other, (x, y) -> y);
+    }
+
+    @Benchmark
+    public java.util.HashMap<Integer, Integer> unionJdk(Jdk state) {
+        java.util.HashMap<Integer, Integer> result = new java.util.HashMap<>(state.map);
+        result.putAll(state.other);
+        return result;
+    }
+}
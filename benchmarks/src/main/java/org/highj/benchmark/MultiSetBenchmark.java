@@ -0,0 +1,189 @@
+package org.highj.benchmark;
+
+import org.highj.data.MultiSet;
+import org.highj.data.tuple.T2;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.pcollections.HashTreePBag;
+import org.pcollections.PBag;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link MultiSet} compared to a {@link java.util.HashMap} of counts and PCollections' {@link HashTreePBag}.
+ * <p>
+ * Every key is added twice, so that the counts are actually used.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MultiSetBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class HighJ extends SizedState {
+        MultiSet<Integer> multiSet;
+        MultiSet<Integer> other;
+
+        @Setup
+        public void setup() {
+            generateKeys();
+            multiSet = fill(keys);
+            other = fill(otherKeys);
+        }
+
+        static MultiSet<Integer> fill(Integer[] keys) {
+            MultiSet<Integer> result = MultiSet.empty();
+            for (Integer key : keys) {
+                result = result.plus1(key).plus1(key);
+            }
+            return result;
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Jdk extends SizedState {
+        java.util.HashMap<Integer, Integer> multiSet;
+        java.util.HashMap<Integer, Integer> other;
+
+        @Setup
+        public void setup() {
+            generateKeys();
+            multiSet = fill(keys);
+            other = fill(otherKeys);
+        }
+
+        static java.util.HashMap<Integer, Integer> fill(Integer[] keys) {
+            java.util.HashMap<Integer, Integer> result = new java.util.HashMap<>();
+            for (Integer key : keys) {
+                result.merge(key, 1, Integer::sum);
+                result.merge(key, 1, Integer::sum);
+            }
+            return result;
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class PCollections extends SizedState {
+        PBag<Integer> multiSet;
+        PBag<Integer> other;
+
+        @Setup
+        public void setup() {
+            generateKeys();
+            multiSet = fill(keys);
+            other = fill(otherKeys);
+        }
+
+        static PBag<Integer> fill(Integer[] keys) {
+            PBag<Integer> result = HashTreePBag.empty();
+            for (Integer key : keys) {
+                result = result.plus(key).plus(key);
+            }
+            return result;
+        }
+    }
+
+    @Benchmark
+    public MultiSet<Integer> insertHighJ(HighJ state) {
+        return HighJ.fill(state.keys);
+    }
+
+    @Benchmark
+    public java.util.HashMap<Integer, Integer> insertJdk(Jdk state) {
+        return Jdk.fill(state.keys);
+    }
+
+    @Benchmark
+    public PBag<Integer> insertPCollections(PCollections state) {
+        return PCollections.fill(state.keys);
+    }
+
+    @Benchmark
+    public void lookupHighJ(HighJ state, Blackhole bh) {
+        for (Integer key : state.keys) {
+            bh.consume(state.multiSet.apply(key));
+        }
+    }
+
+    @Benchmark
+    public void lookupJdk(Jdk state, Blackhole bh) {
+        for (Integer key : state.keys) {
+            bh.consume(state.multiSet.getOrDefault(key, 0));
+        }
+    }
+
+    @Benchmark
+    public void lookupPCollections(PCollections state, Blackhole bh) {
+        for (Integer key : state.keys) {
+            bh.consume(state.multiSet.contains(key));
+        }
+    }
+
+    @Benchmark
+    public MultiSet<Integer> deleteHighJ(HighJ state) {
+        MultiSet<Integer> result = state.multiSet;
+        for (Integer key : state.keys) {
+            result = result.minus(key, 2);
+        }
+        return result;
+    }
+
+    @Benchmark
+    public java.util.HashMap<Integer, Integer> deleteJdk(Jdk state) {
+        java.util.HashMap<Integer, Integer> result = new java.util.HashMap<>(state.multiSet);
+        for (Integer key : state.keys) {
+            result.remove(key);
+        }
+        return result;
+    }
+
+    @Benchmark
+    public PBag<Integer> deletePCollections(PCollections state) {
+        PBag<Integer> result = state.multiSet;
+        for (Integer key : state.keys) {
+            result = result.minus(key).minus(key);
+        }
+        return result;
+    }
+
+    @Benchmark
+    public void iterateHighJ(HighJ state, Blackhole bh) {
+        for (T2<Integer, Integer> entry : state.multiSet) {
+            bh.consume(entry);
+        }
+    }
+
+    @Benchmark
+    public void iterateJdk(Jdk state, Blackhole bh) {
+        for (Map.Entry<Integer, Integer> entry : state.multiSet.entrySet()) {
+            bh.consume(entry);
+        }
+    }
+
+    @Benchmark
+    public void iteratePCollections(PCollections state, Blackhole bh) {
+        for (Integer key : state.multiSet) {
+            bh.consume(key);
+        }
+    }
+
+    @Benchmark
+    public MultiSet<Integer> unionHighJ(HighJ state) {
+        return state.multiSet.plus(state.other);
+    }
+
+    @Benchmark
+    public java.util.HashMap<Integer, Integer> unionJdk(Jdk state) {
+        java.util.HashMap<Integer, Integer> result = new java.util.HashMap<>(state.multiSet);
+        state.other.forEach((key, count) -> result.merge(key, count, Integer::sum));
+        return result;
+    }
+
+    @Benchmark
+    public PBag<Integer> unionPCollections(PCollections state) {
+        return state.multiSet.plusAll(state.other);
+    }
+}
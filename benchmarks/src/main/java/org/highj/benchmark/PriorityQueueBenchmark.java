@@ -0,0 +1,192 @@
+package org.highj.benchmark;
+
+import org.highj.data.PriorityQueue;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link PriorityQueue} compared to {@link java.util.PriorityQueue} and Vavr's {@link io.vavr.collection.PriorityQueue}.
+ * <p>
+ * Insert adds the elements one at a time, delete pops all elements, lookup peeks after every insert,
+ * and union adds all elements of a second queue.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PriorityQueueBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class HighJ extends SizedState {
+        PriorityQueue<Integer> queue;
+        PriorityQueue<Integer> other;
+
+        @Setup
+        public void setup() {
+            generateKeys();
+            queue = fill(keys);
+            other = fill(otherKeys);
+        }
+
+        static PriorityQueue<Integer> fill(Integer[] keys) {
+            PriorityQueue<Integer> result = PriorityQueue.minQueue();
+            for (Integer key : keys) {
+                result = result.plus(key);
+            }
+            return result;
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Jdk extends SizedState {
+        java.util.PriorityQueue<Integer> queue;
+        java.util.PriorityQueue<Integer> other;
+
+        @Setup
+        public void setup() {
+            generateKeys();
+            queue = new java.util.PriorityQueue<>(Arrays.asList(keys));
+            other = new java.util.PriorityQueue<>(Arrays.asList(otherKeys));
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Vavr extends SizedState {
+        io.vavr.collection.PriorityQueue<Integer> queue;
+        io.vavr.collection.PriorityQueue<Integer> other;
+
+        @Setup
+        public void setup() {
+            generateKeys();
+            queue = fill(keys);
+            other = fill(otherKeys);
+        }
+
+        static io.vavr.collection.PriorityQueue<Integer> fill(Integer[] keys) {
+            io.vavr.collection.PriorityQueue<Integer> result = io.vavr.collection.PriorityQueue.empty();
+            for (Integer key : keys) {
+                result = result.enqueue(key);
+            }
+            return result;
+        }
+    }
+
+    @Benchmark
+    public PriorityQueue<Integer> insertHighJ(HighJ state) {
+        return HighJ.fill(state.keys);
+    }
+
+    @Benchmark
+    public java.util.PriorityQueue<Integer> insertJdk(Jdk state) {
+        java.util.PriorityQueue<Integer> result = new java.util.PriorityQueue<>();
+        for (Integer key : state.keys) {
+            result.add(key);
+        }
+        return result;
+    }
+
+    @Benchmark
+    public io.vavr.collection.PriorityQueue<Integer> insertVavr(Vavr state) {
+        return Vavr.fill(state.keys);
+    }
+
+    @Benchmark
+    public void lookupHighJ(HighJ state, Blackhole bh) {
+        PriorityQueue<Integer> result = PriorityQueue.minQueue();
+        for (Integer key : state.keys) {
+            result = result.plus(key);
+            bh.consume(result.peek());
+        }
+    }
+
+    @Benchmark
+    public void lookupJdk(Jdk state, Blackhole bh) {
+        java.util.PriorityQueue<Integer> result = new java.util.PriorityQueue<>();
+        for (Integer key : state.keys) {
+            result.add(key);
+            bh.consume(result.peek());
+        }
+    }
+
+    @Benchmark
+    public void lookupVavr(Vavr state, Blackhole bh) {
+        io.vavr.collection.PriorityQueue<Integer> result = io.vavr.collection.PriorityQueue.empty();
+        for (Integer key : state.keys) {
+            result = result.enqueue(key);
+            bh.consume(result.head());
+        }
+    }
+
+    @Benchmark
+    public PriorityQueue<Integer> deleteHighJ(HighJ state) {
+        PriorityQueue<Integer> result = state.queue;
+        while (!result.isEmpty()) {
+            result = result.drop();
+        }
+        return result;
+    }
+
+    @Benchmark
+    public java.util.PriorityQueue<Integer> deleteJdk(Jdk state) {
+        java.util.PriorityQueue<Integer> result = new java.util.PriorityQueue<>(state.queue);
+        while (!result.isEmpty()) {
+            result.poll();
+        }
+        return result;
+    }
+
+    @Benchmark
+    public io.vavr.collection.PriorityQueue<Integer> deleteVavr(Vavr state) {
+        io.vavr.collection.PriorityQueue<Integer> result = state.queue;
+        while (!result.isEmpty()) {
+            result = result.tail();
+        }
+        return result;
+    }
+
+    @Benchmark
+    public void iterateHighJ(HighJ state, Blackhole bh) {
+        for (Integer key : state.queue) {
+            bh.consume(key);
+        }
+    }
+
+    @Benchmark
+    public void iterateJdk(Jdk state, Blackhole bh) {
+        for (Integer key : state.queue) {
+            bh.consume(key);
+        }
+    }
+
+    @Benchmark
+    public void iterateVavr(Vavr state, Blackhole bh) {
+        for (Integer key : state.queue) {
+            bh.consume(key);
+        }
+    }
+
+    @Benchmark
+    public PriorityQueue<Integer> unionHighJ(HighJ state) {
+        PriorityQueue<Integer> result = state.queue;
+        for (Integer key : state.other) {
+            result = result.plus(key);
+        }
+        return result;
+    }
+
+    @Benchmark
+    public java.util.PriorityQueue<Integer> unionJdk(Jdk state) {
+        java.util.PriorityQueue<Integer> result = new java.util.PriorityQueue<>(state.queue);
+        result.addAll(state.other);
+        return result;
+    }
+
+    @Benchmark
+    public io.vavr.collection.PriorityQueue<Integer> unionVavr(Vavr state) {
+        return state.queue.merge(state.other);
+    }
+}
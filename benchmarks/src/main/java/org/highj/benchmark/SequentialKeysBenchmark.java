@@ -0,0 +1,122 @@
+package org.highj.benchmark;
+
+import org.highj.data.Map;
+import org.highj.data.MultiSet;
+import org.highj.data.Set;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link Set}, {@link Map} and {@link MultiSet} with ascending integer keys, compared to {@link java.util.HashSet}.
+ * <p>
+ * Integers are their own hash codes, so inserting them in ascending order used to degenerate the
+ * hash-ordered trees of these collections into linked lists. The time per key should now stay
+ * roughly constant across the sizes.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SequentialKeysBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Sequential {
+        @Param({"1000", "100000", "1000000"})
+        public int size;
+
+        Integer[] keys;
+        Set<Integer> set;
+        Map<Integer, Integer> map;
+        MultiSet<Integer> multiSet;
+        java.util.HashSet<Integer> jdkSet;
+
+        @Setup
+        public void setup() {
+            keys = Keys.sequential(0, size);
+            set = fillSet(keys);
+            map = fillMap(keys);
+            multiSet = fillMultiSet(keys);
+            jdkSet = new java.util.HashSet<>(Arrays.asList(keys));
+        }
+
+        static Set<Integer> fillSet(Integer[] keys) {
+            Set<Integer> result = Set.empty();
+            for (Integer key : keys) {
+                result = result.plus(key);
+            }
+            return result;
+        }
+
+        static Map<Integer, Integer> fillMap(Integer[] keys) {
+            Map<Integer, Integer> result = Map.empty();
+            for (Integer key : keys) {
+                result = result.plus(key, key);
+            }
+            return result;
+        }
+
+        static MultiSet<Integer> fillMultiSet(Integer[] keys) {
+            MultiSet<Integer> result = MultiSet.empty();
+            for (Integer key : keys) {
+                result = result.plus1(key);
+            }
+            return result;
+        }
+    }
+
+    @Benchmark
+    public Set<Integer> insertSet(Sequential state) {
+        return Sequential.fillSet(state.keys);
+    }
+
+    @Benchmark
+    public Map<Integer, Integer> insertMap(Sequential state) {
+        return Sequential.fillMap(state.keys);
+    }
+
+    @Benchmark
+    public MultiSet<Integer> insertMultiSet(Sequential state) {
+        return Sequential.fillMultiSet(state.keys);
+    }
+
+    @Benchmark
+    public java.util.HashSet<Integer> insertJdk(Sequential state) {
+        java.util.HashSet<Integer> result = new java.util.HashSet<>();
+        for (Integer key : state.keys) {
+            result.add(key);
+        }
+        return result;
+    }
+
+    @Benchmark
+    public void lookupSet(Sequential state, Blackhole bh) {
+        for (Integer key : state.keys) {
+            bh.consume(state.set.test(key));
+        }
+    }
+
+    @Benchmark
+    public void lookupMap(Sequential state, Blackhole bh) {
+        for (Integer key : state.keys) {
+            bh.consume(state.map.getOrElse(key, null));
+        }
+    }
+
+    @Benchmark
+    public void lookupMultiSet(Sequential state, Blackhole bh) {
+        for (Integer key : state.keys) {
+            bh.consume(state.multiSet.apply(key));
+        }
+    }
+
+    @Benchmark
+    public void lookupJdk(Sequential state, Blackhole bh) {
+        for (Integer key : state.keys) {
+            bh.consume(state.jdkSet.contains(key));
+        }
+    }
+}
@@ -0,0 +1,239 @@
+package org.highj.benchmark;
+
+import org.highj.data.Set;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.pcollections.HashTreePSet;
+import org.pcollections.PSet;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link Set} compared to {@link java.util.HashSet}, Vavr's and PCollections' hash sets.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SetBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class HighJ extends SizedState {
+        Set<Integer> set;
+        Set<Integer> other;
+
+        @Setup
+        public void setup() {
+            generateKeys();
+            set = fill(keys);
+            other = fill(otherKeys);
+        }
+
+        static Set<Integer> fill(Integer[] keys) {
+            Set<Integer> result = Set.empty();
+            for (Integer key : keys) {
+                result = result.plus(key);
+            }
+            return result;
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Jdk extends SizedState {
+        java.util.HashSet<Integer> set;
+        java.util.HashSet<Integer> other;
+
+        @Setup
+        public void setup() {
+            generateKeys();
+            set = fill(keys);
+            other = fill(otherKeys);
+        }
+
+        static java.util.HashSet<Integer> fill(Integer[] keys) {
+            return new java.util.HashSet<>(Arrays.asList(keys));
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Vavr extends SizedState {
+        io.vavr.collection.HashSet<Integer> set;
+        io.vavr.collection.HashSet<Integer> other;
+
+        @Setup
+        public void setup() {
+            generateKeys();
+            set = fill(keys);
+            other = fill(otherKeys);
+        }
+
+        static io.vavr.collection.HashSet<Integer> fill(Integer[] keys) {
+            io.vavr.collection.HashSet<Integer> result = io.vavr.collection.HashSet.empty();
+            for (Integer key : keys) {
+                result = result.add(key);
+            }
+            return result;
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class PCollections extends SizedState {
+        PSet<Integer> set;
+        PSet<Integer> other;
+
+        @Setup
+        public void setup() {
+            generateKeys();
+            set = fill(keys);
+            other = fill(otherKeys);
+        }
+
+        static PSet<Integer> fill(Integer[] keys) {
+            PSet<Integer> result = HashTreePSet.empty();
+            for (Integer key : keys) {
+                result = result.plus(key);
+            }
+            return result;
+        }
+    }
+
+    @Benchmark
+    public Set<Integer> insertHighJ(HighJ state) {
+        return HighJ.fill(state.keys);
+    }
+
+    @Benchmark
+    public java.util.HashSet<Integer> insertJdk(Jdk state) {
+        java.util.HashSet<Integer> result = new java.util.HashSet<>();
+        for (Integer key : state.keys) {
+            result.add(key);
+        }
+        return result;
+    }
+
+    @Benchmark
+    public io.vavr.collection.HashSet<Integer> insertVavr(Vavr state) {
+        return Vavr.fill(state.keys);
+    }
+
+    @Benchmark
+    public PSet<Integer> insertPCollections(PCollections state) {
+        return PCollections.fill(state.keys);
+    }
+
+    @Benchmark
+    public void lookupHighJ(HighJ state, Blackhole bh) {
+        for (Integer key : state.keys) {
+            bh.consume(state.set.test(key));
+        }
+    }
+
+    @Benchmark
+    public void lookupJdk(Jdk state, Blackhole bh) {
+        for (Integer key : state.keys) {
+            bh.consume(state.set.contains(key));
+        }
+    }
+
+    @Benchmark
+    public void lookupVavr(Vavr state, Blackhole bh) {
+        for (Integer key : state.keys) {
+            bh.consume(state.set.contains(key));
+        }
+    }
+
+    @Benchmark
+    public void lookupPCollections(PCollections state, Blackhole bh) {
+        for (Integer key : state.keys) {
+            bh.consume(state.set.contains(key));
+        }
+    }
+
+    @Benchmark
+    public Set<Integer> deleteHighJ(HighJ state) {
+        Set<Integer> result = state.set;
+        for (Integer key : state.keys) {
+            result = result.minus(key);
+        }
+        return result;
+    }
+
+    @Benchmark
+    public java.util.HashSet<Integer> deleteJdk(Jdk state) {
+        java.util.HashSet<Integer> result = new java.util.HashSet<>(state.set);
+        for (Integer key : state.keys) {
+            result.remove(key);
+        }
+        return result;
+    }
+
+    @Benchmark
+    public io.vavr.collection.HashSet<Integer> deleteVavr(Vavr state) {
+        io.vavr.collection.HashSet<Integer> result = state.set;
+        for (Integer key : state.keys) {
+            result = result.remove(key);
+        }
+        return result;
+    }
+
+    @Benchmark
+    public PSet<Integer> deletePCollections(PCollections state) {
+        PSet<Integer> result = state.set;
+        for (Integer key : state.keys) {
+            result = result.minus(key);
+        }
+        return result;
+    }
+
+    @Benchmark
+    public void iterateHighJ(HighJ state, Blackhole bh) {
+        for (Integer key : state.set) {
+            bh.consume(key);
+        }
+    }
+
+    @Benchmark
+    public void iterateJdk(Jdk state, Blackhole bh) {
+        for (Integer key : state.set) {
+            bh.consume(key);
+        }
+    }
+
+    @Benchmark
+    public void iterateVavr(Vavr state, Blackhole bh) {
+        for (Integer key : state.set) {
+            bh.consume(key);
+        }
+    }
+
+    @Benchmark
+    public void iteratePCollections(PCollections state, Blackhole bh) {
+        for (Integer key : state.set) {
+            bh.consume(key);
+        }
+    }
+
+    @Benchmark
+    public Set<Integer> unionHighJ(HighJ state) {
+        return state.set.union(state.other);
+    }
+
+    @Benchmark
+    public java.util.HashSet<Integer> unionJdk(Jdk state) {
+        java.util.HashSet<Integer> result = new java.util.HashSet<>(state.set);
+        result.addAll(state.other);
+        return result;
+    }
+
+    @Benchmark
+    public io.vavr.collection.HashSet<Integer> unionVavr(Vavr state) {
+        return state.set.union(state.other);
+    }
+
+    @Benchmark
+    public PSet<Integer> unionPCollections(PCollections state) {
+        return state.set.plusAll(state.other);
+    }
+}
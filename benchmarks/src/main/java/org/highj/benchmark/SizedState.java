@@ -0,0 +1,30 @@
+package org.highj.benchmark;
+
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Base class of the per-library benchmark states.
+ * <p>
+ * Every collection is benchmarked from 10 up to 10M elements. The large sizes take a while,
+ * use e.g. <code>-p size=1000,100000</code> to restrict a run.
+ * <p>
+ * <code>keys</code> holds the keys 0 until size in random order, <code>otherKeys</code> contains
+ * size keys as well, half of them overlapping with <code>keys</code>, which is used for union benchmarks.
+ */
+@State(Scope.Benchmark)
+public abstract class SizedState {
+
+    @Param({"10", "1000", "100000", "1000000", "10000000"})
+    public int size;
+
+    public Integer[] keys;
+
+    public Integer[] otherKeys;
+
+    protected void generateKeys() {
+        keys = Keys.shuffled(0, size, 42L);
+        otherKeys = Keys.shuffled(size / 2, size, 4711L);
+    }
+}
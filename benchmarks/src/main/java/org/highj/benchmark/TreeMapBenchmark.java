@@ -0,0 +1,249 @@
+package org.highj.benchmark;
+
+import org.highj.data.TreeMap;
+import org.highj.data.tuple.T2;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.pcollections.PSortedMap;
+import org.pcollections.TreePMap;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link TreeMap} compared to {@link java.util.TreeMap}, Vavr's and PCollections' sorted maps.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TreeMapBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class HighJ extends SizedState {
+        TreeMap<Integer, Integer> map;
+        TreeMap<Integer, Integer> other;
+
+        @Setup
+        public void setup() {
+            generateKeys();
+            map = fill(keys);
+            other = fill(otherKeys);
+        }
+
+        static TreeMap<Integer, Integer> fill(Integer[] keys) {
+            TreeMap<Integer, Integer> result = TreeMap.empty();
+            for (Integer key : keys) {
+                result = result.insert(key, key);
+            }
+            return result;
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Jdk extends SizedState {
+        java.util.TreeMap<Integer, Integer> map;
+        java.util.TreeMap<Integer, Integer> other;
+
+        @Setup
+        public void setup() {
+            generateKeys();
+            map = fill(keys);
+            other = fill(otherKeys);
+        }
+
+        static java.util.TreeMap<Integer, Integer> fill(Integer[] keys) {
+            java.util.TreeMap<Integer, Integer> result = new java.util.TreeMap<>();
+            for (Integer key : keys) {
+                result.put(key, key);
+            }
+            return result;
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Vavr extends SizedState {
+        io.vavr.collection.TreeMap<Integer, Integer> map;
+        io.vavr.collection.TreeMap<Integer, Integer> other;
+
+        @Setup
+        public void setup() {
+            generateKeys();
+            map = fill(keys);
+            other = fill(otherKeys);
+        }
+
+        static io.vavr.collection.TreeMap<Integer, Integer> fill(Integer[] keys) {
+            io.vavr.collection.TreeMap<Integer, Integer> result = io.vavr.collection.TreeMap.empty();
+            for (Integer key : keys) {
+                result = result.put(key, key);
+            }
+            return result;
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class PCollections extends SizedState {
+        PSortedMap<Integer, Integer> map;
+        PSortedMap<Integer, Integer> other;
+
+        @Setup
+        public void setup() {
+            generateKeys();
+            map = fill(keys);
+            other = fill(otherKeys);
+        }
+
+        static PSortedMap<Integer, Integer> fill(Integer[] keys) {
+            PSortedMap<Integer, Integer> result = TreePMap.empty();
+            for (Integer key : keys) {
+                result = result.plus(key, key);
+            }
+            return result;
+        }
+    }
+
+    @Benchmark
+    public TreeMap<Integer, Integer> insertHighJ(HighJ state) {
+        return HighJ.fill(state.keys);
+    }
+
+    @Benchmark
+    public TreeMap<Integer, Integer> insertTransientHighJ(HighJ state) {
+        TreeMap.Transient<Integer, Integer> builder = TreeMap.<Integer, Integer>empty().toTransient();
+        for (Integer key : state.keys) {
+            builder.insert(key, key);
+        }
+        return builder.persistent();
+    }
+
+    @Benchmark
+    public java.util.TreeMap<Integer, Integer> insertJdk(Jdk state) {
+        return Jdk.fill(state.keys);
+    }
+
+    @Benchmark
+    public io.vavr.collection.TreeMap<Integer, Integer> insertVavr(Vavr state) {
+        return Vavr.fill(state.keys);
+    }
+
+    @Benchmark
+    public PSortedMap<Integer, Integer> insertPCollections(PCollections state) {
+        return PCollections.fill(state.keys);
+    }
+
+    @Benchmark
+    public void lookupHighJ(HighJ state, Blackhole bh) {
+        for (Integer key : state.keys) {
+            bh.consume(state.map.apply(key));
+        }
+    }
+
+    @Benchmark
+    public void lookupJdk(Jdk state, Blackhole bh) {
+        for (Integer key : state.keys) {
+            bh.consume(state.map.get(key));
+        }
+    }
+
+    @Benchmark
+    public void lookupVavr(Vavr state, Blackhole bh) {
+        for (Integer key : state.keys) {
+            bh.consume(state.map.get(key));
+        }
+    }
+
+    @Benchmark
+    public void lookupPCollections(PCollections state, Blackhole bh) {
+        for (Integer key : state.keys) {
+            bh.consume(state.map.get(key));
+        }
+    }
+
+    @Benchmark
+    public TreeMap<Integer, Integer> deleteHighJ(HighJ state) {
+        TreeMap<Integer, Integer> result = state.map;
+        for (Integer key : state.keys) {
+            result = result.delete(key);
+        }
+        return result;
+    }
+
+    @Benchmark
+    public java.util.TreeMap<Integer, Integer> deleteJdk(Jdk state) {
+        java.util.TreeMap<Integer, Integer> result = new java.util.TreeMap<>(state.map);
+        for (Integer key : state.keys) {
+            result.remove(key);
+        }
+        return result;
+    }
+
+    @Benchmark
+    public io.vavr.collection.TreeMap<Integer, Integer> deleteVavr(Vavr state) {
+        io.vavr.collection.TreeMap<Integer, Integer> result = state.map;
+        for (Integer key : state.keys) {
+            result = result.remove(key);
+        }
+        return result;
+    }
+
+    @Benchmark
+    public PSortedMap<Integer, Integer> deletePCollections(PCollections state) {
+        PSortedMap<Integer, Integer> result = state.map;
+        for (Integer key : state.keys) {
+            result = result.minus(key);
+        }
+        return result;
+    }
+
+    @Benchmark
+    public void iterateHighJ(HighJ state, Blackhole bh) {
+        for (T2<Integer, Integer> entry : state.map) {
+            bh.consume(entry);
+        }
+    }
+
+    @Benchmark
+    public void iterateJdk(Jdk state, Blackhole bh) {
+        for (Map.Entry<Integer, Integer> entry : state.map.entrySet()) {
+            bh.consume(entry);
+        }
+    }
+
+    @Benchmark
+    public void iterateVavr(Vavr state, Blackhole bh) {
+        for (io.vavr.Tuple2<Integer, Integer> entry : state.map) {
+            bh.consume(entry);
+        }
+    }
+
+    @Benchmark
+    public void iteratePCollections(PCollections state, Blackhole bh) {
+        for (Map.Entry<Integer, Integer> entry : state.map.entrySet()) {
+            bh.consume(entry);
+        }
+    }
+
+    @Benchmark
+    public TreeMap<Integer, Integer> unionHighJ(HighJ state) {
+        return TreeMap.union((x, y) -> y, state.map, state.other);
+    }
+
+    @Benchmark
+    public java.util.TreeMap<Integer, Integer> unionJdk(Jdk state) {
+        java.util.TreeMap<Integer, Integer> result = new java.util.TreeMap<>(state.map);
+        result.putAll(state.other);
+        return result;
+    }
+
+    @Benchmark
+    public io.vavr.collection.TreeMap<Integer, Integer> unionVavr(Vavr state) {
+        return state.map.merge(state.other);
+    }
+
+    @Benchmark
+    public PSortedMap<Integer, Integer> unionPCollections(PCollections state) {
+        return state.map.plusAll(state.other);
+    }
+}
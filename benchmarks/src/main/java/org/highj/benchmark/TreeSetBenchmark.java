@@ -0,0 +1,239 @@
+package org.highj.benchmark;
+
+import org.highj.data.TreeSet;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.pcollections.PSortedSet;
+import org.pcollections.TreePSet;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link TreeSet} compared to {@link java.util.TreeSet}, Vavr's and PCollections' sorted sets.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TreeSetBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class HighJ extends SizedState {
+        TreeSet<Integer> set;
+        TreeSet<Integer> other;
+
+        @Setup
+        public void setup() {
+            generateKeys();
+            set = fill(keys);
+            other = fill(otherKeys);
+        }
+
+        static TreeSet<Integer> fill(Integer[] keys) {
+            TreeSet<Integer> result = TreeSet.empty();
+            for (Integer key : keys) {
+                result = result.insert(key);
+            }
+            return result;
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Jdk extends SizedState {
+        java.util.TreeSet<Integer> set;
+        java.util.TreeSet<Integer> other;
+
+        @Setup
+        public void setup() {
+            generateKeys();
+            set = fill(keys);
+            other = fill(otherKeys);
+        }
+
+        static java.util.TreeSet<Integer> fill(Integer[] keys) {
+            return new java.util.TreeSet<>(Arrays.asList(keys));
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Vavr extends SizedState {
+        io.vavr.collection.TreeSet<Integer> set;
+        io.vavr.collection.TreeSet<Integer> other;
+
+        @Setup
+        public void setup() {
+            generateKeys();
+            set = fill(keys);
+            other = fill(otherKeys);
+        }
+
+        static io.vavr.collection.TreeSet<Integer> fill(Integer[] keys) {
+            io.vavr.collection.TreeSet<Integer> result = io.vavr.collection.TreeSet.empty();
+            for (Integer key : keys) {
+                result = result.add(key);
+            }
+            return result;
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class PCollections extends SizedState {
+        PSortedSet<Integer> set;
+        PSortedSet<Integer> other;
+
+        @Setup
+        public void setup() {
+            generateKeys();
+            set = fill(keys);
+            other = fill(otherKeys);
+        }
+
+        static PSortedSet<Integer> fill(Integer[] keys) {
+            PSortedSet<Integer> result = TreePSet.empty();
+            for (Integer key : keys) {
+                result = result.plus(key);
+            }
+            return result;
+        }
+    }
+
+    @Benchmark
+    public TreeSet<Integer> insertHighJ(HighJ state) {
+        return HighJ.fill(state.keys);
+    }
+
+    @Benchmark
+    public java.util.TreeSet<Integer> insertJdk(Jdk state) {
+        java.util.TreeSet<Integer> result = new java.util.TreeSet<>();
+        for (Integer key : state.keys) {
+            result.add(key);
+        }
+        return result;
+    }
+
+    @Benchmark
+    public io.vavr.collection.TreeSet<Integer> insertVavr(Vavr state) {
+        return Vavr.fill(state.keys);
+    }
+
+    @Benchmark
+    public PSortedSet<Integer> insertPCollections(PCollections state) {
+        return PCollections.fill(state.keys);
+    }
+
+    @Benchmark
+    public void lookupHighJ(HighJ state, Blackhole bh) {
+        for (Integer key : state.keys) {
+            bh.consume(state.set.test(key));
+        }
+    }
+
+    @Benchmark
+    public void lookupJdk(Jdk state, Blackhole bh) {
+        for (Integer key : state.keys) {
+            bh.consume(state.set.contains(key));
+        }
+    }
+
+    @Benchmark
+    public void lookupVavr(Vavr state, Blackhole bh) {
+        for (Integer key : state.keys) {
+            bh.consume(state.set.contains(key));
+        }
+    }
+
+    @Benchmark
+    public void lookupPCollections(PCollections state, Blackhole bh) {
+        for (Integer key : state.keys) {
+            bh.consume(state.set.contains(key));
+        }
+    }
+
+    @Benchmark
+    public TreeSet<Integer> deleteHighJ(HighJ state) {
+        TreeSet<Integer> result = state.set;
+        for (Integer key : state.keys) {
+            result = result.delete(key);
+        }
+        return result;
+    }
+
+    @Benchmark
+    public java.util.TreeSet<Integer> deleteJdk(Jdk state) {
+        java.util.TreeSet<Integer> result = new java.util.TreeSet<>(state.set);
+        for (Integer key : state.keys) {
+            result.remove(key);
+        }
+        return result;
+    }
+
+    @Benchmark
+    public io.vavr.collection.TreeSet<Integer> deleteVavr(Vavr state) {
+        io.vavr.collection.TreeSet<Integer> result = state.set;
+        for (Integer key : state.keys) {
+            result = result.remove(key);
+        }
+        return result;
+    }
+
+    @Benchmark
+    public PSortedSet<Integer> deletePCollections(PCollections state) {
+        PSortedSet<Integer> result = state.set;
+        for (Integer key : state.keys) {
+            result = result.minus(key);
+        }
+        return result;
+    }
+
+    @Benchmark
+    public void iterateHighJ(HighJ state, Blackhole bh) {
+        for (Integer key : state.set) {
+            bh.consume(key);
+        }
+    }
+
+    @Benchmark
+    public void iterateJdk(Jdk state, Blackhole bh) {
+        for (Integer key : state.set) {
+            bh.consume(key);
+        }
+    }
+
+    @Benchmark
+    public void iterateVavr(Vavr state, Blackhole bh) {
+        for (Integer key : state.set) {
+            bh.consume(key);
+        }
+    }
+
+    @Benchmark
+    public void iteratePCollections(PCollections state, Blackhole bh) {
+        for (Integer key : state.set) {
+            bh.consume(key);
+        }
+    }
+
+    @Benchmark
+    public TreeSet<Integer> unionHighJ(HighJ state) {
+        return TreeSet.union(state.set, state.other);
+    }
+
+    @Benchmark
+    public java.util.TreeSet<Integer> unionJdk(Jdk state) {
+        java.util.TreeSet<Integer> result = new java.util.TreeSet<>(state.set);
+        result.addAll(state.other);
+        return result;
+    }
+
+    @Benchmark
+    public io.vavr.collection.TreeSet<Integer> unionVavr(Vavr state) {
+        return state.set.union(state.other);
+    }
+
+    @Benchmark
+    public PSortedSet<Integer> unionPCollections(PCollections state) {
+        return state.set.plusAll(state.other);
+    }
+}
@@ -7,8 +7,11 @@ import org.highj.function.Strings;
 import org.highj.data.tuple.T2;
 
 import java.util.Iterator;
+import java.util.Spliterator;
 import java.util.function.BiFunction;
 import java.util.function.Function;
+import java.util.stream.Collector;
+import java.util.stream.Collectors;
 
 //BankersQueue implementation of Haskell package dequeue-0.1.5
 //... as described in Chris Okasaki's Purely Functional Data Structures.
@@ -176,6 +179,26 @@ public class Dequeue<A> implements __<Dequeue.µ, A>, Iterable<A> {
         return toList().iterator();
     }
 
+    /**
+     * A sized {@link Spliterator} over the elements from first to last, which splits like the one of {@link List}.
+     *
+     * @return the spliterator
+     */
+    @Override
+    public Spliterator<A> spliterator() {
+        return toList().spliterator(size());
+    }
+
+    /**
+     * A {@link Collector} for dequeues, collecting the elements from first to last.
+     *
+     * @param <A> the element type
+     * @return the collector
+     */
+    public static <A> Collector<A, ?, Dequeue<A>> collector() {
+        return Collectors.collectingAndThen(List.<A>collector(), Dequeue::fromList);
+    }
+
     public <B> B foldr(BiFunction<A, B, B> fn, B b) {
         return toList().foldr(fn, b);
     }
@@ -0,0 +1,303 @@
+package org.highj.data;
+
+import org.highj.typeclass0.group.Monoid;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.DoubleBinaryOperator;
+import java.util.function.DoubleFunction;
+import java.util.function.DoublePredicate;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * A persistent list of unboxed doubles.
+ * <p>
+ * The elements are stored in chunks of arrays, so a list built in one go (e.g. by {@link #of(double...)},
+ * {@link #map} or {@link #filter}) needs about 8 bytes per element. Prepending reuses the free space in
+ * front of the first chunk if no other list has claimed it yet.
+ */
+public final class DoubleList implements Iterable<Double> {
+
+    private static final int CHUNK_SIZE = 32;
+
+    private static final DoubleList EMPTY = new DoubleList(new Chunk(new double[0]), 0, 0, null);
+
+    //a chunk is filled from the end, start is the lowest index any list has claimed so far
+    private static final class Chunk {
+        private final double[] values;
+        private final AtomicInteger start;
+
+        private Chunk(double[] values) {
+            this.values = values;
+            this.start = new AtomicInteger(0);
+        }
+
+        private Chunk(double[] values, int start) {
+            this.values = values;
+            this.start = new AtomicInteger(start);
+        }
+    }
+
+    //the elements are chunk.values[from...], followed by the elements of next (null only for EMPTY)
+    private final Chunk chunk;
+    private final int from;
+    private final int size;
+    private final DoubleList next;
+
+    private DoubleList(Chunk chunk, int from, int size, DoubleList next) {
+        this.chunk = chunk;
+        this.from = from;
+        this.size = size;
+        this.next = next;
+    }
+
+    public static DoubleList empty() {
+        return EMPTY;
+    }
+
+    public static DoubleList of(double... values) {
+        return fromArray(values.clone());
+    }
+
+    public static DoubleList fromList(List<Double> list) {
+        Builder builder = new Builder();
+        for (double value : list) {
+            builder.add(value);
+        }
+        return builder.build();
+    }
+
+    public List<Double> toList() {
+        return List.of(toArray());
+    }
+
+    public double[] toArray() {
+        double[] result = new double[size];
+        int i = 0;
+        for (DoubleList list = this; list.size > 0; list = list.next) {
+            int length = list.chunk.values.length - list.from;
+            System.arraycopy(list.chunk.values, list.from, result, i, length);
+            i += length;
+        }
+        return result;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public double head() throws NoSuchElementException {
+        if (isEmpty()) {
+            throw new NoSuchElementException("head of empty DoubleList");
+        }
+        return chunk.values[from];
+    }
+
+    public DoubleList tail() throws NoSuchElementException {
+        if (isEmpty()) {
+            throw new NoSuchElementException("tail of empty DoubleList");
+        }
+        return from + 1 == chunk.values.length
+                ? next
+                : new DoubleList(chunk, from + 1, size - 1, next);
+    }
+
+    /**
+     * Retrieves an element, which takes time proportional to the number of chunks before it.
+     *
+     * @param index the index
+     * @return the element
+     * @throws IndexOutOfBoundsException when the index is negative or not smaller than the size
+     */
+    public double get(int index) throws IndexOutOfBoundsException {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("index " + index + ", size " + size);
+        }
+        DoubleList list = this;
+        while (index >= list.chunk.values.length - list.from) {
+            index -= list.chunk.values.length - list.from;
+            list = list.next;
+        }
+        return list.chunk.values[list.from + index];
+    }
+
+    /**
+     * Prepends an element.
+     *
+     * @param value the new element
+     * @return the list
+     */
+    public DoubleList plus(double value) {
+        if (from > 0 && chunk.start.compareAndSet(from, from - 1)) {
+            chunk.values[from - 1] = value;
+            return new DoubleList(chunk, from - 1, size + 1, next);
+        }
+        double[] values = new double[CHUNK_SIZE];
+        values[CHUNK_SIZE - 1] = value;
+        return new DoubleList(new Chunk(values, CHUNK_SIZE - 1), CHUNK_SIZE - 1, size + 1, this);
+    }
+
+    public DoubleList append(DoubleList that) {
+        if (this.isEmpty()) {
+            return that;
+        } else if (that.isEmpty()) {
+            return this;
+        }
+        return new DoubleList(new Chunk(toArray()), 0, size + that.size, that);
+    }
+
+    public DoubleList reverse() {
+        double[] values = toArray();
+        for (int i = 0, j = values.length - 1; i < j; i++, j--) {
+            double temp = values[i];
+            values[i] = values[j];
+            values[j] = temp;
+        }
+        return fromArray(values);
+    }
+
+    public DoubleList map(DoubleUnaryOperator fn) {
+        double[] result = new double[size];
+        int i = 0;
+        for (PrimitiveIterator.OfDouble it = iterator(); it.hasNext(); ) {
+            result[i++] = fn.applyAsDouble(it.nextDouble());
+        }
+        return fromArray(result);
+    }
+
+    public <A> List<A> mapToObj(DoubleFunction<? extends A> fn) {
+        Object[] result = new Object[size];
+        int i = 0;
+        for (PrimitiveIterator.OfDouble it = iterator(); it.hasNext(); ) {
+            result[i++] = fn.apply(it.nextDouble());
+        }
+        List<A> list = List.Nil();
+        for (int j = result.length - 1; j >= 0; j--) {
+            @SuppressWarnings("unchecked")
+            A a = (A) result[j];
+            list = list.plus(a);
+        }
+        return list;
+    }
+
+    public DoubleList filter(DoublePredicate predicate) {
+        Builder builder = new Builder();
+        for (PrimitiveIterator.OfDouble it = iterator(); it.hasNext(); ) {
+            double value = it.nextDouble();
+            if (predicate.test(value)) {
+                builder.add(value);
+            }
+        }
+        return builder.build();
+    }
+
+    public double foldl(double start, DoubleBinaryOperator fn) {
+        double result = start;
+        for (PrimitiveIterator.OfDouble it = iterator(); it.hasNext(); ) {
+            result = fn.applyAsDouble(result, it.nextDouble());
+        }
+        return result;
+    }
+
+    public double foldr(DoubleBinaryOperator fn, double start) {
+        double[] values = toArray();
+        double result = start;
+        for (int i = values.length - 1; i >= 0; i--) {
+            result = fn.applyAsDouble(values[i], result);
+        }
+        return result;
+    }
+
+    public double sum() {
+        return foldl(0.0, (x, y) -> x + y);
+    }
+
+    @Override
+    public PrimitiveIterator.OfDouble iterator() {
+        return new PrimitiveIterator.OfDouble() {
+            private DoubleList list = DoubleList.this;
+            private int index = from;
+
+            @Override
+            public boolean hasNext() {
+                return list.size > 0;
+            }
+
+            @Override
+            public double nextDouble() {
+                if (list.size == 0) {
+                    throw new NoSuchElementException();
+                }
+                double result = list.chunk.values[index++];
+                if (index == list.chunk.values.length) {
+                    list = list.next;
+                    index = list.from;
+                }
+                return result;
+            }
+        };
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (o == this) return true;
+        if (o instanceof DoubleList) {
+            DoubleList that = (DoubleList) o;
+            return this.size == that.size && Arrays.equals(this.toArray(), that.toArray());
+        }
+        return false;
+    }
+
+    @Override
+    public int hashCode() {
+        int hc = 17;
+        for (PrimitiveIterator.OfDouble it = iterator(); it.hasNext(); ) {
+            hc = 5 * hc + 37 * Double.hashCode(it.nextDouble());
+        }
+        return hc;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("DoubleList(");
+        for (PrimitiveIterator.OfDouble it = iterator(); it.hasNext(); ) {
+            sb.append(it.nextDouble());
+            if (it.hasNext()) {
+                sb.append(',');
+            }
+        }
+        return sb.append(')').toString();
+    }
+
+    private static DoubleList fromArray(double[] values) {
+        return values.length == 0 ? EMPTY : new DoubleList(new Chunk(values), 0, values.length, EMPTY);
+    }
+
+    //collects values in a growing array, which is trimmed at the end
+    private static final class Builder {
+        private double[] values = new double[CHUNK_SIZE];
+        private int size;
+
+        private void add(double value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, 2 * size);
+            }
+            values[size++] = value;
+        }
+
+        private DoubleList build() {
+            return fromArray(Arrays.copyOf(values, size));
+        }
+    }
+
+    /**
+     * The {@link Monoid} of double lists, using {@link DoubleList#append} as combining operation.
+     */
+    public static final Monoid<DoubleList> monoid = Monoid.create(EMPTY, DoubleList::append);
+}
@@ -5,27 +5,51 @@
  */
 package org.highj.data;
 
-import org.derive4j.hkt.__;
-import org.highj.data.coroutine.ProducerT;
-import org.highj.data.tuple.T0;
-import org.highj.data.tuple.T1;
+import org.derive4j.hkt.__2;
+import org.highj.data.instance.hashmap.HashMapParallelFunctor;
 import org.highj.data.tuple.T2;
 import org.highj.function.Strings;
+import org.highj.util.ArrayUtils;
+import org.highj.util.SplittingSpliterator;
 
 import java.util.Arrays;
 import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.function.BiConsumer;
+import java.util.function.BiPredicate;
+import java.util.function.BinaryOperator;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collector;
 
-import static org.highj.Hkt.asProducerT;
+/**
+ * A persistent hash map, implemented as a compressed hash-array mapped prefix tree (CHAMP).
+ * <p>
+ * Every node keeps two bitmaps: one for the hash fragments stored inline as key-value pairs, and one
+ * for the fragments pointing to sub-nodes. Only the occupied slots are allocated, so the arrays being
+ * copied on updates are proportional to the actual fanout. Keys with identical hash codes end up in
+ * collision nodes at the bottom of the tree.
+ * <p>
+ * For bulk construction, {@link #toTransient()} provides a builder which modifies the nodes it created
+ * itself in place, instead of copying the whole path to the root on every update.
+ * <p>
+ * The bulk operations ({@link #unionWith}, {@link #intersection}, {@link #difference}, {@link #filter}
+ * and {@link #partition}) walk both tries in parallel, and keep unchanged sub-tries by reference.
+ * They return the original map if nothing changed.
+ *
+ * @param <K> the key type
+ * @param <V> the value type
+ */
+public class HashMap<K, V> implements __2<HashMap.µ, K, V>, Iterable<T2<K, V>> {
+
+    public static final class µ {
+    }
 
-public class HashMap<K, V> implements Iterable<T2<K, V>> {
     private static final int NUM_BRANCHING_BITS = 5;
-    private static final int NUM_BRANCHES = 1 << NUM_BRANCHING_BITS;
     private static final int MASK = (1 << NUM_BRANCHING_BITS) - 1;
-    private static final Node<?, ?>[] EMPTY_ARRAY = new Node<?, ?>[NUM_BRANCHES];
-
-    static {
-        Arrays.fill(EMPTY_ARRAY, Leaf.empty());
-    }
+    private static final int MAX_DEPTH = (Integer.SIZE + NUM_BRANCHING_BITS - 1) / NUM_BRANCHING_BITS;
 
     private final Node<K, V> root;
 
@@ -33,20 +57,104 @@ public class HashMap<K, V> implements Iterable<T2<K, V>> {
         this.root = root;
     }
 
-    private static final HashMap<?, ?> EMPTY = new HashMap<>(Leaf.empty());
+    private static final HashMap<?, ?> EMPTY = new HashMap<>(BitmapNode.empty());
 
     @SuppressWarnings("unchecked")
     public static <K, V> HashMap<K, V> empty() {
         return (HashMap<K, V>) EMPTY;
     }
 
+    /**
+     * Constructs a map from the given key-value pairs, using a transient builder.
+     * If a key occurs more than once, the last value wins.
+     *
+     * @param iterable the key-value pairs
+     * @param <K> the key type
+     * @param <V> the value type
+     * @return the map
+     */
+    public static <K, V> HashMap<K, V> fromIterable(Iterable<T2<K, V>> iterable) {
+        return HashMap.<K, V>empty().toTransient().insertAll(iterable).persistent();
+    }
+
+    /**
+     * A {@link Collector} for key-value pairs, using a transient builder.
+     * If a key occurs more than once, the last value wins.
+     *
+     * @param <K> the key type
+     * @param <V> the value type
+     * @return the collector
+     */
+    public static <K, V> Collector<T2<K, V>, ?, HashMap<K, V>> collector() {
+        return Collector.<T2<K, V>, Transient<K, V>, HashMap<K, V>>of(
+                () -> HashMap.<K, V>empty().toTransient(),
+                (builder, t2) -> builder.insert(t2._1(), t2._2()),
+                (left, right) -> left.insertAll(right.persistent()),
+                Transient::persistent);
+    }
+
+    /**
+     * Creates a transient builder, initialized with the entries of this map.
+     * This map is not affected by changes to the builder.
+     *
+     * @return the builder
+     */
+    public Transient<K, V> toTransient() {
+        return new Transient<>(root);
+    }
+
     public boolean isEmpty() {
-        return root.isEmpty();
+        return root.size() == 0;
     }
 
     @Override
     public Iterator<T2<K, V>> iterator() {
-        return ProducerT.toIterator(asProducerT(root.generator(0, 0)));
+        return new TrieIterator<>(root, Function.identity());
+    }
+
+    @Override
+    public void forEach(Consumer<? super T2<K, V>> action) {
+        root.forEach(action);
+    }
+
+    /**
+     * Performs the given action for every key-value pair of the map.
+     *
+     * @param action the action
+     */
+    public void forEachEntry(BiConsumer<? super K, ? super V> action) {
+        root.forEach(t2 -> action.accept(t2._1(), t2._2()));
+    }
+
+    /**
+     * A sized {@link Spliterator}, which splits along the trie using {@link #split()}, so parallel streams
+     * over the map can distribute the work.
+     * It doesn't report {@link Spliterator#ORDERED}, as the iteration order depends on the hash codes.
+     *
+     * @return the spliterator
+     */
+    @Override
+    public Spliterator<T2<K, V>> spliterator() {
+        return new SplittingSpliterator<>(this, HashMap::size, HashMap::split,
+                Spliterator.DISTINCT | Spliterator.IMMUTABLE | Spliterator.NONNULL);
+    }
+
+    /**
+     * A view of the keys of the map, iterated in the same order as the entries.
+     *
+     * @return the keys
+     */
+    public Iterable<K> keys() {
+        return () -> new TrieIterator<>(root, T2::_1);
+    }
+
+    /**
+     * A view of the values of the map, iterated in the same order as the entries.
+     *
+     * @return the values
+     */
+    public Iterable<V> values() {
+        return () -> new TrieIterator<>(root, T2::_2);
     }
 
     public int size() {
@@ -54,201 +162,914 @@ public class HashMap<K, V> implements Iterable<T2<K, V>> {
     }
 
     public HashMap<K, V> insert(K key, V value) {
-        return new HashMap<>(root.insert(key.hashCode(), key, value));
+        Node<K, V> root2 = root.insert(null, key.hashCode(), 0, key, value);
+        return root2 == root ? this : new HashMap<>(root2);
     }
 
     public Maybe<V> lookup(K key) {
-        return root.lookup(key.hashCode(), key);
+        return root.lookup(key.hashCode(), 0, key);
+    }
+
+    /**
+     * Retrieves the value for a key, without allocating a {@link Maybe}.
+     *
+     * @param key          the key
+     * @param defaultValue the result if the key is absent
+     * @return the value for the key, or the default value
+     */
+    public V getOrDefault(K key, V defaultValue) {
+        T2<K, V> entry = root.findEntry(key.hashCode(), 0, key);
+        return entry == null ? defaultValue : entry._2();
+    }
+
+    public boolean containsKey(K key) {
+        return root.findEntry(key.hashCode(), 0, key) != null;
     }
 
     public HashMap<K, V> delete(K key) {
-        Node<K, V> root2 = root.delete(key.hashCode(), key);
+        Node<K, V> root2 = root.delete(null, key.hashCode(), 0, key);
         return root2 == root ? this : new HashMap<>(root2);
     }
 
+    /**
+     * Transforms the values, keeping the shape of the trie, so no key is rehashed.
+     *
+     * @param fn  the transformation
+     * @param <W> the new value type
+     * @return the transformed map
+     */
+    public <W> HashMap<K, W> mapValues(Function<? super V, ? extends W> fn) {
+        return new HashMap<>(root.mapValues(fn));
+    }
+
+    /**
+     * The union of two maps, preferring the values of this map for keys present in both.
+     *
+     * @param that the other map
+     * @return the union
+     */
+    public HashMap<K, V> union(HashMap<K, V> that) {
+        return unionWith(that, (x, y) -> x);
+    }
+
+    /**
+     * The union of two maps. Sub-tries present in only one of the maps are shared, and if the result is
+     * equal to one of the maps, that map is returned.
+     *
+     * @param that the other map
+     * @param fn   combines the values for keys present in both maps
+     * @return the union
+     */
+    public HashMap<K, V> unionWith(HashMap<K, V> that, BinaryOperator<V> fn) {
+        Node<K, V> root2 = root.union(that.root, 0, fn);
+        return root2 == that.root ? that : withRoot(root2);
+    }
+
+    /**
+     * The entries of this map with keys which are also present in the other map.
+     *
+     * @param that the other map
+     * @return the intersection
+     */
+    public HashMap<K, V> intersection(HashMap<K, ?> that) {
+        return withRoot(root.intersection(that.root, 0));
+    }
+
+    /**
+     * The entries of this map with keys which are not present in the other map.
+     *
+     * @param that the other map
+     * @return the difference
+     */
+    public HashMap<K, V> difference(HashMap<K, ?> that) {
+        return withRoot(root.difference(that.root, 0));
+    }
+
+    public HashMap<K, V> filter(BiPredicate<? super K, ? super V> predicate) {
+        return withRoot(root.filter(predicate, null));
+    }
+
+    /**
+     * Splits the map in a single pass.
+     *
+     * @param predicate the condition
+     * @return the entries satisfying the condition, and the remaining entries
+     */
+    public T2<HashMap<K, V>, HashMap<K, V>> partition(BiPredicate<? super K, ? super V> predicate) {
+        @SuppressWarnings("unchecked")
+        Node<K, V>[] rejected = new Node[1];
+        HashMap<K, V> accepted = withRoot(root.filter(predicate, rejected));
+        return T2.of(accepted, withRoot(rejected[0]));
+    }
+
+    /**
+     * Splits the map along its trie into two maps of roughly equal size, keeping sub-tries by reference.
+     * <p>
+     * Iterating the first map and then the second one yields the entries in the same order as iterating
+     * this map, which allows order-sensitive divide and conquer algorithms.
+     *
+     * @return the two parts, or this map and an empty map if there are less than two entries
+     */
+    public T2<HashMap<K, V>, HashMap<K, V>> split() {
+        if (size() < 2) {
+            return T2.of(this, empty());
+        }
+        Node<K, V>[] halves = root.split();
+        return T2.of(new HashMap<>(halves[0]), new HashMap<>(halves[1]));
+    }
+
+    private HashMap<K, V> withRoot(Node<K, V> root2) {
+        return root2 == root ? this : root2.size() == 0 ? empty() : new HashMap<>(root2);
+    }
+
     @Override
     public String toString() {
         return root.toString();
     }
 
-    private interface Node<K, V> {
+    private static int mask(int hash, int shift) {
+        return (hash >>> shift) & MASK;
+    }
+
+    private static int bitpos(int hash, int shift) {
+        return 1 << mask(hash, shift);
+    }
+
+    /**
+     * A mutable builder for {@link HashMap}s. Nodes created by the builder are tagged with its owner token,
+     * and are modified in place by later updates. Nodes shared with persistent maps are copied as usual.
+     * <p>
+     * A transient is not thread-safe, and must not be used any more after calling {@link #persistent()}.
+     *
+     * @param <K> the key type
+     * @param <V> the value type
+     */
+    public static final class Transient<K, V> {
+        private Object owner = new Object();
+        private Node<K, V> root;
+
+        private Transient(Node<K, V> root) {
+            this.root = root;
+        }
+
+        private Object owner() {
+            if (owner == null) {
+                throw new IllegalStateException("transient used after call to persistent()");
+            }
+            return owner;
+        }
+
+        public Transient<K, V> insert(K key, V value) {
+            root = root.insert(owner(), key.hashCode(), 0, key, value);
+            return this;
+        }
+
+        public Transient<K, V> insertAll(Iterable<T2<K, V>> iterable) {
+            Object owner = owner();
+            for (T2<K, V> t2 : iterable) {
+                root = root.insert(owner, t2._1().hashCode(), 0, t2._1(), t2._2());
+            }
+            return this;
+        }
+
+        public Transient<K, V> delete(K key) {
+            root = root.delete(owner(), key.hashCode(), 0, key);
+            return this;
+        }
+
+        public Maybe<V> lookup(K key) {
+            owner();
+            return root.lookup(key.hashCode(), 0, key);
+        }
+
+        public int size() {
+            owner();
+            return root.size();
+        }
 
-        boolean isEmpty();
+        /**
+         * Freezes the current state of the builder into a persistent map.
+         *
+         * @return the map
+         */
+        public HashMap<K, V> persistent() {
+            owner();
+            owner = null;
+            return root.size() == 0 ? empty() : new HashMap<>(root);
+        }
+    }
+
+    private static <K, V> Node<K, V> merge(Object owner, T2<K, V> e1, int hash1, T2<K, V> e2, int hash2, int shift) {
+        if (shift >= Integer.SIZE) {
+            return new CollisionNode<>(hash1, new Object[]{e1, e2});
+        }
+        int mask1 = mask(hash1, shift);
+        int mask2 = mask(hash2, shift);
+        if (mask1 != mask2) {
+            return new BitmapNode<>(owner, (1 << mask1) | (1 << mask2), 0,
+                    mask1 < mask2 ? new Object[]{e1, e2} : new Object[]{e2, e1}, 2);
+        }
+        return new BitmapNode<>(owner, 0, 1 << mask1,
+                new Object[]{merge(owner, e1, hash1, e2, hash2, shift + NUM_BRANCHING_BITS)}, 2);
+    }
+
+    //the owner is the token of the transient performing the update, or null for persistent updates
+    private interface Node<K, V> {
 
         int size();
 
-        Node<K, V> insert(int hash, K key, V value);
+        Node<K, V> insert(Object owner, int hash, int shift, K key, V value);
 
-        Maybe<V> lookup(int hash, K key);
+        Maybe<V> lookup(int hash, int shift, K key);
 
-        Node<K, V> delete(int hash, K key);
+        //the entry for the key, or null
+        T2<K, V> findEntry(int hash, int shift, K key);
 
-        __<__<__<ProducerT.µ, T2<K, V>>, T1.µ>, T0> generator(int shift, int hash);
+        Node<K, V> delete(Object owner, int hash, int shift, K key);
+
+        //the other node has the same shift, and hence the same type
+        Node<K, V> union(Node<K, V> that, int shift, BinaryOperator<V> fn);
+
+        Node<K, V> intersection(Node<K, ?> that, int shift);
+
+        Node<K, V> difference(Node<K, ?> that, int shift);
+
+        //the entries not satisfying the predicate are stored in rejected[0], unless rejected is null
+        Node<K, V> filter(BiPredicate<? super K, ? super V> predicate, Node<K, V>[] rejected);
+
+        //the only entry of a node with size 1, which gets inlined into its parent
+        T2<K, V> singleEntry();
+
+        <W> Node<K, W> mapValues(Function<? super V, ? extends W> fn);
+
+        //two non-empty nodes at the same level, whose entries in iteration order are the ones of this node,
+        //which must have at least two entries
+        Node<K, V>[] split();
+
+        void forEach(Consumer<? super T2<K, V>> action);
     }
 
-    private static class Leaf<K, V> implements Node<K, V> {
+    private static <K, V> Node<K, V> singleton(T2<K, V> entry, int shift) {
+        int hash = entry._1().hashCode();
+        return shift >= Integer.SIZE
+                ? new CollisionNode<>(hash, new Object[]{entry})
+                : new BitmapNode<>(null, bitpos(hash, shift), 0, new Object[]{entry}, 1);
+    }
 
-        private static final Leaf<?, ?> EMPTY = new Leaf<>(List.of());
+    private static <K, V> T2<K, V> unionEntry(T2<K, V> e1, T2<K, V> e2, BinaryOperator<V> fn) {
+        V value = fn.apply(e1._2(), e2._2());
+        return value == e1._2() ? e1 : value == e2._2() ? e2 : T2.of(e1._1(), value);
+    }
+
+    //key-value pairs are stored from the start of the content array, sub-nodes in reverse order from its end
+    private static class BitmapNode<K, V> implements Node<K, V> {
+
+        private static final BitmapNode<?, ?> EMPTY = new BitmapNode<>(null, 0, 0, new Object[0], 0);
 
         @SuppressWarnings("unchecked")
-        public static <K, V> Leaf<K, V> empty() {
-            return (Leaf<K, V>) EMPTY;
+        public static <K, V> BitmapNode<K, V> empty() {
+            return (BitmapNode<K, V>) EMPTY;
         }
 
-        private final List<T2<K, V>> bucket;
+        private final Object owner;
+        private int dataMap;
+        private int nodeMap;
+        private Object[] content;
+        private int size;
 
-        private Leaf(K key, V value) {
-            this.bucket = List.of(T2.of(key, value));
+        private BitmapNode(Object owner, int dataMap, int nodeMap, Object[] content, int size) {
+            this.owner = owner;
+            this.dataMap = dataMap;
+            this.nodeMap = nodeMap;
+            this.content = content;
+            this.size = size;
         }
 
-        private Leaf(List<T2<K, V>> bucket) {
-            this.bucket = bucket;
+        private boolean isOwnedBy(Object owner) {
+            return owner != null && owner == this.owner;
         }
 
-        @Override
-        public boolean isEmpty() {
-            return bucket.isEmpty();
+        private BitmapNode<K, V> with(Object owner, int dataMap, int nodeMap, Object[] content, int size) {
+            if (isOwnedBy(owner)) {
+                this.dataMap = dataMap;
+                this.nodeMap = nodeMap;
+                this.content = content;
+                this.size = size;
+                return this;
+            }
+            return new BitmapNode<>(owner, dataMap, nodeMap, content, size);
+        }
+
+        private BitmapNode<K, V> withSlot(Object owner, int index, Object value, int sizeDelta) {
+            if (isOwnedBy(owner)) {
+                content[index] = value;
+                size += sizeDelta;
+                return this;
+            }
+            return new BitmapNode<>(owner, dataMap, nodeMap, ArrayUtils.copyUpdate(content, index, value), size + sizeDelta);
+        }
+
+        private int dataIndex(int bit) {
+            return Integer.bitCount(dataMap & (bit - 1));
+        }
+
+        private int nodeIndex(int bit) {
+            return content.length - 1 - Integer.bitCount(nodeMap & (bit - 1));
+        }
+
+        @SuppressWarnings("unchecked")
+        private T2<K, V> entryAt(int index) {
+            return (T2<K, V>) content[index];
+        }
+
+        @SuppressWarnings("unchecked")
+        private Node<K, V> nodeAt(int index) {
+            return (Node<K, V>) content[index];
         }
 
         @Override
         public int size() {
-            return bucket.size();
+            return size;
+        }
+
+        @Override
+        public Node<K, V> insert(Object owner, int hash, int shift, K key, V value) {
+            int bit = bitpos(hash, shift);
+            if ((dataMap & bit) != 0) {
+                int index = dataIndex(bit);
+                T2<K, V> entry = entryAt(index);
+                if (entry._1().equals(key)) {
+                    return entry._2() == value ? this : withSlot(owner, index, T2.of(key, value), 0);
+                }
+                Node<K, V> node = merge(owner, entry, entry._1().hashCode(), T2.of(key, value), hash, shift + NUM_BRANCHING_BITS);
+                return with(owner, dataMap ^ bit, nodeMap | bit, migrateDataToNode(bit, index, node), size + 1);
+            } else if ((nodeMap & bit) != 0) {
+                int index = nodeIndex(bit);
+                Node<K, V> node = nodeAt(index);
+                //an owned sub-node may have been modified in place, so we compare sizes as well
+                int oldSize = node.size();
+                Node<K, V> newNode = node.insert(owner, hash, shift + NUM_BRANCHING_BITS, key, value);
+                int sizeDelta = newNode.size() - oldSize;
+                return newNode == node && sizeDelta == 0 ? this : withSlot(owner, index, newNode, sizeDelta);
+            } else {
+                return with(owner, dataMap | bit, nodeMap,
+                        ArrayUtils.copyInsert(content, dataIndex(bit), T2.of(key, value)), size + 1);
+            }
+        }
+
+        @Override
+        public Maybe<V> lookup(int hash, int shift, K key) {
+            int bit = bitpos(hash, shift);
+            if ((dataMap & bit) != 0) {
+                T2<K, V> entry = entryAt(dataIndex(bit));
+                return Maybe.JustWhenTrue(entry._1().equals(key), entry::_2);
+            } else if ((nodeMap & bit) != 0) {
+                return nodeAt(nodeIndex(bit)).lookup(hash, shift + NUM_BRANCHING_BITS, key);
+            } else {
+                return Maybe.Nothing();
+            }
+        }
+
+        @Override
+        public Node<K, V> delete(Object owner, int hash, int shift, K key) {
+            int bit = bitpos(hash, shift);
+            if ((dataMap & bit) != 0) {
+                int index = dataIndex(bit);
+                return entryAt(index)._1().equals(key)
+                        ? with(owner, dataMap ^ bit, nodeMap, ArrayUtils.copyRemove(content, index), size - 1)
+                        : this;
+            } else if ((nodeMap & bit) != 0) {
+                int index = nodeIndex(bit);
+                Node<K, V> node = nodeAt(index);
+                int oldSize = node.size();
+                Node<K, V> newNode = node.delete(owner, hash, shift + NUM_BRANCHING_BITS, key);
+                if (newNode == node && newNode.size() == oldSize) {
+                    return this;
+                } else if (newNode.size() == 1) {
+                    return with(owner, dataMap | bit, nodeMap ^ bit,
+                            migrateNodeToData(bit, index, newNode.singleEntry()), size - 1);
+                } else {
+                    return withSlot(owner, index, newNode, -1);
+                }
+            } else {
+                return this;
+            }
         }
 
         @Override
-        public Node<K, V> insert(int hash, K key, V value) {
-            if (hash == 0) {
-                return new Leaf<>(bucket.filter(p -> !p._1().equals(key)).plus(T2.of(key, value)));
+        public T2<K, V> findEntry(int hash, int shift, K key) {
+            int bit = bitpos(hash, shift);
+            if ((dataMap & bit) != 0) {
+                T2<K, V> entry = entryAt(dataIndex(bit));
+                return entry._1().equals(key) ? entry : null;
+            } else if ((nodeMap & bit) != 0) {
+                return nodeAt(nodeIndex(bit)).findEntry(hash, shift + NUM_BRANCHING_BITS, key);
             } else {
-                int newHash = hash >>> NUM_BRANCHING_BITS;
-                int index = hash & MASK;
-                Node<K, V>[] nodes = emptyArray();
-                if (newHash == 0) {
-                    nodes[0] = this;
-                    nodes[index] = new Leaf<>(key, value);
+                return null;
+            }
+        }
+
+        @Override
+        public Node<K, V> union(Node<K, V> other, int shift, BinaryOperator<V> fn) {
+            BitmapNode<K, V> that = (BitmapNode<K, V>) other;
+            if (that.size == 0 || that == this) {
+                return this;
+            } else if (size == 0) {
+                return that;
+            }
+            Merger<K, V> merger = new Merger<>(dataMap | nodeMap | that.dataMap | that.nodeMap);
+            int subShift = shift + NUM_BRANCHING_BITS;
+            for (int bits = merger.bits; bits != 0; bits &= bits - 1) {
+                int bit = bits & -bits;
+                if ((dataMap & bit) != 0) {
+                    T2<K, V> entry = entryAt(dataIndex(bit));
+                    if ((that.dataMap & bit) != 0) {
+                        T2<K, V> thatEntry = that.entryAt(that.dataIndex(bit));
+                        if (entry._1().equals(thatEntry._1())) {
+                            merger.addData(bit, unionEntry(entry, thatEntry, fn));
+                        } else {
+                            merger.addNode(bit, merge(null, entry, entry._1().hashCode(),
+                                    thatEntry, thatEntry._1().hashCode(), subShift));
+                        }
+                    } else if ((that.nodeMap & bit) != 0) {
+                        merger.addNode(bit, singleton(entry, subShift).union(that.nodeAt(that.nodeIndex(bit)), subShift, fn));
+                    } else {
+                        merger.addData(bit, entry);
+                    }
+                } else if ((nodeMap & bit) != 0) {
+                    Node<K, V> node = nodeAt(nodeIndex(bit));
+                    if ((that.dataMap & bit) != 0) {
+                        merger.addNode(bit, node.union(singleton(that.entryAt(that.dataIndex(bit)), subShift), subShift, fn));
+                    } else if ((that.nodeMap & bit) != 0) {
+                        merger.addNode(bit, node.union(that.nodeAt(that.nodeIndex(bit)), subShift, fn));
+                    } else {
+                        merger.addNode(bit, node);
+                    }
+                } else if ((that.dataMap & bit) != 0) {
+                    merger.addData(bit, that.entryAt(that.dataIndex(bit)));
                 } else {
-                    nodes[index] = Leaf.<K, V>empty().insert(newHash, key, value);
-                    if (index != 0) {
-                        nodes[0] = this;
+                    merger.addNode(bit, that.nodeAt(that.nodeIndex(bit)));
+                }
+            }
+            return merger.isSameAs(this) ? this : merger.isSameAs(that) ? that : merger.build();
+        }
+
+        @Override
+        public Node<K, V> intersection(Node<K, ?> other, int shift) {
+            BitmapNode<K, ?> that = (BitmapNode<K, ?>) other;
+            Merger<K, V> merger = new Merger<>((dataMap | nodeMap) & (that.dataMap | that.nodeMap));
+            int subShift = shift + NUM_BRANCHING_BITS;
+            for (int bits = merger.bits; bits != 0; bits &= bits - 1) {
+                int bit = bits & -bits;
+                if ((dataMap & bit) != 0) {
+                    T2<K, V> entry = entryAt(dataIndex(bit));
+                    if (that.findEntry(entry._1().hashCode(), shift, entry._1()) != null) {
+                        merger.addData(bit, entry);
+                    }
+                } else if ((that.dataMap & bit) != 0) {
+                    K key = that.entryAt(that.dataIndex(bit))._1();
+                    T2<K, V> entry = nodeAt(nodeIndex(bit)).findEntry(key.hashCode(), subShift, key);
+                    if (entry != null) {
+                        merger.addData(bit, entry);
+                    }
+                } else {
+                    merger.addChild(bit, nodeAt(nodeIndex(bit)).intersection(that.nodeAt(that.nodeIndex(bit)), subShift));
+                }
+            }
+            return merger.isSameAs(this) ? this : merger.build();
+        }
+
+        @Override
+        public Node<K, V> difference(Node<K, ?> other, int shift) {
+            BitmapNode<K, ?> that = (BitmapNode<K, ?>) other;
+            if (size == 0 || that.size == 0) {
+                return this;
+            }
+            Merger<K, V> merger = new Merger<>(dataMap | nodeMap);
+            int subShift = shift + NUM_BRANCHING_BITS;
+            for (int bits = merger.bits; bits != 0; bits &= bits - 1) {
+                int bit = bits & -bits;
+                if ((dataMap & bit) != 0) {
+                    T2<K, V> entry = entryAt(dataIndex(bit));
+                    if (that.findEntry(entry._1().hashCode(), shift, entry._1()) == null) {
+                        merger.addData(bit, entry);
+                    }
+                } else {
+                    Node<K, V> node = nodeAt(nodeIndex(bit));
+                    if ((that.dataMap & bit) != 0) {
+                        K key = that.entryAt(that.dataIndex(bit))._1();
+                        merger.addChild(bit, node.delete(null, key.hashCode(), subShift, key));
+                    } else if ((that.nodeMap & bit) != 0) {
+                        merger.addChild(bit, node.difference(that.nodeAt(that.nodeIndex(bit)), subShift));
                     } else {
-                        bucket.forEach(t2 -> nodes[0] = nodes[0].insert(0, t2._1(), t2._2()));
+                        merger.addNode(bit, node);
                     }
                 }
-                return new Branch<>(nodes);
             }
+            return merger.isSameAs(this) ? this : merger.build();
         }
 
         @Override
-        public Maybe<V> lookup(int hash, K key) {
-            return (hash == 0)
-                    ? bucket.filter(p -> p._1().equals(key)).maybeHead().map(T2::_2)
-                    : Maybe.Nothing();
+        public Node<K, V> filter(BiPredicate<? super K, ? super V> predicate, Node<K, V>[] rejected) {
+            Merger<K, V> kept = new Merger<>(dataMap | nodeMap);
+            Merger<K, V> dropped = rejected == null ? null : new Merger<>(dataMap | nodeMap);
+            @SuppressWarnings("unchecked")
+            Node<K, V>[] childRejected = rejected == null ? null : new Node[1];
+            for (int bits = kept.bits; bits != 0; bits &= bits - 1) {
+                int bit = bits & -bits;
+                if ((dataMap & bit) != 0) {
+                    T2<K, V> entry = entryAt(dataIndex(bit));
+                    if (predicate.test(entry._1(), entry._2())) {
+                        kept.addData(bit, entry);
+                    } else if (dropped != null) {
+                        dropped.addData(bit, entry);
+                    }
+                } else {
+                    kept.addChild(bit, nodeAt(nodeIndex(bit)).filter(predicate, childRejected));
+                    if (dropped != null) {
+                        dropped.addChild(bit, childRejected[0]);
+                    }
+                }
+            }
+            if (rejected != null) {
+                rejected[0] = dropped.isSameAs(this) ? this : dropped.build();
+            }
+            return kept.isSameAs(this) ? this : kept.build();
+        }
+
+        private Object[] migrateDataToNode(int bit, int dataIndex, Node<K, V> node) {
+            Object[] result = new Object[content.length];
+            int nodeIndex = content.length - 1 - Integer.bitCount(nodeMap & (bit - 1));
+            System.arraycopy(content, 0, result, 0, dataIndex);
+            System.arraycopy(content, dataIndex + 1, result, dataIndex, nodeIndex - dataIndex);
+            result[nodeIndex] = node;
+            System.arraycopy(content, nodeIndex + 1, result, nodeIndex + 1, content.length - nodeIndex - 1);
+            return result;
+        }
+
+        private Object[] migrateNodeToData(int bit, int nodeIndex, T2<K, V> entry) {
+            Object[] result = new Object[content.length];
+            int dataIndex = dataIndex(bit);
+            System.arraycopy(content, 0, result, 0, dataIndex);
+            result[dataIndex] = entry;
+            System.arraycopy(content, dataIndex, result, dataIndex + 1, nodeIndex - dataIndex);
+            System.arraycopy(content, nodeIndex + 1, result, nodeIndex + 1, content.length - nodeIndex - 1);
+            return result;
         }
 
         @Override
-        public String toString() {
-            return "(Leaf " + Strings.mkString("", "", "", bucket) + ")";
+        public T2<K, V> singleEntry() {
+            return entryAt(0);
         }
 
         @Override
-        public Node<K, V> delete(int hash, K key) {
-            if (hash != 0) {
-                return this;
+        public <W> Node<K, W> mapValues(Function<? super V, ? extends W> fn) {
+            int dataArity = Integer.bitCount(dataMap);
+            Object[] newContent = new Object[content.length];
+            for (int i = 0; i < dataArity; i++) {
+                newContent[i] = entryAt(i).map_2(fn);
             }
-            List<T2<K, V>> newBucket = bucket.filter(p -> !p._1().equals(key));
-            return newBucket.isEmpty() ? Leaf.empty() : new Leaf<>(newBucket);
+            for (int i = dataArity; i < content.length; i++) {
+                newContent[i] = nodeAt(i).mapValues(fn);
+            }
+            return new BitmapNode<>(null, dataMap, nodeMap, newContent, size);
         }
 
         @Override
-        public __<__<__<ProducerT.µ, T2<K, V>>, T1.µ>, T0> generator(int shift, int hash) {
-            return ProducerT.<T2<K, V>, T1.µ>monad().sequence_(bucket.map(ProducerT::yield));
+        @SuppressWarnings("unchecked")
+        public Node<K, V>[] split() {
+            int dataArity = Integer.bitCount(dataMap);
+            if (content.length == 1) {
+                //a single sub-node, which is split in turn
+                Node<K, V>[] halves = nodeAt(0).split();
+                return new Node[]{wrap(nodeMap, halves[0]), wrap(nodeMap, halves[1])};
+            }
+            //the left part takes a prefix of the content array, which is the iteration order
+            int cut = 1;
+            int leftSize = slotSize(0, dataArity);
+            while (cut < content.length - 1 && 2 * (leftSize + slotSize(cut, dataArity)) <= size) {
+                leftSize += slotSize(cut++, dataArity);
+            }
+            Merger<K, V> left = new Merger<>(dataMap | nodeMap);
+            Merger<K, V> right = new Merger<>(dataMap | nodeMap);
+            for (int bits = dataMap, i = 0; bits != 0; bits &= bits - 1, i++) {
+                (i < cut ? left : right).addData(Integer.lowestOneBit(bits), entryAt(i));
+            }
+            for (int bits = nodeMap, i = content.length - 1; bits != 0; bits &= bits - 1, i--) {
+                (i < cut ? left : right).addNode(Integer.lowestOneBit(bits), nodeAt(i));
+            }
+            return new Node[]{left.build(), right.build()};
         }
-    }
 
-    private static class Branch<K, V> implements Node<K, V> {
-        private final Node<K, V>[] nodes;
+        private int slotSize(int index, int dataArity) {
+            return index < dataArity ? 1 : nodeAt(index).size();
+        }
 
-        private Branch(Node<K, V>[] nodes) {
-            this.nodes = nodes;
+        private static <K, V> Node<K, V> wrap(int bit, Node<K, V> node) {
+            Merger<K, V> merger = new Merger<>(bit);
+            merger.addChild(bit, node);
+            return merger.build();
         }
 
         @Override
-        public boolean isEmpty() {
-            for (Node<K, V> node : nodes) {
-                if (!node.isEmpty()) {
-                    return false;
+        public void forEach(Consumer<? super T2<K, V>> action) {
+            int dataArity = Integer.bitCount(dataMap);
+            for (int i = 0; i < dataArity; i++) {
+                action.accept(entryAt(i));
+            }
+            for (int i = dataArity; i < content.length; i++) {
+                nodeAt(i).forEach(action);
+            }
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder("(Branch");
+            int dataArity = Integer.bitCount(dataMap);
+            for (int i = 0; i < content.length; i++) {
+                sb.append(' ');
+                sb.append(i < dataArity ? "(Leaf " + content[i] + ")" : content[i]);
+            }
+            return sb.append(')').toString();
+        }
+    }
+
+    //entries with identical hash codes, below the last level of bitmap nodes (always copied, even by transients)
+    private static class CollisionNode<K, V> implements Node<K, V> {
+        private final int hash;
+        private final Object[] entries;
+
+        private CollisionNode(int hash, Object[] entries) {
+            this.hash = hash;
+            this.entries = entries;
+        }
+
+        @SuppressWarnings("unchecked")
+        private T2<K, V> entryAt(int index) {
+            return (T2<K, V>) entries[index];
+        }
+
+        private int indexOf(K key) {
+            for (int i = 0; i < entries.length; i++) {
+                if (entryAt(i)._1().equals(key)) {
+                    return i;
                 }
             }
-            return true;
+            return -1;
         }
 
         @Override
         public int size() {
-            int size = 0;
-            for (Node<K, V> node : nodes) {
-                size += node.size();
+            return entries.length;
+        }
+
+        @Override
+        public Node<K, V> insert(Object owner, int hash, int shift, K key, V value) {
+            int index = indexOf(key);
+            if (index < 0) {
+                return new CollisionNode<>(hash, ArrayUtils.copyInsert(entries, entries.length, T2.of(key, value)));
             }
-            return size;
+            return entryAt(index)._2() == value ? this
+                    : new CollisionNode<>(hash, ArrayUtils.copyUpdate(entries, index, T2.of(key, value)));
         }
 
         @Override
-        public Node<K, V> insert(int hash, K key, V value) {
-            int newHash = hash >>> NUM_BRANCHING_BITS;
-            int index = hash & MASK;
-            Node<K, V>[] newNodes = Arrays.copyOf(nodes, nodes.length);
-            newNodes[index] = nodes[index].insert(newHash, key, value);
-            return new Branch<>(newNodes);
+        public Maybe<V> lookup(int hash, int shift, K key) {
+            int index = indexOf(key);
+            return Maybe.JustWhenTrue(index >= 0, () -> entryAt(index)._2());
         }
 
         @Override
-        public Maybe<V> lookup(int hash, K key) {
-            int newHash = hash >>> NUM_BRANCHING_BITS;
-            int index = hash & MASK;
-            return nodes[index].lookup(newHash, key);
+        public T2<K, V> findEntry(int hash, int shift, K key) {
+            int index = indexOf(key);
+            return index < 0 ? null : entryAt(index);
         }
 
         @Override
-        public Node<K, V> delete(int hash, K key) {
-            int newHash = hash >>> NUM_BRANCHING_BITS;
-            int index = hash & MASK;
-            Node<K, V> node = nodes[index];
-            if (node.isEmpty()) {
-                return this;
-            } else {
-                Node<K, V> newNode = node.delete(newHash, key);
-                if (newNode == node) {
-                    return this;
+        public Node<K, V> delete(Object owner, int hash, int shift, K key) {
+            int index = indexOf(key);
+            return index < 0 ? this : new CollisionNode<>(hash, ArrayUtils.copyRemove(entries, index));
+        }
+
+        @Override
+        public Node<K, V> union(Node<K, V> other, int shift, BinaryOperator<V> fn) {
+            CollisionNode<K, V> that = (CollisionNode<K, V>) other;
+            Object[] result = entries;
+            for (int i = 0; i < that.entries.length; i++) {
+                T2<K, V> thatEntry = that.entryAt(i);
+                int index = indexOf(thatEntry._1());
+                if (index < 0) {
+                    result = ArrayUtils.copyInsert(result, result.length, thatEntry);
+                } else {
+                    T2<K, V> entry = unionEntry(entryAt(index), thatEntry, fn);
+                    result = entry == result[index] ? result : ArrayUtils.copyUpdate(result, index, entry);
+                }
+            }
+            return result == entries ? this : new CollisionNode<>(hash, result);
+        }
+
+        @Override
+        public Node<K, V> intersection(Node<K, ?> other, int shift) {
+            CollisionNode<K, ?> that = (CollisionNode<K, ?>) other;
+            return retain(entry -> that.indexOf(entry._1()) >= 0, null);
+        }
+
+        @Override
+        public Node<K, V> difference(Node<K, ?> other, int shift) {
+            CollisionNode<K, ?> that = (CollisionNode<K, ?>) other;
+            return retain(entry -> that.indexOf(entry._1()) < 0, null);
+        }
+
+        @Override
+        public Node<K, V> filter(BiPredicate<? super K, ? super V> predicate, Node<K, V>[] rejected) {
+            return retain(entry -> predicate.test(entry._1(), entry._2()), rejected);
+        }
+
+        private Node<K, V> retain(Predicate<T2<K, V>> predicate, Node<K, V>[] rejected) {
+            Object[] kept = new Object[entries.length];
+            Object[] dropped = new Object[entries.length];
+            int keptCount = 0;
+            int droppedCount = 0;
+            for (int i = 0; i < entries.length; i++) {
+                if (predicate.test(entryAt(i))) {
+                    kept[keptCount++] = entries[i];
                 } else {
-                    Node<K, V>[] newNodes = Arrays.copyOf(nodes, nodes.length);
-                    newNodes[index] = newNode;
-                    Node<K, V> branch = new Branch<>(newNodes);
-                    return branch.isEmpty() ? Leaf.empty() : branch;
+                    dropped[droppedCount++] = entries[i];
                 }
             }
+            if (rejected != null) {
+                rejected[0] = droppedCount == entries.length ? this : new CollisionNode<>(hash, Arrays.copyOf(dropped, droppedCount));
+            }
+            return keptCount == entries.length ? this : new CollisionNode<>(hash, Arrays.copyOf(kept, keptCount));
+        }
+
+        @Override
+        public T2<K, V> singleEntry() {
+            return entryAt(0);
+        }
+
+        @Override
+        public <W> Node<K, W> mapValues(Function<? super V, ? extends W> fn) {
+            Object[] newEntries = new Object[entries.length];
+            for (int i = 0; i < entries.length; i++) {
+                newEntries[i] = entryAt(i).map_2(fn);
+            }
+            return new CollisionNode<>(hash, newEntries);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public Node<K, V>[] split() {
+            int half = entries.length / 2;
+            return new Node[]{new CollisionNode<>(hash, Arrays.copyOfRange(entries, 0, half)),
+                    new CollisionNode<>(hash, Arrays.copyOfRange(entries, half, entries.length))};
+        }
+
+        @Override
+        public void forEach(Consumer<? super T2<K, V>> action) {
+            for (int i = 0; i < entries.length; i++) {
+                action.accept(entryAt(i));
+            }
         }
 
         @Override
         public String toString() {
-            return Strings.mkString("(Branch ", " ", ")", (Object[]) nodes);
+            return "(Leaf " + Strings.mkString("", "", "", entries) + ")";
+        }
+    }
+
+    //collects the entries and sub-nodes of a merged bitmap node, in the order of their bits
+    private static final class Merger<K, V> {
+        private final int bits;
+        private final Object[] data;
+        private final Object[] nodes;
+        private int dataMap;
+        private int nodeMap;
+        private int dataCount;
+        private int nodeCount;
+        private int size;
+
+        private Merger(int bits) {
+            this.bits = bits;
+            int capacity = Integer.bitCount(bits);
+            data = new Object[capacity];
+            nodes = new Object[capacity];
+        }
+
+        private void addData(int bit, T2<K, V> entry) {
+            dataMap |= bit;
+            data[dataCount++] = entry;
+            size++;
+        }
+
+        private void addNode(int bit, Node<K, V> node) {
+            nodeMap |= bit;
+            nodes[nodeCount++] = node;
+            size += node.size();
+        }
+
+        //adds the result of a sub-node operation, which may have become empty or small enough to be inlined
+        private void addChild(int bit, Node<K, V> node) {
+            if (node.size() == 1) {
+                addData(bit, node.singleEntry());
+            } else if (node.size() > 1) {
+                addNode(bit, node);
+            }
+        }
+
+        private boolean isSameAs(BitmapNode<K, V> node) {
+            if (node.dataMap != dataMap || node.nodeMap != nodeMap) {
+                return false;
+            }
+            for (int i = 0; i < dataCount; i++) {
+                if (node.content[i] != data[i]) {
+                    return false;
+                }
+            }
+            for (int i = 0; i < nodeCount; i++) {
+                if (node.content[node.content.length - 1 - i] != nodes[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private BitmapNode<K, V> build() {
+            if (size == 0) {
+                return BitmapNode.empty();
+            }
+            Object[] content = new Object[dataCount + nodeCount];
+            System.arraycopy(data, 0, content, 0, dataCount);
+            for (int i = 0; i < nodeCount; i++) {
+                content[content.length - 1 - i] = nodes[i];
+            }
+            return new BitmapNode<>(null, dataMap, nodeMap, content, size);
+        }
+    }
+
+    //depth-first cursor over the trie, keeping the content arrays and positions on an explicit stack
+    private static class TrieIterator<K, V, R> implements Iterator<R> {
+        private final Function<T2<K, V>, R> fn;
+        private final Object[][] stack = new Object[MAX_DEPTH + 1][];
+        private final int[] positions = new int[MAX_DEPTH + 1];
+        private final int[] dataArities = new int[MAX_DEPTH + 1];
+        private int depth = -1;
+
+        private TrieIterator(Node<K, V> root, Function<T2<K, V>, R> fn) {
+            this.fn = fn;
+            push(root);
+        }
+
+        private void push(Node<K, V> node) {
+            depth++;
+            positions[depth] = 0;
+            if (node instanceof BitmapNode) {
+                BitmapNode<K, V> bitmapNode = (BitmapNode<K, V>) node;
+                stack[depth] = bitmapNode.content;
+                dataArities[depth] = Integer.bitCount(bitmapNode.dataMap);
+            } else {
+                Object[] entries = ((CollisionNode<K, V>) node).entries;
+                stack[depth] = entries;
+                dataArities[depth] = entries.length;
+            }
         }
 
         @Override
-        public __<__<__<ProducerT.µ, T2<K, V>>, T1.µ>, T0> generator(int shift, int hash) {
-            return ProducerT.<T2<K, V>, T1.µ>monad().sequence_(
-                    List.zip(
-                            List.of(nodes),
-                            List.range(0)
-                    ).map((T2<Node<K, V>, Integer> x) -> {
-                        int newShift = shift + NUM_BRANCHING_BITS;
-                        int newHash = hash | (x._2() << shift);
-                        return x._1().generator(newShift, newHash);
-                    })
-            );
+        @SuppressWarnings("unchecked")
+        public boolean hasNext() {
+            while (depth >= 0) {
+                Object[] content = stack[depth];
+                int position = positions[depth];
+                if (position < dataArities[depth]) {
+                    return true;
+                } else if (position < content.length) {
+                    positions[depth] = position + 1;
+                    push((Node<K, V>) content[position]);
+                } else {
+                    stack[depth--] = null;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public R next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return fn.apply((T2<K, V>) stack[depth][positions[depth]++]);
         }
     }
 
-    @SuppressWarnings("unchecked")
-    private static <K, V> Node<K, V>[] emptyArray() {
-        return Arrays.copyOf((Node<K, V>[]) EMPTY_ARRAY, NUM_BRANCHES);
+    /**
+     * The {@link org.highj.typeclass1.foldable.ParallelFunctor} instance for the values of maps with the given key type.
+     *
+     * @param <K> the key type
+     * @return the instance
+     */
+    public static <K> HashMapParallelFunctor<K> parallelFunctor() {
+        return new HashMapParallelFunctor<K>() {
+        };
     }
 }
@@ -0,0 +1,303 @@
+package org.highj.data;
+
+import org.highj.typeclass0.group.Monoid;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntBinaryOperator;
+import java.util.function.IntFunction;
+import java.util.function.IntPredicate;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * A persistent list of unboxed ints.
+ * <p>
+ * The elements are stored in chunks of arrays, so a list built in one go (e.g. by {@link #of(int...)},
+ * {@link #map} or {@link #filter}) needs about 4 bytes per element. Prepending reuses the free space in
+ * front of the first chunk if no other list has claimed it yet.
+ */
+public final class IntList implements Iterable<Integer> {
+
+    private static final int CHUNK_SIZE = 32;
+
+    private static final IntList EMPTY = new IntList(new Chunk(new int[0]), 0, 0, null);
+
+    //a chunk is filled from the end, start is the lowest index any list has claimed so far
+    private static final class Chunk {
+        private final int[] values;
+        private final AtomicInteger start;
+
+        private Chunk(int[] values) {
+            this.values = values;
+            this.start = new AtomicInteger(0);
+        }
+
+        private Chunk(int[] values, int start) {
+            this.values = values;
+            this.start = new AtomicInteger(start);
+        }
+    }
+
+    //the elements are chunk.values[from...], followed by the elements of next (null only for EMPTY)
+    private final Chunk chunk;
+    private final int from;
+    private final int size;
+    private final IntList next;
+
+    private IntList(Chunk chunk, int from, int size, IntList next) {
+        this.chunk = chunk;
+        this.from = from;
+        this.size = size;
+        this.next = next;
+    }
+
+    public static IntList empty() {
+        return EMPTY;
+    }
+
+    public static IntList of(int... values) {
+        return fromArray(values.clone());
+    }
+
+    public static IntList fromList(List<Integer> list) {
+        Builder builder = new Builder();
+        for (int value : list) {
+            builder.add(value);
+        }
+        return builder.build();
+    }
+
+    public List<Integer> toList() {
+        return List.of(toArray());
+    }
+
+    public int[] toArray() {
+        int[] result = new int[size];
+        int i = 0;
+        for (IntList list = this; list.size > 0; list = list.next) {
+            int length = list.chunk.values.length - list.from;
+            System.arraycopy(list.chunk.values, list.from, result, i, length);
+            i += length;
+        }
+        return result;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int head() throws NoSuchElementException {
+        if (isEmpty()) {
+            throw new NoSuchElementException("head of empty IntList");
+        }
+        return chunk.values[from];
+    }
+
+    public IntList tail() throws NoSuchElementException {
+        if (isEmpty()) {
+            throw new NoSuchElementException("tail of empty IntList");
+        }
+        return from + 1 == chunk.values.length
+                ? next
+                : new IntList(chunk, from + 1, size - 1, next);
+    }
+
+    /**
+     * Retrieves an element, which takes time proportional to the number of chunks before it.
+     *
+     * @param index the index
+     * @return the element
+     * @throws IndexOutOfBoundsException when the index is negative or not smaller than the size
+     */
+    public int get(int index) throws IndexOutOfBoundsException {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("index " + index + ", size " + size);
+        }
+        IntList list = this;
+        while (index >= list.chunk.values.length - list.from) {
+            index -= list.chunk.values.length - list.from;
+            list = list.next;
+        }
+        return list.chunk.values[list.from + index];
+    }
+
+    /**
+     * Prepends an element.
+     *
+     * @param value the new element
+     * @return the list
+     */
+    public IntList plus(int value) {
+        if (from > 0 && chunk.start.compareAndSet(from, from - 1)) {
+            chunk.values[from - 1] = value;
+            return new IntList(chunk, from - 1, size + 1, next);
+        }
+        int[] values = new int[CHUNK_SIZE];
+        values[CHUNK_SIZE - 1] = value;
+        return new IntList(new Chunk(values, CHUNK_SIZE - 1), CHUNK_SIZE - 1, size + 1, this);
+    }
+
+    public IntList append(IntList that) {
+        if (this.isEmpty()) {
+            return that;
+        } else if (that.isEmpty()) {
+            return this;
+        }
+        return new IntList(new Chunk(toArray()), 0, size + that.size, that);
+    }
+
+    public IntList reverse() {
+        int[] values = toArray();
+        for (int i = 0, j = values.length - 1; i < j; i++, j--) {
+            int temp = values[i];
+            values[i] = values[j];
+            values[j] = temp;
+        }
+        return fromArray(values);
+    }
+
+    public IntList map(IntUnaryOperator fn) {
+        int[] result = new int[size];
+        int i = 0;
+        for (PrimitiveIterator.OfInt it = iterator(); it.hasNext(); ) {
+            result[i++] = fn.applyAsInt(it.nextInt());
+        }
+        return fromArray(result);
+    }
+
+    public <A> List<A> mapToObj(IntFunction<? extends A> fn) {
+        Object[] result = new Object[size];
+        int i = 0;
+        for (PrimitiveIterator.OfInt it = iterator(); it.hasNext(); ) {
+            result[i++] = fn.apply(it.nextInt());
+        }
+        List<A> list = List.Nil();
+        for (int j = result.length - 1; j >= 0; j--) {
+            @SuppressWarnings("unchecked")
+            A a = (A) result[j];
+            list = list.plus(a);
+        }
+        return list;
+    }
+
+    public IntList filter(IntPredicate predicate) {
+        Builder builder = new Builder();
+        for (PrimitiveIterator.OfInt it = iterator(); it.hasNext(); ) {
+            int value = it.nextInt();
+            if (predicate.test(value)) {
+                builder.add(value);
+            }
+        }
+        return builder.build();
+    }
+
+    public int foldl(int start, IntBinaryOperator fn) {
+        int result = start;
+        for (PrimitiveIterator.OfInt it = iterator(); it.hasNext(); ) {
+            result = fn.applyAsInt(result, it.nextInt());
+        }
+        return result;
+    }
+
+    public int foldr(IntBinaryOperator fn, int start) {
+        int[] values = toArray();
+        int result = start;
+        for (int i = values.length - 1; i >= 0; i--) {
+            result = fn.applyAsInt(values[i], result);
+        }
+        return result;
+    }
+
+    public int sum() {
+        return foldl(0, (x, y) -> x + y);
+    }
+
+    @Override
+    public PrimitiveIterator.OfInt iterator() {
+        return new PrimitiveIterator.OfInt() {
+            private IntList list = IntList.this;
+            private int index = from;
+
+            @Override
+            public boolean hasNext() {
+                return list.size > 0;
+            }
+
+            @Override
+            public int nextInt() {
+                if (list.size == 0) {
+                    throw new NoSuchElementException();
+                }
+                int result = list.chunk.values[index++];
+                if (index == list.chunk.values.length) {
+                    list = list.next;
+                    index = list.from;
+                }
+                return result;
+            }
+        };
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (o == this) return true;
+        if (o instanceof IntList) {
+            IntList that = (IntList) o;
+            return this.size == that.size && Arrays.equals(this.toArray(), that.toArray());
+        }
+        return false;
+    }
+
+    @Override
+    public int hashCode() {
+        int hc = 17;
+        for (PrimitiveIterator.OfInt it = iterator(); it.hasNext(); ) {
+            hc = 5 * hc + 37 * Integer.hashCode(it.nextInt());
+        }
+        return hc;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("IntList(");
+        for (PrimitiveIterator.OfInt it = iterator(); it.hasNext(); ) {
+            sb.append(it.nextInt());
+            if (it.hasNext()) {
+                sb.append(',');
+            }
+        }
+        return sb.append(')').toString();
+    }
+
+    private static IntList fromArray(int[] values) {
+        return values.length == 0 ? EMPTY : new IntList(new Chunk(values), 0, values.length, EMPTY);
+    }
+
+    //collects values in a growing array, which is trimmed at the end
+    private static final class Builder {
+        private int[] values = new int[CHUNK_SIZE];
+        private int size;
+
+        private void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, 2 * size);
+            }
+            values[size++] = value;
+        }
+
+        private IntList build() {
+            return fromArray(Arrays.copyOf(values, size));
+        }
+    }
+
+    /**
+     * The {@link Monoid} of int lists, using {@link IntList#append} as combining operation.
+     */
+    public static final Monoid<IntList> monoid = Monoid.create(EMPTY, IntList::append);
+}
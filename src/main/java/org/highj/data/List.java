@@ -19,9 +19,11 @@ import org.highj.util.Lazy;
 
 import java.util.*;
 import java.util.function.BiFunction;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
+import java.util.stream.Collector;
 
 /**
  * Immutable list implementation (a.k.a. immutable Stack).
@@ -179,6 +181,24 @@ public abstract class List<A> implements __<List.µ, A>, Iterable<A>, Function<I
         return result;
     }
 
+    /**
+     * A {@link Collector} for lists. The elements are buffered in an {@link ArrayList}, so the list
+     * can be built from its end without reversing it.
+     *
+     * @param <A> the element type
+     * @return the collector
+     */
+    public static <A> Collector<A, ?, List<A>> collector() {
+        return Collector.<A, ArrayList<A>, List<A>>of(
+                ArrayList::new,
+                ArrayList::add,
+                (left, right) -> {
+                    left.addAll(right);
+                    return left;
+                },
+                List::fromJavaList);
+    }
+
     /**
      * Constructs a list from the first element and an existing list in a strict fashion.
      *
@@ -214,6 +234,9 @@ public abstract class List<A> implements __<List.µ, A>, Iterable<A>, Function<I
 
     /**
      * Constructs a list from the first element and an existing list in a lazy fashion.
+     * <p>
+     * The tail is evaluated at most once, on first access. Afterwards the {@link Supplier}
+     * is released, so it doesn't keep its captured state alive.
      *
      * @param head         the first element
      * @param tailSupplier a {@link Supplier} producing the remaining elements
@@ -221,28 +244,48 @@ public abstract class List<A> implements __<List.µ, A>, Iterable<A>, Function<I
      * @return the list
      */
     public static <A> List<A> Cons$(final A head, final Supplier<List<A>> tailSupplier) {
-        return new List<A>() {
+        return new LazyCons<>(head, tailSupplier);
+    }
 
-            @Override
-            public A head() throws NoSuchElementException {
-                return head;
-            }
+    private static final class LazyCons<A> extends List<A> {
+        private final A head;
+        //set to null after evaluation, which publishes the tail
+        private volatile Supplier<List<A>> tailSupplier;
+        private List<A> tail;
 
-            @Override
-            public List<A> tail() throws NoSuchElementException {
-                return tailSupplier.get();
-            }
+        private LazyCons(A head, Supplier<List<A>> tailSupplier) {
+            this.head = head;
+            this.tailSupplier = tailSupplier;
+        }
 
-            @Override
-            public Maybe<A> maybeHead() {
-                return Maybe.Just(head);
-            }
+        @Override
+        public A head() throws NoSuchElementException {
+            return head;
+        }
 
-            @Override
-            public Maybe<List<A>> maybeTail() {
-                return Maybe.Just$(tailSupplier);
+        @Override
+        public List<A> tail() throws NoSuchElementException {
+            if (tailSupplier != null) {
+                synchronized (this) {
+                    Supplier<List<A>> supplier = tailSupplier;
+                    if (supplier != null) {
+                        tail = supplier.get();
+                        tailSupplier = null;
+                    }
+                }
             }
-        };
+            return tail;
+        }
+
+        @Override
+        public Maybe<A> maybeHead() {
+            return Maybe.Just(head);
+        }
+
+        @Override
+        public Maybe<List<A>> maybeTail() {
+            return Maybe.Just$(this::tail);
+        }
     }
 
     /**
@@ -628,22 +671,117 @@ public abstract class List<A> implements __<List.µ, A>, Iterable<A>, Function<I
 
     @Override
     public Iterator<A> iterator() {
-        return new Iterator<A>() {
+        return new ListIterator<>(this);
+    }
 
-            private List<A> list = List.this;
+    //a static class, so that the iterator doesn't keep the already consumed (memoized) prefix alive
+    private static final class ListIterator<A> implements Iterator<A> {
+        private List<A> list;
 
-            @Override
-            public boolean hasNext() {
-                return !list.isEmpty();
+        private ListIterator(List<A> list) {
+            this.list = list;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !list.isEmpty();
+        }
+
+        @Override
+        public A next() {
+            A a = list.head();
+            list = list.tail();
+            return a;
+        }
+    }
+
+    /**
+     * A {@link Spliterator}, which splits by walking to the middle of the remaining elements,
+     * without copying them.
+     * <p>
+     * The spliterator starts unsized, so sequential streams over infinite lists work. The list is
+     * only counted on the first split, which doesn't terminate for infinite lists.
+     *
+     * @return the spliterator
+     */
+    @Override
+    public Spliterator<A> spliterator() {
+        return new ListSpliterator<>(this, -1);
+    }
+
+    //a spliterator over the given number of elements from the start of the list
+    Spliterator<A> spliterator(int size) {
+        return new ListSpliterator<>(this, size);
+    }
+
+    private static final class ListSpliterator<A> implements Spliterator<A> {
+        private List<A> list;
+        //the number of remaining elements, or -1 until the list gets counted
+        private int size;
+
+        private ListSpliterator(List<A> list, int size) {
+            this.list = list;
+            this.size = size;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super A> action) {
+            if (size == 0 || (size < 0 && list.isEmpty())) {
+                return false;
+            }
+            A a = list.head();
+            list = list.tail();
+            if (size > 0) {
+                size--;
+            }
+            action.accept(a);
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super A> action) {
+            List<A> current = list;
+            if (size < 0) {
+                while (!current.isEmpty()) {
+                    action.accept(current.head());
+                    current = current.tail();
+                }
+            } else {
+                for (int i = size; i > 0; i--) {
+                    action.accept(current.head());
+                    current = current.tail();
+                }
             }
+            list = current;
+            size = 0;
+        }
 
-            @Override
-            public A next() {
-                A a = list.head();
+        @Override
+        public Spliterator<A> trySplit() {
+            if (size < 0) {
+                size = list.size();
+            }
+            if (size < 2) {
+                return null;
+            }
+            int half = size / 2;
+            List<A> prefix = list;
+            for (int i = 0; i < half; i++) {
                 list = list.tail();
-                return a;
             }
-        };
+            size -= half;
+            return new ListSpliterator<>(prefix, half);
+        }
+
+        @Override
+        public long estimateSize() {
+            return size < 0 ? Long.MAX_VALUE : size;
+        }
+
+        @Override
+        public int characteristics() {
+            return size < 0 ? ORDERED | IMMUTABLE : ORDERED | IMMUTABLE | SIZED | SUBSIZED;
+        }
     }
 
     /**
@@ -793,19 +931,29 @@ public abstract class List<A> implements __<List.µ, A>, Iterable<A>, Function<I
     /**
      * Calculates a new list as concatenation of the results after applying the given function to all elements.
      *
-     * This operation is also known as "bind" or "flatMap".
+     * This operation is also known as "bind" or "flatMap". It works in a lazy fashion,
+     * and runs of elements mapped to empty lists are skipped in a loop.
      *
      * @param fn the function
      * @param <B> the result type
      * @return the list
      */
     public <B> List<B> concatMap(Function<? super A, List<? extends B>> fn) {
-        if (isEmpty()) {
-            return Nil();
-        } else {
-            List<B> headList = List.contravariant(fn.apply(head()));
-            return List.append(headList, tail().concatMap(fn));
+        List<A> rest = this;
+        while (!rest.isEmpty()) {
+            List<B> headList = List.contravariant(fn.apply(rest.head()));
+            if (!headList.isEmpty()) {
+                return concatMapAppend(headList, rest.tail(), fn);
+            }
+            rest = rest.tail();
         }
+        return Nil();
+    }
+
+    private static <A, B> List<B> concatMapAppend(List<B> headList, List<A> rest, Function<? super A, List<? extends B>> fn) {
+        return headList.isEmpty()
+                ? rest.concatMap(fn)
+                : Cons$(headList.head(), () -> concatMapAppend(headList.tail(), rest, fn));
     }
 
     /**
@@ -815,13 +963,15 @@ public abstract class List<A> implements __<List.µ, A>, Iterable<A>, Function<I
      * @return the filtered list
      */
     public List<A> filter(final Predicate<? super A> predicate) {
-        if (isEmpty()) {
-            return this;
-        } else if (predicate.test(head())) {
-            return Cons$(head(), () -> tail().filter(predicate));
-        } else {
-            return tail().filter(predicate);
+        List<A> rest = this;
+        while (!rest.isEmpty() && !predicate.test(rest.head())) {
+            rest = rest.tail();
+        }
+        if (rest.isEmpty()) {
+            return rest;
         }
+        final List<A> found = rest;
+        return Cons$(found.head(), () -> found.tail().filter(predicate));
     }
 
     /**
@@ -859,6 +1009,7 @@ public abstract class List<A> implements __<List.µ, A>, Iterable<A>, Function<I
      *
      * That means the last value of the list is combined with the starting value using the given function,
      * then the result is combined with the second to last value etc, until the whole list is consumed that way.
+     * The elements are buffered in an array, so this needs neither stack space nor a reversed copy of the list.
      *
      * @param fn combination function
      * @param startValue starting value
@@ -866,7 +1017,15 @@ public abstract class List<A> implements __<List.µ, A>, Iterable<A>, Function<I
      * @return result of the folding operation
      */
     public <B> B foldr(BiFunction<A, B, B> fn, B startValue) {
-        return reverse().foldl(startValue, (b,a) -> fn.apply(a,b));
+        ArrayList<A> elements = new ArrayList<>();
+        for (A a : this) {
+            elements.add(a);
+        }
+        B result = startValue;
+        for (int i = elements.size() - 1; i >= 0; i--) {
+            result = fn.apply(elements.get(i), result);
+        }
+        return result;
     }
 
     /**
@@ -1097,6 +1256,12 @@ public abstract class List<A> implements __<List.µ, A>, Iterable<A>, Function<I
     public static final ListTraversable traversable = new ListTraversable() {
     };
 
+    /**
+     * The {@link org.highj.typeclass1.foldable.ParallelFunctor} instance of lists.
+     */
+    public static final ListParallelFunctor parallelFunctor = new ListParallelFunctor() {
+    };
+
     /**
      * The {@link org.highj.typeclass1.monad.Applicative} instance of lists using {@link List#zip}
      * as combining operation.
@@ -0,0 +1,303 @@
+package org.highj.data;
+
+import org.highj.typeclass0.group.Monoid;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongBinaryOperator;
+import java.util.function.LongFunction;
+import java.util.function.LongPredicate;
+import java.util.function.LongUnaryOperator;
+
+/**
+ * A persistent list of unboxed longs.
+ * <p>
+ * The elements are stored in chunks of arrays, so a list built in one go (e.g. by {@link #of(long...)},
+ * {@link #map} or {@link #filter}) needs about 8 bytes per element. Prepending reuses the free space in
+ * front of the first chunk if no other list has claimed it yet.
+ */
+public final class LongList implements Iterable<Long> {
+
+    private static final int CHUNK_SIZE = 32;
+
+    private static final LongList EMPTY = new LongList(new Chunk(new long[0]), 0, 0, null);
+
+    //a chunk is filled from the end, start is the lowest index any list has claimed so far
+    private static final class Chunk {
+        private final long[] values;
+        private final AtomicInteger start;
+
+        private Chunk(long[] values) {
+            this.values = values;
+            this.start = new AtomicInteger(0);
+        }
+
+        private Chunk(long[] values, int start) {
+            this.values = values;
+            this.start = new AtomicInteger(start);
+        }
+    }
+
+    //the elements are chunk.values[from...], followed by the elements of next (null only for EMPTY)
+    private final Chunk chunk;
+    private final int from;
+    private final int size;
+    private final LongList next;
+
+    private LongList(Chunk chunk, int from, int size, LongList next) {
+        this.chunk = chunk;
+        this.from = from;
+        this.size = size;
+        this.next = next;
+    }
+
+    public static LongList empty() {
+        return EMPTY;
+    }
+
+    public static LongList of(long... values) {
+        return fromArray(values.clone());
+    }
+
+    public static LongList fromList(List<Long> list) {
+        Builder builder = new Builder();
+        for (long value : list) {
+            builder.add(value);
+        }
+        return builder.build();
+    }
+
+    public List<Long> toList() {
+        return List.of(toArray());
+    }
+
+    public long[] toArray() {
+        long[] result = new long[size];
+        int i = 0;
+        for (LongList list = this; list.size > 0; list = list.next) {
+            int length = list.chunk.values.length - list.from;
+            System.arraycopy(list.chunk.values, list.from, result, i, length);
+            i += length;
+        }
+        return result;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public long head() throws NoSuchElementException {
+        if (isEmpty()) {
+            throw new NoSuchElementException("head of empty LongList");
+        }
+        return chunk.values[from];
+    }
+
+    public LongList tail() throws NoSuchElementException {
+        if (isEmpty()) {
+            throw new NoSuchElementException("tail of empty LongList");
+        }
+        return from + 1 == chunk.values.length
+                ? next
+                : new LongList(chunk, from + 1, size - 1, next);
+    }
+
+    /**
+     * Retrieves an element, which takes time proportional to the number of chunks before it.
+     *
+     * @param index the index
+     * @return the element
+     * @throws IndexOutOfBoundsException when the index is negative or not smaller than the size
+     */
+    public long get(int index) throws IndexOutOfBoundsException {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("index " + index + ", size " + size);
+        }
+        LongList list = this;
+        while (index >= list.chunk.values.length - list.from) {
+            index -= list.chunk.values.length - list.from;
+            list = list.next;
+        }
+        return list.chunk.values[list.from + index];
+    }
+
+    /**
+     * Prepends an element.
+     *
+     * @param value the new element
+     * @return the list
+     */
+    public LongList plus(long value) {
+        if (from > 0 && chunk.start.compareAndSet(from, from - 1)) {
+            chunk.values[from - 1] = value;
+            return new LongList(chunk, from - 1, size + 1, next);
+        }
+        long[] values = new long[CHUNK_SIZE];
+        values[CHUNK_SIZE - 1] = value;
+        return new LongList(new Chunk(values, CHUNK_SIZE - 1), CHUNK_SIZE - 1, size + 1, this);
+    }
+
+    public LongList append(LongList that) {
+        if (this.isEmpty()) {
+            return that;
+        } else if (that.isEmpty()) {
+            return this;
+        }
+        return new LongList(new Chunk(toArray()), 0, size + that.size, that);
+    }
+
+    public LongList reverse() {
+        long[] values = toArray();
+        for (int i = 0, j = values.length - 1; i < j; i++, j--) {
+            long temp = values[i];
+            values[i] = values[j];
+            values[j] = temp;
+        }
+        return fromArray(values);
+    }
+
+    public LongList map(LongUnaryOperator fn) {
+        long[] result = new long[size];
+        int i = 0;
+        for (PrimitiveIterator.OfLong it = iterator(); it.hasNext(); ) {
+            result[i++] = fn.applyAsLong(it.nextLong());
+        }
+        return fromArray(result);
+    }
+
+    public <A> List<A> mapToObj(LongFunction<? extends A> fn) {
+        Object[] result = new Object[size];
+        int i = 0;
+        for (PrimitiveIterator.OfLong it = iterator(); it.hasNext(); ) {
+            result[i++] = fn.apply(it.nextLong());
+        }
+        List<A> list = List.Nil();
+        for (int j = result.length - 1; j >= 0; j--) {
+            @SuppressWarnings("unchecked")
+            A a = (A) result[j];
+            list = list.plus(a);
+        }
+        return list;
+    }
+
+    public LongList filter(LongPredicate predicate) {
+        Builder builder = new Builder();
+        for (PrimitiveIterator.OfLong it = iterator(); it.hasNext(); ) {
+            long value = it.nextLong();
+            if (predicate.test(value)) {
+                builder.add(value);
+            }
+        }
+        return builder.build();
+    }
+
+    public long foldl(long start, LongBinaryOperator fn) {
+        long result = start;
+        for (PrimitiveIterator.OfLong it = iterator(); it.hasNext(); ) {
+            result = fn.applyAsLong(result, it.nextLong());
+        }
+        return result;
+    }
+
+    public long foldr(LongBinaryOperator fn, long start) {
+        long[] values = toArray();
+        long result = start;
+        for (int i = values.length - 1; i >= 0; i--) {
+            result = fn.applyAsLong(values[i], result);
+        }
+        return result;
+    }
+
+    public long sum() {
+        return foldl(0, (x, y) -> x + y);
+    }
+
+    @Override
+    public PrimitiveIterator.OfLong iterator() {
+        return new PrimitiveIterator.OfLong() {
+            private LongList list = LongList.this;
+            private int index = from;
+
+            @Override
+            public boolean hasNext() {
+                return list.size > 0;
+            }
+
+            @Override
+            public long nextLong() {
+                if (list.size == 0) {
+                    throw new NoSuchElementException();
+                }
+                long result = list.chunk.values[index++];
+                if (index == list.chunk.values.length) {
+                    list = list.next;
+                    index = list.from;
+                }
+                return result;
+            }
+        };
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (o == this) return true;
+        if (o instanceof LongList) {
+            LongList that = (LongList) o;
+            return this.size == that.size && Arrays.equals(this.toArray(), that.toArray());
+        }
+        return false;
+    }
+
+    @Override
+    public int hashCode() {
+        int hc = 17;
+        for (PrimitiveIterator.OfLong it = iterator(); it.hasNext(); ) {
+            hc = 5 * hc + 37 * Long.hashCode(it.nextLong());
+        }
+        return hc;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("LongList(");
+        for (PrimitiveIterator.OfLong it = iterator(); it.hasNext(); ) {
+            sb.append(it.nextLong());
+            if (it.hasNext()) {
+                sb.append(',');
+            }
+        }
+        return sb.append(')').toString();
+    }
+
+    private static LongList fromArray(long[] values) {
+        return values.length == 0 ? EMPTY : new LongList(new Chunk(values), 0, values.length, EMPTY);
+    }
+
+    //collects values in a growing array, which is trimmed at the end
+    private static final class Builder {
+        private long[] values = new long[CHUNK_SIZE];
+        private int size;
+
+        private void add(long value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, 2 * size);
+            }
+            values[size++] = value;
+        }
+
+        private LongList build() {
+            return fromArray(Arrays.copyOf(values, size));
+        }
+    }
+
+    /**
+     * The {@link Monoid} of long lists, using {@link LongList#append} as combining operation.
+     */
+    public static final Monoid<LongList> monoid = Monoid.create(EMPTY, LongList::append);
+}
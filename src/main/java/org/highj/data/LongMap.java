@@ -0,0 +1,818 @@
+package org.highj.data;
+
+import org.derive4j.hkt.__;
+import org.highj.data.instance.longmap.LongMapFunctor;
+import org.highj.data.tuple.T2;
+import org.highj.function.LongObjConsumer;
+import org.highj.util.ArrayUtils;
+import org.highj.util.SplittingSpliterator;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.function.BiFunction;
+import java.util.function.BinaryOperator;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * A persistent map with long keys, implemented as a bitmap-indexed prefix tree over the bits of the key,
+ * starting from the least significant bits. It has the same layout as {@link IntMap}, with up to 13 levels
+ * for 64 bit keys.
+ * <p>
+ * Every node keeps two bitmaps: one for the key fragments stored inline as key-value pairs, and one
+ * for the fragments pointing to sub-nodes. Only the occupied slots are allocated.
+ * <p>
+ * For bulk construction, {@link #toTransient()} provides a builder which modifies the nodes it created
+ * itself in place, instead of copying the whole path to the root on every update.
+ * <p>
+ * {@link #getOrDefault}, {@link #containsKey}, {@link #forEachEntry} and {@link #cursor()} access the
+ * entries without boxing the keys or allocating wrappers.
+ */
+public class LongMap<A> implements __<LongMap.µ, A>, Iterable<T2<Long, A>> {
+    private static final int NUM_BRANCHING_BITS = 5;
+    private static final int MASK = (1 << NUM_BRANCHING_BITS) - 1;
+    private static final int MAX_DEPTH = (Long.SIZE + NUM_BRANCHING_BITS - 1) / NUM_BRANCHING_BITS;
+
+    public interface µ {
+    }
+
+    private final Node<A> root;
+
+    private LongMap(Node<A> root) {
+        this.root = root;
+    }
+
+    private static final LongMap<?> EMPTY = new LongMap<>(Node.empty());
+
+    @SuppressWarnings("unchecked")
+    public static <A> LongMap<A> empty() {
+        return (LongMap<A>) EMPTY;
+    }
+
+    /**
+     * Creates a transient builder, initialized with the entries of this map.
+     * This map is not affected by changes to the builder.
+     *
+     * @return the builder
+     */
+    public Transient<A> toTransient() {
+        return new Transient<>(root);
+    }
+
+    public boolean isEmpty() {
+        return root.size == 0;
+    }
+
+    @Override
+    public Iterator<T2<Long, A>> iterator() {
+        return new TrieIterator<A, T2<Long, A>>(root) {
+            @Override
+            T2<Long, A> extract(long key, A value) {
+                return T2.of(key, value);
+            }
+        };
+    }
+
+    @Override
+    public void forEach(Consumer<? super T2<Long, A>> action) {
+        root.forEach((key, value) -> action.accept(T2.of(key, value)));
+    }
+
+    /**
+     * Performs the given action for every key-value pair of the map, without boxing the keys.
+     *
+     * @param action the action
+     */
+    public void forEachEntry(LongObjConsumer<? super A> action) {
+        root.forEach(action);
+    }
+
+    /**
+     * Creates a cursor over the entries, in the same order as the iterator.
+     *
+     * @return the cursor
+     */
+    public Cursor<A> cursor() {
+        return new Cursor<>(root);
+    }
+
+    /**
+     * Iterates the unboxed keys of the map, in the same order as the entries.
+     *
+     * @return the key iterator
+     */
+    public PrimitiveIterator.OfLong keyIterator() {
+        Cursor<A> cursor = cursor();
+        return new PrimitiveIterator.OfLong() {
+            private boolean ready = false;
+
+            @Override
+            public boolean hasNext() {
+                return ready || (ready = cursor.advance());
+            }
+
+            @Override
+            public long nextLong() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                ready = false;
+                return cursor.key();
+            }
+        };
+    }
+
+    /**
+     * A sized {@link Spliterator}, which splits along the trie using {@link #split()}, so parallel streams
+     * over the map can distribute the work.
+     * It doesn't report {@link Spliterator#ORDERED}, as the iteration order follows the bits of the keys
+     * starting from the least significant ones.
+     *
+     * @return the spliterator
+     */
+    @Override
+    public Spliterator<T2<Long, A>> spliterator() {
+        return new SplittingSpliterator<>(this, LongMap::size, LongMap::split,
+                Spliterator.DISTINCT | Spliterator.IMMUTABLE | Spliterator.NONNULL);
+    }
+
+    /**
+     * A view of the keys of the map, iterated in the same order as the entries.
+     *
+     * @return the keys
+     */
+    public Iterable<Long> keys() {
+        return () -> new TrieIterator<A, Long>(root) {
+            @Override
+            Long extract(long key, A value) {
+                return key;
+            }
+        };
+    }
+
+    /**
+     * A view of the values of the map, iterated in the same order as the entries.
+     *
+     * @return the values
+     */
+    public Iterable<A> values() {
+        return () -> new TrieIterator<A, A>(root) {
+            @Override
+            A extract(long key, A value) {
+                return value;
+            }
+        };
+    }
+
+    public int size() {
+        return root.size;
+    }
+
+    public LongMap<A> insert(long key, A value) {
+        Node<A> root2 = root.insert(null, key, 0, value);
+        return root2 == root ? this : new LongMap<>(root2);
+    }
+
+    public Maybe<A> lookup(long key) {
+        return root.lookup(key, 0);
+    }
+
+    /**
+     * Retrieves the value for a key, without allocating a {@link Maybe}.
+     *
+     * @param key          the key
+     * @param defaultValue the result if the key is absent
+     * @return the value for the key, or the default value
+     */
+    @SuppressWarnings("unchecked")
+    public A getOrDefault(long key, A defaultValue) {
+        Object result = root.find(key, 0);
+        return result == NOT_FOUND ? defaultValue : (A) result;
+    }
+
+    public boolean containsKey(long key) {
+        return root.find(key, 0) != NOT_FOUND;
+    }
+
+    /**
+     * The union of two maps, preferring the values of this map for keys present in both.
+     *
+     * @param that the other map
+     * @return the union
+     */
+    public LongMap<A> union(LongMap<A> that) {
+        return unionWith(that, (x, y) -> x);
+    }
+
+    /**
+     * The union of two maps. The tries are merged node by node, sub-tries present in only one of the maps
+     * are shared, and if the result is equal to one of the maps, that map is returned.
+     *
+     * @param that the other map
+     * @param fn   combines the values for keys present in both maps
+     * @return the union
+     */
+    public LongMap<A> unionWith(LongMap<A> that, BinaryOperator<A> fn) {
+        Node<A> root2 = root.union(that.root, 0, fn);
+        return root2 == root ? this : root2 == that.root ? that : new LongMap<>(root2);
+    }
+
+    /**
+     * The intersection of two maps. Only sub-tries occupied in both maps are visited.
+     *
+     * @param that the other map
+     * @param fn   combines the values for keys present in both maps
+     * @param <B>  the value type of the other map
+     * @param <C>  the value type of the result
+     * @return the intersection
+     */
+    public <B, C> LongMap<C> intersectionWith(LongMap<B> that, BiFunction<? super A, ? super B, ? extends C> fn) {
+        Node<C> root2 = root.intersection(that.root, 0, fn);
+        return root2.size == 0 ? empty() : new LongMap<>(root2);
+    }
+
+    public LongMap<A> delete(long key) {
+        Node<A> root2 = root.delete(null, key, 0);
+        return root2 == root ? this : new LongMap<>(root2);
+    }
+
+    /**
+     * Splits the map along its trie into two maps of roughly equal size, keeping sub-tries by reference.
+     * <p>
+     * Iterating the first map and then the second one yields the entries in the same order as iterating
+     * this map.
+     *
+     * @return the two parts, or this map and an empty map if there are less than two entries
+     */
+    public T2<LongMap<A>, LongMap<A>> split() {
+        if (root.size < 2) {
+            return T2.of(this, empty());
+        }
+        Node<A>[] halves = root.split();
+        return T2.of(new LongMap<>(halves[0]), new LongMap<>(halves[1]));
+    }
+
+    public <B> LongMap<B> mapValues(Function<? super A, ? extends B> fn) {
+        return new LongMap<B>(root.mapValues(fn));
+    }
+
+    @Override
+    public String toString() {
+        return root.toString();
+    }
+
+    /**
+     * A mutable builder for {@link LongMap}s. Nodes created by the builder are tagged with its owner token,
+     * and are modified in place by later updates. Nodes shared with persistent maps are copied as usual.
+     * <p>
+     * A transient is not thread-safe, and must not be used any more after calling {@link #persistent()}.
+     *
+     * @param <A> the value type
+     */
+    public static final class Transient<A> {
+        private Object owner = new Object();
+        private Node<A> root;
+
+        private Transient(Node<A> root) {
+            this.root = root;
+        }
+
+        private Object owner() {
+            if (owner == null) {
+                throw new IllegalStateException("transient used after call to persistent()");
+            }
+            return owner;
+        }
+
+        public Transient<A> insert(long key, A value) {
+            root = root.insert(owner(), key, 0, value);
+            return this;
+        }
+
+        public Transient<A> delete(long key) {
+            root = root.delete(owner(), key, 0);
+            return this;
+        }
+
+        public Maybe<A> lookup(long key) {
+            owner();
+            return root.lookup(key, 0);
+        }
+
+        public int size() {
+            owner();
+            return root.size;
+        }
+
+        /**
+         * Freezes the current state of the builder into a persistent map.
+         *
+         * @return the map
+         */
+        public LongMap<A> persistent() {
+            owner();
+            owner = null;
+            return root.size == 0 ? empty() : new LongMap<>(root);
+        }
+    }
+
+    /**
+     * A cursor over the entries of a map, which doesn't allocate per entry.
+     * It is positioned before the first entry, and {@link #key()} and {@link #value()} refer to the entry
+     * reached by the last successful call of {@link #advance()}.
+     *
+     * @param <A> the value type
+     */
+    public static final class Cursor<A> {
+        //depth-first traversal of the trie, keeping the nodes and positions on an explicit stack
+        @SuppressWarnings("unchecked")
+        private final Node<A>[] stack = new Node[MAX_DEPTH];
+        private final int[] positions = new int[MAX_DEPTH];
+        private int depth = 0;
+        private long key;
+        private A value;
+
+        private Cursor(Node<A> root) {
+            stack[0] = root;
+        }
+
+        /**
+         * Moves to the next entry.
+         *
+         * @return false if there are no more entries
+         */
+        public boolean advance() {
+            while (depth >= 0) {
+                Node<A> node = stack[depth];
+                int position = positions[depth];
+                if (position < node.keys.length) {
+                    positions[depth] = position + 1;
+                    key = node.keys[position];
+                    value = node.valueAt(position);
+                    return true;
+                } else if (position < node.content.length) {
+                    positions[depth] = position + 1;
+                    depth++;
+                    stack[depth] = node.nodeAt(position);
+                    positions[depth] = 0;
+                } else {
+                    stack[depth--] = null;
+                }
+            }
+            value = null;
+            return false;
+        }
+
+        public long key() {
+            return key;
+        }
+
+        public A value() {
+            return value;
+        }
+    }
+
+    private static final Object NOT_FOUND = new Object();
+
+    private static int bitpos(long key, int shift) {
+        return 1 << (int) ((key >>> shift) & MASK);
+    }
+
+    //values are stored from the start of the content array (with their keys in the keys array),
+    //sub-nodes in reverse order from its end
+    //the owner is the token of the transient performing an update, or null for persistent updates
+    private static class Node<A> {
+
+        private static final Node<?> EMPTY = new Node<>(null, 0, 0, new long[0], new Object[0], 0);
+
+        @SuppressWarnings("unchecked")
+        static <A> Node<A> empty() {
+            return (Node<A>) EMPTY;
+        }
+
+        private final Object owner;
+        private int dataMap;
+        private int nodeMap;
+        private long[] keys;
+        private Object[] content;
+        private int size;
+
+        private Node(Object owner, int dataMap, int nodeMap, long[] keys, Object[] content, int size) {
+            this.owner = owner;
+            this.dataMap = dataMap;
+            this.nodeMap = nodeMap;
+            this.keys = keys;
+            this.content = content;
+            this.size = size;
+        }
+
+        private static <A> Node<A> merge(Object owner, long key1, A value1, long key2, A value2, int shift) {
+            int mask1 = (int) ((key1 >>> shift) & MASK);
+            int mask2 = (int) ((key2 >>> shift) & MASK);
+            if (mask1 != mask2) {
+                return mask1 < mask2
+                        ? new Node<>(owner, (1 << mask1) | (1 << mask2), 0, new long[]{key1, key2}, new Object[]{value1, value2}, 2)
+                        : new Node<>(owner, (1 << mask1) | (1 << mask2), 0, new long[]{key2, key1}, new Object[]{value2, value1}, 2);
+            }
+            return new Node<>(owner, 0, 1 << mask1, new long[0],
+                    new Object[]{merge(owner, key1, value1, key2, value2, shift + NUM_BRANCHING_BITS)}, 2);
+        }
+
+        private boolean isOwnedBy(Object owner) {
+            return owner != null && owner == this.owner;
+        }
+
+        private Node<A> with(Object owner, int dataMap, int nodeMap, long[] keys, Object[] content, int size) {
+            if (isOwnedBy(owner)) {
+                this.dataMap = dataMap;
+                this.nodeMap = nodeMap;
+                this.keys = keys;
+                this.content = content;
+                this.size = size;
+                return this;
+            }
+            return new Node<>(owner, dataMap, nodeMap, keys, content, size);
+        }
+
+        private Node<A> withSlot(Object owner, int index, Object value, int sizeDelta) {
+            if (isOwnedBy(owner)) {
+                content[index] = value;
+                size += sizeDelta;
+                return this;
+            }
+            return new Node<>(owner, dataMap, nodeMap, keys, ArrayUtils.copyUpdate(content, index, value), size + sizeDelta);
+        }
+
+        private int dataIndex(int bit) {
+            return Integer.bitCount(dataMap & (bit - 1));
+        }
+
+        private int nodeIndex(int bit) {
+            return content.length - 1 - Integer.bitCount(nodeMap & (bit - 1));
+        }
+
+        @SuppressWarnings("unchecked")
+        private A valueAt(int index) {
+            return (A) content[index];
+        }
+
+        @SuppressWarnings("unchecked")
+        private Node<A> nodeAt(int index) {
+            return (Node<A>) content[index];
+        }
+
+        Node<A> insert(Object owner, long key, int shift, A value) {
+            int bit = bitpos(key, shift);
+            if ((dataMap & bit) != 0) {
+                int index = dataIndex(bit);
+                long key1 = keys[index];
+                if (key1 == key) {
+                    return valueAt(index) == value ? this : withSlot(owner, index, value, 0);
+                }
+                Node<A> node = merge(owner, key1, valueAt(index), key, value, shift + NUM_BRANCHING_BITS);
+                return with(owner, dataMap ^ bit, nodeMap | bit, ArrayUtils.copyRemove(keys, index),
+                        migrateDataToNode(bit, index, node), size + 1);
+            } else if ((nodeMap & bit) != 0) {
+                int index = nodeIndex(bit);
+                Node<A> node = nodeAt(index);
+                //an owned sub-node may have been modified in place, so we compare sizes as well
+                int oldSize = node.size;
+                Node<A> newNode = node.insert(owner, key, shift + NUM_BRANCHING_BITS, value);
+                int sizeDelta = newNode.size - oldSize;
+                return newNode == node && sizeDelta == 0 ? this : withSlot(owner, index, newNode, sizeDelta);
+            } else {
+                int index = dataIndex(bit);
+                return with(owner, dataMap | bit, nodeMap, ArrayUtils.copyInsert(keys, index, key),
+                        ArrayUtils.copyInsert(content, index, value), size + 1);
+            }
+        }
+
+        Maybe<A> lookup(long key, int shift) {
+            int bit = bitpos(key, shift);
+            if ((dataMap & bit) != 0) {
+                int index = dataIndex(bit);
+                return Maybe.JustWhenTrue(keys[index] == key, () -> valueAt(index));
+            } else if ((nodeMap & bit) != 0) {
+                return nodeAt(nodeIndex(bit)).lookup(key, shift + NUM_BRANCHING_BITS);
+            } else {
+                return Maybe.Nothing();
+            }
+        }
+
+        //the value for the key, or NOT_FOUND
+        Object find(long key, int shift) {
+            Node<A> node = this;
+            while (true) {
+                int bit = bitpos(key, shift);
+                if ((node.dataMap & bit) != 0) {
+                    int index = node.dataIndex(bit);
+                    return node.keys[index] == key ? node.content[index] : NOT_FOUND;
+                } else if ((node.nodeMap & bit) == 0) {
+                    return NOT_FOUND;
+                }
+                node = node.nodeAt(node.nodeIndex(bit));
+                shift += NUM_BRANCHING_BITS;
+            }
+        }
+
+        Node<A> delete(Object owner, long key, int shift) {
+            int bit = bitpos(key, shift);
+            if ((dataMap & bit) != 0) {
+                int index = dataIndex(bit);
+                return keys[index] == key
+                        ? with(owner, dataMap ^ bit, nodeMap, ArrayUtils.copyRemove(keys, index),
+                        ArrayUtils.copyRemove(content, index), size - 1)
+                        : this;
+            } else if ((nodeMap & bit) != 0) {
+                int index = nodeIndex(bit);
+                Node<A> node = nodeAt(index);
+                int oldSize = node.size;
+                Node<A> newNode = node.delete(owner, key, shift + NUM_BRANCHING_BITS);
+                if (newNode == node && newNode.size == oldSize) {
+                    return this;
+                } else if (newNode.size == 1) {
+                    //a sub-node with a single entry is inlined
+                    return with(owner, dataMap | bit, nodeMap ^ bit,
+                            ArrayUtils.copyInsert(keys, dataIndex(bit), newNode.keys[0]),
+                            migrateNodeToData(bit, index, newNode.valueAt(0)), size - 1);
+                } else {
+                    return withSlot(owner, index, newNode, -1);
+                }
+            } else {
+                return this;
+            }
+        }
+
+        private Object[] migrateDataToNode(int bit, int dataIndex, Node<A> node) {
+            Object[] result = new Object[content.length];
+            int nodeIndex = nodeIndex(bit);
+            System.arraycopy(content, 0, result, 0, dataIndex);
+            System.arraycopy(content, dataIndex + 1, result, dataIndex, nodeIndex - dataIndex);
+            result[nodeIndex] = node;
+            System.arraycopy(content, nodeIndex + 1, result, nodeIndex + 1, content.length - nodeIndex - 1);
+            return result;
+        }
+
+        private Object[] migrateNodeToData(int bit, int nodeIndex, A value) {
+            Object[] result = new Object[content.length];
+            int dataIndex = dataIndex(bit);
+            System.arraycopy(content, 0, result, 0, dataIndex);
+            result[dataIndex] = value;
+            System.arraycopy(content, dataIndex, result, dataIndex + 1, nodeIndex - dataIndex);
+            System.arraycopy(content, nodeIndex + 1, result, nodeIndex + 1, content.length - nodeIndex - 1);
+            return result;
+        }
+
+        <B> Node<B> mapValues(Function<? super A, ? extends B> fn) {
+            Object[] newContent = new Object[content.length];
+            for (int i = 0; i < keys.length; i++) {
+                newContent[i] = fn.apply(valueAt(i));
+            }
+            for (int i = keys.length; i < content.length; i++) {
+                newContent[i] = nodeAt(i).mapValues(fn);
+            }
+            return new Node<>(null, dataMap, nodeMap, keys, newContent, size);
+        }
+
+        Node<A> union(Node<A> that, int shift, BinaryOperator<A> fn) {
+            if (that.size == 0 || that == this) {
+                return this;
+            } else if (this.size == 0) {
+                return that;
+            }
+            Merger<A> merger = new Merger<>(dataMap | nodeMap | that.dataMap | that.nodeMap);
+            int subShift = shift + NUM_BRANCHING_BITS;
+            for (int bits = merger.bits; bits != 0; bits &= bits - 1) {
+                int bit = bits & -bits;
+                if ((this.dataMap & bit) != 0) {
+                    int i = this.dataIndex(bit);
+                    if ((that.dataMap & bit) != 0) {
+                        int j = that.dataIndex(bit);
+                        if (this.keys[i] == that.keys[j]) {
+                            merger.addData(bit, keys[i], fn.apply(valueAt(i), that.valueAt(j)));
+                        } else {
+                            merger.addNode(bit, merge(null, keys[i], valueAt(i), that.keys[j], that.valueAt(j), subShift));
+                        }
+                    } else if ((that.nodeMap & bit) != 0) {
+                        Node<A> single = singleton(keys[i], valueAt(i), subShift);
+                        merger.addNode(bit, single.union(that.nodeAt(that.nodeIndex(bit)), subShift, fn));
+                    } else {
+                        merger.addData(bit, keys[i], valueAt(i));
+                    }
+                } else if ((this.nodeMap & bit) != 0) {
+                    Node<A> node = nodeAt(nodeIndex(bit));
+                    if ((that.dataMap & bit) != 0) {
+                        int j = that.dataIndex(bit);
+                        Node<A> single = singleton(that.keys[j], that.valueAt(j), subShift);
+                        merger.addNode(bit, node.union(single, subShift, fn));
+                    } else if ((that.nodeMap & bit) != 0) {
+                        merger.addNode(bit, node.union(that.nodeAt(that.nodeIndex(bit)), subShift, fn));
+                    } else {
+                        merger.addNode(bit, node);
+                    }
+                } else if ((that.dataMap & bit) != 0) {
+                    int j = that.dataIndex(bit);
+                    merger.addData(bit, that.keys[j], that.valueAt(j));
+                } else {
+                    merger.addNode(bit, that.nodeAt(that.nodeIndex(bit)));
+                }
+            }
+            return merger.isSameAs(this) ? this : merger.isSameAs(that) ? that : merger.build();
+        }
+
+        <B, C> Node<C> intersection(Node<B> that, int shift, BiFunction<? super A, ? super B, ? extends C> fn) {
+            Merger<C> merger = new Merger<>((dataMap | nodeMap) & (that.dataMap | that.nodeMap));
+            int subShift = shift + NUM_BRANCHING_BITS;
+            for (int bits = merger.bits; bits != 0; bits &= bits - 1) {
+                int bit = bits & -bits;
+                if ((this.dataMap & bit) != 0) {
+                    int i = this.dataIndex(bit);
+                    Object found = (that.dataMap & bit) != 0
+                            ? (that.keys[that.dataIndex(bit)] == keys[i] ? that.content[that.dataIndex(bit)] : NOT_FOUND)
+                            : that.nodeAt(that.nodeIndex(bit)).find(keys[i], subShift);
+                    if (found != NOT_FOUND) {
+                        @SuppressWarnings("unchecked")
+                        B b = (B) found;
+                        merger.addData(bit, keys[i], fn.apply(valueAt(i), b));
+                    }
+                } else if ((that.dataMap & bit) != 0) {
+                    int j = that.dataIndex(bit);
+                    Object found = nodeAt(nodeIndex(bit)).find(that.keys[j], subShift);
+                    if (found != NOT_FOUND) {
+                        @SuppressWarnings("unchecked")
+                        A a = (A) found;
+                        merger.addData(bit, that.keys[j], fn.apply(a, that.valueAt(j)));
+                    }
+                } else {
+                    Node<C> node = nodeAt(nodeIndex(bit)).intersection(that.nodeAt(that.nodeIndex(bit)), subShift, fn);
+                    if (node.size == 1) {
+                        //a sub-node with a single entry is inlined
+                        merger.addData(bit, node.keys[0], node.valueAt(0));
+                    } else if (node.size > 1) {
+                        merger.addNode(bit, node);
+                    }
+                }
+            }
+            return merger.build();
+        }
+
+        private static <A> Node<A> singleton(long key, A value, int shift) {
+            return new Node<>(null, bitpos(key, shift), 0, new long[]{key}, new Object[]{value}, 1);
+        }
+
+        //the first part takes a prefix of the content array, which is the iteration order
+        @SuppressWarnings("unchecked")
+        Node<A>[] split() {
+            if (content.length == 1) {
+                //a single sub-node, which is split in turn
+                Node<A>[] halves = nodeAt(0).split();
+                return new Node[]{wrap(nodeMap, halves[0]), wrap(nodeMap, halves[1])};
+            }
+            int cut = 1;
+            int leftSize = slotSize(0);
+            while (cut < content.length - 1 && 2 * (leftSize + slotSize(cut)) <= size) {
+                leftSize += slotSize(cut++);
+            }
+            Merger<A> left = new Merger<>(dataMap | nodeMap);
+            Merger<A> right = new Merger<>(dataMap | nodeMap);
+            for (int bits = dataMap, i = 0; bits != 0; bits &= bits - 1, i++) {
+                (i < cut ? left : right).addData(Integer.lowestOneBit(bits), keys[i], valueAt(i));
+            }
+            for (int bits = nodeMap, i = content.length - 1; bits != 0; bits &= bits - 1, i--) {
+                (i < cut ? left : right).addNode(Integer.lowestOneBit(bits), nodeAt(i));
+            }
+            return new Node[]{left.build(), right.build()};
+        }
+
+        private int slotSize(int index) {
+            return index < keys.length ? 1 : nodeAt(index).size;
+        }
+
+        private static <A> Node<A> wrap(int bit, Node<A> node) {
+            Merger<A> merger = new Merger<>(bit);
+            if (node.size == 1) {
+                //a sub-node with a single entry is inlined
+                merger.addData(bit, node.keys[0], node.valueAt(0));
+            } else {
+                merger.addNode(bit, node);
+            }
+            return merger.build();
+        }
+
+        void forEach(LongObjConsumer<? super A> action) {
+            for (int i = 0; i < keys.length; i++) {
+                action.accept(keys[i], valueAt(i));
+            }
+            for (int i = keys.length; i < content.length; i++) {
+                nodeAt(i).forEach(action);
+            }
+        }
+
+        @Override
+        public String toString() {
+            if (size == 0) {
+                return "Empty";
+            }
+            StringBuilder sb = new StringBuilder("(Branch");
+            for (int i = 0; i < content.length; i++) {
+                sb.append(' ');
+                sb.append(i < keys.length ? "(Leaf " + keys[i] + " " + content[i] + ")" : content[i]);
+            }
+            return sb.append(')').toString();
+        }
+    }
+
+    //collects the entries and sub-nodes of a merged node, in the order of their bits
+    private static final class Merger<A> {
+        private final int bits;
+        private final long[] keys;
+        private final Object[] values;
+        private final Object[] nodes;
+        private int dataMap;
+        private int nodeMap;
+        private int dataCount;
+        private int nodeCount;
+        private int size;
+
+        private Merger(int bits) {
+            this.bits = bits;
+            int capacity = Integer.bitCount(bits);
+            keys = new long[capacity];
+            values = new Object[capacity];
+            nodes = new Object[capacity];
+        }
+
+        private void addData(int bit, long key, A value) {
+            dataMap |= bit;
+            keys[dataCount] = key;
+            values[dataCount++] = value;
+            size++;
+        }
+
+        private void addNode(int bit, Node<A> node) {
+            nodeMap |= bit;
+            nodes[nodeCount++] = node;
+            size += node.size;
+        }
+
+        private boolean isSameAs(Node<A> node) {
+            if (node.dataMap != dataMap || node.nodeMap != nodeMap) {
+                return false;
+            }
+            for (int i = 0; i < dataCount; i++) {
+                if (node.keys[i] != keys[i] || node.content[i] != values[i]) {
+                    return false;
+                }
+            }
+            for (int i = 0; i < nodeCount; i++) {
+                if (node.content[node.content.length - 1 - i] != nodes[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private Node<A> build() {
+            if (size == 0) {
+                return Node.empty();
+            }
+            Object[] content = new Object[dataCount + nodeCount];
+            System.arraycopy(values, 0, content, 0, dataCount);
+            for (int i = 0; i < nodeCount; i++) {
+                content[content.length - 1 - i] = nodes[i];
+            }
+            return new Node<>(null, dataMap, nodeMap, Arrays.copyOf(keys, dataCount), content, size);
+        }
+    }
+
+    private static abstract class TrieIterator<A, R> implements Iterator<R> {
+        private final Cursor<A> cursor;
+        private boolean ready = false;
+
+        TrieIterator(Node<A> root) {
+            cursor = new Cursor<>(root);
+        }
+
+        abstract R extract(long key, A value);
+
+        @Override
+        public boolean hasNext() {
+            return ready || (ready = cursor.advance());
+        }
+
+        @Override
+        public R next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            ready = false;
+            return extract(cursor.key, cursor.value);
+        }
+    }
+
+    public static LongMapFunctor functor = new LongMapFunctor() {
+    };
+}
@@ -3,16 +3,19 @@ package org.highj.data;
 import org.derive4j.hkt.__;
 import org.derive4j.hkt.__2;
 import org.highj.data.instance.map.MapApply;
-import org.highj.data.ord.Ordering;
 import org.highj.data.tuple.T2;
-import org.highj.util.Iterators;
 
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
+import java.util.function.BiPredicate;
+import java.util.function.BinaryOperator;
 import java.util.function.Function;
 
 /**
- * A crude, hash-based Map implementation.
+ * An immutable hash map, stored in the hash array mapped trie of a {@link HashMap}.
+ * <p>
+ * Lookups and updates take O(log32 n), independent of how the hash codes of the keys are distributed.
  * <p>
  * Note that the provided monadTrans instance could be considered a hack, based on the fact that every
  * Java Object has a hashCode and an equals implementation, which might be rather useless in some cases.
@@ -24,47 +27,24 @@ public class Map<A, B> implements __2<Map.µ, A, B>, Iterable<T2<A, B>>, Functio
     public static class µ {
     }
 
-    @SuppressWarnings("unchecked")
-    private final static Map EMPTY = new Map(Integer.MIN_VALUE, List.Nil(), null, null) {
-    };
+    private final static Map<?, ?> EMPTY = new Map<>(HashMap.empty());
 
-    private final Map<A, B> left;
-    private final Map<A, B> right;
-    private final List<T2<A, B>> bucket;
-    private final int hc;
+    private final HashMap<A, B> map;
 
-    private Map(int hc, List<T2<A, B>> bucket, Map<A, B> left, Map<A, B> right) {
-        this.hc = hc;
-        this.bucket = bucket;
-        this.right = right;
-        this.left = left;
+    private Map(HashMap<A, B> map) {
+        this.map = map;
     }
 
-    public Maybe<B> apply(A key) {
-        if (isEmpty()) {
-            return Maybe.Nothing();
-        }
+    private Map<A, B> withMap(HashMap<A, B> newMap) {
+        return newMap == map ? this : newMap.isEmpty() ? empty() : new Map<>(newMap);
+    }
 
-        int khc = key.hashCode();
-        switch (Ordering.compare(khc, hc)) {
-            case LT:
-                return left.apply(key);
-            case GT:
-                return right.apply(key);
-            case EQ:
-                for (T2<A, B> t2 : bucket) {
-                    if (key.equals(t2._1())) {
-                        return Maybe.Just(t2._2());
-                    }
-                }
-                return Maybe.Nothing();
-            default:
-                throw new AssertionError();
-        }
+    public Maybe<B> apply(A key) {
+        return map.lookup(key);
     }
 
     public B getOrElse(A key, B defaultValue) {
-        return apply(key).getOrElse(defaultValue);
+        return map.getOrDefault(key, defaultValue);
     }
 
     public B get(A key) throws NoSuchElementException {
@@ -72,22 +52,7 @@ public class Map<A, B> implements __2<Map.µ, A, B>, Iterable<T2<A, B>>, Functio
     }
 
     public Map<A, B> plus(final A a, final B b) {
-        if (isEmpty()) {
-            return new Map<>(a.hashCode(), List.<T2<A, B>>of(T2.of(a, b)), Map.<A, B>empty(), Map.<A, B>empty());
-        }
-        int ahc = a.hashCode();
-        switch (Ordering.compare(ahc, hc)) {
-            case EQ:
-                return new Map<>(hc, bucket.filter((T2<A,B> ab) -> !ab._1().equals(a)).plus(T2.of(a, b)), left, right);
-            case LT:
-                Map<A, B> newLeft = left.plus(a, b);
-                return left == newLeft ? this : new Map<>(hc, bucket, newLeft, right);
-            case GT:
-                Map<A, B> newRight = right.plus(a, b);
-                return right == newRight ? this : new Map<>(hc, bucket, left, newRight);
-            default:
-                throw new AssertionError();
-        }
+        return withMap(map.insert(a, b));
     }
 
     public Map<A, B> plus(T2<A, B> ab) {
@@ -96,52 +61,16 @@ public class Map<A, B> implements __2<Map.µ, A, B>, Iterable<T2<A, B>>, Functio
 
 
     public Map<A, B> minus(final A a) {
-        if (isEmpty()) {
-            return this;
-        }
-        int ahc = a.hashCode();
-        switch (Ordering.compare(ahc, hc)) {
-            case EQ:
-                List<T2<A, B>> newBucket = bucket.filter((T2<A,B> ab) -> ab._1() != a);
-                if (bucket == newBucket) {
-                    return this;
-                } else if (!newBucket.isEmpty()) {
-                    return new Map<>(hc, newBucket, left, right);
-                } else if (left.isEmpty()) {
-                    return right;
-                } else if (right.isEmpty()) {
-                    return left;
-                } else {
-                    T2<Map<A, B>, Map<A, B>> pair = right.removeMin();
-                    return new Map<>(pair._1().hc, pair._1().bucket, left, pair._2());
-                }
-            case LT:
-                Map<A, B> newLeft = left.minus(a);
-                return left == newLeft ? this : new Map<>(hc, bucket, newLeft, right);
-            case GT:
-                Map<A, B> newRight = right.minus(a);
-                return right == newRight ? this : new Map<>(hc, bucket, left, newRight);
-            default:
-                throw new AssertionError();
-        }
-    }
-
-    private T2<Map<A, B>, Map<A, B>> removeMin() {
-        if (left.isEmpty()) {
-            return T2.of(this, right);
-        } else {
-            T2<Map<A, B>, Map<A, B>> pair = left.removeMin();
-            return T2.<Map<A, B>, Map<A, B>>of(pair._1(), new Map<>(hc, bucket, pair._2(), right));
-        }
+        return withMap(map.delete(a));
     }
 
     public boolean isEmpty() {
-        return this == EMPTY;
+        return map.isEmpty();
     }
 
     @SuppressWarnings("unchecked")
     public static <A, B> Map<A, B> empty() {
-        return EMPTY;
+        return (Map<A, B>) EMPTY;
     }
 
     public static <A, B> Map<A, B> of() {
@@ -187,40 +116,100 @@ public class Map<A, B> implements __2<Map.µ, A, B>, Iterable<T2<A, B>>, Functio
 
     @SafeVarargs
     public final Map<A, B> plus(T2<A, B>... abs) {
-        Map<A, B> result = this;
-        for (T2<A, B> ab : abs) {
-            result = result.plus(ab);
-        }
-        return result;
+        return plus(Arrays.asList(abs));
     }
 
     @SafeVarargs
     public final Map<A, B> minus(A... as) {
-        Map<A, B> result = this;
-        for (A a : as) {
-            result = result.minus(a);
-        }
-        return result;
+        return minus(Arrays.asList(as));
     }
 
     public Map<A, B> plus(Iterable<T2<A, B>> abs) {
-        Map<A, B> result = this;
-        for (T2<A, B> ab : abs) {
-            result = result.plus(ab);
-        }
-        return result;
+        return withMap(map.toTransient().insertAll(abs).persistent());
     }
 
     public Map<A, B> minus(Iterable<A> as) {
-        Map<A, B> result = this;
+        HashMap.Transient<A, B> builder = map.toTransient();
         for (A a : as) {
-            result = result.minus(a);
+            builder.delete(a);
         }
-        return result;
+        return builder.size() == size() ? this : withMap(builder.persistent());
     }
 
     public int size() {
-        return isEmpty() ? 0 : 1 + left.size() + right.size();
+        return map.size();
+    }
+
+    /**
+     * Calculates the union of two maps, preferring the values of this map for keys present in both.
+     *
+     * @param that the other map
+     * @return the union
+     */
+    public Map<A, B> union(Map<A, B> that) {
+        return unionWith(that, (x, y) -> x);
+    }
+
+    /**
+     * Calculates the union of two maps.
+     * <p>
+     * Sub-tries present in only one of the maps are shared. If nothing changes, a reference of the current map
+     * will be returned.
+     *
+     * @param that the other map
+     * @param fn   combines the values for keys present in both maps
+     * @return the union
+     */
+    public Map<A, B> unionWith(Map<A, B> that, BinaryOperator<B> fn) {
+        HashMap<A, B> newMap = map.unionWith(that.map, fn);
+        return newMap == that.map ? that : withMap(newMap);
+    }
+
+    /**
+     * Calculates the map of entries with keys which are also present in the other map.
+     *
+     * If nothing changes, a reference of the current map will be returned.
+     *
+     * @param that the other map
+     * @return the intersection
+     */
+    public Map<A, B> intersection(Map<A, ?> that) {
+        return withMap(map.intersection(that.map));
+    }
+
+    /**
+     * Calculates the map of entries with keys which are not present in the other map.
+     *
+     * If nothing changes, a reference of the current map will be returned.
+     *
+     * @param that the other map
+     * @return the difference
+     */
+    public Map<A, B> difference(Map<A, ?> that) {
+        return withMap(map.difference(that.map));
+    }
+
+    /**
+     * Calculates the map of entries satisfying a given condition.
+     *
+     * If nothing changes, a reference of the current map will be returned.
+     *
+     * @param predicate the condition
+     * @return the filtered map
+     */
+    public Map<A, B> filter(BiPredicate<? super A, ? super B> predicate) {
+        return withMap(map.filter(predicate));
+    }
+
+    /**
+     * Splits the map into the entries satisfying a given condition, and the remaining ones.
+     *
+     * @param predicate the condition
+     * @return the accepted and the rejected entries
+     */
+    public T2<Map<A, B>, Map<A, B>> partition(BiPredicate<? super A, ? super B> predicate) {
+        T2<HashMap<A, B>, HashMap<A, B>> pair = map.partition(predicate);
+        return T2.of(withMap(pair._1()), withMap(pair._2()));
     }
 
     public Function<A, Maybe<B>> apply() {
@@ -228,7 +217,7 @@ public class Map<A, B> implements __2<Map.µ, A, B>, Iterable<T2<A, B>>, Functio
     }
 
     public Iterator<T2<A, B>> iterator() {
-        return isEmpty() ? Iterators.<T2<A, B>>emptyIterator() : Iterators.concat(left.iterator(), bucket.iterator(), right.iterator());
+        return map.iterator();
     }
 
     public String toString() {
@@ -241,31 +230,15 @@ public class Map<A, B> implements __2<Map.µ, A, B>, Iterable<T2<A, B>>, Functio
     }
 
     public Set<A> keys() {
-        Set<A> keySet = Set.empty();
-        for (T2<A, B> t2 : this) {
-            keySet = keySet.plus(t2._1());
-        }
-        return keySet;
+        return Set.of(map.keys());
     }
 
     public Set<B> values() {
-        Set<B> valueSet = Set.empty();
-        for (T2<A, B> t2 : this) {
-            valueSet = valueSet.plus(t2._2());
-        }
-        return valueSet;
+        return Set.of(map.values());
     }
 
     public <C> Map<A, C> map(Function<? super B, ? extends C> fn) {
-        if (isEmpty()) {
-            return Map.empty();
-        } else {
-            List<T2<A, C>> newBucket = List.of();
-            for (T2<A, B> t2 : bucket) {
-                newBucket = newBucket.plus(t2.map_2(fn));
-            }
-            return new Map<A,C>(hc, newBucket, left.map(fn), right.map(fn));
-        }
+        return isEmpty() ? Map.empty() : new Map<>(map.mapValues(fn));
     }
 
     private static <S> MapApply<S> mapApply() {
@@ -1,21 +1,18 @@
 package org.highj.data;
 
 import org.derive4j.hkt.__;
-import org.highj.data.ord.Ordering;
 import org.highj.function.Strings;
 import org.highj.data.tuple.T2;
 import org.highj.typeclass0.group.Monoid;
 import org.highj.util.ArrayUtils;
 import org.highj.util.Contracts;
-import org.highj.util.Iterators;
 
-import java.util.HashMap;
 import java.util.Iterator;
-import java.util.NoSuchElementException;
 import java.util.function.Function;
+import java.util.function.Predicate;
 
 /**
- * A crude, hash-based Multiset implementation.
+ * A hash-based Multiset implementation, storing the counts in a {@link HashMap}.
  * <p>
  *
  * @param <A> The element type.
@@ -25,69 +22,26 @@ public class MultiSet<A> implements __<MultiSet.µ, A>, Iterable<T2<A, Integer>>
     public static class µ {
     }
 
-    @SuppressWarnings("unchecked")
-    private final static MultiSet<?> EMPTY = new MultiSet<>(Integer.MIN_VALUE, List.Nil(), null, null);
-
-    private final MultiSet<A> left;
-    private final MultiSet<A> right;
-    private final List<T2<A, Integer>> bucket;
-    private final int hc;
-
-    private MultiSet(int hc, List<T2<A, Integer>> bucket, MultiSet<A> left, MultiSet<A> right) {
-        this.hc = hc;
-        this.bucket = bucket;
-        this.right = right;
-        this.left = left;
-    }
+    private final static MultiSet<?> EMPTY = new MultiSet<>(HashMap.empty());
 
-    @Override
-    public Integer apply(A value) {
-        if (isEmpty()) {
-            return 0;
-        }
+    private final HashMap<A, Integer> map;
 
-        int vhc = value.hashCode();
-        switch (Ordering.compare(vhc, hc)) {
-            case LT:
-                return left.apply(value);
-            case GT:
-                return right.apply(value);
-            case EQ:
-                return bucketValue(value);
-            default:
-                throw new AssertionError();
-        }
+    private MultiSet(HashMap<A, Integer> map) {
+        this.map = map;
     }
 
-    private int bucketValue(A a) {
-        for (T2<A, Integer> pair : bucket) {
-            if (pair._1().equals(a)) return pair._2();
-        }
-        return 0;
+    private MultiSet<A> withMap(HashMap<A, Integer> newMap) {
+        return newMap == map ? this : newMap.isEmpty() ? empty() : new MultiSet<>(newMap);
     }
 
-    private List<T2<A, Integer>> bucketWithout(A a) {
-        return bucket.filter((T2<A, Integer> pair) -> !pair._1().equals(a));
+    @Override
+    public Integer apply(A value) {
+        return map.getOrDefault(value, 0);
     }
 
     public MultiSet<A> set(A a, int value) {
         Contracts.require(value > 0, "Value must be positive.");
-        if (isEmpty()) {
-            return new MultiSet<>(a.hashCode(), List.of(T2.of(a, value)), MultiSet.<A>empty(), MultiSet.<A>empty());
-        }
-        int ahc = a.hashCode();
-        switch (Ordering.compare(ahc, hc)) {
-            case EQ:
-                return new MultiSet<>(hc, bucketWithout(a).plus(T2.of(a, value)), left, right);
-            case LT:
-                MultiSet<A> newLeft = left.plus(a, value);
-                return left == newLeft ? this : new MultiSet<>(hc, bucket, newLeft, right);
-            case GT:
-                MultiSet<A> newRight = right.plus(a, value);
-                return right == newRight ? this : new MultiSet<>(hc, bucket, left, newRight);
-            default:
-                throw new AssertionError();
-        }
+        return withMap(map.insert(a, value));
     }
 
 
@@ -101,26 +55,7 @@ public class MultiSet<A> implements __<MultiSet.µ, A>, Iterable<T2<A, Integer>>
 
     public MultiSet<A> plus(A a, int value) {
         Contracts.require(value >= 0, "Value can't be negative");
-
-        if (value == 0) {
-            return this;
-        } else if (isEmpty()) {
-            return new MultiSet<>(a.hashCode(), List.of(T2.of(a, value)), MultiSet.<A>empty(), MultiSet.<A>empty());
-        }
-        int ahc = a.hashCode();
-        switch (Ordering.compare(ahc, hc)) {
-            case EQ:
-                int v = bucketValue(a);
-                return new MultiSet<>(hc, bucketWithout(a).plus(T2.of(a, v + value)), left, right);
-            case LT:
-                MultiSet<A> newLeft = left.plus(a, value);
-                return left == newLeft ? this : new MultiSet<>(hc, bucket, newLeft, right);
-            case GT:
-                MultiSet<A> newRight = right.plus(a, value);
-                return right == newRight ? this : new MultiSet<>(hc, bucket, left, newRight);
-            default:
-                throw new AssertionError();
-        }
+        return value == 0 ? this : withMap(map.insert(a, apply(a) + value));
     }
 
     public MultiSet<A> minus1(A a) {
@@ -136,59 +71,15 @@ public class MultiSet<A> implements __<MultiSet.µ, A>, Iterable<T2<A, Integer>>
         if (value == 0) {
             return this;
         }
-        if (isEmpty()) {
+        int count = apply(a);
+        if (count < value) {
             throw new IllegalArgumentException("Negative count");
         }
-        int ahc = a.hashCode();
-        switch (Ordering.compare(ahc, hc)) {
-            case EQ:
-                List<T2<A, Integer>> newBucket = bucketMinus(a, value);
-                if (!newBucket.isEmpty()) {
-                    return new MultiSet<>(hc, newBucket, left, right);
-                } else if (left.isEmpty()) {
-                    return right;
-                } else if (right.isEmpty()) {
-                    return left;
-                } else {
-                    T2<MultiSet<A>, MultiSet<A>> pair = right.removeMin();
-                    return new MultiSet<>(pair._1().hc, pair._1().bucket, left, pair._2());
-                }
-            case LT:
-                MultiSet<A> newLeft = left.minus(a, value);
-                return left == newLeft ? this : new MultiSet<>(hc, bucket, newLeft, right);
-            case GT:
-                MultiSet<A> newRight = right.minus(a, value);
-                return right == newRight ? this : new MultiSet<>(hc, bucket, left, newRight);
-            default:
-                throw new AssertionError();
-        }
-    }
-
-    private List<T2<A, Integer>> bucketMinus(A a, int value) {
-        int v = bucketValue(a);
-        switch (Ordering.compare(v, value)) {
-            case EQ:
-                return bucketWithout(a);
-            case GT:
-                return bucketWithout(a).plus(T2.of(a, v - value));
-            case LT:
-                throw new IllegalArgumentException("Negative count");
-            default:
-                throw new AssertionError();
-        }
-    }
-
-    private T2<MultiSet<A>, MultiSet<A>> removeMin() {
-        if (left.isEmpty()) {
-            return T2.of(this, right);
-        } else {
-            T2<MultiSet<A>, MultiSet<A>> pair = left.removeMin();
-            return T2.of(pair._1(), new MultiSet<>(hc, bucket, pair._2(), right));
-        }
+        return withMap(count == value ? map.delete(a) : map.insert(a, count - value));
     }
 
     public boolean isEmpty() {
-        return this == EMPTY;
+        return map.isEmpty();
     }
 
     @SuppressWarnings("unchecked")
@@ -292,50 +183,84 @@ public class MultiSet<A> implements __<MultiSet.µ, A>, Iterable<T2<A, Integer>>
     }
 
     public int size() {
-        return isEmpty() ? 0 : left.size() + bucket.size() + right.size();
+        return map.size();
+    }
+
+    /**
+     * Calculates the union of two multisets, taking the maximum count for every element.
+     * <p>
+     * Sub-tries present in only one of the multisets are shared. If nothing changes, a reference of the current
+     * multiset will be returned.
+     *
+     * @param that the other multiset
+     * @return the union
+     */
+    public MultiSet<A> union(MultiSet<A> that) {
+        HashMap<A, Integer> newMap = map.unionWith(that.map, Math::max);
+        return newMap == that.map ? that : withMap(newMap);
+    }
+
+    /**
+     * Calculates the intersection of two multisets, taking the minimum count for every element.
+     *
+     * @param that the other multiset
+     * @return the intersection
+     */
+    public MultiSet<A> intersection(MultiSet<A> that) {
+        if (that == this) {
+            return this;
+        }
+        HashMap<A, Integer> common = map.intersection(that.map);
+        HashMap.Transient<A, Integer> builder = common.toTransient();
+        common.forEachEntry((a, count) -> {
+            int thatCount = that.apply(a);
+            if (thatCount < count) {
+                builder.insert(a, thatCount);
+            }
+        });
+        return withMap(builder.persistent());
+    }
+
+    /**
+     * Subtracts the counts of the other multiset, dropping elements whose count doesn't stay positive.
+     *
+     * @param that the other multiset
+     * @return the difference
+     */
+    public MultiSet<A> difference(MultiSet<A> that) {
+        HashMap<A, Integer> common = map.intersection(that.map);
+        if (common.isEmpty()) {
+            return this;
+        }
+        HashMap.Transient<A, Integer> builder = map.toTransient();
+        common.forEachEntry((a, count) -> {
+            int newCount = count - that.apply(a);
+            if (newCount > 0) {
+                builder.insert(a, newCount);
+            } else {
+                builder.delete(a);
+            }
+        });
+        return withMap(builder.persistent());
+    }
+
+    public MultiSet<A> filter(Predicate<? super A> predicate) {
+        return withMap(map.filter((a, count) -> predicate.test(a)));
+    }
+
+    /**
+     * Splits the multiset into the elements satisfying a given condition, and the remaining ones.
+     *
+     * @param predicate the condition
+     * @return the accepted and the rejected elements
+     */
+    public T2<MultiSet<A>, MultiSet<A>> partition(Predicate<? super A> predicate) {
+        T2<HashMap<A, Integer>, HashMap<A, Integer>> pair = map.partition((a, count) -> predicate.test(a));
+        return T2.of(withMap(pair._1()), withMap(pair._2()));
     }
 
-    //we need to output the hashCodes in order, else different insertion orders would lead to different iteration orders
     public Iterator<T2<A, Integer>> iterator() {
-        return (isEmpty()) ? Iterators.emptyIterator() :
-                new Iterator<T2<A, Integer>>() {
-
-                    private List<T2<A, Integer>> list = List.empty();
-                    private List<Either<MultiSet<A>, List<T2<A, Integer>>>> todo = List.of(Either.<MultiSet<A>, List<T2<A, Integer>>>Left(MultiSet.this));
-
-                    @Override
-                    public boolean hasNext() {
-                        return !list.isEmpty() || !todo.isEmpty();
-                    }
-
-                    @Override
-                    public T2<A, Integer> next() {
-                        if (!hasNext()) {
-                            throw new NoSuchElementException();
-                        }
-                        while (list.isEmpty()) {
-                            Either<MultiSet<A>, List<T2<A, Integer>>> current = todo.head();
-                            todo = todo.tail();
-                            if (current.isRight()) {
-                                list = current.getRight();
-                            } else {
-                                MultiSet<A> set = current.getLeft();
-                                addIfNotEmpty(set.right);
-                                todo = todo.plus(Either.Right(set.bucket));
-                                addIfNotEmpty(set.left);
-                            }
-                        }
-                        T2<A, Integer> result = list.head();
-                        list = list.tail();
-                        return result;
-                    }
-
-                    private void addIfNotEmpty(MultiSet<A> set) {
-                        if (!set.isEmpty()) {
-                            todo = todo.plus(Either.Left(set));
-                        }
-                    }
-                };
+        return map.iterator();
     }
 
     @Override
@@ -344,11 +269,7 @@ public class MultiSet<A> implements __<MultiSet.µ, A>, Iterable<T2<A, Integer>>
     }
 
     public Set<A> toSet() {
-        Set<A> result = Set.empty();
-        for (T2<A, Integer> pair : this) {
-            result.plus(pair._1());
-        }
-        return result;
+        return Set.of(map.keys());
     }
 
     public <B> MultiSet<B> map(Function<? super A, ? extends B> fn) {
@@ -359,29 +280,27 @@ public class MultiSet<A> implements __<MultiSet.µ, A>, Iterable<T2<A, Integer>>
         return result;
     }
 
-    //avoids using the expensive iterator
     public java.util.Map<A, Integer> toJMap() {
-        java.util.Map<A, Integer> result = new HashMap<>();
-        toJMapHelper(result);
+        java.util.Map<A, Integer> result = new java.util.HashMap<>();
+        map.forEachEntry(result::put);
         return result;
     }
 
-    private void toJMapHelper(java.util.Map<A, Integer> jMap) {
-        if (!isEmpty()) {
-            left.toJMapHelper(jMap);
-            for (T2<A, Integer> pair : bucket) {
-                jMap.put(pair._1(), pair._2());
-            }
-            right.toJMapHelper(jMap);
-        }
-    }
-
     @Override
     public boolean equals(Object o) {
         if (o == this) return true;
         if (o instanceof MultiSet) {
-            MultiSet<?> that = (MultiSet) o;
-            return this.toJMap().equals(that.toJMap());
+            @SuppressWarnings("unchecked")
+            MultiSet<A> that = (MultiSet<A>) o;
+            if (this.size() != that.size()) {
+                return false;
+            }
+            for (T2<A, Integer> pair : this) {
+                if (!pair._2().equals(that.map.getOrDefault(pair._1(), 0))) {
+                    return false;
+                }
+            }
+            return true;
         }
         return false;
     }
@@ -3,9 +3,14 @@ package org.highj.data;
 import org.derive4j.hkt.__;
 import org.highj.data.tuple.T2;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Comparator;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Collector;
 
 /**
  * Simple heap based PriorityQueue.
@@ -56,6 +61,23 @@ public class PriorityQueue<A> implements __<PriorityQueue.µ,A>, Iterable<A> {
         };
     }
 
+    /**
+     * A sized {@link Spliterator} over the elements in the order they would be popped.
+     * <p>
+     * The elements are copied from the heap into an array and sorted, which is cheaper than popping them
+     * one by one, and allows to split evenly. Elements of equal priority may be encountered in a different
+     * order than by the {@link #iterator()}.
+     *
+     * @return the spliterator
+     */
+    @Override
+    public Spliterator<A> spliterator() {
+        Object[] array = new Object[size];
+        root.copyTo(array, 0);
+        sort(array, comparator);
+        return Spliterators.spliterator(array, Spliterator.ORDERED | Spliterator.IMMUTABLE);
+    }
+
     /**
      * The size of the collection.
      * @return the size
@@ -118,6 +140,68 @@ public class PriorityQueue<A> implements __<PriorityQueue.µ,A>, Iterable<A> {
         return new PriorityQueue<>(Comparator.<A>reverseOrder(), 0, Heap.empty(), QueueType.MAX).plus(as);
     }
 
+    /**
+     * A {@link Collector} for priority queues which pop their elements in ascending order, according to the given {@link Comparator}.
+     * The elements are sorted, and the heap is built from them in linear time.
+     * @param cmp the {@link Comparator}
+     * @param <A> the element type
+     * @return the collector
+     */
+    public static <A> Collector<A, ?, PriorityQueue<A>> minQueueCollectorCmp(Comparator<? super A> cmp) {
+        return collector(cmp, QueueType.MIN);
+    }
+
+    /**
+     * A {@link Collector} for priority queues which pop their elements in descending order, according to the given {@link Comparator}.
+     * The elements are sorted, and the heap is built from them in linear time.
+     * @param cmp the {@link Comparator}
+     * @param <A> the element type
+     * @return the collector
+     */
+    public static <A> Collector<A, ?, PriorityQueue<A>> maxQueueCollectorCmp(Comparator<? super A> cmp) {
+        return collector(cmp.reversed(), QueueType.MAX);
+    }
+
+    /**
+     * A {@link Collector} for priority queues which pop their elements in their natural order.
+     * The elements are sorted, and the heap is built from them in linear time.
+     * @param <A> the element type
+     * @return the collector
+     */
+    public static <A extends Comparable<? super A>> Collector<A, ?, PriorityQueue<A>> minQueueCollector() {
+        return collector(Comparator.<A>naturalOrder(), QueueType.MIN);
+    }
+
+    /**
+     * A {@link Collector} for priority queues which pop their elements in their reversed natural order.
+     * The elements are sorted, and the heap is built from them in linear time.
+     * @param <A> the element type
+     * @return the collector
+     */
+    public static <A extends Comparable<? super A>> Collector<A, ?, PriorityQueue<A>> maxQueueCollector() {
+        return collector(Comparator.<A>reverseOrder(), QueueType.MAX);
+    }
+
+    private static <A> Collector<A, ?, PriorityQueue<A>> collector(Comparator<? super A> cmp, QueueType queueType) {
+        return Collector.<A, ArrayList<A>, PriorityQueue<A>>of(
+                ArrayList::new,
+                ArrayList::add,
+                (left, right) -> {
+                    left.addAll(right);
+                    return left;
+                },
+                list -> {
+                    Object[] array = list.toArray();
+                    sort(array, cmp);
+                    return new PriorityQueue<>(cmp, array.length, Heap.fromSorted(array, 0, array.length), queueType);
+                });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <A> void sort(Object[] array, Comparator<? super A> cmp) {
+        Arrays.sort(array, (Comparator<Object>) cmp);
+    }
+
     /**
      * The type of the priority queue.
      * @return MIN for a minimum queue, MAX for a maximum queue.
@@ -232,6 +316,26 @@ public class PriorityQueue<A> implements __<PriorityQueue.µ,A>, Iterable<A> {
             }
         }
 
+        //any array sorted by the comparator is a valid heap, so it only needs to be cut into balanced sub-heaps
+        @SuppressWarnings("unchecked")
+        static <A> Heap<A> fromSorted(Object[] sorted, int from, int size) {
+            if (size == 0) {
+                return empty();
+            }
+            return new Heap<>((A) sorted[from],
+                    fromSorted(sorted, from + 1, l(size)),
+                    fromSorted(sorted, from + 1 + l(size), r(size)));
+        }
+
+        //copies the elements in heap order, and returns the index after the last copied element
+        int copyTo(Object[] array, int index) {
+            if (isEmpty()) {
+                return index;
+            }
+            array[index] = value;
+            return right.copyTo(array, left.copyTo(array, index + 1));
+        }
+
         Heap<A> pop(Comparator<? super A> cmp, int size) {
             if (isEmpty()) {
                 throw new NoSuchElementException();
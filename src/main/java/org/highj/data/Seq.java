@@ -0,0 +1,238 @@
+package org.highj.data;
+
+import org.derive4j.hkt.__;
+import org.highj.data.impl.fingerTree.FingerTree;
+import org.highj.data.impl.fingerTree.Measured;
+import org.highj.data.instance.seq.SeqFunctor;
+import org.highj.data.instance.seq.SeqParallelFunctor;
+import org.highj.data.instance.seq.SeqTraversable;
+import org.highj.data.num.Integers;
+import org.highj.data.tuple.T2;
+import org.highj.function.Strings;
+import org.highj.util.SplittingSpliterator;
+
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * A sequence based on a 2-3 finger tree annotated with sizes.
+ * <p>
+ * Adding and removing elements at both ends takes amortized O(1), indexed access,
+ * splitting and concatenation take O(log n).
+ *
+ * @param <A> the element type
+ */
+public final class Seq<A> implements __<Seq.µ, A>, Iterable<A> {
+
+    public static final class µ {
+    }
+
+    private static final Measured<Integer, Object> SIZE = Measured.of(Integers.additiveGroup, a -> 1);
+
+    private static final Seq<?> EMPTY = new Seq<>(FingerTree.empty(SIZE));
+
+    private final FingerTree<Integer, A> tree;
+
+    private Seq(FingerTree<Integer, A> tree) {
+        this.tree = tree;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <A> Seq<A> empty() {
+        return (Seq<A>) EMPTY;
+    }
+
+    @SafeVarargs
+    public static <A> Seq<A> of(A... as) {
+        Seq<A> result = empty();
+        for (A a : as) {
+            result = result.snoc(a);
+        }
+        return result;
+    }
+
+    public static <A> Seq<A> fromList(List<A> list) {
+        return fromIterable(list);
+    }
+
+    public static <A> Seq<A> fromIterable(Iterable<? extends A> as) {
+        Seq<A> result = empty();
+        for (A a : as) {
+            result = result.snoc(a);
+        }
+        return result;
+    }
+
+    public List<A> toList() {
+        return foldr((a, list) -> list.plus(a), List.Nil());
+    }
+
+    public boolean isEmpty() {
+        return tree.isEmpty();
+    }
+
+    public int size() {
+        return tree.measure();
+    }
+
+    public Seq<A> cons(A a) {
+        return new Seq<>(tree.cons(a));
+    }
+
+    public Seq<A> snoc(A a) {
+        return new Seq<>(tree.snoc(a));
+    }
+
+    public Maybe<A> getFirst() {
+        return tree.head();
+    }
+
+    public Maybe<A> getLast() {
+        return tree.last();
+    }
+
+    public Maybe<T2<A, Seq<A>>> uncons() {
+        return tree.uncons().map(t -> T2.of(t._1(), new Seq<>(t._2())));
+    }
+
+    public Maybe<T2<Seq<A>, A>> unsnoc() {
+        return tree.unsnoc().map(t -> T2.of(new Seq<>(t._1()), t._2()));
+    }
+
+    /**
+     * Retrieves an element.
+     *
+     * @param index the index
+     * @return the element
+     * @throws IndexOutOfBoundsException when the index is negative or not smaller than the size
+     */
+    public A get(int index) throws IndexOutOfBoundsException {
+        checkIndex(index);
+        return tree.lookup(n -> n > index).get();
+    }
+
+    /**
+     * Replaces an element.
+     *
+     * @param index the index
+     * @param a     the new value
+     * @return the updated sequence
+     * @throws IndexOutOfBoundsException when the index is negative or not smaller than the size
+     */
+    public Seq<A> update(int index, A a) throws IndexOutOfBoundsException {
+        checkIndex(index);
+        return new Seq<>(tree.splitElement(n -> n > index).get().cata((left, x, right) -> left.snoc(a).concat(right)));
+    }
+
+    /**
+     * Splits the sequence at the given index.
+     *
+     * @param index the size of the first part, which is clamped to the valid range
+     * @return the elements before the index and the remaining elements
+     */
+    public T2<Seq<A>, Seq<A>> splitAt(int index) {
+        T2<FingerTree<Integer, A>, FingerTree<Integer, A>> split = tree.split(n -> n > index);
+        return T2.of(new Seq<>(split._1()), new Seq<>(split._2()));
+    }
+
+    public Seq<A> take(int n) {
+        return n >= size() ? this : splitAt(n)._1();
+    }
+
+    public Seq<A> drop(int n) {
+        return n <= 0 ? this : splitAt(n)._2();
+    }
+
+    public Seq<A> concat(Seq<A> that) {
+        return new Seq<>(tree.concat(that.tree));
+    }
+
+    public <B> Seq<B> map(Function<? super A, ? extends B> fn) {
+        Seq<B> result = empty();
+        for (A a : this) {
+            result = result.snoc(fn.apply(a));
+        }
+        return result;
+    }
+
+    public <B> B foldr(BiFunction<A, B, B> fn, B b) {
+        B result = b;
+        for (Iterator<A> it = tree.reverseIterator(); it.hasNext(); ) {
+            result = fn.apply(it.next(), result);
+        }
+        return result;
+    }
+
+    public <B> B foldl(B b, BiFunction<B, A, B> fn) {
+        B result = b;
+        for (A a : this) {
+            result = fn.apply(result, a);
+        }
+        return result;
+    }
+
+    @Override
+    public Iterator<A> iterator() {
+        return tree.iterator();
+    }
+
+    /**
+     * A sized {@link Spliterator}, which splits the finger tree in the middle using {@link #splitAt},
+     * so parallel streams over the sequence can distribute the work.
+     *
+     * @return the spliterator
+     */
+    @Override
+    public Spliterator<A> spliterator() {
+        return new SplittingSpliterator<>(this, Seq::size, seq -> seq.splitAt(seq.size() / 2),
+                Spliterator.ORDERED | Spliterator.IMMUTABLE);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (o == this) return true;
+        if (o instanceof Seq) {
+            Seq<?> that = (Seq<?>) o;
+            if (this.size() != that.size()) {
+                return false;
+            }
+            Iterator<?> it = that.iterator();
+            for (A a : this) {
+                if (!Objects.equals(a, it.next())) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public int hashCode() {
+        int hc = 17;
+        for (A a : this) {
+            hc = 5 * hc + 37 * Objects.hashCode(a);
+        }
+        return hc;
+    }
+
+    @Override
+    public String toString() {
+        return Strings.mkString("Seq(", ",", ")", this);
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("index " + index + ", size " + size());
+        }
+    }
+
+    public static final SeqFunctor functor = new SeqFunctor() {};
+
+    public static final SeqTraversable traversable = new SeqTraversable() {};
+
+    public static final SeqParallelFunctor parallelFunctor = new SeqParallelFunctor() {};
+}
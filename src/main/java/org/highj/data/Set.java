@@ -2,21 +2,23 @@ package org.highj.data;
 
 import org.derive4j.hkt.__;
 import org.highj.data.instance.set.SetMonadPlus;
-import org.highj.data.ord.Ordering;
 import org.highj.function.Strings;
 import org.highj.data.tuple.T2;
 import org.highj.typeclass0.group.Monoid;
 import org.highj.util.ArrayUtils;
-import org.highj.util.Iterators;
 
 import java.util.HashSet;
+import java.util.Arrays;
 import java.util.Iterator;
-import java.util.NoSuchElementException;
 import java.util.function.Function;
 import java.util.function.Predicate;
 
 /**
- * A crude, hash-based, immutable set implementation.
+ * An immutable hash set, stored in the hash array mapped trie of a {@link HashMap}.
+ * <p>
+ * Membership tests and updates take O(log32 n), independent of how the hash codes of the elements
+ * are distributed. The bulk operations ({@link #union}, {@link #intersection}, {@link #difference},
+ * {@link #filter} and {@link #partition}) merge the tries structurally.
  * <p>
  * Note that the provided monad instance could be considered a hack, based on the fact that every
  * Java object has a {@link Object#hashCode} and an {@link Object#equals} implementation,
@@ -30,19 +32,16 @@ public class Set<A> implements __<Set.µ, A>, Iterable<A>, Predicate<A> {
     public interface µ {
     }
 
-    @SuppressWarnings("unchecked")
-    private final static Set<?> EMPTY = new Set<>(Integer.MIN_VALUE, List.Nil(), null, null);
+    private final static Set<?> EMPTY = new Set<>(HashMap.empty());
 
-    private final Set<A> left;
-    private final Set<A> right;
-    private final List<A> bucket;
-    private final int hc;
+    private final HashMap<A, Boolean> map;
 
-    private Set(int hc, List<A> bucket, Set<A> left, Set<A> right) {
-        this.hc = hc;
-        this.bucket = bucket;
-        this.right = right;
-        this.left = left;
+    private Set(HashMap<A, Boolean> map) {
+        this.map = map;
+    }
+
+    private Set<A> withMap(HashMap<A, Boolean> newMap) {
+        return newMap == map ? this : newMap.isEmpty() ? empty() : new Set<>(newMap);
     }
 
     /**
@@ -53,31 +52,7 @@ public class Set<A> implements __<Set.µ, A>, Iterable<A>, Predicate<A> {
      */
     @Override
     public boolean test(A value) {
-        if (isEmpty()) {
-            return false;
-        }
-
-        int vhc = value.hashCode();
-        switch (Ordering.compare(vhc, hc)) {
-            case LT:
-                return left.test(value);
-            case GT:
-                return right.test(value);
-            case EQ:
-                return bucket.contains(value);
-            default:
-                throw new AssertionError();
-        }
-    }
-
-    private Set<A> withBucket(List<A> newBucket) {
-        return bucket == newBucket ? this : new Set<>(hc, newBucket, left, right);
-    }
-    private Set<A> withLeft(Set<A> newLeft) {
-        return left == newLeft ? this : new Set<>(hc, bucket, newLeft, right);
-    }
-    private Set<A> withRight(Set<A> newRight) {
-        return right == newRight ? this : new Set<>(hc, bucket, left, newRight);
+        return map.containsKey(value);
     }
 
     /**
@@ -89,20 +64,7 @@ public class Set<A> implements __<Set.µ, A>, Iterable<A>, Predicate<A> {
      * @return the set
      */
     public Set<A> plus(A a) {
-        if (isEmpty()) {
-            return new Set<>(a.hashCode(), List.of(a), Set.empty(), Set.empty());
-        }
-        int ahc = a.hashCode();
-        switch (Ordering.compare(ahc, hc)) {
-            case EQ:
-                return bucket.contains(a) ? this : withBucket(bucket.plus(a));
-            case LT:
-                return withLeft(left.plus(a));
-            case GT:
-                return withRight(right.plus(a));
-            default:
-                throw new AssertionError();
-        }
+        return withMap(map.insert(a, Boolean.TRUE));
     }
 
     /**
@@ -114,39 +76,7 @@ public class Set<A> implements __<Set.µ, A>, Iterable<A>, Predicate<A> {
      * @return the set
      */
     public Set<A> minus(A a) {
-        if (isEmpty()) {
-            return this;
-        }
-        int ahc = a.hashCode();
-        switch (Ordering.compare(ahc, hc)) {
-            case EQ:
-                List<A> newBucket = bucket.minus(a);
-                if (!newBucket.isEmpty()) {
-                    return withBucket(newBucket);
-                } else if (left.isEmpty()) {
-                    return right;
-                } else if (right.isEmpty()) {
-                    return left;
-                } else {
-                    T2<Set<A>, Set<A>> pair = right.removeMin();
-                    return new Set<>(pair._1().hc, pair._1().bucket, left, pair._2());
-                }
-            case LT:
-                return withLeft(left.minus(a));
-            case GT:
-                return withRight(right.minus(a));
-            default:
-                throw new AssertionError();
-        }
-    }
-
-    private T2<Set<A>, Set<A>> removeMin() {
-        if (left.isEmpty()) {
-            return T2.of(this, right);
-        } else {
-            T2<Set<A>, Set<A>> pair = left.removeMin();
-            return T2.of(pair._1(), withLeft(pair._2()));
-        }
+        return withMap(map.delete(a));
     }
 
     /**
@@ -155,7 +85,7 @@ public class Set<A> implements __<Set.µ, A>, Iterable<A>, Predicate<A> {
      * @return true if the set is empty, false otherwise
      */
     public boolean isEmpty() {
-        return this == EMPTY;
+        return map.isEmpty();
     }
 
     /**
@@ -243,11 +173,7 @@ public class Set<A> implements __<Set.µ, A>, Iterable<A>, Predicate<A> {
      */
     @SafeVarargs
     public final Set<A> plus(A... as) {
-        Set<A> result = this;
-        for (A a : as) {
-            result = result.plus(a);
-        }
-        return result;
+        return plus(Arrays.asList(as));
     }
 
     /**
@@ -258,11 +184,7 @@ public class Set<A> implements __<Set.µ, A>, Iterable<A>, Predicate<A> {
      */
     @SafeVarargs
     public final Set<A> minus(A... as) {
-        Set<A> result = this;
-        for (A a : as) {
-            result = result.minus(a);
-        }
-        return result;
+        return minus(Arrays.asList(as));
     }
 
     /**
@@ -272,11 +194,11 @@ public class Set<A> implements __<Set.µ, A>, Iterable<A>, Predicate<A> {
      * @return the set
      */
     public Set<A> plus(Iterable<A> as) {
-        Set<A> result = this;
+        HashMap.Transient<A, Boolean> builder = map.toTransient();
         for (A a : as) {
-            result = result.plus(a);
+            builder.insert(a, Boolean.TRUE);
         }
-        return result;
+        return builder.size() == size() ? this : withMap(builder.persistent());
     }
 
     /**
@@ -286,73 +208,77 @@ public class Set<A> implements __<Set.µ, A>, Iterable<A>, Predicate<A> {
      * @return the set
      */
     public Set<A> minus(Iterable<A> as) {
-        Set<A> result = this;
+        HashMap.Transient<A, Boolean> builder = map.toTransient();
         for (A a : as) {
-            result = result.minus(a);
+            builder.delete(a);
         }
-        return result;
+        return builder.size() == size() ? this : withMap(builder.persistent());
+    }
+
+    /**
+     * Calculates the union of two sets.
+     * <p>
+     * Sub-tries present in only one of the sets are shared. If nothing changes, a reference of the current set
+     * will be returned.
+     *
+     * @param that the other set
+     * @return the union
+     */
+    public Set<A> union(Set<A> that) {
+        HashMap<A, Boolean> newMap = map.union(that.map);
+        return newMap == that.map ? that : withMap(newMap);
+    }
+
+    /**
+     * Calculates the set of elements contained in both sets.
+     *
+     * If nothing changes, a reference of the current set will be returned.
+     *
+     * @param that the other set
+     * @return the intersection
+     */
+    public Set<A> intersection(Set<A> that) {
+        return withMap(map.intersection(that.map));
     }
 
     /**
-     * Calculates the number of elements.
+     * Calculates the set of elements which are not contained in the other set.
+     *
+     * If nothing changes, a reference of the current set will be returned.
      *
-     * Note that the size is calculated and not cached, so for large sets this may be an expensive operation.
+     * @param that the other set
+     * @return the difference
+     */
+    public Set<A> difference(Set<A> that) {
+        return withMap(map.difference(that.map));
+    }
+
+    /**
+     * Retrieves the number of elements, which is cached in the trie nodes.
      *
      * @return the number of elements.
      */
     public int size() {
-        return isEmpty() ? 0 : left.size() + bucket.size() + right.size();
+        return map.size();
     }
 
-    //note that the iteration order depends on the insertion order
-
     /**
      * An iterator over the set.
      *
-     * Note that equal sets may have different iteration orders, depending on their respective insertion order.
+     * Note that equal sets may have different iteration orders, if elements with equal hash codes were inserted
+     * in different orders.
      *
      * @return the iterator
      */
     public Iterator<A> iterator() {
-        return isEmpty() ? Iterators.emptyIterator() : new Iterator<A>() {
-
-            private List<A> bucket = Set.this.bucket;
-            private List<Set<A>> todo = addSubSets(List.Nil(), Set.this);
-
-            @Override
-            public boolean hasNext() {
-                return !bucket.isEmpty() || !todo.isEmpty();
-            }
-
-            @Override
-            public A next() {
-                if (bucket.isEmpty()) {
-                    if (todo.isEmpty()) {
-                        throw new NoSuchElementException();
-                    }
-                    Set<A> set = todo.head();
-                    todo = addSubSets(todo.tail(), set);
-                    bucket = set.bucket;
-                }
-                A result = bucket.head();
-                bucket = bucket.tail();
-                return result;
-            }
-
-            private List<Set<A>> addSubSets(List<Set<A>> list, Set<A> set) {
-                List<Set<A>> result = list;
-                result = set.left.isEmpty() ? result : result.plus(set.left);
-                result = set.right.isEmpty() ? result : result.plus(set.right);
-                return result;
-            }
-        };
+        return map.keys().iterator();
     }
 
-
     /**
      * Generates a {@link String} representation of the set.
      *
-     * Note that equal sets may have different representations, depending on their respective insertion order.
+     * Note that equal sets may have different representations, if elements with equal hash codes were inserted
+     * in different orders.
      *
      * @return the {@link String} representation
      */
@@ -371,11 +297,11 @@ public class Set<A> implements __<Set.µ, A>, Iterable<A>, Predicate<A> {
      * @return the transformed set
      */
     public <B> Set<B> map(Function<? super A, ? extends B> fn) {
-        Set<B> result = empty();
+        HashMap.Transient<B, Boolean> builder = HashMap.<B, Boolean>empty().toTransient();
         for (A a : this) {
-            result = result.plus(fn.apply(a));
+            builder.insert(fn.apply(a), Boolean.TRUE);
         }
-        return result;
+        return Set.<B>empty().withMap(builder.persistent());
     }
 
     /**
@@ -385,11 +311,18 @@ public class Set<A> implements __<Set.µ, A>, Iterable<A>, Predicate<A> {
      * @return the filtered set
      */
     public Set<A> filter(Predicate<? super A> predicate) {
-        Set<A> result = empty();
-        for (A a : this) {
-            result = predicate.test(a) ? result.plus(a) : result;
-        }
-        return result;
+        return withMap(map.filter((a, present) -> predicate.test(a)));
+    }
+
+    /**
+     * Splits the set into the elements satisfying a given condition, and the remaining ones.
+     *
+     * @param predicate the {@link Predicate} used for testing
+     * @return the accepted and the rejected elements
+     */
+    public T2<Set<A>, Set<A>> partition(Predicate<? super A> predicate) {
+        T2<HashMap<A, Boolean>, HashMap<A, Boolean>> pair = map.partition((a, present) -> predicate.test(a));
+        return T2.of(withMap(pair._1()), withMap(pair._2()));
     }
 
     /**
@@ -419,7 +352,7 @@ public class Set<A> implements __<Set.µ, A>, Iterable<A>, Predicate<A> {
     public static <A> Set<A> join(Set<Set<A>> set) {
         Set<A> result = empty();
         for (Set<A> innerSet : set) {
-            result = result.plus(innerSet);
+            result = result.union(innerSet);
         }
         return result;
     }
@@ -434,7 +367,7 @@ public class Set<A> implements __<Set.µ, A>, Iterable<A>, Predicate<A> {
     public <B> Set<B> ap(Set<Function<A, B>> functions) {
         Set<B> result = empty();
         for (Function<A, B> fn : functions) {
-            result = result.plus(map(fn));
+            result = result.union(map(fn));
         }
         return result;
     }
@@ -451,7 +384,7 @@ public class Set<A> implements __<Set.µ, A>, Iterable<A>, Predicate<A> {
     public <B> Set<B> bind(Function<? super A, Set<B>> fn) {
         Set<B> result = empty();
         for (A a : this) {
-            result = result.plus(fn.apply(a));
+            result = result.union(fn.apply(a));
         }
         return result;
     }
@@ -473,8 +406,17 @@ public class Set<A> implements __<Set.µ, A>, Iterable<A>, Predicate<A> {
     public boolean equals(Object o) {
         if (o == this) return true;
         if (o instanceof Set) {
-            Set<?> that = (Set) o;
-            return this.toJSet().equals(that.toJSet());
+            @SuppressWarnings("unchecked")
+            Set<A> that = (Set<A>) o;
+            if (this.size() != that.size()) {
+                return false;
+            }
+            for (A a : that) {
+                if (!test(a)) {
+                    return false;
+                }
+            }
+            return true;
         }
         return false;
     }
@@ -508,6 +450,6 @@ public class Set<A> implements __<Set.µ, A>, Iterable<A>, Predicate<A> {
      * @return the monoid
      */
     public static <A> Monoid<Set<A>> monoid() {
-        return Monoid.create(Set.empty(), (x, y) -> x.plus(y));
+        return Monoid.create(Set.empty(), Set::union);
     }
 }
@@ -59,18 +59,7 @@ public abstract class Stream<A> implements __<Stream.µ, A>, Iterable<A>, Functi
     }
 
     public static <A> Stream<A> unfold(Function<A, A> fn, A a) {
-        return new Stream<A>() {
-
-            @Override
-            public A head() {
-                return a;
-            }
-
-            @Override
-            public Stream<A> tail() {
-                return unfold(fn, fn.apply(a));
-            }
-        };
+        return newLazyStream(a, () -> unfold(fn, fn.apply(a)));
     }
 
     public static <A> Stream<A> newStream(A a, Stream<A> stream) {
@@ -88,19 +77,17 @@ public abstract class Stream<A> implements __<Stream.µ, A>, Iterable<A>, Functi
         };
     }
 
+    /**
+     * Creates a stream with a lazy tail. The thunk is evaluated at most once, the
+     * result is cached and the thunk is released afterwards.
+     *
+     * @param a     the head
+     * @param thunk the supplier of the tail
+     * @param <A>   the element type
+     * @return the stream
+     */
     public static <A> Stream<A> newLazyStream(A a, Supplier<Stream<A>> thunk) {
-        return new Stream<A>() {
-
-            @Override
-            public A head() {
-                return a;
-            }
-
-            @Override
-            public Stream<A> tail() {
-                return thunk.get();
-            }
-        };
+        return new LazyStream<>(a, thunk);
     }
 
     //assuming that the iterator doesn't stop
@@ -117,6 +104,7 @@ public abstract class Stream<A> implements __<Stream.µ, A>, Iterable<A>, Functi
     }
 
     public Stream<A> filter(Function<A, Boolean> predicate) {
+        //dropWhile loops, so sparse matches don't grow the stack
         final Stream<A> result = dropWhile((A a) -> ! predicate.apply(a));
         return newLazyStream(result.head(), () -> result.tail().filter(predicate));
     }
@@ -257,21 +245,58 @@ public abstract class Stream<A> implements __<Stream.µ, A>, Iterable<A>, Functi
 
     @Override
     public Iterator<A> iterator() {
-        return new Iterator<A>() {
+        return new StreamIterator<>(this);
+    }
 
-            private Stream<A> stream = Stream.this;
+    //a static class, so that the iterator doesn't keep the already consumed (memoized) prefix alive
+    private static final class StreamIterator<A> implements Iterator<A> {
+        private Stream<A> stream;
 
-            @Override
-            public boolean hasNext() {
-                return true;
-            }
+        private StreamIterator(Stream<A> stream) {
+            this.stream = stream;
+        }
 
-            @Override
-            public A next() {
-                A a = stream.head();
-                stream = stream.tail();
-                return a;
+        @Override
+        public boolean hasNext() {
+            return true;
+        }
+
+        @Override
+        public A next() {
+            A a = stream.head();
+            stream = stream.tail();
+            return a;
+        }
+    }
+
+    private static final class LazyStream<A> extends Stream<A> {
+        private final A head;
+        //set to null after evaluation, which publishes the tail
+        private volatile Supplier<Stream<A>> thunk;
+        private Stream<A> tail;
+
+        private LazyStream(A head, Supplier<Stream<A>> thunk) {
+            this.head = head;
+            this.thunk = thunk;
+        }
+
+        @Override
+        public A head() {
+            return head;
+        }
+
+        @Override
+        public Stream<A> tail() {
+            if (thunk != null) {
+                synchronized (this) {
+                    Supplier<Stream<A>> supplier = thunk;
+                    if (supplier != null) {
+                        tail = supplier.get();
+                        thunk = null;
+                    }
+                }
             }
-        };
+            return tail;
+        }
     }
-}
\ No newline at end of file
+}
@@ -2,20 +2,27 @@ package org.highj.data;
 
 import org.derive4j.hkt.__2;
 import org.highj.data.impl.treeMap.Node;
+import org.highj.data.instance.treemap.TreeMapParallelFunctor;
 import org.highj.data.tuple.T2;
 import org.highj.function.Strings;
 import org.highj.data.ord.Ord;
 
+import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
+import java.util.Spliterator;
 import java.util.function.BiFunction;
 import java.util.function.BinaryOperator;
 import java.util.function.Function;
+import java.util.stream.Collector;
 
 /**
  * A sorted map, backed by a left leaning RBTree implementation.
  * <p>
  * {@link TreeMap} works strict.
+ * <p>
+ * For bulk construction, {@link #toTransient()} provides a builder which collects updates,
+ * and builds a balanced tree from the sorted entries in one go.
  *
  * @param <K> key type
  * @param <V> value type
@@ -95,7 +102,7 @@ public class TreeMap<K, V> implements __2<TreeMap.µ, K, V>, Function<K, Maybe<V
      */
     public static <K extends Comparable<? super K>, V> TreeMap<K, V> of(Iterable<T2<K, V>> iterable) {
         Ord<? super K> ord = Ord.fromComparable();
-        return new TreeMap<>(Ord.fromComparable(), Node.fromIterable(ord, iterable));
+        return new TreeMap<>(ord, build(ord, iterable));
     }
 
     /**
@@ -108,7 +115,7 @@ public class TreeMap<K, V> implements __2<TreeMap.µ, K, V>, Function<K, Maybe<V
      * @return the map
      */
     public static <K, V> TreeMap<K, V> of(Ord<K> ord, Iterable<T2<K, V>> iterable) {
-        return new TreeMap<>(ord, Node.fromIterable(ord, iterable));
+        return new TreeMap<>(ord, build(ord, iterable));
     }
 
     /**
@@ -122,7 +129,7 @@ public class TreeMap<K, V> implements __2<TreeMap.µ, K, V>, Function<K, Maybe<V
      */
     public static <K extends Comparable<? super K>, V> TreeMap<K,V> fromKeys(Function<? super K, ? extends V> getValue, K ... keys) {
         Ord<? super K> ord = Ord.fromComparable();
-        return new TreeMap<>(ord, Node.fromIterable(ord, List.of(keys).map(k -> T2.of(k, getValue.apply(k)))));
+        return new TreeMap<>(ord, build(ord, List.of(keys).map(k -> T2.of(k, getValue.apply(k)))));
     }
 
     /**
@@ -136,7 +143,7 @@ public class TreeMap<K, V> implements __2<TreeMap.µ, K, V>, Function<K, Maybe<V
      * @return the map
      */
     public static <K, V> TreeMap<K,V> fromKeys(Ord<K> ord, Function<? super K, ? extends V> getValue, K ... keys) {
-        return new TreeMap<>(ord, Node.fromIterable(ord, List.of(keys).map(k -> T2.of(k, getValue.apply(k)))));
+        return new TreeMap<>(ord, build(ord, List.of(keys).map(k -> T2.of(k, getValue.apply(k)))));
     }
 
     /**
@@ -150,7 +157,7 @@ public class TreeMap<K, V> implements __2<TreeMap.µ, K, V>, Function<K, Maybe<V
      */
     public static <K extends Comparable<? super K>, V> TreeMap<K,V> fromKeys(Function<? super K, ? extends V> getValue, Iterable<K> keys) {
         Ord<? super K> ord = Ord.fromComparable();
-        return new TreeMap<K,V>(ord, Node.fromIterable(ord, List.fromIterable(keys).map(k -> T2.of(k, getValue.apply(k)))));
+        return new TreeMap<K,V>(ord, build(ord, List.fromIterable(keys).map(k -> T2.of(k, getValue.apply(k)))));
     }
 
     /**
@@ -164,12 +171,174 @@ public class TreeMap<K, V> implements __2<TreeMap.µ, K, V>, Function<K, Maybe<V
      * @return the map
      */
     public static <K, V> TreeMap<K,V> fromKeys(Ord<K> ord, Function<? super K, ? extends V> getValue, Iterable<K> keys) {
-        return new TreeMap<>(ord, Node.fromIterable(ord, List.fromIterable(keys).map(k -> T2.of(k, getValue.apply(k)))));
+        return new TreeMap<>(ord, build(ord, List.fromIterable(keys).map(k -> T2.of(k, getValue.apply(k)))));
     }
 
 
+    private static <K, V> Node<K, V> build(Ord<? super K> ord, Iterable<T2<K, V>> iterable) {
+        return new Transient<>(ord, Node.<K, V>empty()).insertAll(iterable).root();
+    }
+
     /**
-     * Calculates the size of the map.
+     * A {@link Collector} for key-value pairs, using the natural order of the key type and a transient builder.
+     * If a key occurs more than once, the last value wins.
+     *
+     * @param <K> key type
+     * @param <V> value type
+     * @return the collector
+     */
+    public static <K extends Comparable<? super K>, V> Collector<T2<K, V>, ?, TreeMap<K, V>> collector() {
+        return collector(Ord.<K>fromComparable());
+    }
+
+    /**
+     * A {@link Collector} for key-value pairs, using the given {@link Ord} and a transient builder.
+     * If a key occurs more than once, the last value wins.
+     *
+     * @param ord the {@link Ord} instance
+     * @param <K> key type
+     * @param <V> value type
+     * @return the collector
+     */
+    public static <K, V> Collector<T2<K, V>, ?, TreeMap<K, V>> collector(Ord<? super K> ord) {
+        return Collector.<T2<K, V>, Transient<K, V>, TreeMap<K, V>>of(
+                () -> new Transient<>(ord, Node.<K, V>empty()),
+                (builder, t2) -> builder.insert(t2._1(), t2._2()),
+                Transient::appendPending,
+                Transient::persistent);
+    }
+
+    /**
+     * Creates a transient builder, initialized with the entries of this map.
+     * This map is not affected by changes to the builder.
+     *
+     * @return the builder
+     */
+    public Transient<K, V> toTransient() {
+        return new Transient<>(ord, root);
+    }
+
+    /**
+     * A mutable builder for {@link TreeMap}s.
+     * <p>
+     * Updates are buffered. When the current state is needed, a small buffer is applied entry by entry.
+     * A large buffer is sorted and merged with the existing entries instead, and the tree is rebuilt
+     * in linear time.
+     * <p>
+     * A transient is not thread-safe, and must not be used any more after calling {@link #persistent()}.
+     *
+     * @param <K> key type
+     * @param <V> value type
+     */
+    public static final class Transient<K, V> {
+        private final Ord<? super K> ord;
+        private Node<K, V> root;
+        private java.util.List<T2<K, Maybe<V>>> pending = new ArrayList<>();
+
+        private Transient(Ord<? super K> ord, Node<K, V> root) {
+            this.ord = ord;
+            this.root = root;
+        }
+
+        private java.util.List<T2<K, Maybe<V>>> pending() {
+            if (pending == null) {
+                throw new IllegalStateException("transient used after call to persistent()");
+            }
+            return pending;
+        }
+
+        public Transient<K, V> insert(K key, V value) {
+            pending().add(T2.of(key, Maybe.Just(value)));
+            return this;
+        }
+
+        public Transient<K, V> insertAll(Iterable<T2<K, V>> iterable) {
+            java.util.List<T2<K, Maybe<V>>> pending = pending();
+            for (T2<K, V> t2 : iterable) {
+                pending.add(T2.of(t2._1(), Maybe.Just(t2._2())));
+            }
+            return this;
+        }
+
+        public Transient<K, V> delete(K key) {
+            pending().add(T2.of(key, Maybe.Nothing()));
+            return this;
+        }
+
+        public Maybe<V> lookup(K key) {
+            return root().get(ord, key);
+        }
+
+        //appends the buffered updates of a builder created from an empty map, so they are sorted only once
+        private Transient<K, V> appendPending(Transient<K, V> that) {
+            pending().addAll(that.pending());
+            return this;
+        }
+
+        public int size() {
+            return root().size();
+        }
+
+        /**
+         * Freezes the current state of the builder into a persistent map.
+         *
+         * @return the map
+         */
+        public TreeMap<K, V> persistent() {
+            TreeMap<K, V> result = new TreeMap<>(ord, root());
+            pending = null;
+            return result;
+        }
+
+        private Node<K, V> root() {
+            java.util.List<T2<K, Maybe<V>>> pending = pending();
+            if (pending.isEmpty()) {
+                return root;
+            }
+            int size = root.size();
+            if (pending.size() * (Integer.SIZE - Integer.numberOfLeadingZeros(size)) < size) {
+                for (T2<K, Maybe<V>> update : pending) {
+                    root = update._2().isJust()
+                            ? root.insert(ord, update._1(), update._2().get())
+                            : root.delete(ord, update._1());
+                }
+            } else {
+                root = Node.fromSorted(merge(pending));
+            }
+            pending.clear();
+            return root;
+        }
+
+        //merges the existing entries with the updates, where the last update for a key wins
+        private java.util.List<T2<K, V>> merge(java.util.List<T2<K, Maybe<V>>> updates) {
+            updates.sort((x, y) -> ord.compare(x._1(), y._1()));
+            java.util.List<T2<K, V>> result = new ArrayList<>(root.size() + updates.size());
+            List<T2<K, V>> existing = root.toList(T2::of);
+            int i = 0;
+            while (i < updates.size()) {
+                K key = updates.get(i)._1();
+                while (i + 1 < updates.size() && ord.eq(updates.get(i + 1)._1(), key)) {
+                    i++;
+                }
+                T2<K, Maybe<V>> update = updates.get(i++);
+                while (!existing.isEmpty() && ord.less(existing.head()._1(), key)) {
+                    result.add(existing.head());
+                    existing = existing.tail();
+                }
+                if (!existing.isEmpty() && ord.eq(existing.head()._1(), key)) {
+                    existing = existing.tail();
+                }
+                if (update._2().isJust()) {
+                    result.add(T2.of(update._1(), update._2().get()));
+                }
+            }
+            existing.forEach(result::add);
+            return result;
+        }
+    }
+
+    /**
+     * Retrieves the size of the map, which is cached in the tree nodes.
      *
      * @return the size
      */
@@ -177,9 +346,42 @@ public class TreeMap<K, V> implements __2<TreeMap.µ, K, V>, Function<K, Maybe<V
         return root.size();
     }
 
+    /**
+     * Calculates the number of keys in the map which are smaller than the given key,
+     * which is the index of the key if it is contained in the map.
+     *
+     * @param key the key
+     * @return the rank of the key
+     */
+    public int rank(K key) {
+        return root.rank(ord, key);
+    }
+
+    /**
+     * Retrieves the entry at the given position, in key order.
+     *
+     * @param index the index, starting with 0
+     * @return the entry
+     * @throws IndexOutOfBoundsException when the index is negative or not smaller than the size
+     */
+    public T2<K, V> select(int index) throws IndexOutOfBoundsException {
+        return root.select(index);
+    }
+
+    /**
+     * Splits the map at the given position, in key order.
+     * The first map contains the entries with an index smaller than the given one, the second map the rest.
+     *
+     * @param index the index, starting with 0
+     * @return the pair of maps
+     */
+    public T2<TreeMap<K, V>, TreeMap<K, V>> splitAt(int index) {
+        T2<Node<K, V>, Node<K, V>> pair = root.splitAt(ord, index);
+        return T2.of(new TreeMap<>(ord, pair._1()), new TreeMap<>(ord, pair._2()));
+    }
+
     /**
      * Checks whether this map is empty.
-     * Note that using this method might be much faster than testing if {@link TreeMap#size} is equal to 0.
      *
      * @return true if empty
      */
@@ -206,7 +408,7 @@ public class TreeMap<K, V> implements __2<TreeMap.µ, K, V>, Function<K, Maybe<V
      * @return the new map
      */
     public TreeMap<K, V> insertAll(Iterable<T2<K, V>> iterable) {
-        return new TreeMap<>(ord, root.insertAll(ord, iterable));
+        return toTransient().insertAll(iterable).persistent();
     }
 
     /**
@@ -354,6 +556,16 @@ public class TreeMap<K, V> implements __2<TreeMap.µ, K, V>, Function<K, Maybe<V
         return toList().iterator();
     }
 
+    /**
+     * A sized {@link Spliterator} over the entries in key order, which splits along the tree.
+     *
+     * @return the spliterator
+     */
+    @Override
+    public Spliterator<T2<K, V>> spliterator() {
+        return root.spliterator();
+    }
+
     /**
      * Transforms the value to a given key, if possible.
      * If the entry wasn't found, the unmodified map is returned.
@@ -455,4 +667,15 @@ public class TreeMap<K, V> implements __2<TreeMap.µ, K, V>, Function<K, Maybe<V
     public static <K, V> TreeMap<K, V> difference(TreeMap<K, V> first, TreeMap<K, V> second) {
         return new TreeMap<>(first.ord, Node.difference(first.ord, first.root, second.root));
     }
+
+    /**
+     * The {@link org.highj.typeclass1.foldable.ParallelFunctor} instance for the values of maps with the given key type.
+     *
+     * @param <K> key type
+     * @return the instance
+     */
+    public static <K> TreeMapParallelFunctor<K> parallelFunctor() {
+        return new TreeMapParallelFunctor<K>() {
+        };
+    }
 }
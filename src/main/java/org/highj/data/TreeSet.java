@@ -2,15 +2,20 @@ package org.highj.data;
 
 import org.derive4j.hkt.__;
 import org.highj.data.impl.treeSet.Node;
+import org.highj.data.instance.treeset.TreeSetParallelFoldable;
+import org.highj.data.tuple.T2;
 import org.highj.data.ord.Ord;
 import org.highj.function.Strings;
 import org.highj.typeclass0.group.Monoid;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
+import java.util.Spliterator;
 import java.util.function.Function;
 import java.util.function.Predicate;
+import java.util.stream.Collector;
 
 /**
  * A sorted set, backed by a left leaning RBTree implementation.
@@ -128,7 +133,50 @@ public class TreeSet<E> implements __<TreeSet.µ, E>, Predicate<E>, Iterable<E>
     }
 
     /**
-     * Calculates the size of the set.
+     * A {@link Collector} for sets, using the natural order of the element type.
+     * The elements are sorted, and the tree is built from them in linear time.
+     *
+     * @param <E> element type
+     * @return the collector
+     */
+    public static <E extends Comparable<? super E>> Collector<E, ?, TreeSet<E>> collector() {
+        return collector(Ord.<E>fromComparable());
+    }
+
+    /**
+     * A {@link Collector} for sets, using the given {@link Ord}.
+     * The elements are sorted, and the tree is built from them in linear time.
+     * If some elements are equal according to the {@link Ord}, the first one is kept.
+     *
+     * @param ord the {@link Ord} instance
+     * @param <E> element type
+     * @return the collector
+     */
+    public static <E> Collector<E, ?, TreeSet<E>> collector(Ord<? super E> ord) {
+        return Collector.<E, ArrayList<E>, TreeSet<E>>of(
+                ArrayList::new,
+                ArrayList::add,
+                (left, right) -> {
+                    left.addAll(right);
+                    return left;
+                },
+                elements -> new TreeSet<>(ord, Node.fromSorted(sortedDistinct(ord, elements))));
+    }
+
+    //a stable sort keeps the first one of equal elements in front
+    private static <E> java.util.List<E> sortedDistinct(Ord<? super E> ord, ArrayList<E> elements) {
+        elements.sort(ord);
+        int size = 0;
+        for (E element : elements) {
+            if (size == 0 || !ord.eq(elements.get(size - 1), element)) {
+                elements.set(size++, element);
+            }
+        }
+        return elements.subList(0, size);
+    }
+
+    /**
+     * Retrieves the size of the set, which is cached in the tree nodes.
      *
      * @return the size
      */
@@ -136,9 +184,42 @@ public class TreeSet<E> implements __<TreeSet.µ, E>, Predicate<E>, Iterable<E>
         return root.size();
     }
 
+    /**
+     * Calculates the number of elements in the set which are smaller than the given value,
+     * which is the index of the value if it is contained in the set.
+     *
+     * @param value the value
+     * @return the rank of the value
+     */
+    public int rank(E value) {
+        return root.rank(ord, value);
+    }
+
+    /**
+     * Retrieves the element at the given position, in order.
+     *
+     * @param index the index, starting with 0
+     * @return the element
+     * @throws IndexOutOfBoundsException when the index is negative or not smaller than the size
+     */
+    public E select(int index) throws IndexOutOfBoundsException {
+        return root.select(index);
+    }
+
+    /**
+     * Splits the set at the given position.
+     * The first set contains the elements with an index smaller than the given one, the second set the rest.
+     *
+     * @param index the index, starting with 0
+     * @return the pair of sets
+     */
+    public T2<TreeSet<E>, TreeSet<E>> splitAt(int index) {
+        T2<Node<E>, Node<E>> pair = root.splitAt(ord, index);
+        return T2.of(new TreeSet<>(ord, pair._1()), new TreeSet<>(ord, pair._2()));
+    }
+
     /**
      * Checks whether this set is empty.
-     * Note that using this method might be much faster than testing if {@link TreeSet#size} is equal to 0.
      *
      * @return true if empty
      */
@@ -254,6 +335,16 @@ public class TreeSet<E> implements __<TreeSet.µ, E>, Predicate<E>, Iterable<E>
         return toList().iterator();
     }
 
+    /**
+     * A sized and sorted {@link Spliterator}, which splits along the tree.
+     *
+     * @return the spliterator
+     */
+    @Override
+    public Spliterator<E> spliterator() {
+        return root.spliterator(ord);
+    }
+
     /**
      * Tests whether this set contains the same entries in the same order as another set.
      * Note that both sets can still rely on different {@link Ord} instances. As a consequence, e.g.
@@ -333,4 +424,10 @@ public class TreeSet<E> implements __<TreeSet.µ, E>, Predicate<E>, Iterable<E>
     public static <A extends Comparable<? super A>> Monoid<TreeSet<A>> monoid() {
         return Monoid.create(TreeSet.<A>empty(), TreeSet::union);
     }
+
+    /**
+     * The {@link org.highj.typeclass1.foldable.ParallelFoldable} instance of sets.
+     */
+    public static final TreeSetParallelFoldable parallelFoldable = new TreeSetParallelFoldable() {
+    };
 }
@@ -0,0 +1,731 @@
+package org.highj.data;
+
+import org.derive4j.hkt.__;
+import org.highj.data.instance.vector.VectorFunctor;
+import org.highj.data.instance.vector.VectorMonadPlus;
+import org.highj.data.instance.vector.VectorParallelFunctor;
+import org.highj.data.instance.vector.VectorTraversable;
+import org.highj.function.Strings;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * A persistent indexed sequence, implemented as relaxed radix balanced tree (RRB tree) with a tail buffer.
+ * <p>
+ * Indexed access, update and append take O(log32 n), concatenation and slicing take O(log n).
+ *
+ * @param <A> the element type
+ */
+public final class Vector<A> implements __<Vector.µ, A>, Iterable<A> {
+
+    public static final class µ {
+    }
+
+    private static final int BITS = 5;
+    private static final int WIDTH = 1 << BITS;
+
+    //Leaves are arrays of elements. Internal nodes are arrays of children with an additional
+    //last slot, containing either null (balanced node) or an int[] with the cumulated sizes of
+    //the children (relaxed node). In a balanced node all children but the last are completely
+    //filled, so the child holding an index can be calculated directly.
+    private static final Object[] EMPTY_NODE = new Object[]{null};
+    private static final Object[] EMPTY_LEAF = new Object[0];
+
+    private static final Vector<?> EMPTY = new Vector<>(0, BITS, EMPTY_NODE, EMPTY_LEAF);
+
+    private final int size;
+    private final int shift;
+    private final Object[] root;
+    private final Object[] tail;
+
+    private Vector(int size, int shift, Object[] root, Object[] tail) {
+        this.size = size;
+        this.shift = shift;
+        this.root = root;
+        this.tail = tail;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <A> Vector<A> empty() {
+        return (Vector<A>) EMPTY;
+    }
+
+    @SafeVarargs
+    public static <A> Vector<A> of(A... as) {
+        return build(as);
+    }
+
+    /**
+     * Constructs a vector containing the elements of a {@link List}.
+     *
+     * @param list the list, which must be finite
+     * @param <A>  the element type
+     * @return the vector
+     */
+    public static <A> Vector<A> fromList(List<A> list) {
+        return fromIterable(list);
+    }
+
+    public static <A> Vector<A> fromJavaList(java.util.List<? extends A> list) {
+        return build(list.toArray());
+    }
+
+    public static <A> Vector<A> fromIterable(Iterable<? extends A> as) {
+        ArrayList<A> result = new ArrayList<>();
+        for (A a : as) {
+            result.add(a);
+        }
+        return build(result.toArray());
+    }
+
+    public List<A> toList() {
+        return foldr((a, list) -> list.plus(a), List.Nil());
+    }
+
+    public java.util.List<A> toJList() {
+        java.util.List<A> result = new ArrayList<>(size);
+        for (A a : this) {
+            result.add(a);
+        }
+        return result;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Retrieves an element.
+     *
+     * @param index the index
+     * @return the element
+     * @throws IndexOutOfBoundsException when the index is negative or not smaller than the size
+     */
+    @SuppressWarnings("unchecked")
+    public A get(int index) throws IndexOutOfBoundsException {
+        checkIndex(index);
+        int offset = size - tail.length;
+        if (index >= offset) {
+            return (A) tail[index - offset];
+        }
+        Object[] node = root;
+        for (int level = shift; level > 0; level -= BITS) {
+            int slot = slot(node, level, index);
+            index -= offset(node, level, slot);
+            node = (Object[]) node[slot];
+        }
+        return (A) node[index];
+    }
+
+    public Maybe<A> maybeGet(int index) {
+        return index < 0 || index >= size ? Maybe.Nothing() : Maybe.Just(get(index));
+    }
+
+    /**
+     * Replaces an element.
+     *
+     * @param index the index
+     * @param a     the new value
+     * @return the updated vector
+     * @throws IndexOutOfBoundsException when the index is negative or not smaller than the size
+     */
+    public Vector<A> update(int index, A a) throws IndexOutOfBoundsException {
+        checkIndex(index);
+        int offset = size - tail.length;
+        if (index >= offset) {
+            Object[] newTail = tail.clone();
+            newTail[index - offset] = a;
+            return new Vector<>(size, shift, root, newTail);
+        }
+        return new Vector<>(size, shift, update(root, shift, index, a), tail);
+    }
+
+    /**
+     * Adds an element at the end.
+     *
+     * @param a the new element
+     * @return the vector
+     */
+    public Vector<A> append(A a) {
+        if (tail.length < WIDTH) {
+            Object[] newTail = Arrays.copyOf(tail, tail.length + 1);
+            newTail[tail.length] = a;
+            return new Vector<>(size + 1, shift, root, newTail);
+        }
+        Object[] newRoot = pushLeaf(root, shift, tail);
+        int newShift = shift;
+        if (newRoot == null) {
+            newShift += BITS;
+            newRoot = node(new Object[]{root, path(tail, newShift)}, newShift);
+        }
+        return new Vector<>(size + 1, newShift, newRoot, new Object[]{a});
+    }
+
+    /**
+     * Concatenates two vectors. Only the nodes along the seam are rebuilt.
+     *
+     * @param that the vector to add at the end
+     * @return the concatenated vector
+     */
+    public Vector<A> concat(Vector<A> that) {
+        if (that.isEmpty()) {
+            return this;
+        } else if (this.isEmpty()) {
+            return that;
+        } else if (that.size <= WIDTH) {
+            Vector<A> result = this;
+            for (A a : that) {
+                result = result.append(a);
+            }
+            return result;
+        }
+        Object[] left = root;
+        int leftShift = shift;
+        if (tail.length > 0) {
+            left = pushLeaf(root, shift, tail);
+            if (left == null) {
+                leftShift += BITS;
+                left = node(new Object[]{root, path(tail, leftShift)}, leftShift);
+            }
+        }
+        Object[] merged = concat(left, leftShift, that.root, that.shift);
+        return normalize(size + that.size, Math.max(leftShift, that.shift) + BITS, merged, that.tail);
+    }
+
+    /**
+     * Extracts a part of the vector.
+     *
+     * @param from the start index (inclusive)
+     * @param to   the end index (exclusive)
+     * @return the vector containing the elements between from and to
+     * @throws IndexOutOfBoundsException when the range is invalid
+     */
+    public Vector<A> slice(int from, int to) throws IndexOutOfBoundsException {
+        if (from < 0 || to > size || from > to) {
+            throw new IndexOutOfBoundsException("from " + from + ", to " + to + ", size " + size);
+        }
+        return take(to).drop(from);
+    }
+
+    public Vector<A> take(int n) {
+        if (n <= 0) {
+            return empty();
+        } else if (n >= size) {
+            return this;
+        }
+        int offset = size - tail.length;
+        if (n >= offset) {
+            return new Vector<>(n, shift, root, Arrays.copyOf(tail, n - offset));
+        }
+        return normalize(n, shift, take(root, shift, n), EMPTY_LEAF);
+    }
+
+    public Vector<A> drop(int n) {
+        if (n <= 0) {
+            return this;
+        } else if (n >= size) {
+            return empty();
+        }
+        int offset = size - tail.length;
+        if (n >= offset) {
+            return new Vector<>(size - n, BITS, EMPTY_NODE, Arrays.copyOfRange(tail, n - offset, tail.length));
+        }
+        return normalize(size - n, shift, drop(root, shift, n), tail);
+    }
+
+    public <B> Vector<B> map(Function<? super A, ? extends B> fn) {
+        return new Vector<>(size, shift, map(root, shift, fn), map(tail, 0, fn));
+    }
+
+    public <B> Vector<B> concatMap(Function<? super A, Vector<? extends B>> fn) {
+        ArrayList<B> result = new ArrayList<>();
+        for (A a : this) {
+            for (B b : fn.apply(a)) {
+                result.add(b);
+            }
+        }
+        return build(result.toArray());
+    }
+
+    public <B> B foldr(BiFunction<A, B, B> fn, B b) {
+        Object[] elements = toArray();
+        B result = b;
+        for (int i = elements.length - 1; i >= 0; i--) {
+            @SuppressWarnings("unchecked")
+            A a = (A) elements[i];
+            result = fn.apply(a, result);
+        }
+        return result;
+    }
+
+    public <B> B foldl(B b, BiFunction<B, A, B> fn) {
+        B result = b;
+        for (A a : this) {
+            result = fn.apply(result, a);
+        }
+        return result;
+    }
+
+    @Override
+    public Iterator<A> iterator() {
+        return new VectorIterator<>(this, 0, size);
+    }
+
+    /**
+     * A sized {@link Spliterator} over a range of indexes, which splits in the middle of the range
+     * without copying or slicing the tree, so parallel streams over the vector can distribute the work.
+     *
+     * @return the spliterator
+     */
+    @Override
+    public Spliterator<A> spliterator() {
+        return new VectorSpliterator<>(this, 0, size);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (o == this) return true;
+        if (o instanceof Vector) {
+            Vector<?> that = (Vector<?>) o;
+            if (this.size != that.size) {
+                return false;
+            }
+            Iterator<?> it = that.iterator();
+            for (A a : this) {
+                if (!Objects.equals(a, it.next())) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public int hashCode() {
+        int hc = 17;
+        for (A a : this) {
+            hc = 5 * hc + 37 * Objects.hashCode(a);
+        }
+        return hc;
+    }
+
+    @Override
+    public String toString() {
+        return Strings.mkString("Vector(", ",", ")", this);
+    }
+
+    private Object[] toArray() {
+        Object[] result = new Object[size];
+        int i = 0;
+        for (A a : this) {
+            result[i++] = a;
+        }
+        return result;
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("index " + index + ", size " + size);
+        }
+    }
+
+    //builds a balanced tree bottom-up, the last (possibly incomplete) leaf becomes the tail
+    private static <A> Vector<A> build(Object[] array) {
+        //the array might have a more specific runtime type, which must not leak into the nodes
+        Object[] elements = array.getClass() == Object[].class ? array : Arrays.copyOf(array, array.length, Object[].class);
+        int n = elements.length;
+        if (n == 0) {
+            return empty();
+        }
+        int treeSize = ((n - 1) >>> BITS) << BITS;
+        Object[] tail = Arrays.copyOfRange(elements, treeSize, n);
+        if (treeSize == 0) {
+            return new Vector<>(n, BITS, EMPTY_NODE, tail);
+        }
+        Object[] level = new Object[treeSize >>> BITS];
+        for (int i = 0; i < level.length; i++) {
+            level[i] = Arrays.copyOfRange(elements, i << BITS, (i + 1) << BITS);
+        }
+        for (int shift = BITS; ; shift += BITS) {
+            Object[] parents = new Object[(level.length + WIDTH - 1) >>> BITS];
+            for (int p = 0; p < parents.length; p++) {
+                int from = p << BITS;
+                int to = Math.min(from + WIDTH, level.length);
+                //the additional slot for the size table stays null
+                Object[] node = new Object[to - from + 1];
+                System.arraycopy(level, from, node, 0, to - from);
+                parents[p] = node;
+            }
+            if (parents.length == 1) {
+                return new Vector<>(n, shift, (Object[]) parents[0], tail);
+            }
+            level = parents;
+        }
+    }
+
+    //removes superfluous levels above the root
+    private static <A> Vector<A> normalize(int size, int shift, Object[] root, Object[] tail) {
+        while (shift > BITS && root.length == 2) {
+            root = (Object[]) root[0];
+            shift -= BITS;
+        }
+        return new Vector<>(size, shift, root, tail);
+    }
+
+    private static int[] sizes(Object[] node) {
+        return (int[]) node[node.length - 1];
+    }
+
+    //the number of elements in a subtree, where shift == 0 means a leaf
+    private static int treeSize(Object[] node, int shift) {
+        if (shift == 0) {
+            return node.length;
+        }
+        int count = node.length - 1;
+        if (count == 0) {
+            return 0;
+        }
+        int[] sizes = sizes(node);
+        return sizes != null
+                ? sizes[count - 1]
+                : ((count - 1) << shift) + treeSize((Object[]) node[count - 1], shift - BITS);
+    }
+
+    //the child of a node containing the given index
+    private static int slot(Object[] node, int shift, int index) {
+        //no child contains more than 1 << shift elements, so this is a lower bound for relaxed nodes
+        int slot = index >>> shift;
+        int[] sizes = sizes(node);
+        if (sizes != null) {
+            while (sizes[slot] <= index) {
+                slot++;
+            }
+        }
+        return slot;
+    }
+
+    //the number of elements in the children before the given one
+    private static int offset(Object[] node, int shift, int slot) {
+        if (slot == 0) {
+            return 0;
+        }
+        int[] sizes = sizes(node);
+        return sizes != null ? sizes[slot - 1] : slot << shift;
+    }
+
+    //creates a node from the given children, which is relaxed only if necessary
+    private static Object[] node(Object[] children, int shift) {
+        int count = children.length;
+        Object[] node = Arrays.copyOf(children, count + 1);
+        int[] sizes = new int[count];
+        boolean balanced = true;
+        int sum = 0;
+        for (int i = 0; i < count; i++) {
+            int childSize = treeSize((Object[]) children[i], shift - BITS);
+            balanced &= i == count - 1 || childSize == 1 << shift;
+            sum += childSize;
+            sizes[i] = sum;
+        }
+        node[count] = balanced ? null : sizes;
+        return node;
+    }
+
+    //a chain of single child nodes, which can be used as child of a node at the given level
+    private static Object[] path(Object[] leaf, int shift) {
+        return shift == BITS ? leaf : new Object[]{path(leaf, shift - BITS), null};
+    }
+
+    //adds a leaf as last element of a subtree, or returns null when there is no room left
+    private static Object[] pushLeaf(Object[] node, int shift, Object[] leaf) {
+        int count = node.length - 1;
+        int[] sizes = sizes(node);
+        if (shift > BITS && count > 0) {
+            Object[] child = pushLeaf((Object[]) node[count - 1], shift - BITS, leaf);
+            if (child != null) {
+                Object[] result = node.clone();
+                result[count - 1] = child;
+                if (sizes != null) {
+                    int[] newSizes = sizes.clone();
+                    newSizes[count - 1] += leaf.length;
+                    result[count] = newSizes;
+                }
+                return result;
+            }
+        }
+        if (count == WIDTH) {
+            return null;
+        }
+        if (sizes == null && count > 0 && treeSize((Object[]) node[count - 1], shift - BITS) != 1 << shift) {
+            //the former last child is incomplete, so the node can't stay balanced
+            sizes = new int[count];
+            for (int i = 0; i < count - 1; i++) {
+                sizes[i] = (i + 1) << shift;
+            }
+            sizes[count - 1] = treeSize(node, shift);
+        }
+        Object[] result = Arrays.copyOf(node, count + 2);
+        result[count] = path(leaf, shift);
+        if (sizes != null) {
+            int[] newSizes = Arrays.copyOf(sizes, count + 1);
+            newSizes[count] = (count == 0 ? 0 : sizes[count - 1]) + leaf.length;
+            result[count + 1] = newSizes;
+        } else {
+            result[count + 1] = null;
+        }
+        return result;
+    }
+
+    private static Object[] update(Object[] node, int shift, int index, Object value) {
+        Object[] result = node.clone();
+        if (shift == 0) {
+            result[index] = value;
+        } else {
+            int slot = slot(node, shift, index);
+            result[slot] = update((Object[]) node[slot], shift - BITS, index - offset(node, shift, slot), value);
+        }
+        return result;
+    }
+
+    //keeps the first n elements, where 0 < n < treeSize(node, shift)
+    private static Object[] take(Object[] node, int shift, int n) {
+        if (shift == 0) {
+            return Arrays.copyOf(node, n);
+        }
+        int slot = slot(node, shift, n - 1);
+        Object[] result = Arrays.copyOf(node, slot + 2);
+        result[slot] = take((Object[]) node[slot], shift - BITS, n - offset(node, shift, slot));
+        int[] sizes = sizes(node);
+        if (sizes != null) {
+            int[] newSizes = Arrays.copyOf(sizes, slot + 1);
+            newSizes[slot] = n;
+            result[slot + 1] = newSizes;
+        } else {
+            result[slot + 1] = null;
+        }
+        return result;
+    }
+
+    //drops the first n elements, where 0 < n < treeSize(node, shift)
+    private static Object[] drop(Object[] node, int shift, int n) {
+        if (shift == 0) {
+            return Arrays.copyOfRange(node, n, node.length);
+        }
+        int slot = slot(node, shift, n);
+        int childDrop = n - offset(node, shift, slot);
+        Object[] children = Arrays.copyOfRange(node, slot, node.length - 1);
+        if (childDrop > 0) {
+            children[0] = drop((Object[]) children[0], shift - BITS, childDrop);
+        }
+        return node(children, shift);
+    }
+
+    private static Object[] map(Object[] node, int shift, Function<?, ?> fn) {
+        @SuppressWarnings("unchecked")
+        Function<Object, Object> f = (Function<Object, Object>) fn;
+        Object[] result = node.clone();
+        if (shift == 0) {
+            for (int i = 0; i < result.length; i++) {
+                result[i] = f.apply(result[i]);
+            }
+        } else {
+            //size tables can be shared
+            for (int i = 0; i < result.length - 1; i++) {
+                result[i] = map((Object[]) result[i], shift - BITS, f);
+            }
+        }
+        return result;
+    }
+
+    //concatenates two subtrees, the result has level max(leftShift, rightShift) + BITS and 1 or 2 children
+    private static Object[] concat(Object[] left, int leftShift, Object[] right, int rightShift) {
+        if (leftShift > rightShift) {
+            Object[] merged = concat(lastChild(left), leftShift - BITS, right, rightShift);
+            return rebalance(initChildren(left), children(merged), EMPTY_LEAF, leftShift);
+        } else if (leftShift < rightShift) {
+            Object[] merged = concat(left, leftShift, firstChild(right), rightShift - BITS);
+            return rebalance(EMPTY_LEAF, children(merged), tailChildren(right), rightShift);
+        } else if (leftShift == BITS) {
+            return rebalance(children(left), EMPTY_LEAF, children(right), BITS);
+        } else {
+            Object[] merged = concat(lastChild(left), leftShift - BITS, firstChild(right), rightShift - BITS);
+            return rebalance(initChildren(left), children(merged), tailChildren(right), leftShift);
+        }
+    }
+
+    //repacks the grandchildren of the given children densely, which results in at most 2 new nodes
+    private static Object[] rebalance(Object[] left, Object[] middle, Object[] right, int shift) {
+        ArrayList<Object> grandChildren = new ArrayList<>();
+        for (Object[] part : new Object[][]{left, middle, right}) {
+            for (Object child : part) {
+                Object[] childNode = (Object[]) child;
+                int count = shift == BITS ? childNode.length : childNode.length - 1;
+                for (int i = 0; i < count; i++) {
+                    grandChildren.add(childNode[i]);
+                }
+            }
+        }
+        Object[] newChildren = new Object[(grandChildren.size() + WIDTH - 1) >>> BITS];
+        for (int i = 0; i < newChildren.length; i++) {
+            Object[] chunk = grandChildren.subList(i << BITS, Math.min((i + 1) << BITS, grandChildren.size())).toArray();
+            newChildren[i] = shift == BITS ? chunk : node(chunk, shift - BITS);
+        }
+        if (newChildren.length <= WIDTH) {
+            return node(new Object[]{node(newChildren, shift)}, shift + BITS);
+        }
+        return node(new Object[]{
+                node(Arrays.copyOf(newChildren, WIDTH), shift),
+                node(Arrays.copyOfRange(newChildren, WIDTH, newChildren.length), shift)
+        }, shift + BITS);
+    }
+
+    private static Object[] children(Object[] node) {
+        return Arrays.copyOf(node, node.length - 1);
+    }
+
+    private static Object[] initChildren(Object[] node) {
+        return Arrays.copyOf(node, node.length - 2);
+    }
+
+    private static Object[] tailChildren(Object[] node) {
+        return Arrays.copyOfRange(node, 1, node.length - 1);
+    }
+
+    private static Object[] firstChild(Object[] node) {
+        return (Object[]) node[0];
+    }
+
+    private static Object[] lastChild(Object[] node) {
+        return (Object[]) node[node.length - 2];
+    }
+
+    //iterates leaf by leaf, descending from the root only once per leaf
+    private static final class VectorIterator<A> implements Iterator<A> {
+        private final Vector<A> vector;
+        private final int end;
+        private int index;
+        private Object[] leaf = EMPTY_LEAF;
+        private int leafStart;
+
+        private VectorIterator(Vector<A> vector, int from, int to) {
+            this.vector = vector;
+            this.index = from;
+            this.end = to;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return index < end;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public A next() {
+            if (index >= end) {
+                throw new NoSuchElementException();
+            }
+            if (index - leafStart >= leaf.length) {
+                findLeaf();
+            }
+            return (A) leaf[index++ - leafStart];
+        }
+
+        private void findLeaf() {
+            int offset = vector.size - vector.tail.length;
+            if (index >= offset) {
+                leaf = vector.tail;
+                leafStart = offset;
+                return;
+            }
+            Object[] node = vector.root;
+            int relative = index;
+            for (int level = vector.shift; level > 0; level -= BITS) {
+                int slot = slot(node, level, relative);
+                relative -= offset(node, level, slot);
+                node = (Object[]) node[slot];
+            }
+            leaf = node;
+            leafStart = index - relative;
+        }
+    }
+
+    //splits the index range until the iteration starts
+    private static final class VectorSpliterator<A> implements Spliterator<A> {
+        private final Vector<A> vector;
+        private final int end;
+        private int start;
+        private VectorIterator<A> iterator;
+
+        private VectorSpliterator(Vector<A> vector, int from, int to) {
+            this.vector = vector;
+            this.start = from;
+            this.end = to;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super A> action) {
+            if (iterator == null) {
+                iterator = new VectorIterator<>(vector, start, end);
+            }
+            if (!iterator.hasNext()) {
+                return false;
+            }
+            action.accept(iterator.next());
+            return true;
+        }
+
+        @Override
+        public Spliterator<A> trySplit() {
+            if (iterator != null || end - start < 2) {
+                return null;
+            }
+            int middle = (start + end) >>> 1;
+            Spliterator<A> prefix = new VectorSpliterator<>(vector, start, middle);
+            start = middle;
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            return end - (iterator == null ? start : iterator.index);
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | IMMUTABLE | SIZED | SUBSIZED;
+        }
+    }
+
+    public static final VectorFunctor functor = new VectorFunctor() {
+    };
+
+    /**
+     * The {@link org.highj.typeclass1.foldable.Traversable} instance of vectors.
+     */
+    public static final VectorTraversable traversable = new VectorTraversable() {
+    };
+
+    /**
+     * The {@link org.highj.typeclass1.monad.MonadPlus} instance of vectors, using concatenation.
+     */
+    public static final VectorMonadPlus monadPlus = new VectorMonadPlus() {
+    };
+
+    /**
+     * The {@link org.highj.typeclass1.foldable.ParallelFunctor} instance of vectors.
+     */
+    public static final VectorParallelFunctor parallelFunctor = new VectorParallelFunctor() {
+    };
+}
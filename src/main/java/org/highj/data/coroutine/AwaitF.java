@@ -0,0 +1,36 @@
+package org.highj.data.coroutine;
+
+import org.derive4j.hkt.__2;
+import org.highj.data.Maybe;
+import org.highj.data.coroutine.awaitf.AwaitFFunctor;
+import org.highj.function.F1;
+
+/**
+ * The functor of a coroutine waiting for its next input, the counterpart of {@link YieldF}.
+ * The continuation gets {@link Maybe#Nothing()} when the input has ended.
+ *
+ * @param <I> The input type.
+ * @param <A> The type of the continuation.
+ */
+public class AwaitF<I,A> implements __2<AwaitF.µ,I,A> {
+    public static class µ {
+    }
+
+    private final F1<Maybe<I>,A> next;
+
+    private AwaitF(F1<Maybe<I>,A> next) {
+        this.next = next;
+    }
+
+    public static <I,A> AwaitF<I,A> await(F1<Maybe<I>,A> next) {
+        return new AwaitF<>(next);
+    }
+
+    public F1<Maybe<I>,A> next() {
+        return next;
+    }
+
+    public static <I> AwaitFFunctor<I> functor() {
+        return new AwaitFFunctor<I>() {};
+    }
+}
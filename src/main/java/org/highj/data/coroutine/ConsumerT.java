@@ -0,0 +1,198 @@
+package org.highj.data.coroutine;
+
+import org.derive4j.hkt.__;
+import org.derive4j.hkt.__3;
+import org.highj.data.Either;
+import org.highj.data.Maybe;
+import org.highj.data.coroutine.consumer.ConsumerTApplicative;
+import org.highj.data.coroutine.consumer.ConsumerTApply;
+import org.highj.data.coroutine.consumer.ConsumerTBind;
+import org.highj.data.coroutine.consumer.ConsumerTFunctor;
+import org.highj.data.coroutine.consumer.ConsumerTMonad;
+import org.highj.data.coroutine.consumer.ConsumerTMonadRec;
+import org.highj.data.coroutine.consumer.ConsumerTMonadTrans;
+import org.highj.data.transformer.FreeT;
+import org.highj.data.tuple.T0;
+import org.highj.function.F1;
+import org.highj.function.NF;
+import org.highj.typeclass1.monad.MonadRec;
+
+import java.util.function.BiFunction;
+import java.util.function.Supplier;
+
+import static org.highj.Hkt.asAwaitF;
+
+/**
+ * A coroutine that pulls its input, the counterpart of {@link ProducerT}.
+ * <p>
+ * A consumer only asks for the next element when it needs it, so connecting it to a producer with
+ * {@link #connect} runs the producer exactly as far as the consumer reads.
+ *
+ * @param <I> The input type that gets awaited.
+ * @param <M> The base monad type.
+ * @param <A> The final return type after the full execution.
+ */
+public class ConsumerT<I,M,A> implements __3<ConsumerT.µ,I,M,A> {
+    public static class µ {
+    }
+
+    private final FreeT<__<AwaitF.µ,I>,M,A> _toFreeT;
+
+    private ConsumerT(FreeT<__<AwaitF.µ,I>,M,A> toFreeT) {
+        this._toFreeT = toFreeT;
+    }
+
+    public static <I,M,A> ConsumerT<I,M,A> consumerT(FreeT<__<AwaitF.µ,I>,M,A> toFreeT) {
+        return new ConsumerT<>(toFreeT);
+    }
+
+    public FreeT<__<AwaitF.µ,I>,M,A> toFreeT() {
+        return _toFreeT;
+    }
+
+    /**
+     * Executes a step of the consumer.
+     *
+     * @param mMonadRec The base monad. (It must support a MonadRec instance.)
+     * @return Either a completion value (left side of Either), or the continuation waiting for
+     *         the next input (right side of Either).
+     */
+    public __<M,Either<A,F1<Maybe<I>,ConsumerT<I,M,A>>>> run(MonadRec<M> mMonadRec) {
+        return mMonadRec.map(
+            (Either<A,__<__<AwaitF.µ,I>,FreeT<__<AwaitF.µ,I>,M,A>>> x) ->
+                x.bimap(
+                    (A a) -> a,
+                    (__<__<AwaitF.µ,I>,FreeT<__<AwaitF.µ,I>,M,A>> x2) -> {
+                        F1<Maybe<I>,FreeT<__<AwaitF.µ,I>,M,A>> next = asAwaitF(x2).next();
+                        return (Maybe<I> i) -> ConsumerT.consumerT(next.apply(i));
+                    }
+                ),
+            toFreeT().resume(mMonadRec, AwaitF.functor())
+        );
+    }
+
+    /**
+     * A consumer that has finished.
+     *
+     * @param <I> Input type.
+     * @param <M> Base monad.
+     * @param <A> Finished return type.
+     * @param a The finished return value.
+     * @return A consumer in its finished state returning value a.
+     */
+    public static <I,M,A> ConsumerT<I,M,A> done(A a) {
+        return ConsumerT.consumerT(FreeT.done(a));
+    }
+
+    /**
+     * Waits for the next input.
+     *
+     * @param <I> Input type.
+     * @param <M> Base monad.
+     * @return The consumer returning the input, or Nothing if the input has ended.
+     */
+    public static <I,M> ConsumerT<I,M,Maybe<I>> await() {
+        return ConsumerT.consumerT(FreeT.liftF(AwaitF.await((Maybe<I> i) -> i)));
+    }
+
+    public static <I,M,A,B> ConsumerT<I,M,B> bind(ConsumerT<I,M,A> ma, F1<A,ConsumerT<I,M,B>> f) {
+        return ConsumerT.consumerT(FreeT.bind(ma.toFreeT(), (A a) -> f.apply(a).toFreeT()));
+    }
+
+    public static <I,M,A> ConsumerT<I,M,A> suspend(Supplier<ConsumerT<I,M,A>> a) {
+        return ConsumerT.consumerT(FreeT.suspend(() -> a.get().toFreeT()));
+    }
+
+    public static <I,M,A> ConsumerT<I,M,A> lift(__<M,A> ma) {
+        return ConsumerT.consumerT(FreeT.liftM(ma));
+    }
+
+    /**
+     * Folds all inputs, until the input ends.
+     *
+     * @param <I> Input type.
+     * @param <M> Base monad.
+     * @param <B> Result type.
+     * @param b The initial value.
+     * @param fn The folding function.
+     * @return The consumer returning the folded inputs.
+     */
+    public static <I,M,B> ConsumerT<I,M,B> fold(B b, BiFunction<B,I,B> fn) {
+        return bind(ConsumerT.<I,M>await(), (Maybe<I> input) -> input.cata$(
+            () -> ConsumerT.<I,M,B>done(b),
+            (I i) -> fold(fn.apply(b, i), fn)));
+    }
+
+    /**
+     * Runs an effect for every input, until the input ends.
+     *
+     * @param <I> Input type.
+     * @param <M> Base monad.
+     * @param effect The effect to run for each input.
+     * @return The consumer of all inputs.
+     */
+    public static <I,M> ConsumerT<I,M,T0> forEach(F1<I,__<M,T0>> effect) {
+        return bind(ConsumerT.<I,M>await(), (Maybe<I> input) -> input.cata$(
+            () -> ConsumerT.<I,M,T0>done(T0.of()),
+            (I i) -> bind(ConsumerT.<I,M,T0>lift(effect.apply(i)), (T0 unit) -> forEach(effect))));
+    }
+
+    /**
+     * Views the consumer as a pipe without output.
+     *
+     * @param <O> The output type of the pipe.
+     * @return The equivalent pipe.
+     */
+    public <O> PipeT<I,O,M,A> toPipeT() {
+        return PipeT.pipeT(toFreeT().interpret(new NF<__<AwaitF.µ,I>,__<__<PipeF.µ,I>,O>>() {
+            @Override
+            public <X> __<__<__<PipeF.µ,I>,O>,X> apply(__<__<AwaitF.µ,I>,X> a) {
+                return PipeF.await(asAwaitF(a).next());
+            }
+        }));
+    }
+
+    /**
+     * Feeds the elements of the producer to the consumer in a single loop, which runs
+     * the producer only when the consumer awaits its next input.
+     *
+     * @param <I> The element type.
+     * @param <M> The base monad.
+     * @param <A> The return type of the consumer.
+     * @param mMonadRec The base monad. (It must support a MonadRec instance.)
+     * @param producer The producer of the inputs.
+     * @param consumer The consumer.
+     * @return The result of the consumer.
+     */
+    public static <I,M,A> __<M,A> connect(MonadRec<M> mMonadRec, ProducerT<I,M,?> producer, ConsumerT<I,M,A> consumer) {
+        return PipeT.runFused(mMonadRec, new Object[]{PipeT.fromProducerT(producer), consumer.toPipeT()});
+    }
+
+    public static <I,M> ConsumerTFunctor<I,M> functor() {
+        return new ConsumerTFunctor<I,M>() {};
+    }
+
+    public static <I,M> ConsumerTApply<I,M> apply() {
+        return new ConsumerTApply<I,M>() {};
+    }
+
+    public static <I,M> ConsumerTApplicative<I,M> applicative() {
+        return new ConsumerTApplicative<I,M>() {};
+    }
+
+    public static <I,M> ConsumerTBind<I,M> bind() {
+        return new ConsumerTBind<I,M>() {};
+    }
+
+    public static <I,M> ConsumerTMonad<I,M> monad() {
+        return new ConsumerTMonad<I,M>() {};
+    }
+
+    public static <I,M> ConsumerTMonadTrans<I,M> monadTrans() {
+        return new ConsumerTMonadTrans<I,M>() {};
+    }
+
+    public static <I,M> ConsumerTMonadRec<I,M> monadRec() {
+        return new ConsumerTMonadRec<I,M>() {};
+    }
+}
@@ -0,0 +1,251 @@
+package org.highj.data.coroutine;
+
+import org.derive4j.hkt.__;
+import org.derive4j.hkt.__2;
+import org.highj.data.Either;
+import org.highj.data.coroutine.generator.GeneratorApplicative;
+import org.highj.data.coroutine.generator.GeneratorApply;
+import org.highj.data.coroutine.generator.GeneratorBind;
+import org.highj.data.coroutine.generator.GeneratorFunctor;
+import org.highj.data.coroutine.generator.GeneratorMonad;
+import org.highj.data.coroutine.generator.GeneratorMonadRec;
+import org.highj.data.tuple.T0;
+import org.highj.data.tuple.T1;
+import org.highj.data.tuple.T2;
+import org.highj.function.F1;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.Supplier;
+
+import static org.highj.Hkt.asT1;
+
+/**
+ * A pull-based generator without base monad, the fast counterpart of {@code ProducerT<E,T1.µ,A>}.
+ * <p>
+ * The steps are kept as they are built, and its {@link #iterator()} runs them as a state machine with
+ * an explicit stack of continuations. So pulling an element doesn't allocate anything besides the steps
+ * of the program itself, and binds nested to the left or to the right don't use JVM stack.
+ * Every iteration runs the generator from the start.
+ *
+ * @param <E> The element type that gets yielded.
+ * @param <A> The final return type after the full execution.
+ */
+public abstract class Generator<E,A> implements __2<Generator.µ,E,A>, Iterable<E> {
+    public static class µ {
+    }
+
+    private Generator() {
+    }
+
+    /**
+     * A generator that has finished.
+     *
+     * @param <E> Element type.
+     * @param <A> Finished return type.
+     * @param a The finished return value.
+     * @return A generator in its finished state returning value a.
+     */
+    public static <E,A> Generator<E,A> done(A a) {
+        return new Done<>(a);
+    }
+
+    /**
+     * A generator yielding a single element.
+     *
+     * @param <E> Element type.
+     * @param e The yielded element value.
+     * @return The generator that performs the yield.
+     */
+    public static <E> Generator<E,T0> yield(E e) {
+        return new Yield<>(e);
+    }
+
+    public static <E,A,B> Generator<E,B> bind(Generator<E,A> ma, F1<A,Generator<E,B>> f) {
+        return new Bind<>(ma, f);
+    }
+
+    public static <E,A> Generator<E,A> suspend(Supplier<Generator<E,A>> a) {
+        return new Suspend<>(a);
+    }
+
+    public <B> Generator<E,B> map(F1<A,B> fn) {
+        return bind(this, (A a) -> done(fn.apply(a)));
+    }
+
+    /**
+     * Converts the generator into a producer over the identity monad, keeping its structure.
+     *
+     * @return The equivalent producer.
+     */
+    public abstract ProducerT<E,T1.µ,A> toProducerT();
+
+    /**
+     * Converts a producer over the identity monad into a generator, which resumes the producer step by step.
+     *
+     * @param <E> Element type.
+     * @param <A> Finished return type.
+     * @param producer The producer.
+     * @return The equivalent generator.
+     */
+    public static <E,A> Generator<E,A> fromProducerT(ProducerT<E,T1.µ,A> producer) {
+        return suspend(() -> {
+            Either<A,T2<E,ProducerT<E,T1.µ,A>>> step = asT1(producer.run(T1.monadRec))._1();
+            return step.either(
+                Generator::done,
+                (T2<E,ProducerT<E,T1.µ,A>> t) -> bind(Generator.yield(t._1()), (T0 unit) -> fromProducerT(t._2()))
+            );
+        });
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        return new GeneratorIterator<>(this);
+    }
+
+    public static <E> Iterator<E> toIterator(Generator<E,?> generator) {
+        return generator.iterator();
+    }
+
+    public static <E> GeneratorFunctor<E> functor() {
+        return new GeneratorFunctor<E>() {};
+    }
+
+    public static <E> GeneratorApply<E> apply() {
+        return new GeneratorApply<E>() {};
+    }
+
+    public static <E> GeneratorApplicative<E> applicative() {
+        return new GeneratorApplicative<E>() {};
+    }
+
+    public static <E> GeneratorBind<E> bind() {
+        return new GeneratorBind<E>() {};
+    }
+
+    public static <E> GeneratorMonad<E> monad() {
+        return new GeneratorMonad<E>() {};
+    }
+
+    public static <E> GeneratorMonadRec<E> monadRec() {
+        return new GeneratorMonadRec<E>() {};
+    }
+
+    private static final class Done<E,A> extends Generator<E,A> {
+        private final A value;
+
+        private Done(A value) {
+            this.value = value;
+        }
+
+        @Override
+        public ProducerT<E,T1.µ,A> toProducerT() {
+            return ProducerT.done(value);
+        }
+    }
+
+    private static final class Yield<E> extends Generator<E,T0> {
+        private final E element;
+
+        private Yield(E element) {
+            this.element = element;
+        }
+
+        @Override
+        public ProducerT<E,T1.µ,T0> toProducerT() {
+            return ProducerT.yield(element);
+        }
+    }
+
+    private static final class Bind<E,A,B> extends Generator<E,B> {
+        private final Generator<E,A> source;
+        private final F1<A,Generator<E,B>> fn;
+
+        private Bind(Generator<E,A> source, F1<A,Generator<E,B>> fn) {
+            this.source = source;
+            this.fn = fn;
+        }
+
+        @Override
+        public ProducerT<E,T1.µ,B> toProducerT() {
+            return ProducerT.bind(ProducerT.suspend(source::toProducerT), (A a) -> fn.apply(a).toProducerT());
+        }
+    }
+
+    private static final class Suspend<E,A> extends Generator<E,A> {
+        private final Supplier<Generator<E,A>> supplier;
+
+        private Suspend(Supplier<Generator<E,A>> supplier) {
+            this.supplier = supplier;
+        }
+
+        @Override
+        public ProducerT<E,T1.µ,A> toProducerT() {
+            return ProducerT.suspend(() -> supplier.get().toProducerT());
+        }
+    }
+
+    private static final class GeneratorIterator<E> implements Iterator<E> {
+        private final ArrayDeque<F1<Object,Generator<E,?>>> continuations = new ArrayDeque<>();
+        //the step to run next, or null if the next step is to pass the value to the top continuation
+        private Generator<E,?> current;
+        private Object value;
+        private E element;
+        private boolean ready;
+        private boolean finished;
+
+        private GeneratorIterator(Generator<E,?> generator) {
+            this.current = generator;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (!ready && !finished) {
+                advance();
+            }
+            return ready;
+        }
+
+        @Override
+        public E next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            ready = false;
+            E result = element;
+            element = null;
+            return result;
+        }
+
+        @SuppressWarnings("unchecked")
+        private void advance() {
+            while (true) {
+                if (current == null) {
+                    F1<Object,Generator<E,?>> continuation = continuations.poll();
+                    if (continuation == null) {
+                        finished = true;
+                        return;
+                    }
+                    current = continuation.apply(value);
+                    value = null;
+                } else if (current instanceof Bind) {
+                    Bind<E,Object,?> bind = (Bind<E,Object,?>) current;
+                    continuations.push((F1<Object,Generator<E,?>>) (F1<?,?>) bind.fn);
+                    current = bind.source;
+                } else if (current instanceof Suspend) {
+                    current = ((Suspend<E,?>) current).supplier.get();
+                } else if (current instanceof Yield) {
+                    element = ((Yield<E>) current).element;
+                    value = T0.of();
+                    current = null;
+                    ready = true;
+                    return;
+                } else {
+                    value = ((Done<E,?>) current).value;
+                    current = null;
+                }
+            }
+        }
+    }
+}
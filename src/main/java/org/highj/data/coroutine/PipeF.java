@@ -0,0 +1,48 @@
+package org.highj.data.coroutine;
+
+import org.derive4j.hkt.__3;
+import org.highj.data.Maybe;
+import org.highj.data.coroutine.pipef.PipeFFunctor;
+import org.highj.function.F1;
+
+import java.util.function.BiFunction;
+
+/**
+ * The functor of a coroutine that either waits for an input like {@link AwaitF},
+ * or emits an output like {@link YieldF}.
+ *
+ * @param <I> The input type.
+ * @param <O> The output type.
+ * @param <A> The type of the continuation.
+ */
+public abstract class PipeF<I,O,A> implements __3<PipeF.µ,I,O,A> {
+    public static class µ {
+    }
+
+    private PipeF() {
+    }
+
+    public static <I,O,A> PipeF<I,O,A> await(F1<Maybe<I>,A> next) {
+        return new PipeF<I,O,A>() {
+            @Override
+            public <R> R cases(F1<F1<Maybe<I>,A>,R> onAwait, BiFunction<O,A,R> onYield) {
+                return onAwait.apply(next);
+            }
+        };
+    }
+
+    public static <I,O,A> PipeF<I,O,A> yield(O value, A next) {
+        return new PipeF<I,O,A>() {
+            @Override
+            public <R> R cases(F1<F1<Maybe<I>,A>,R> onAwait, BiFunction<O,A,R> onYield) {
+                return onYield.apply(value, next);
+            }
+        };
+    }
+
+    public abstract <R> R cases(F1<F1<Maybe<I>,A>,R> onAwait, BiFunction<O,A,R> onYield);
+
+    public static <I,O> PipeFFunctor<I,O> functor() {
+        return new PipeFFunctor<I,O>() {};
+    }
+}
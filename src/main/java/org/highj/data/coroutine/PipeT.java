@@ -0,0 +1,367 @@
+package org.highj.data.coroutine;
+
+import org.derive4j.hkt.__;
+import org.derive4j.hkt.__4;
+import org.highj.data.Either;
+import org.highj.data.Maybe;
+import org.highj.data.Vector;
+import org.highj.data.coroutine.pipe.PipeTApplicative;
+import org.highj.data.coroutine.pipe.PipeTApply;
+import org.highj.data.coroutine.pipe.PipeTBind;
+import org.highj.data.coroutine.pipe.PipeTFunctor;
+import org.highj.data.coroutine.pipe.PipeTMonad;
+import org.highj.data.coroutine.pipe.PipeTMonadRec;
+import org.highj.data.coroutine.pipe.PipeTMonadTrans;
+import org.highj.data.transformer.FreeT;
+import org.highj.data.tuple.T0;
+import org.highj.data.tuple.T2;
+import org.highj.function.F1;
+import org.highj.function.NF;
+import org.highj.typeclass1.monad.MonadRec;
+
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+import static org.highj.Hkt.asPipeF;
+import static org.highj.Hkt.asYieldF;
+
+/**
+ * A coroutine that awaits inputs like a {@link ConsumerT} and yields outputs like a {@link ProducerT},
+ * used as a stage between them.
+ * <p>
+ * Stages are connected by pulling: {@link #connect} runs the consumer until it awaits, then the stage
+ * before it until that yields, and so on, all in one loop over the base monad. A stage only runs when the stage
+ * after it asks for input, so an unbounded producer is only run as far as it is read, and every stage
+ * holds at most the elements it buffers itself.
+ *
+ * @param <I> The input type that gets awaited.
+ * @param <O> The output type that gets yielded.
+ * @param <M> The base monad type.
+ * @param <A> The final return type after the full execution.
+ */
+public class PipeT<I,O,M,A> implements __4<PipeT.µ,I,O,M,A> {
+    public static class µ {
+    }
+
+    //marks a stage of a connected pipeline that has returned
+    private static final Object FINISHED = new Object();
+
+    private final FreeT<__<__<PipeF.µ,I>,O>,M,A> _toFreeT;
+
+    private PipeT(FreeT<__<__<PipeF.µ,I>,O>,M,A> toFreeT) {
+        this._toFreeT = toFreeT;
+    }
+
+    public static <I,O,M,A> PipeT<I,O,M,A> pipeT(FreeT<__<__<PipeF.µ,I>,O>,M,A> toFreeT) {
+        return new PipeT<>(toFreeT);
+    }
+
+    public FreeT<__<__<PipeF.µ,I>,O>,M,A> toFreeT() {
+        return _toFreeT;
+    }
+
+    /**
+     * Executes a step of the pipe.
+     *
+     * @param mMonadRec The base monad. (It must support a MonadRec instance.)
+     * @return Either a completion value (left side of Either), or the pipe awaiting an input
+     *         or yielding an output (right side of Either).
+     */
+    public __<M,Either<A,PipeF<I,O,PipeT<I,O,M,A>>>> run(MonadRec<M> mMonadRec) {
+        return mMonadRec.map(
+            (Either<A,__<__<__<PipeF.µ,I>,O>,FreeT<__<__<PipeF.µ,I>,O>,M,A>>> x) ->
+                x.bimap(
+                    (A a) -> a,
+                    (__<__<__<PipeF.µ,I>,O>,FreeT<__<__<PipeF.µ,I>,O>,M,A>> x2) ->
+                        asPipeF(PipeF.<I,O>functor().map(PipeT::pipeT, x2))
+                ),
+            toFreeT().resume(mMonadRec, PipeF.functor())
+        );
+    }
+
+    /**
+     * A pipe that has finished.
+     *
+     * @param <I> Input type.
+     * @param <O> Output type.
+     * @param <M> Base monad.
+     * @param <A> Finished return type.
+     * @param a The finished return value.
+     * @return A pipe in its finished state returning value a.
+     */
+    public static <I,O,M,A> PipeT<I,O,M,A> done(A a) {
+        return PipeT.pipeT(FreeT.done(a));
+    }
+
+    /**
+     * Waits for the next input.
+     *
+     * @param <I> Input type.
+     * @param <O> Output type.
+     * @param <M> Base monad.
+     * @return The pipe returning the input, or Nothing if the input has ended.
+     */
+    public static <I,O,M> PipeT<I,O,M,Maybe<I>> await() {
+        return PipeT.pipeT(FreeT.liftF(PipeF.await((Maybe<I> i) -> i)));
+    }
+
+    /**
+     * Passes an output to the next stage.
+     *
+     * @param <I> Input type.
+     * @param <O> Output type.
+     * @param <M> Base monad.
+     * @param o The output.
+     * @return The pipe that performs the yield.
+     */
+    public static <I,O,M> PipeT<I,O,M,T0> yield(O o) {
+        return PipeT.pipeT(FreeT.liftF(PipeF.yield(o, T0.of())));
+    }
+
+    public static <I,O,M,A,B> PipeT<I,O,M,B> bind(PipeT<I,O,M,A> ma, F1<A,PipeT<I,O,M,B>> f) {
+        return PipeT.pipeT(FreeT.bind(ma.toFreeT(), (A a) -> f.apply(a).toFreeT()));
+    }
+
+    public static <I,O,M,A> PipeT<I,O,M,A> suspend(Supplier<PipeT<I,O,M,A>> a) {
+        return PipeT.pipeT(FreeT.suspend(() -> a.get().toFreeT()));
+    }
+
+    public static <I,O,M,A> PipeT<I,O,M,A> lift(__<M,A> ma) {
+        return PipeT.pipeT(FreeT.liftM(ma));
+    }
+
+    /**
+     * Views the producer as a pipe which never awaits.
+     *
+     * @param <I> Input type.
+     * @param <O> Output type.
+     * @param <M> Base monad.
+     * @param <A> Finished return type.
+     * @param producer The producer.
+     * @return The equivalent pipe.
+     */
+    public static <I,O,M,A> PipeT<I,O,M,A> fromProducerT(ProducerT<O,M,A> producer) {
+        return PipeT.pipeT(producer.toFreeT().interpret(new NF<__<YieldF.µ,O>,__<__<PipeF.µ,I>,O>>() {
+            @Override
+            public <X> __<__<__<PipeF.µ,I>,O>,X> apply(__<__<YieldF.µ,O>,X> a) {
+                YieldF<O,X> yieldF = asYieldF(a);
+                return PipeF.yield(yieldF.value(), yieldF.next());
+            }
+        }));
+    }
+
+    public static <I,O,M> PipeT<I,O,M,T0> map(F1<I,O> fn) {
+        return bind(PipeT.<I,O,M>await(), (Maybe<I> input) -> input.cata$(
+            () -> PipeT.<I,O,M,T0>done(T0.of()),
+            (I i) -> bind(PipeT.<I,O,M>yield(fn.apply(i)), (T0 unit) -> map(fn))));
+    }
+
+    public static <I,M> PipeT<I,I,M,T0> filter(Predicate<I> predicate) {
+        return bind(PipeT.<I,I,M>await(), (Maybe<I> input) -> input.cata$(
+            () -> PipeT.<I,I,M,T0>done(T0.of()),
+            (I i) -> predicate.test(i)
+                ? bind(PipeT.<I,I,M>yield(i), (T0 unit) -> filter(predicate))
+                : filter(predicate)));
+    }
+
+    /**
+     * Passes on the first n inputs, and doesn't pull any further inputs afterwards.
+     *
+     * @param <I> Element type.
+     * @param <M> Base monad.
+     * @param n The maximal number of elements.
+     * @return The truncating pipe.
+     */
+    public static <I,M> PipeT<I,I,M,T0> take(int n) {
+        if (n <= 0) {
+            return done(T0.of());
+        }
+        return bind(PipeT.<I,I,M>await(), (Maybe<I> input) -> input.cata$(
+            () -> PipeT.<I,I,M,T0>done(T0.of()),
+            (I i) -> bind(PipeT.<I,I,M>yield(i), (T0 unit) -> take(n - 1))));
+    }
+
+    /**
+     * Groups the inputs into chunks of the given size. The last chunk may be smaller, but never empty.
+     *
+     * @param <I> Element type.
+     * @param <M> Base monad.
+     * @param size The chunk size.
+     * @return The chunking pipe.
+     */
+    public static <I,M> PipeT<I,Vector<I>,M,T0> chunked(int size) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("chunk size must be positive");
+        }
+        return chunked(size, Vector.empty());
+    }
+
+    private static <I,M> PipeT<I,Vector<I>,M,T0> chunked(int size, Vector<I> chunk) {
+        return bind(PipeT.<I,Vector<I>,M>await(), (Maybe<I> input) -> input.cata$(
+            () -> chunk.isEmpty() ? PipeT.<I,Vector<I>,M,T0>done(T0.of()) : PipeT.<I,Vector<I>,M>yield(chunk),
+            (I i) -> {
+                Vector<I> next = chunk.append(i);
+                return next.size() < size ? chunked(size, next)
+                    : bind(PipeT.<I,Vector<I>,M>yield(next), (T0 unit) -> chunked(size, Vector.empty()));
+            }));
+    }
+
+    /**
+     * Reads ahead up to capacity inputs whenever it has run empty, and passes them on one by one.
+     * It never holds more than capacity elements, however long the input is.
+     *
+     * @param <I> Element type.
+     * @param <M> Base monad.
+     * @param capacity The maximal number of buffered elements.
+     * @return The buffering pipe.
+     */
+    public static <I,M> PipeT<I,I,M,T0> buffer(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("buffer capacity must be positive");
+        }
+        return fill(capacity, Vector.empty());
+    }
+
+    private static <I,M> PipeT<I,I,M,T0> fill(int capacity, Vector<I> buffered) {
+        if (buffered.size() == capacity) {
+            return drain(capacity, buffered, 0, false);
+        }
+        return bind(PipeT.<I,I,M>await(), (Maybe<I> input) -> input.cata$(
+            () -> drain(capacity, buffered, 0, true),
+            (I i) -> fill(capacity, buffered.append(i))));
+    }
+
+    private static <I,M> PipeT<I,I,M,T0> drain(int capacity, Vector<I> buffered, int index, boolean ended) {
+        if (index < buffered.size()) {
+            return bind(PipeT.<I,I,M>yield(buffered.get(index)), (T0 unit) -> drain(capacity, buffered, index + 1, ended));
+        }
+        return ended ? done(T0.of()) : fill(capacity, Vector.empty());
+    }
+
+    /**
+     * Composes two pipes into one, which runs the upstream pipe whenever the downstream pipe awaits.
+     * When the upstream pipe has returned, the downstream pipe gets Nothing for all further awaits.
+     *
+     * @param <I> The input type.
+     * @param <O> The type passed from the upstream to the downstream pipe.
+     * @param <P> The output type.
+     * @param <M> The base monad.
+     * @param <B> The return type of the downstream pipe.
+     * @param mMonadRec The base monad. (It must support a MonadRec instance.)
+     * @param up The upstream pipe.
+     * @param down The downstream pipe.
+     * @return The composed pipe, returning the result of the downstream pipe.
+     */
+    public static <I,O,P,M,B> PipeT<I,P,M,B> compose(MonadRec<M> mMonadRec, PipeT<I,O,M,?> up, PipeT<O,P,M,B> down) {
+        return suspend(() -> bind(lift(down.run(mMonadRec)), (Either<B,PipeF<O,P,PipeT<O,P,M,B>>> step) -> step.either(
+            (B b) -> PipeT.<I,P,M,B>done(b),
+            (PipeF<O,P,PipeT<O,P,M,B>> f) -> f.cases(
+                (F1<Maybe<O>,PipeT<O,P,M,B>> next) -> pull(mMonadRec, up, next),
+                (P p, PipeT<O,P,M,B> next) -> bind(PipeT.<I,P,M>yield(p), (T0 unit) -> compose(mMonadRec, up, next))
+            )
+        )));
+    }
+
+    //runs the upstream pipe until it yields or returns, while the downstream pipe awaits
+    private static <I,O,P,M,A,B> PipeT<I,P,M,B> pull(MonadRec<M> mMonadRec, PipeT<I,O,M,A> up, F1<Maybe<O>,PipeT<O,P,M,B>> down) {
+        return suspend(() -> bind(lift(up.run(mMonadRec)), (Either<A,PipeF<I,O,PipeT<I,O,M,A>>> step) -> step.either(
+            (A a) -> compose(mMonadRec, PipeT.<I,O,M,A>done(a), down.apply(Maybe.Nothing())),
+            (PipeF<I,O,PipeT<I,O,M,A>> f) -> f.cases(
+                (F1<Maybe<I>,PipeT<I,O,M,A>> next) -> bind(PipeT.<I,P,M>await(), (Maybe<I> i) -> pull(mMonadRec, next.apply(i), down)),
+                (O o, PipeT<I,O,M,A> next) -> compose(mMonadRec, next, down.apply(Maybe.Just(o)))
+            )
+        )));
+    }
+
+    /**
+     * Connects a producer through a pipe to a consumer, and runs all three in a single pull loop.
+     *
+     * @param <I> The element type of the producer.
+     * @param <O> The element type of the consumer.
+     * @param <M> The base monad.
+     * @param <A> The return type of the consumer.
+     * @param mMonadRec The base monad. (It must support a MonadRec instance.)
+     * @param producer The producer.
+     * @param pipe The pipe.
+     * @param consumer The consumer.
+     * @return The result of the consumer.
+     */
+    public static <I,O,M,A> __<M,A> connect(MonadRec<M> mMonadRec, ProducerT<I,M,?> producer, PipeT<I,O,M,?> pipe, ConsumerT<O,M,A> consumer) {
+        return runFused(mMonadRec, new Object[]{fromProducerT(producer), pipe, consumer.toPipeT()});
+    }
+
+    //Runs the connected stages, from the source to the sink, until the sink returns. Position j is the stage
+    //to resume next: all stages after it are Awaiting, and all stages before it are paused pipes, or FINISHED.
+    //The array is copied on each step, so the loop works for base monads which resume a state more than once.
+    @SuppressWarnings("unchecked")
+    static <M,A> __<M,A> runFused(MonadRec<M> mMonadRec, Object[] stages) {
+        int last = stages.length - 1;
+        return mMonadRec.tailRec((T2<Integer,Object[]> state) -> {
+            int j = state._1();
+            Object[] current = state._2();
+            PipeT<Object,Object,M,Object> stage = (PipeT<Object,Object,M,Object>) current[j];
+            return mMonadRec.map((Either<Object,PipeF<Object,Object,PipeT<Object,Object,M,Object>>> step) -> step.either(
+                (Object a) -> j == last
+                    ? Either.<T2<Integer,Object[]>,A>Right((A) a)
+                    : Either.<T2<Integer,Object[]>,A>Left(T2.of(j + 1, feed(updated(current, j, FINISHED), j + 1, Maybe.Nothing()))),
+                (PipeF<Object,Object,PipeT<Object,Object,M,Object>> f) -> f.cases(
+                    (F1<Maybe<Object>,PipeT<Object,Object,M,Object>> next) -> j == 0 || current[j - 1] == FINISHED
+                        ? Either.<T2<Integer,Object[]>,A>Left(T2.of(j, updated(current, j, next.apply(Maybe.Nothing()))))
+                        : Either.<T2<Integer,Object[]>,A>Left(T2.of(j - 1, updated(current, j, new Awaiting(next)))),
+                    (Object o, PipeT<Object,Object,M,Object> next) -> j == last
+                        ? Either.<T2<Integer,Object[]>,A>Left(T2.of(j, updated(current, j, next)))
+                        : Either.<T2<Integer,Object[]>,A>Left(T2.of(j + 1, feed(updated(current, j, next), j + 1, Maybe.Just(o))))
+                )
+            ), stage.run(mMonadRec));
+        }, T2.of(last, stages));
+    }
+
+    private static Object[] updated(Object[] stages, int index, Object stage) {
+        Object[] result = stages.clone();
+        result[index] = stage;
+        return result;
+    }
+
+    //passes the input to the awaiting stage, in place, as the array has just been copied
+    private static Object[] feed(Object[] stages, int index, Maybe<Object> input) {
+        stages[index] = ((Awaiting) stages[index]).next.apply(input);
+        return stages;
+    }
+
+    //a stage of a connected pipeline, waiting for the output of the stage before it
+    private static final class Awaiting {
+        private final F1<Maybe<Object>,?> next;
+
+        private Awaiting(F1<Maybe<Object>,?> next) {
+            this.next = next;
+        }
+    }
+
+    public static <I,O,M> PipeTFunctor<I,O,M> functor() {
+        return new PipeTFunctor<I,O,M>() {};
+    }
+
+    public static <I,O,M> PipeTApply<I,O,M> apply() {
+        return new PipeTApply<I,O,M>() {};
+    }
+
+    public static <I,O,M> PipeTApplicative<I,O,M> applicative() {
+        return new PipeTApplicative<I,O,M>() {};
+    }
+
+    public static <I,O,M> PipeTBind<I,O,M> bind() {
+        return new PipeTBind<I,O,M>() {};
+    }
+
+    public static <I,O,M> PipeTMonad<I,O,M> monad() {
+        return new PipeTMonad<I,O,M>() {};
+    }
+
+    public static <I,O,M> PipeTMonadTrans<I,O,M> monadTrans() {
+        return new PipeTMonadTrans<I,O,M>() {};
+    }
+
+    public static <I,O,M> PipeTMonadRec<I,O,M> monadRec() {
+        return new PipeTMonadRec<I,O,M>() {};
+    }
+}
@@ -0,0 +1,302 @@
+package org.highj.data.coroutine;
+
+import org.derive4j.hkt.__;
+import org.highj.data.Either;
+import org.highj.data.Vector;
+import org.highj.data.tuple.T0;
+import org.highj.data.tuple.T2;
+import org.highj.function.F1;
+import org.highj.typeclass1.monad.MonadRec;
+
+import java.util.ArrayList;
+import java.util.function.BiFunction;
+import java.util.function.Predicate;
+
+/**
+ * Stream combinators over a {@link ProducerT}.
+ * <p>
+ * The stateless stages {@link #map} and {@link #filter} aren't applied right away, but composed into a single
+ * function, which runs in the loop of the next stage that consumes the producer. So a chain of pure stages costs
+ * one pass over the elements, instead of one generator per stage. All other operations consume the producer
+ * step by step, and produce a new one. Use {@link #chunked} to pay the monadic overhead of the later stages
+ * once per chunk instead of once per element.
+ *
+ * @param <E> The element type.
+ * @param <M> The base monad.
+ * @param <A> The final return type of the producer.
+ */
+public final class Pipeline<E,M,A> {
+
+    //marks elements removed by the fused stage
+    private static final Object SKIP = new Object();
+
+    private static final F1<Object,Object> IDENTITY = x -> x;
+
+    private final MonadRec<M> mMonadRec;
+    private final ProducerT<Object,M,A> source;
+    //maps the source elements to the elements of the pipeline, or to SKIP
+    private final F1<Object,Object> stage;
+
+    private Pipeline(MonadRec<M> mMonadRec, ProducerT<Object,M,A> source, F1<Object,Object> stage) {
+        this.mMonadRec = mMonadRec;
+        this.source = source;
+        this.stage = stage;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <E,M,A> Pipeline<E,M,A> of(MonadRec<M> mMonadRec, ProducerT<E,M,A> producer) {
+        return new Pipeline<>(mMonadRec, (ProducerT<Object,M,A>) (ProducerT<?,M,A>) producer, IDENTITY);
+    }
+
+    public static <E,M> Pipeline<E,M,T0> fromIterable(MonadRec<M> mMonadRec, Iterable<E> iterable) {
+        return of(mMonadRec, ProducerT.suspend(() -> fromIterator(iterable.iterator())));
+    }
+
+    //the rest is memoized, so resuming the same producer again doesn't advance the iterator again
+    @SuppressWarnings("unchecked")
+    private static <E,M> ProducerT<E,M,T0> fromIterator(java.util.Iterator<E> iterator) {
+        if (!iterator.hasNext()) {
+            return ProducerT.done(T0.of());
+        }
+        ProducerT<E,M,T0>[] rest = new ProducerT[1];
+        return ProducerT.bind(ProducerT.yield(iterator.next()), (T0 unit) -> {
+            synchronized (rest) {
+                if (rest[0] == null) {
+                    rest[0] = fromIterator(iterator);
+                }
+                return rest[0];
+            }
+        });
+    }
+
+    /**
+     * Emits the elements of the chunks one by one.
+     *
+     * @param <E> The element type.
+     * @param <M> The base monad.
+     * @param <A> The final return type.
+     * @param chunks The pipeline of chunks.
+     * @return The flattened pipeline.
+     */
+    public static <E,M,A> Pipeline<E,M,A> unchunked(Pipeline<? extends Iterable<E>,M,A> chunks) {
+        return chunks.concatMap(chunk -> ProducerT.suspend(() -> fromIterator(chunk.iterator())));
+    }
+
+    /**
+     * Materializes the pipeline, running the fused stage in one loop.
+     *
+     * @return The producer of the elements.
+     */
+    @SuppressWarnings("unchecked")
+    public ProducerT<E,M,A> toProducerT() {
+        return stage == IDENTITY ? (ProducerT<E,M,A>) (ProducerT<?,M,A>) source : fused(source);
+    }
+
+    @SuppressWarnings("unchecked")
+    public <F> Pipeline<F,M,A> map(F1<E,F> fn) {
+        F1<Object,Object> previous = stage;
+        return new Pipeline<>(mMonadRec, source, stage == IDENTITY ? (F1<Object,Object>) fn : x -> {
+            Object e = previous.apply(x);
+            return e == SKIP ? SKIP : fn.apply((E) e);
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    public Pipeline<E,M,A> filter(Predicate<E> predicate) {
+        F1<Object,Object> previous = stage;
+        return new Pipeline<>(mMonadRec, source, x -> {
+            Object e = previous.apply(x);
+            return e == SKIP || !predicate.test((E) e) ? SKIP : e;
+        });
+    }
+
+    /**
+     * Emits only the first n elements, and stops pulling from the source afterwards.
+     *
+     * @param n The maximal number of elements.
+     * @return The truncated pipeline.
+     */
+    public Pipeline<E,M,T0> take(int n) {
+        return of(mMonadRec, take(source, n));
+    }
+
+    private ProducerT<E,M,T0> take(ProducerT<Object,M,A> producer, int n) {
+        if (n <= 0) {
+            return ProducerT.done(T0.of());
+        }
+        return step(producer,
+            (A a) -> ProducerT.done(T0.of()),
+            (ProducerT<Object,M,A> rest) -> take(rest, n),
+            (E e, ProducerT<Object,M,A> rest) -> ProducerT.bind(ProducerT.yield(e), (T0 unit) -> take(rest, n - 1)));
+    }
+
+    public Pipeline<E,M,A> drop(int n) {
+        return of(mMonadRec, drop(source, n));
+    }
+
+    private ProducerT<E,M,A> drop(ProducerT<Object,M,A> producer, int n) {
+        if (n <= 0) {
+            return fused(producer);
+        }
+        return step(producer,
+            (A a) -> ProducerT.<E,M,A>done(a),
+            (ProducerT<Object,M,A> rest) -> drop(rest, n),
+            (E e, ProducerT<Object,M,A> rest) -> drop(rest, n - 1));
+    }
+
+    /**
+     * Emits the initial value, followed by the accumulated values after each element.
+     *
+     * @param <B> The accumulated type.
+     * @param b The initial value.
+     * @param fn The accumulating function.
+     * @return The pipeline of accumulated values.
+     */
+    public <B> Pipeline<B,M,A> scan(B b, BiFunction<B,E,B> fn) {
+        return of(mMonadRec, ProducerT.bind(ProducerT.yield(b), (T0 unit) -> scan(source, b, fn)));
+    }
+
+    private <B> ProducerT<B,M,A> scan(ProducerT<Object,M,A> producer, B b, BiFunction<B,E,B> fn) {
+        return step(producer,
+            (A a) -> ProducerT.<B,M,A>done(a),
+            (ProducerT<Object,M,A> rest) -> scan(rest, b, fn),
+            (E e, ProducerT<Object,M,A> rest) -> {
+                B next = fn.apply(b, e);
+                return ProducerT.bind(ProducerT.yield(next), (T0 unit) -> scan(rest, next, fn));
+            });
+    }
+
+    /**
+     * Pairs the elements of both pipelines, until one of them ends.
+     *
+     * @param <F> The element type of the other pipeline.
+     * @param that The other pipeline.
+     * @return The pipeline of pairs.
+     */
+    public <F> Pipeline<T2<E,F>,M,T0> zip(Pipeline<F,M,?> that) {
+        return of(mMonadRec, zip(toProducerT(), that.toProducerT()));
+    }
+
+    private <F,B> ProducerT<T2<E,F>,M,T0> zip(ProducerT<E,M,A> left, ProducerT<F,M,B> right) {
+        return ProducerT.suspend(() -> ProducerT.bind(ProducerT.lift(left.run(mMonadRec)), (Either<A,T2<E,ProducerT<E,M,A>>> l) -> l.either(
+            (A a) -> ProducerT.done(T0.of()),
+            (T2<E,ProducerT<E,M,A>> lt) -> ProducerT.bind(ProducerT.lift(right.run(mMonadRec)), (Either<B,T2<F,ProducerT<F,M,B>>> r) -> r.either(
+                (B b) -> ProducerT.done(T0.of()),
+                (T2<F,ProducerT<F,M,B>> rt) -> ProducerT.bind(ProducerT.yield(T2.of(lt._1(), rt._1())),
+                    (T0 unit) -> zip(lt._2(), rt._2()))
+            ))
+        )));
+    }
+
+    /**
+     * Replaces every element by the elements of a producer.
+     *
+     * @param <F> The new element type.
+     * @param fn The function creating a producer for each element.
+     * @return The concatenated pipeline.
+     */
+    public <F> Pipeline<F,M,A> concatMap(F1<E,ProducerT<F,M,T0>> fn) {
+        return of(mMonadRec, concatMap(source, fn));
+    }
+
+    private <F> ProducerT<F,M,A> concatMap(ProducerT<Object,M,A> producer, F1<E,ProducerT<F,M,T0>> fn) {
+        return step(producer,
+            (A a) -> ProducerT.<F,M,A>done(a),
+            (ProducerT<Object,M,A> rest) -> concatMap(rest, fn),
+            (E e, ProducerT<Object,M,A> rest) -> ProducerT.bind(fn.apply(e), (T0 unit) -> concatMap(rest, fn)));
+    }
+
+    /**
+     * Groups the elements into chunks of the given size. The last chunk may be smaller, but never empty.
+     * <p>
+     * Each chunk is collected in a single loop of the base monad, so the later stages pay their overhead
+     * once per chunk.
+     *
+     * @param size The chunk size.
+     * @return The pipeline of chunks.
+     */
+    public Pipeline<Vector<E>,M,A> chunked(int size) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("chunk size must be positive");
+        }
+        return of(mMonadRec, chunked(source, size));
+    }
+
+    private ProducerT<Vector<E>,M,A> chunked(ProducerT<Object,M,A> producer, int size) {
+        return ProducerT.suspend(() -> ProducerT.bind(ProducerT.lift(fillChunk(producer, size)),
+            (T2<Vector<E>,Either<A,ProducerT<Object,M,A>>> filled) -> {
+                ProducerT<Vector<E>,M,A> rest = filled._2().either(
+                    (A a) -> ProducerT.<Vector<E>,M,A>done(a),
+                    (ProducerT<Object,M,A> next) -> chunked(next, size));
+                return filled._1().isEmpty() ? rest : ProducerT.bind(ProducerT.yield(filled._1()), (T0 unit) -> rest);
+            }));
+    }
+
+    //runs the source until the chunk is full or the source is done, returning the chunk and the rest of the source
+    @SuppressWarnings("unchecked")
+    private __<M,T2<Vector<E>,Either<A,ProducerT<Object,M,A>>>> fillChunk(ProducerT<Object,M,A> producer, int size) {
+        ArrayList<E> chunk = new ArrayList<>(Math.min(size, 1024));
+        return mMonadRec.tailRec(
+            (ProducerT<Object,M,A> current) -> mMonadRec.map(
+                (Either<A,T2<Object,ProducerT<Object,M,A>>> x) -> x.either(
+                    (A a) -> Either.<ProducerT<Object,M,A>,T2<Vector<E>,Either<A,ProducerT<Object,M,A>>>>Right(
+                        T2.of(Vector.fromJavaList(chunk), Either.Left(a))),
+                    (T2<Object,ProducerT<Object,M,A>> t) -> {
+                        Object e = stage.apply(t._1());
+                        if (e != SKIP) {
+                            chunk.add((E) e);
+                        }
+                        return chunk.size() < size
+                            ? Either.<ProducerT<Object,M,A>,T2<Vector<E>,Either<A,ProducerT<Object,M,A>>>>Left(t._2())
+                            : Either.<ProducerT<Object,M,A>,T2<Vector<E>,Either<A,ProducerT<Object,M,A>>>>Right(
+                                T2.of(Vector.fromJavaList(chunk), Either.Right(t._2())));
+                    }),
+                current.run(mMonadRec)),
+            producer);
+    }
+
+    /**
+     * Runs the pipeline, and folds its elements in the base monad.
+     *
+     * @param <B> The result type.
+     * @param b The initial value.
+     * @param fn The folding function.
+     * @return The folded result.
+     */
+    @SuppressWarnings("unchecked")
+    public <B> __<M,B> fold(B b, BiFunction<B,E,B> fn) {
+        return mMonadRec.tailRec(
+            (T2<B,ProducerT<Object,M,A>> state) -> mMonadRec.map(
+                (Either<A,T2<Object,ProducerT<Object,M,A>>> x) -> x.either(
+                    (A a) -> Either.<T2<B,ProducerT<Object,M,A>>,B>Right(state._1()),
+                    (T2<Object,ProducerT<Object,M,A>> t) -> {
+                        Object e = stage.apply(t._1());
+                        return Either.<T2<B,ProducerT<Object,M,A>>,B>Left(
+                            T2.of(e == SKIP ? state._1() : fn.apply(state._1(), (E) e), t._2()));
+                    }),
+                state._2().run(mMonadRec)),
+            T2.of(b, source));
+    }
+
+    private ProducerT<E,M,A> fused(ProducerT<Object,M,A> producer) {
+        return step(producer,
+            (A a) -> ProducerT.<E,M,A>done(a),
+            this::fused,
+            (E e, ProducerT<Object,M,A> rest) -> ProducerT.bind(ProducerT.yield(e), (T0 unit) -> fused(rest)));
+    }
+
+    //runs one step of the producer, and passes the result through the fused stage
+    @SuppressWarnings("unchecked")
+    private <F,B> ProducerT<F,M,B> step(ProducerT<Object,M,A> producer,
+                                        F1<A,ProducerT<F,M,B>> onDone,
+                                        F1<ProducerT<Object,M,A>,ProducerT<F,M,B>> onSkip,
+                                        BiFunction<E,ProducerT<Object,M,A>,ProducerT<F,M,B>> onElement) {
+        return ProducerT.suspend(() -> ProducerT.bind(ProducerT.lift(producer.run(mMonadRec)), (Either<A,T2<Object,ProducerT<Object,M,A>>> x) -> x.either(
+            onDone,
+            (T2<Object,ProducerT<Object,M,A>> t) -> {
+                Object e = stage.apply(t._1());
+                return e == SKIP ? onSkip.apply(t._2()) : onElement.apply((E) e, t._2());
+            }
+        )));
+    }
+}
@@ -0,0 +1,19 @@
+package org.highj.data.coroutine.awaitf;
+
+import org.derive4j.hkt.__;
+import org.highj.data.Maybe;
+import org.highj.data.coroutine.AwaitF;
+import org.highj.typeclass1.functor.Functor;
+
+import java.util.function.Function;
+
+import static org.highj.Hkt.asAwaitF;
+
+public interface AwaitFFunctor<I> extends Functor<__<AwaitF.µ,I>> {
+
+    @Override
+    default <A, B> __<__<AwaitF.µ, I>, B> map(Function<A, B> fn, __<__<AwaitF.µ, I>, A> nestedA) {
+        AwaitF<I,A> x = asAwaitF(nestedA);
+        return AwaitF.await((Maybe<I> i) -> fn.apply(x.next().apply(i)));
+    }
+}
@@ -0,0 +1,13 @@
+package org.highj.data.coroutine.consumer;
+
+import org.derive4j.hkt.__;
+import org.highj.data.coroutine.ConsumerT;
+import org.highj.typeclass1.monad.Applicative;
+
+public interface ConsumerTApplicative<I,M> extends ConsumerTApply<I,M>, Applicative<__<__<ConsumerT.µ,I>,M>> {
+
+    @Override
+    default <A> __<__<__<ConsumerT.µ, I>, M>, A> pure(A a) {
+        return ConsumerT.done(a);
+    }
+}
@@ -0,0 +1,21 @@
+package org.highj.data.coroutine.consumer;
+
+import java.util.function.Function;
+import org.derive4j.hkt.__;
+import org.highj.data.coroutine.ConsumerT;
+import org.highj.typeclass1.monad.Apply;
+
+import static org.highj.Hkt.asConsumerT;
+
+public interface ConsumerTApply<I,M> extends ConsumerTFunctor<I,M>, Apply<__<__<ConsumerT.µ,I>,M>> {
+
+    @Override
+    default <A, B> __<__<__<ConsumerT.µ, I>, M>, B> ap(__<__<__<ConsumerT.µ, I>, M>, Function<A, B>> fn, __<__<__<ConsumerT.µ, I>, M>, A> nestedA) {
+        return ConsumerT.bind(asConsumerT(fn),
+            (Function<A, B> x1) ->
+                ConsumerT.bind(asConsumerT(nestedA),
+                    (A x2) -> ConsumerT.done(x1.apply(x2))
+                )
+        );
+    }
+}
@@ -0,0 +1,16 @@
+package org.highj.data.coroutine.consumer;
+
+import java.util.function.Function;
+import org.derive4j.hkt.__;
+import org.highj.data.coroutine.ConsumerT;
+import org.highj.typeclass1.monad.Bind;
+
+import static org.highj.Hkt.asConsumerT;
+
+public interface ConsumerTBind<I,M> extends ConsumerTApply<I,M>, Bind<__<__<ConsumerT.µ,I>,M>> {
+
+    @Override
+    default <A, B> __<__<__<ConsumerT.µ, I>, M>, B> bind(__<__<__<ConsumerT.µ, I>, M>, A> nestedA, Function<A, __<__<__<ConsumerT.µ, I>, M>, B>> fn) {
+        return ConsumerT.bind(asConsumerT(nestedA), (A a) -> asConsumerT(fn.apply(a)));
+    }
+}
@@ -0,0 +1,16 @@
+package org.highj.data.coroutine.consumer;
+
+import java.util.function.Function;
+import org.derive4j.hkt.__;
+import org.highj.data.coroutine.ConsumerT;
+import org.highj.typeclass1.functor.Functor;
+
+import static org.highj.Hkt.asConsumerT;
+
+public interface ConsumerTFunctor<I,M> extends Functor<__<__<ConsumerT.µ,I>,M>> {
+
+    @Override
+    default <A, B> __<__<__<ConsumerT.µ, I>, M>, B> map(Function<A, B> fn, __<__<__<ConsumerT.µ, I>, M>, A> nestedA) {
+        return ConsumerT.bind(asConsumerT(nestedA), (A a) -> ConsumerT.done(fn.apply(a)));
+    }
+}
@@ -0,0 +1,7 @@
+package org.highj.data.coroutine.consumer;
+
+import org.derive4j.hkt.__;
+import org.highj.data.coroutine.ConsumerT;
+import org.highj.typeclass1.monad.Monad;
+
+public interface ConsumerTMonad<I,M> extends ConsumerTApplicative<I,M>, ConsumerTBind<I,M>, Monad<__<__<ConsumerT.µ,I>,M>> {}
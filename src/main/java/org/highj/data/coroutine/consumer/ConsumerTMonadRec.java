@@ -0,0 +1,21 @@
+package org.highj.data.coroutine.consumer;
+
+import java.util.function.Function;
+import org.derive4j.hkt.__;
+import org.highj.data.Either;
+import org.highj.data.coroutine.ConsumerT;
+import org.highj.typeclass1.monad.MonadRec;
+
+import static org.highj.Hkt.asConsumerT;
+
+public interface ConsumerTMonadRec<I,M> extends ConsumerTMonad<I,M>, MonadRec<__<__<ConsumerT.µ,I>,M>> {
+
+    @Override
+    default <A, B> __<__<__<ConsumerT.µ, I>, M>, B> tailRec(Function<A, __<__<__<ConsumerT.µ, I>, M>, Either<A, B>>> function, A startA) {
+        return ConsumerT.<I,M>monad().bind(function.apply(startA),
+            (Either<A,B> x) -> x.either((A a) -> ConsumerT.suspend(() -> asConsumerT(tailRec(function, a))),
+                (B b) -> ConsumerT.<I,M>applicative().pure(b)
+            )
+        );
+    }
+}
@@ -0,0 +1,14 @@
+package org.highj.data.coroutine.consumer;
+
+import org.derive4j.hkt.__;
+import org.derive4j.hkt.__2;
+import org.highj.data.coroutine.ConsumerT;
+import org.highj.typeclass1.monad.MonadTrans;
+
+public interface ConsumerTMonadTrans<I,M> extends ConsumerTMonad<I,M>, MonadTrans<__<ConsumerT.µ,I>,M> {
+
+    @Override
+    default <A> __2<__<ConsumerT.µ, I>, M, A> lift(__<M, A> nestedA) {
+        return ConsumerT.lift(nestedA);
+    }
+}
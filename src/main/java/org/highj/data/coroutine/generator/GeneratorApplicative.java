@@ -0,0 +1,13 @@
+package org.highj.data.coroutine.generator;
+
+import org.derive4j.hkt.__;
+import org.highj.data.coroutine.Generator;
+import org.highj.typeclass1.monad.Applicative;
+
+public interface GeneratorApplicative<E> extends GeneratorApply<E>, Applicative<__<Generator.µ,E>> {
+
+    @Override
+    default <A> __<__<Generator.µ, E>, A> pure(A a) {
+        return Generator.done(a);
+    }
+}
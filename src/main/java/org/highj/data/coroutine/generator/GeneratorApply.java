@@ -0,0 +1,19 @@
+package org.highj.data.coroutine.generator;
+
+import org.derive4j.hkt.__;
+import org.highj.data.coroutine.Generator;
+import org.highj.typeclass1.monad.Apply;
+
+import java.util.function.Function;
+
+import static org.highj.Hkt.asGenerator;
+
+public interface GeneratorApply<E> extends GeneratorFunctor<E>, Apply<__<Generator.µ,E>> {
+
+    @Override
+    default <A, B> __<__<Generator.µ, E>, B> ap(__<__<Generator.µ, E>, Function<A, B>> fn, __<__<Generator.µ, E>, A> nestedA) {
+        return Generator.bind(asGenerator(fn),
+            (Function<A, B> x1) -> asGenerator(nestedA).map(x1::apply)
+        );
+    }
+}
@@ -0,0 +1,17 @@
+package org.highj.data.coroutine.generator;
+
+import org.derive4j.hkt.__;
+import org.highj.data.coroutine.Generator;
+import org.highj.typeclass1.monad.Bind;
+
+import java.util.function.Function;
+
+import static org.highj.Hkt.asGenerator;
+
+public interface GeneratorBind<E> extends GeneratorApply<E>, Bind<__<Generator.µ,E>> {
+
+    @Override
+    default <A, B> __<__<Generator.µ, E>, B> bind(__<__<Generator.µ, E>, A> nestedA, Function<A, __<__<Generator.µ, E>, B>> fn) {
+        return Generator.bind(asGenerator(nestedA), (A a) -> asGenerator(fn.apply(a)));
+    }
+}
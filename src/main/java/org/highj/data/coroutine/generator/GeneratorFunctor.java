@@ -0,0 +1,17 @@
+package org.highj.data.coroutine.generator;
+
+import org.derive4j.hkt.__;
+import org.highj.data.coroutine.Generator;
+import org.highj.typeclass1.functor.Functor;
+
+import java.util.function.Function;
+
+import static org.highj.Hkt.asGenerator;
+
+public interface GeneratorFunctor<E> extends Functor<__<Generator.µ,E>> {
+
+    @Override
+    default <A, B> __<__<Generator.µ, E>, B> map(Function<A, B> fn, __<__<Generator.µ, E>, A> nestedA) {
+        return asGenerator(nestedA).map(fn::apply);
+    }
+}
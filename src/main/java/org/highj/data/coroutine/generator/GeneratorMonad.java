@@ -0,0 +1,7 @@
+package org.highj.data.coroutine.generator;
+
+import org.derive4j.hkt.__;
+import org.highj.data.coroutine.Generator;
+import org.highj.typeclass1.monad.Monad;
+
+public interface GeneratorMonad<E> extends GeneratorApplicative<E>, GeneratorBind<E>, Monad<__<Generator.µ,E>> {}
@@ -0,0 +1,23 @@
+package org.highj.data.coroutine.generator;
+
+import org.derive4j.hkt.__;
+import org.highj.data.Either;
+import org.highj.data.coroutine.Generator;
+import org.highj.typeclass1.monad.MonadRec;
+
+import java.util.function.Function;
+
+import static org.highj.Hkt.asGenerator;
+
+public interface GeneratorMonadRec<E> extends GeneratorMonad<E>, MonadRec<__<Generator.µ,E>> {
+
+    @Override
+    default <A, B> __<__<Generator.µ, E>, B> tailRec(Function<A, __<__<Generator.µ, E>, Either<A, B>>> function, A startA) {
+        return Generator.bind(asGenerator(function.apply(startA)),
+            (Either<A, B> x) -> x.either(
+                (A a) -> Generator.suspend(() -> asGenerator(tailRec(function, a))),
+                Generator::<E, B>done
+            )
+        );
+    }
+}
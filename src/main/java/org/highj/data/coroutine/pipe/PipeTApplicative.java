@@ -0,0 +1,13 @@
+package org.highj.data.coroutine.pipe;
+
+import org.derive4j.hkt.__;
+import org.highj.data.coroutine.PipeT;
+import org.highj.typeclass1.monad.Applicative;
+
+public interface PipeTApplicative<I,O,M> extends PipeTApply<I,O,M>, Applicative<__<__<__<PipeT.µ,I>,O>,M>> {
+
+    @Override
+    default <A> __<__<__<__<PipeT.µ, I>, O>, M>, A> pure(A a) {
+        return PipeT.done(a);
+    }
+}
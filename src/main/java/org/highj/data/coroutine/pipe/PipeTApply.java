@@ -0,0 +1,21 @@
+package org.highj.data.coroutine.pipe;
+
+import java.util.function.Function;
+import org.derive4j.hkt.__;
+import org.highj.data.coroutine.PipeT;
+import org.highj.typeclass1.monad.Apply;
+
+import static org.highj.Hkt.asPipeT;
+
+public interface PipeTApply<I,O,M> extends PipeTFunctor<I,O,M>, Apply<__<__<__<PipeT.µ,I>,O>,M>> {
+
+    @Override
+    default <A, B> __<__<__<__<PipeT.µ, I>, O>, M>, B> ap(__<__<__<__<PipeT.µ, I>, O>, M>, Function<A, B>> fn, __<__<__<__<PipeT.µ, I>, O>, M>, A> nestedA) {
+        return PipeT.bind(asPipeT(fn),
+            (Function<A, B> x1) ->
+                PipeT.bind(asPipeT(nestedA),
+                    (A x2) -> PipeT.done(x1.apply(x2))
+                )
+        );
+    }
+}
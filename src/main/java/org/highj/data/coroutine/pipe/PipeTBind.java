@@ -0,0 +1,16 @@
+package org.highj.data.coroutine.pipe;
+
+import java.util.function.Function;
+import org.derive4j.hkt.__;
+import org.highj.data.coroutine.PipeT;
+import org.highj.typeclass1.monad.Bind;
+
+import static org.highj.Hkt.asPipeT;
+
+public interface PipeTBind<I,O,M> extends PipeTApply<I,O,M>, Bind<__<__<__<PipeT.µ,I>,O>,M>> {
+
+    @Override
+    default <A, B> __<__<__<__<PipeT.µ, I>, O>, M>, B> bind(__<__<__<__<PipeT.µ, I>, O>, M>, A> nestedA, Function<A, __<__<__<__<PipeT.µ, I>, O>, M>, B>> fn) {
+        return PipeT.bind(asPipeT(nestedA), (A a) -> asPipeT(fn.apply(a)));
+    }
+}
@@ -0,0 +1,16 @@
+package org.highj.data.coroutine.pipe;
+
+import java.util.function.Function;
+import org.derive4j.hkt.__;
+import org.highj.data.coroutine.PipeT;
+import org.highj.typeclass1.functor.Functor;
+
+import static org.highj.Hkt.asPipeT;
+
+public interface PipeTFunctor<I,O,M> extends Functor<__<__<__<PipeT.µ,I>,O>,M>> {
+
+    @Override
+    default <A, B> __<__<__<__<PipeT.µ, I>, O>, M>, B> map(Function<A, B> fn, __<__<__<__<PipeT.µ, I>, O>, M>, A> nestedA) {
+        return PipeT.bind(asPipeT(nestedA), (A a) -> PipeT.done(fn.apply(a)));
+    }
+}
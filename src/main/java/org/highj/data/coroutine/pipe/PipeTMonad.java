@@ -0,0 +1,7 @@
+package org.highj.data.coroutine.pipe;
+
+import org.derive4j.hkt.__;
+import org.highj.data.coroutine.PipeT;
+import org.highj.typeclass1.monad.Monad;
+
+public interface PipeTMonad<I,O,M> extends PipeTApplicative<I,O,M>, PipeTBind<I,O,M>, Monad<__<__<__<PipeT.µ,I>,O>,M>> {}
@@ -0,0 +1,21 @@
+package org.highj.data.coroutine.pipe;
+
+import java.util.function.Function;
+import org.derive4j.hkt.__;
+import org.highj.data.Either;
+import org.highj.data.coroutine.PipeT;
+import org.highj.typeclass1.monad.MonadRec;
+
+import static org.highj.Hkt.asPipeT;
+
+public interface PipeTMonadRec<I,O,M> extends PipeTMonad<I,O,M>, MonadRec<__<__<__<PipeT.µ,I>,O>,M>> {
+
+    @Override
+    default <A, B> __<__<__<__<PipeT.µ, I>, O>, M>, B> tailRec(Function<A, __<__<__<__<PipeT.µ, I>, O>, M>, Either<A, B>>> function, A startA) {
+        return PipeT.<I,O,M>monad().bind(function.apply(startA),
+            (Either<A,B> x) -> x.either((A a) -> PipeT.suspend(() -> asPipeT(tailRec(function, a))),
+                (B b) -> PipeT.<I,O,M>applicative().pure(b)
+            )
+        );
+    }
+}
@@ -0,0 +1,14 @@
+package org.highj.data.coroutine.pipe;
+
+import org.derive4j.hkt.__;
+import org.derive4j.hkt.__2;
+import org.highj.data.coroutine.PipeT;
+import org.highj.typeclass1.monad.MonadTrans;
+
+public interface PipeTMonadTrans<I,O,M> extends PipeTMonad<I,O,M>, MonadTrans<__<__<PipeT.µ,I>,O>,M> {
+
+    @Override
+    default <A> __2<__<__<PipeT.µ, I>, O>, M, A> lift(__<M, A> nestedA) {
+        return PipeT.lift(nestedA);
+    }
+}
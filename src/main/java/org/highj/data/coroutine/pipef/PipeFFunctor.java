@@ -0,0 +1,22 @@
+package org.highj.data.coroutine.pipef;
+
+import org.derive4j.hkt.__;
+import org.highj.data.Maybe;
+import org.highj.data.coroutine.PipeF;
+import org.highj.function.F1;
+import org.highj.typeclass1.functor.Functor;
+
+import java.util.function.Function;
+
+import static org.highj.Hkt.asPipeF;
+
+public interface PipeFFunctor<I,O> extends Functor<__<__<PipeF.µ,I>,O>> {
+
+    @Override
+    default <A, B> __<__<__<PipeF.µ, I>, O>, B> map(Function<A, B> fn, __<__<__<PipeF.µ, I>, O>, A> nestedA) {
+        return asPipeF(nestedA).cases(
+            (F1<Maybe<I>,A> next) -> PipeF.<I,O,B>await((Maybe<I> i) -> fn.apply(next.apply(i))),
+            (O value, A next) -> PipeF.<I,O,B>yield(value, fn.apply(next))
+        );
+    }
+}
@@ -0,0 +1,564 @@
+package org.highj.data.impl.fingerTree;
+
+import org.highj.data.Maybe;
+import org.highj.data.tuple.T2;
+import org.highj.data.tuple.T3;
+import org.highj.typeclass0.group.Monoid;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.Predicate;
+
+/*
+ Adapted from:
+
+   Ralf Hinze and Ross Paterson, "Finger trees: a simple general-purpose data structure",
+   Journal of Functional Programming 16:2 (2006) pp 197-217.
+   <http://www.staff.city.ac.uk/~ross/papers/FingerTree.html>
+
+ Other than in the paper, the middle trees are built strictly. Adding and removing elements at
+ both ends is still amortized O(1) as long as older versions aren't reused, and O(log n) in any case.
+*/
+public abstract class FingerTree<V, A> implements Iterable<A> {
+
+    private static final Object[] NO_ELEMENTS = new Object[0];
+
+    final Measured<V, A> measured;
+
+    private FingerTree(Measured<V, A> measured) {
+        this.measured = measured;
+    }
+
+    public static <V, A> FingerTree<V, A> empty(Measured<V, A> measured) {
+        return new Empty<>(measured);
+    }
+
+    public Measured<V, A> measured() {
+        return measured;
+    }
+
+    /**
+     * The combined measure of all elements, which is cached.
+     *
+     * @return the measure
+     */
+    public abstract V measure();
+
+    public abstract boolean isEmpty();
+
+    public abstract FingerTree<V, A> cons(A a);
+
+    public abstract FingerTree<V, A> snoc(A a);
+
+    public abstract Maybe<A> head();
+
+    public abstract Maybe<A> last();
+
+    public abstract Maybe<T2<A, FingerTree<V, A>>> uncons();
+
+    public abstract Maybe<T2<FingerTree<V, A>, A>> unsnoc();
+
+    public FingerTree<V, A> concat(FingerTree<V, A> that) {
+        return app3(this, NO_ELEMENTS, that);
+    }
+
+    /**
+     * Splits the tree at the point where a monotonic predicate over the accumulated measure becomes true.
+     *
+     * @param predicate the predicate
+     * @return a tree with the elements before the point, and a tree with the remaining elements
+     */
+    public T2<FingerTree<V, A>, FingerTree<V, A>> split(Predicate<V> predicate) {
+        return splitElement(predicate).cata(
+                T2.of(this, empty(measured)),
+                t -> T2.of(t._1(), t._3().cons(t._2())));
+    }
+
+    /**
+     * Splits the tree around the element where a monotonic predicate over the accumulated measure becomes true.
+     *
+     * @param predicate the predicate
+     * @return the elements before, the element itself and the elements after, or Nothing if the predicate
+     * doesn't hold for the whole tree
+     */
+    public Maybe<T3<FingerTree<V, A>, A, FingerTree<V, A>>> splitElement(Predicate<V> predicate) {
+        return isEmpty() || !predicate.test(measure())
+                ? Maybe.Nothing()
+                : Maybe.Just(splitTree(predicate, measured.monoid().identity()));
+    }
+
+    /**
+     * Finds the element where a monotonic predicate over the accumulated measure becomes true,
+     * without splitting the tree.
+     *
+     * @param predicate the predicate
+     * @return the element, or Nothing if the predicate doesn't hold for the whole tree
+     */
+    public Maybe<A> lookup(Predicate<V> predicate) {
+        return isEmpty() || !predicate.test(measure())
+                ? Maybe.Nothing()
+                : Maybe.Just(lookupTree(predicate, measured.monoid().identity())._2());
+    }
+
+    @Override
+    public Iterator<A> iterator() {
+        return new TreeIterator<>(this, false);
+    }
+
+    public Iterator<A> reverseIterator() {
+        return new TreeIterator<>(this, true);
+    }
+
+    //the tree must be non-empty, and the predicate must hold for acc + measure()
+    abstract T3<FingerTree<V, A>, A, FingerTree<V, A>> splitTree(Predicate<V> predicate, V acc);
+
+    //returns the element and the accumulated measure of all elements before it
+    abstract T2<V, A> lookupTree(Predicate<V> predicate, V acc);
+
+    private static final class Empty<V, A> extends FingerTree<V, A> {
+
+        private Empty(Measured<V, A> measured) {
+            super(measured);
+        }
+
+        @Override
+        public V measure() {
+            return measured.monoid().identity();
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return true;
+        }
+
+        @Override
+        public FingerTree<V, A> cons(A a) {
+            return new Single<>(measured, a);
+        }
+
+        @Override
+        public FingerTree<V, A> snoc(A a) {
+            return new Single<>(measured, a);
+        }
+
+        @Override
+        public Maybe<A> head() {
+            return Maybe.Nothing();
+        }
+
+        @Override
+        public Maybe<A> last() {
+            return Maybe.Nothing();
+        }
+
+        @Override
+        public Maybe<T2<A, FingerTree<V, A>>> uncons() {
+            return Maybe.Nothing();
+        }
+
+        @Override
+        public Maybe<T2<FingerTree<V, A>, A>> unsnoc() {
+            return Maybe.Nothing();
+        }
+
+        @Override
+        T3<FingerTree<V, A>, A, FingerTree<V, A>> splitTree(Predicate<V> predicate, V acc) {
+            throw new NoSuchElementException("empty tree");
+        }
+
+        @Override
+        T2<V, A> lookupTree(Predicate<V> predicate, V acc) {
+            throw new NoSuchElementException("empty tree");
+        }
+    }
+
+    private static final class Single<V, A> extends FingerTree<V, A> {
+        private final V measure;
+        private final A a;
+
+        private Single(Measured<V, A> measured, A a) {
+            super(measured);
+            this.measure = measured.measure(a);
+            this.a = a;
+        }
+
+        @Override
+        public V measure() {
+            return measure;
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return false;
+        }
+
+        @Override
+        public FingerTree<V, A> cons(A b) {
+            return deep(measured, new Object[]{b}, empty(nodeMeasured(measured)), new Object[]{a});
+        }
+
+        @Override
+        public FingerTree<V, A> snoc(A b) {
+            return deep(measured, new Object[]{a}, empty(nodeMeasured(measured)), new Object[]{b});
+        }
+
+        @Override
+        public Maybe<A> head() {
+            return Maybe.Just(a);
+        }
+
+        @Override
+        public Maybe<A> last() {
+            return Maybe.Just(a);
+        }
+
+        @Override
+        public Maybe<T2<A, FingerTree<V, A>>> uncons() {
+            return Maybe.Just(T2.of(a, empty(measured)));
+        }
+
+        @Override
+        public Maybe<T2<FingerTree<V, A>, A>> unsnoc() {
+            return Maybe.Just(T2.of(empty(measured), a));
+        }
+
+        @Override
+        T3<FingerTree<V, A>, A, FingerTree<V, A>> splitTree(Predicate<V> predicate, V acc) {
+            return T3.of(empty(measured), a, empty(measured));
+        }
+
+        @Override
+        T2<V, A> lookupTree(Predicate<V> predicate, V acc) {
+            return T2.of(acc, a);
+        }
+    }
+
+    private static final class Deep<V, A> extends FingerTree<V, A> {
+        private final V measure;
+        //digits contain 1 to 4 elements
+        private final Object[] prefix;
+        private final FingerTree<V, Node<V, A>> middle;
+        private final Object[] suffix;
+
+        private Deep(Measured<V, A> measured, V measure, Object[] prefix, FingerTree<V, Node<V, A>> middle, Object[] suffix) {
+            super(measured);
+            this.measure = measure;
+            this.prefix = prefix;
+            this.middle = middle;
+            this.suffix = suffix;
+        }
+
+        @Override
+        public V measure() {
+            return measure;
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return false;
+        }
+
+        @Override
+        public FingerTree<V, A> cons(A a) {
+            V newMeasure = measured.monoid().apply(measured.measure(a), measure);
+            if (prefix.length < 4) {
+                Object[] newPrefix = new Object[prefix.length + 1];
+                newPrefix[0] = a;
+                System.arraycopy(prefix, 0, newPrefix, 1, prefix.length);
+                return new Deep<>(measured, newMeasure, newPrefix, middle, suffix);
+            }
+            Node<V, A> node = node(measured, prefix[1], prefix[2], prefix[3]);
+            return new Deep<>(measured, newMeasure, new Object[]{a, prefix[0]}, middle.cons(node), suffix);
+        }
+
+        @Override
+        public FingerTree<V, A> snoc(A a) {
+            V newMeasure = measured.monoid().apply(measure, measured.measure(a));
+            if (suffix.length < 4) {
+                Object[] newSuffix = Arrays.copyOf(suffix, suffix.length + 1);
+                newSuffix[suffix.length] = a;
+                return new Deep<>(measured, newMeasure, prefix, middle, newSuffix);
+            }
+            Node<V, A> node = node(measured, suffix[0], suffix[1], suffix[2]);
+            return new Deep<>(measured, newMeasure, prefix, middle.snoc(node), new Object[]{suffix[3], a});
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public Maybe<A> head() {
+            return Maybe.Just((A) prefix[0]);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public Maybe<A> last() {
+            return Maybe.Just((A) suffix[suffix.length - 1]);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public Maybe<T2<A, FingerTree<V, A>>> uncons() {
+            return Maybe.Just(T2.of((A) prefix[0],
+                    deepL(measured, Arrays.copyOfRange(prefix, 1, prefix.length), middle, suffix)));
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public Maybe<T2<FingerTree<V, A>, A>> unsnoc() {
+            return Maybe.Just(T2.of(deepR(measured, prefix, middle, Arrays.copyOf(suffix, suffix.length - 1)),
+                    (A) suffix[suffix.length - 1]));
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        T3<FingerTree<V, A>, A, FingerTree<V, A>> splitTree(Predicate<V> predicate, V acc) {
+            Monoid<V> monoid = measured.monoid();
+            V accPrefix = monoid.apply(acc, measureDigit(measured, prefix));
+            if (predicate.test(accPrefix)) {
+                int i = splitDigit(measured, predicate, acc, prefix);
+                return T3.of(fromDigit(measured, Arrays.copyOf(prefix, i)),
+                        (A) prefix[i],
+                        deepL(measured, Arrays.copyOfRange(prefix, i + 1, prefix.length), middle, suffix));
+            }
+            V accMiddle = monoid.apply(accPrefix, middle.measure());
+            if (predicate.test(accMiddle)) {
+                T3<FingerTree<V, Node<V, A>>, Node<V, A>, FingerTree<V, Node<V, A>>> split = middle.splitTree(predicate, accPrefix);
+                Object[] items = split._2().items;
+                int i = splitDigit(measured, predicate, monoid.apply(accPrefix, split._1().measure()), items);
+                return T3.of(deepR(measured, prefix, split._1(), Arrays.copyOf(items, i)),
+                        (A) items[i],
+                        deepL(measured, Arrays.copyOfRange(items, i + 1, items.length), split._3(), suffix));
+            }
+            int i = splitDigit(measured, predicate, accMiddle, suffix);
+            return T3.of(deepR(measured, prefix, middle, Arrays.copyOf(suffix, i)),
+                    (A) suffix[i],
+                    fromDigit(measured, Arrays.copyOfRange(suffix, i + 1, suffix.length)));
+        }
+
+        @Override
+        T2<V, A> lookupTree(Predicate<V> predicate, V acc) {
+            Monoid<V> monoid = measured.monoid();
+            V accPrefix = monoid.apply(acc, measureDigit(measured, prefix));
+            if (predicate.test(accPrefix)) {
+                return lookupDigit(measured, predicate, acc, prefix);
+            }
+            V accMiddle = monoid.apply(accPrefix, middle.measure());
+            if (predicate.test(accMiddle)) {
+                T2<V, Node<V, A>> found = middle.lookupTree(predicate, accPrefix);
+                return lookupDigit(measured, predicate, found._1(), found._2().items);
+            }
+            return lookupDigit(measured, predicate, accMiddle, suffix);
+        }
+    }
+
+    //a 2-3 node with cached measure
+    private static final class Node<V, A> {
+        private final V measure;
+        private final Object[] items;
+
+        private Node(V measure, Object[] items) {
+            this.measure = measure;
+            this.items = items;
+        }
+    }
+
+    private static <V, A> Measured<V, Node<V, A>> nodeMeasured(Measured<V, A> measured) {
+        return Measured.of(measured.monoid(), (Node<V, A> node) -> node.measure);
+    }
+
+    private static <V, A> Node<V, A> node(Measured<V, A> measured, Object... items) {
+        return new Node<>(measureDigit(measured, items), items);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <V, A> V measureDigit(Measured<V, A> measured, Object[] digit) {
+        Monoid<V> monoid = measured.monoid();
+        V result = monoid.identity();
+        for (Object a : digit) {
+            result = monoid.apply(result, measured.measure((A) a));
+        }
+        return result;
+    }
+
+    private static <V, A> FingerTree<V, A> deep(Measured<V, A> measured, Object[] prefix, FingerTree<V, Node<V, A>> middle, Object[] suffix) {
+        Monoid<V> monoid = measured.monoid();
+        V measure = monoid.apply(monoid.apply(measureDigit(measured, prefix), middle.measure()), measureDigit(measured, suffix));
+        return new Deep<>(measured, measure, prefix, middle, suffix);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <V, A> FingerTree<V, A> fromDigit(Measured<V, A> measured, Object[] digit) {
+        switch (digit.length) {
+            case 0:
+                return empty(measured);
+            case 1:
+                return new Single<>(measured, (A) digit[0]);
+            default:
+                int half = digit.length / 2;
+                return deep(measured, Arrays.copyOf(digit, half), empty(nodeMeasured(measured)),
+                        Arrays.copyOfRange(digit, half, digit.length));
+        }
+    }
+
+    //builds a tree from a possibly empty prefix
+    private static <V, A> FingerTree<V, A> deepL(Measured<V, A> measured, Object[] prefix, FingerTree<V, Node<V, A>> middle, Object[] suffix) {
+        if (prefix.length > 0) {
+            return deep(measured, prefix, middle, suffix);
+        }
+        return middle.uncons().cata$(
+                () -> fromDigit(measured, suffix),
+                t -> deep(measured, t._1().items, t._2(), suffix));
+    }
+
+    //builds a tree from a possibly empty suffix
+    private static <V, A> FingerTree<V, A> deepR(Measured<V, A> measured, Object[] prefix, FingerTree<V, Node<V, A>> middle, Object[] suffix) {
+        if (suffix.length > 0) {
+            return deep(measured, prefix, middle, suffix);
+        }
+        return middle.unsnoc().cata$(
+                () -> fromDigit(measured, prefix),
+                t -> deep(measured, prefix, t._1(), t._2().items));
+    }
+
+    //the index of the element where the predicate becomes true, or the last index
+    @SuppressWarnings("unchecked")
+    private static <V, A> int splitDigit(Measured<V, A> measured, Predicate<V> predicate, V acc, Object[] digit) {
+        for (int i = 0; i < digit.length - 1; i++) {
+            acc = measured.monoid().apply(acc, measured.measure((A) digit[i]));
+            if (predicate.test(acc)) {
+                return i;
+            }
+        }
+        return digit.length - 1;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <V, A> T2<V, A> lookupDigit(Measured<V, A> measured, Predicate<V> predicate, V acc, Object[] digit) {
+        for (int i = 0; i < digit.length - 1; i++) {
+            V next = measured.monoid().apply(acc, measured.measure((A) digit[i]));
+            if (predicate.test(next)) {
+                return T2.of(acc, (A) digit[i]);
+            }
+            acc = next;
+        }
+        return T2.of(acc, (A) digit[digit.length - 1]);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <V, A> FingerTree<V, A> app3(FingerTree<V, A> left, Object[] elements, FingerTree<V, A> right) {
+        if (left.isEmpty()) {
+            FingerTree<V, A> result = right;
+            for (int i = elements.length - 1; i >= 0; i--) {
+                result = result.cons((A) elements[i]);
+            }
+            return result;
+        } else if (right.isEmpty()) {
+            FingerTree<V, A> result = left;
+            for (Object a : elements) {
+                result = result.snoc((A) a);
+            }
+            return result;
+        } else if (left instanceof Single) {
+            return app3(empty(left.measured), elements, right).cons(((Single<V, A>) left).a);
+        } else if (right instanceof Single) {
+            return app3(left, elements, empty(right.measured)).snoc(((Single<V, A>) right).a);
+        }
+        Deep<V, A> l = (Deep<V, A>) left;
+        Deep<V, A> r = (Deep<V, A>) right;
+        Object[] all = new Object[l.suffix.length + elements.length + r.prefix.length];
+        System.arraycopy(l.suffix, 0, all, 0, l.suffix.length);
+        System.arraycopy(elements, 0, all, l.suffix.length, elements.length);
+        System.arraycopy(r.prefix, 0, all, l.suffix.length + elements.length, r.prefix.length);
+        return deep(l.measured, l.prefix, app3(l.middle, nodes(l.measured, all), r.middle), r.suffix);
+    }
+
+    //groups 2 to 12 elements into 2-3 nodes
+    private static <V, A> Object[] nodes(Measured<V, A> measured, Object[] elements) {
+        int n = elements.length;
+        Object[] result = new Object[(n + 2) / 3];
+        int i = 0;
+        int j = 0;
+        while (n - i > 4 || n - i == 3) {
+            result[j++] = node(measured, elements[i], elements[i + 1], elements[i + 2]);
+            i += 3;
+        }
+        while (i < n) {
+            result[j++] = node(measured, elements[i], elements[i + 1]);
+            i += 2;
+        }
+        return result;
+    }
+
+    //traverses the tree with an explicit stack, expanding subtrees and nodes only when reached
+    private static final class TreeIterator<A> implements Iterator<A> {
+        private final boolean reverse;
+        //kind 0: element, kind d > 0: node at depth d, kind -1-d: tree at depth d
+        private Object[] items = new Object[16];
+        private int[] kinds = new int[16];
+        private int top;
+
+        private TreeIterator(FingerTree<?, ?> tree, boolean reverse) {
+            this.reverse = reverse;
+            push(tree, -1);
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (top > 0 && kinds[top - 1] != 0) {
+                expand();
+            }
+            return top > 0;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public A next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            A a = (A) items[--top];
+            items[top] = null;
+            return a;
+        }
+
+        private void expand() {
+            Object item = items[--top];
+            int kind = kinds[top];
+            items[top] = null;
+            if (kind > 0) {
+                pushAll(((Node<?, ?>) item).items, kind - 1);
+            } else if (item instanceof Single) {
+                push(((Single<?, ?>) item).a, -1 - kind);
+            } else if (item instanceof Deep) {
+                Deep<?, ?> deep = (Deep<?, ?>) item;
+                int depth = -1 - kind;
+                pushAll(reverse ? deep.prefix : deep.suffix, depth);
+                push(deep.middle, kind - 1);
+                pushAll(reverse ? deep.suffix : deep.prefix, depth);
+            }
+        }
+
+        //pushes the elements so that the one to be visited first ends up on top
+        private void pushAll(Object[] elements, int kind) {
+            if (reverse) {
+                for (Object element : elements) {
+                    push(element, kind);
+                }
+            } else {
+                for (int i = elements.length - 1; i >= 0; i--) {
+                    push(elements[i], kind);
+                }
+            }
+        }
+
+        private void push(Object item, int kind) {
+            if (top == items.length) {
+                items = Arrays.copyOf(items, 2 * top);
+                kinds = Arrays.copyOf(kinds, 2 * top);
+            }
+            items[top] = item;
+            kinds[top++] = kind;
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package org.highj.data.impl.fingerTree;
+
+import org.highj.typeclass0.group.Monoid;
+
+import java.util.function.Function;
+
+/**
+ * Assigns a measure to elements, which is combined using a {@link Monoid}.
+ * <p>
+ * A {@link FingerTree} caches the combined measure of every subtree, which allows to search or split
+ * by any monotonic predicate over the measure (e.g. element counts for indexed access, or maximum
+ * priorities for priority queues).
+ *
+ * @param <V> the measure type
+ * @param <A> the element type
+ */
+public interface Measured<V, A> {
+
+    Monoid<V> monoid();
+
+    V measure(A a);
+
+    static <V, A> Measured<V, A> of(Monoid<V> monoid, Function<? super A, ? extends V> measure) {
+        return new Measured<V, A>() {
+            @Override
+            public Monoid<V> monoid() {
+                return monoid;
+            }
+
+            @Override
+            public V measure(A a) {
+                return measure.apply(a);
+            }
+        };
+    }
+}
@@ -7,10 +7,13 @@ import org.highj.data.tuple.T2;
 import org.highj.data.tuple.T3;
 import org.highj.data.ord.Ord;
 
+import java.util.Arrays;
 import java.util.NoSuchElementException;
 import java.util.Objects;
+import java.util.Spliterator;
 import java.util.function.BiFunction;
 import java.util.function.BinaryOperator;
+import java.util.function.Consumer;
 import java.util.function.Function;
 
 import static org.highj.data.impl.treeMap.Node.Color.BLACK;
@@ -40,6 +43,7 @@ public abstract class Node<K, V> {
     private final V value;
     private final Node<K, V> left;
     private final Node<K, V> right;
+    private final int size;
 
     private Node(int blackHeight, K key, V value, Node<K, V> left, Node<K, V> right) {
         this.bHeight = blackHeight;
@@ -47,6 +51,7 @@ public abstract class Node<K, V> {
         this.value = value;
         this.left = left;
         this.right = right;
+        this.size = left == null ? 0 : 1 + left.size + right.size;
     }
 
     abstract Color color();
@@ -101,6 +106,52 @@ public abstract class Node<K, V> {
         return Node.<K, V>empty().insertAll(ord, list);
     }
 
+    /**
+     * Builds a balanced tree in linear time from entries with strictly ascending keys.
+     * The tree corresponds to a 2-3 tree with all leaves on the same level, where 3-nodes
+     * are represented by a black node with a red left child.
+     */
+    public static <K, V> Node<K, V> fromSorted(java.util.List<T2<K, V>> entries) {
+        int height = 0;
+        while ((2 << height) - 1 <= entries.size()) {
+            height++;
+        }
+        return build(entries, 0, entries.size(), height).turnB_();
+    }
+
+    //builds a tree of the given black height from the entries in [from, to)
+    private static <K, V> Node<K, V> build(java.util.List<T2<K, V>> entries, int from, int to, int height) {
+        int n = to - from;
+        if (height == 0) {
+            return empty();
+        }
+        if (n <= 2 * maxSize(height - 1) + 1) {
+            int mid = from + n / 2;
+            T2<K, V> entry = entries.get(mid);
+            return black(height, entry._1(), entry._2(),
+                    build(entries, from, mid, height - 1), build(entries, mid + 1, to, height - 1));
+        } else {
+            int third = (n - 2) / 3;
+            int remainder = (n - 2) % 3;
+            int first = from + third + (remainder > 0 ? 1 : 0);
+            int second = first + 1 + third + (remainder > 1 ? 1 : 0);
+            T2<K, V> e1 = entries.get(first);
+            T2<K, V> e2 = entries.get(second);
+            Node<K, V> redLeft = red(height, e1._1(), e1._2(),
+                    build(entries, from, first, height - 1), build(entries, first + 1, second, height - 1));
+            return black(height, e2._1(), e2._2(), redLeft, build(entries, second + 1, to, height - 1));
+        }
+    }
+
+    //the maximal size of a tree with the given black height, consisting only of 3-nodes
+    private static int maxSize(int height) {
+        long result = 1;
+        for (int i = 0; i < height; i++) {
+            result *= 3;
+        }
+        return (int) Math.min(result - 1, Integer.MAX_VALUE);
+    }
+
     public Node<K, V> insertAll(Ord<? super K> ord, Iterable<T2<K, V>> iterable) {
         Node<K, V> result = this;
         for (T2<K, V> t2 : iterable) {
@@ -187,7 +238,7 @@ public abstract class Node<K, V> {
         } else if (color() == c) {
             return this;
         }
-        return node(color(), bHeight, key, value, left, right);
+        return node(c, bHeight, key, value, left, right);
     }
 
     private Node<K, V> turnB_() {
@@ -240,7 +291,59 @@ public abstract class Node<K, V> {
     }
 
     public int size() {
-        return isEmpty() ? 0 : 1 + left.size() + right.size();
+        return size;
+    }
+
+    public int rank(Ord<? super K> ord, K searchKey) {
+        int result = 0;
+        Node<K, V> node = this;
+        while (!node.isEmpty()) {
+            switch (ord.cmp(searchKey, node.key)) {
+                case LT:
+                    node = node.left;
+                    break;
+                case EQ:
+                    return result + node.left.size;
+                case GT:
+                    result += node.left.size + 1;
+                    node = node.right;
+                    break;
+                default:
+                    throw new AssertionError();
+            }
+        }
+        return result;
+    }
+
+    public T2<K, V> select(int index) throws IndexOutOfBoundsException {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("index " + index + ", size " + size);
+        }
+        Node<K, V> node = this;
+        int i = index;
+        while (i != node.left.size) {
+            if (i < node.left.size) {
+                node = node.left;
+            } else {
+                i -= node.left.size + 1;
+                node = node.right;
+            }
+        }
+        return T2.of(node.key, node.value);
+    }
+
+    public T2<Node<K, V>, Node<K, V>> splitAt(Ord<? super K> ord, int index) {
+        if (index <= 0) {
+            return T2.of(empty(), this);
+        } else if (index >= size) {
+            return T2.of(this, empty());
+        } else if (index <= left.size) {
+            T2<Node<K, V>, Node<K, V>> pair = left.splitAt(ord, index);
+            return T2.of(pair._1().turnB_(), join(ord, key, value, pair._2(), right).turnB_());
+        } else {
+            T2<Node<K, V>, Node<K, V>> pair = right.splitAt(ord, index - left.size - 1);
+            return T2.of(join(ord, key, value, left, pair._1()).turnB_(), pair._2().turnB_());
+        }
     }
 
     public Node<K, V> insert(Ord<? super K> ord, K k, V v) {
@@ -409,16 +512,20 @@ public abstract class Node<K, V> {
                 left.mapValues(function), right.mapValues(function));
     }
 
-    private static <K, V> Node<K, V> join(Ord<? super K> ord, K k, V v, Node<K, V> t1, Node<K, V> t2) {
+    private static <K, V> Node<K, V> join(Ord<? super K> ord, K k, V v, Node<K, V> left, Node<K, V> right) {
+        //the heights of red and black roots are not comparable
+        Node<K, V> t1 = left.turnB_();
+        Node<K, V> t2 = right.turnB_();
         if (t1.isEmpty()) {
             return t2.insert(ord, k, v);
         } else if (t2.isEmpty()) {
             return t1.insert(ord, k, v);
         }
-        return INTEGER_ORD.cmp(t1.bHeight, t2.bHeight)
+        Node<K, V> result = INTEGER_ORD.cmp(t1.bHeight, t2.bHeight)
                 .caseLT(() -> joinLT(k, v, t1, t2))
                 .caseEQ(() -> black(t1.bHeight + 1, k, v, t1, t2))
                 .caseGT(() -> joinGT(k, v, t1, t2));
+        return result.turnB_();
     }
 
     private static <K, V> Node<K, V> joinLT(K k, V v, Node<K, V> t1, Node<K, V> t2) {
@@ -486,6 +593,115 @@ public abstract class Node<K, V> {
                 .caseGT(() -> right.split(ord, k).map_1(lt -> join(ord, key, value, left, lt)));
     }
 
+    /**
+     * A spliterator over the entries in key order, which splits along the tree structure.
+     */
+    public Spliterator<T2<K, V>> spliterator() {
+        @SuppressWarnings("unchecked")
+        TreeSpliterator<K, V> result = new TreeSpliterator<>(new Node[2 * bHeight + 2], 0, size);
+        result.pushLeftSpine(this);
+        return result;
+    }
+
+    //every node on the stack stands for its entry followed by its right sub-tree, starting from the top
+    private static final class TreeSpliterator<K, V> implements Spliterator<T2<K, V>> {
+        private Node<K, V>[] stack;
+        private int depth;
+        private int size;
+
+        private TreeSpliterator(Node<K, V>[] stack, int depth, int size) {
+            this.stack = stack;
+            this.depth = depth;
+            this.size = size;
+        }
+
+        private void pushLeftSpine(Node<K, V> node) {
+            for (; !node.isEmpty(); node = node.left) {
+                if (depth == stack.length) {
+                    stack = Arrays.copyOf(stack, 2 * depth + 2);
+                }
+                stack[depth++] = node;
+            }
+        }
+
+        private Node<K, V> pop() {
+            Node<K, V> node = stack[--depth];
+            stack[depth] = null;
+            return node;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T2<K, V>> action) {
+            if (depth == 0) {
+                return false;
+            }
+            Node<K, V> node = pop();
+            pushLeftSpine(node.right);
+            size--;
+            action.accept(T2.of(node.key, node.value));
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super T2<K, V>> action) {
+            while (depth > 0) {
+                Node<K, V> node = pop();
+                action.accept(T2.of(node.key, node.value));
+                inorder(node.right, action);
+            }
+            size = 0;
+        }
+
+        private static <K, V> void inorder(Node<K, V> node, Consumer<? super T2<K, V>> action) {
+            if (!node.isEmpty()) {
+                inorder(node.left, action);
+                action.accept(T2.of(node.key, node.value));
+                inorder(node.right, action);
+            }
+        }
+
+        //splits off a prefix ending with the entry of the lowest node on the stack having a right sub-tree,
+        //this spliterator keeps that sub-tree and the single entries below the node
+        @Override
+        public Spliterator<T2<K, V>> trySplit() {
+            if (size < 2) {
+                return null;
+            }
+            int index = 0;
+            while (index < depth && stack[index].right.isEmpty()) {
+                index++;
+            }
+            if (index == depth) {
+                //only single entries are left
+                int half = depth / 2;
+                Node<K, V>[] prefix = Arrays.copyOfRange(stack, half, depth);
+                Arrays.fill(stack, half, depth, null);
+                depth = half;
+                size = half;
+                return new TreeSpliterator<>(prefix, prefix.length, prefix.length);
+            }
+            Node<K, V> node = stack[index];
+            Node<K, V>[] prefix = Arrays.copyOfRange(stack, index, depth);
+            prefix[0] = singleton(node.key, node.value);
+            TreeSpliterator<K, V> result = new TreeSpliterator<>(prefix, depth - index, size - index - node.right.size);
+            Arrays.fill(stack, index, depth, null);
+            depth = index;
+            size = index + node.right.size;
+            pushLeftSpine(node.right);
+            return result;
+        }
+
+        @Override
+        public long estimateSize() {
+            return size;
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | DISTINCT | SIZED | SUBSIZED | IMMUTABLE | NONNULL;
+        }
+    }
+
     public static <K, V> Node<K, V> union(Ord<? super K> ord, BinaryOperator<V> op, Node<K, V> t1, Node<K, V> t2) {
         if (t2.isEmpty()) {
             return t1;
@@ -5,8 +5,12 @@ import org.highj.data.ord.Ord;
 import org.highj.data.ord.Ordering;
 import org.highj.data.tuple.T2;
 
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.NoSuchElementException;
 import java.util.Objects;
+import java.util.Spliterator;
+import java.util.function.Consumer;
 import java.util.function.Function;
 
 import static org.highj.data.impl.treeSet.Node.Color.BLACK;
@@ -35,12 +39,14 @@ public abstract class Node<E> {
     private final E element;
     private final Node<E> left;
     private final Node<E> right;
+    private final int size;
 
     private Node(int blackHeight, E element, Node<E> left, Node<E> right) {
         this.bHeight = blackHeight;
         this.element = element;
         this.left = left;
         this.right = right;
+        this.size = left == null ? 0 : 1 + left.size + right.size;
     }
 
     abstract Color color();
@@ -95,6 +101,49 @@ public abstract class Node<E> {
         return Node.<E>empty().insertAll(ord, iterable);
     }
 
+    /**
+     * Builds a balanced tree in linear time from strictly ascending elements.
+     * The tree corresponds to a 2-3 tree with all leaves on the same level, where 3-nodes
+     * are represented by a black node with a red left child.
+     */
+    public static <E> Node<E> fromSorted(java.util.List<E> elements) {
+        int height = 0;
+        while ((2 << height) - 1 <= elements.size()) {
+            height++;
+        }
+        return build(elements, 0, elements.size(), height).turnB_();
+    }
+
+    //builds a tree of the given black height from the elements in [from, to)
+    private static <E> Node<E> build(java.util.List<E> elements, int from, int to, int height) {
+        int n = to - from;
+        if (height == 0) {
+            return empty();
+        }
+        if (n <= 2 * maxSize(height - 1) + 1) {
+            int mid = from + n / 2;
+            return black(height, elements.get(mid),
+                    build(elements, from, mid, height - 1), build(elements, mid + 1, to, height - 1));
+        } else {
+            int third = (n - 2) / 3;
+            int remainder = (n - 2) % 3;
+            int first = from + third + (remainder > 0 ? 1 : 0);
+            int second = first + 1 + third + (remainder > 1 ? 1 : 0);
+            Node<E> redLeft = red(height, elements.get(first),
+                    build(elements, from, first, height - 1), build(elements, first + 1, second, height - 1));
+            return black(height, elements.get(second), redLeft, build(elements, second + 1, to, height - 1));
+        }
+    }
+
+    //the maximal size of a tree with the given black height, consisting only of 3-nodes
+    private static int maxSize(int height) {
+        long result = 1;
+        for (int i = 0; i < height; i++) {
+            result *= 3;
+        }
+        return (int) Math.min(result - 1, Integer.MAX_VALUE);
+    }
+
     public Node<E> insertAll(Ord<? super E> ord, Iterable<E> iterable) {
         Node<E> result = this;
         for (E e : iterable) {
@@ -172,7 +221,7 @@ public abstract class Node<E> {
         } else if (color() == c) {
             return this;
         }
-        return node(color(), bHeight, element, left, right);
+        return node(c, bHeight, element, left, right);
     }
 
     private Node<E> turnB_() {
@@ -225,7 +274,59 @@ public abstract class Node<E> {
     }
 
     public int size() {
-        return isEmpty() ? 0 : 1 + left.size() + right.size();
+        return size;
+    }
+
+    public int rank(Ord<? super E> ord, E searchElement) {
+        int result = 0;
+        Node<E> node = this;
+        while (!node.isEmpty()) {
+            switch (ord.cmp(searchElement, node.element)) {
+                case LT:
+                    node = node.left;
+                    break;
+                case EQ:
+                    return result + node.left.size;
+                case GT:
+                    result += node.left.size + 1;
+                    node = node.right;
+                    break;
+                default:
+                    throw new AssertionError();
+            }
+        }
+        return result;
+    }
+
+    public E select(int index) throws IndexOutOfBoundsException {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("index " + index + ", size " + size);
+        }
+        Node<E> node = this;
+        int i = index;
+        while (i != node.left.size) {
+            if (i < node.left.size) {
+                node = node.left;
+            } else {
+                i -= node.left.size + 1;
+                node = node.right;
+            }
+        }
+        return node.element;
+    }
+
+    public T2<Node<E>, Node<E>> splitAt(Ord<? super E> ord, int index) {
+        if (index <= 0) {
+            return T2.of(empty(), this);
+        } else if (index >= size) {
+            return T2.of(this, empty());
+        } else if (index <= left.size) {
+            T2<Node<E>, Node<E>> pair = left.splitAt(ord, index);
+            return T2.of(pair._1().turnB_(), join(ord, element, pair._2(), right).turnB_());
+        } else {
+            T2<Node<E>, Node<E>> pair = right.splitAt(ord, index - left.size - 1);
+            return T2.of(join(ord, element, left, pair._1()).turnB_(), pair._2().turnB_());
+        }
     }
 
     public Node<E> insert(Ord<? super E> ord, E element) {
@@ -387,16 +488,20 @@ public abstract class Node<E> {
         throw new AssertionError("deleteEQ");
     }
 
-    private static <E> Node<E> join(Ord<? super E> ord, E element, Node<E> t1, Node<E> t2) {
+    private static <E> Node<E> join(Ord<? super E> ord, E element, Node<E> left, Node<E> right) {
+        //the heights of red and black roots are not comparable
+        Node<E> t1 = left.turnB_();
+        Node<E> t2 = right.turnB_();
         if (t1.isEmpty()) {
             return t2.insert(ord, element);
         } else if (t2.isEmpty()) {
             return t1.insert(ord, element);
         }
-        return INTEGER_ORD.cmp(t1.bHeight, t2.bHeight)
+        Node<E> result = INTEGER_ORD.cmp(t1.bHeight, t2.bHeight)
                 .caseLT(() -> joinLT(element, t1, t2))
                 .caseEQ(() -> black(t1.bHeight + 1, element, t1, t2))
                 .caseGT(() -> joinGT(element, t1, t2));
+        return result.turnB_();
     }
 
     private static <E> Node<E> joinLT(E element, Node<E> t1, Node<E> t2) {
@@ -500,6 +605,122 @@ public abstract class Node<E> {
                 difference(ord, splitted._2(), t2.right));
     }
 
+    /**
+     * A spliterator over the elements in order, which splits along the tree structure.
+     */
+    public Spliterator<E> spliterator(Comparator<? super E> comparator) {
+        @SuppressWarnings("unchecked")
+        TreeSpliterator<E> result = new TreeSpliterator<>(comparator, new Node[2 * bHeight + 2], 0, size);
+        result.pushLeftSpine(this);
+        return result;
+    }
+
+    //every node on the stack stands for its element followed by its right sub-tree, starting from the top
+    private static final class TreeSpliterator<E> implements Spliterator<E> {
+        private final Comparator<? super E> comparator;
+        private Node<E>[] stack;
+        private int depth;
+        private int size;
+
+        private TreeSpliterator(Comparator<? super E> comparator, Node<E>[] stack, int depth, int size) {
+            this.comparator = comparator;
+            this.stack = stack;
+            this.depth = depth;
+            this.size = size;
+        }
+
+        private void pushLeftSpine(Node<E> node) {
+            for (; !node.isEmpty(); node = node.left) {
+                if (depth == stack.length) {
+                    stack = Arrays.copyOf(stack, 2 * depth + 2);
+                }
+                stack[depth++] = node;
+            }
+        }
+
+        private Node<E> pop() {
+            Node<E> node = stack[--depth];
+            stack[depth] = null;
+            return node;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super E> action) {
+            if (depth == 0) {
+                return false;
+            }
+            Node<E> node = pop();
+            pushLeftSpine(node.right);
+            size--;
+            action.accept(node.element);
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super E> action) {
+            while (depth > 0) {
+                Node<E> node = pop();
+                action.accept(node.element);
+                inorder(node.right, action);
+            }
+            size = 0;
+        }
+
+        private static <E> void inorder(Node<E> node, Consumer<? super E> action) {
+            if (!node.isEmpty()) {
+                inorder(node.left, action);
+                action.accept(node.element);
+                inorder(node.right, action);
+            }
+        }
+
+        //splits off a prefix ending with the element of the lowest node on the stack having a right sub-tree,
+        //this spliterator keeps that sub-tree and the single elements below the node
+        @Override
+        public Spliterator<E> trySplit() {
+            if (size < 2) {
+                return null;
+            }
+            int index = 0;
+            while (index < depth && stack[index].right.isEmpty()) {
+                index++;
+            }
+            if (index == depth) {
+                //only single elements are left
+                int half = depth / 2;
+                Node<E>[] prefix = Arrays.copyOfRange(stack, half, depth);
+                Arrays.fill(stack, half, depth, null);
+                depth = half;
+                size = half;
+                return new TreeSpliterator<>(comparator, prefix, prefix.length, prefix.length);
+            }
+            Node<E> node = stack[index];
+            Node<E>[] prefix = Arrays.copyOfRange(stack, index, depth);
+            prefix[0] = singleton(node.element);
+            TreeSpliterator<E> result = new TreeSpliterator<>(comparator, prefix, depth - index, size - index - node.right.size);
+            Arrays.fill(stack, index, depth, null);
+            depth = index;
+            size = index + node.right.size;
+            pushLeftSpine(node.right);
+            return result;
+        }
+
+        @Override
+        public long estimateSize() {
+            return size;
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | SORTED | DISTINCT | SIZED | SUBSIZED | IMMUTABLE;
+        }
+
+        @Override
+        public Comparator<? super E> getComparator() {
+            return comparator;
+        }
+    }
+
     @Override
     public String toString() {
         return isEmpty() ? "LEAF" :
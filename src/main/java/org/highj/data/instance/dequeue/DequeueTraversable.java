@@ -6,7 +6,10 @@ import org.highj.data.Dequeue;
 import org.highj.typeclass1.foldable.Traversable;
 import org.highj.typeclass1.monad.Applicative;
 
+import java.util.Iterator;
+import java.util.function.BiFunction;
 import java.util.function.Function;
+import java.util.function.Predicate;
 
 import static org.highj.Hkt.asDequeue;
 import static org.highj.data.Dequeue.µ;
@@ -37,4 +40,27 @@ public interface DequeueTraversable extends Traversable<µ>, DequeueFunctor {
                                 asDequeue(es).pushFront(e), fn.apply(a)), bs),
                 applicative.pure(emptyB));
     }
+
+    @Override
+    default <A, B> A foldlStrict(BiFunction<A, B, A> fn, A a, __<µ, B> bs) {
+        A result = a;
+        for (B b : asDequeue(bs)) {
+            result = fn.apply(result, b);
+        }
+        return result;
+    }
+
+    @Override
+    default <A, B> A foldWhile(BiFunction<A, B, A> fn, A a, Predicate<? super A> condition, __<µ, B> bs) {
+        A result = a;
+        for (Iterator<B> it = asDequeue(bs).iterator(); it.hasNext() && condition.test(result); ) {
+            result = fn.apply(result, it.next());
+        }
+        return result;
+    }
+
+    @Override
+    default <A> int length(__<µ, A> nestedA) {
+        return asDequeue(nestedA).size();
+    }
 }
@@ -0,0 +1,87 @@
+package org.highj.data.instance.hashmap;
+
+import org.derive4j.hkt.__;
+import org.highj.data.HashMap;
+import org.highj.data.tuple.T2;
+import org.highj.typeclass0.group.Monoid;
+import org.highj.typeclass1.foldable.ParallelFunctor;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import static org.highj.Hkt.asHashMap;
+
+/**
+ * Folds and maps the values of a {@link HashMap}, in its iteration order. The map is split along its trie.
+ *
+ * @param <K> the key type
+ */
+public interface HashMapParallelFunctor<K> extends ParallelFunctor<__<HashMap.µ, K>> {
+
+    @Override
+    default <A, B> HashMap<K, B> map(Function<A, B> fn, __<__<HashMap.µ, K>, A> nestedA) {
+        return asHashMap(nestedA).mapValues(fn);
+    }
+
+    @Override
+    default <A, B> B foldMap(Monoid<B> mb, Function<A, B> fn, __<__<HashMap.µ, K>, A> nestedA) {
+        B result = mb.identity();
+        for (A a : asHashMap(nestedA).values()) {
+            result = mb.apply(result, fn.apply(a));
+        }
+        return result;
+    }
+
+    @Override
+    default <A, B> B foldr(Function<A, Function<B, B>> fn, B b, __<__<HashMap.µ, K>, A> as) {
+        java.util.List<A> values = new ArrayList<>();
+        asHashMap(as).values().forEach(values::add);
+        B result = b;
+        for (int i = values.size() - 1; i >= 0; i--) {
+            result = fn.apply(values.get(i)).apply(result);
+        }
+        return result;
+    }
+
+    @Override
+    default <A> int size(__<__<HashMap.µ, K>, A> nestedA) {
+        return asHashMap(nestedA).size();
+    }
+
+    @Override
+    default <A> T2<__<__<HashMap.µ, K>, A>, __<__<HashMap.µ, K>, A>> split(__<__<HashMap.µ, K>, A> nestedA) {
+        T2<HashMap<K, A>, HashMap<K, A>> halves = asHashMap(nestedA).split();
+        return T2.of(halves._1(), halves._2());
+    }
+
+    @Override
+    default <A> HashMap<K, A> concat(__<__<HashMap.µ, K>, A> first, __<__<HashMap.µ, K>, A> second) {
+        return asHashMap(first).union(asHashMap(second));
+    }
+
+    @Override
+    default <A, B> A foldlStrict(BiFunction<A, B, A> fn, A a, __<__<HashMap.µ, K>, B> bs) {
+        A result = a;
+        for (B b : asHashMap(bs).values()) {
+            result = fn.apply(result, b);
+        }
+        return result;
+    }
+
+    @Override
+    default <A, B> A foldWhile(BiFunction<A, B, A> fn, A a, Predicate<? super A> condition, __<__<HashMap.µ, K>, B> bs) {
+        A result = a;
+        for (Iterator<B> it = asHashMap(bs).values().iterator(); it.hasNext() && condition.test(result); ) {
+            result = fn.apply(result, it.next());
+        }
+        return result;
+    }
+
+    @Override
+    default <A> int length(__<__<HashMap.µ, K>, A> nestedA) {
+        return asHashMap(nestedA).size();
+    }
+}
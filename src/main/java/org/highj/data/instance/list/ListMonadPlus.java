@@ -5,7 +5,6 @@ import org.highj.data.Either;
 import org.highj.data.List;
 import org.highj.typeclass1.monad.MonadPlus;
 import org.highj.typeclass1.monad.MonadRec;
-import org.highj.util.Mutable;
 
 import java.util.Stack;
 import java.util.function.Function;
@@ -58,18 +57,24 @@ public interface ListMonadPlus extends ListFunctor, MonadPlus<List.µ>, MonadRec
 
     @Override
     default <A, B> List<B> tailRec(Function<A, __<List.µ, Either<A, B>>> function, A startValue) {
+        //concatMap is lazy, so the expansion steps are done eagerly via a stack
         List<Either<A, B>> step = List.of(Either.Left(startValue));
-        Mutable<Boolean> hasChanged = Mutable.newMutable();
+        boolean hasChanged;
         do {
-            hasChanged.set(false);
-            step = step.concatMap(e -> e.either(
-                    left -> {
-                        hasChanged.set(true);
-                        return asList(function.apply(left));
-                    },
-                    right -> List.of(e)
-            ));
-        } while (hasChanged.get());
+            hasChanged = false;
+            Stack<Either<A, B>> stack = new Stack<>();
+            for (Either<A, B> e : step) {
+                if (e.isLeft()) {
+                    hasChanged = true;
+                    for (Either<A, B> next : asList(function.apply(e.getLeft()))) {
+                        stack.push(next);
+                    }
+                } else {
+                    stack.push(e);
+                }
+            }
+            step = List.buildFromStack(stack);
+        } while (hasChanged);
         return Either.rights(step);
     }
 }
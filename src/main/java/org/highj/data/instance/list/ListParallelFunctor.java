@@ -0,0 +1,49 @@
+package org.highj.data.instance.list;
+
+import org.derive4j.hkt.__;
+import org.highj.data.List;
+import org.highj.data.Vector;
+import org.highj.data.tuple.T2;
+import org.highj.typeclass0.group.Monoid;
+import org.highj.typeclass1.foldable.ParallelFunctor;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+
+import static org.highj.Hkt.asList;
+import static org.highj.Hkt.asVector;
+import static org.highj.data.List.µ;
+
+/**
+ * As a {@link List} can be neither measured nor split in constant time, the parallel operations copy
+ * the list into a {@link Vector} first, and work on that.
+ */
+public interface ListParallelFunctor extends ListTraversable, ParallelFunctor<µ> {
+
+    @Override
+    default <A> int size(__<µ, A> nestedA) {
+        return asList(nestedA).size();
+    }
+
+    @Override
+    default <A> T2<__<µ, A>, __<µ, A>> split(__<µ, A> nestedA) {
+        List<A> list = asList(nestedA);
+        int half = list.size() / 2;
+        return T2.of(list.take(half), list.drop(half));
+    }
+
+    @Override
+    default <A> List<A> concat(__<µ, A> first, __<µ, A> second) {
+        return List.append(asList(first), asList(second));
+    }
+
+    @Override
+    default <A, B> B parFoldMap(ForkJoinPool pool, int threshold, Monoid<B> mb, Function<A, B> fn, __<µ, A> nestedA) {
+        return Vector.parallelFunctor.parFoldMap(pool, threshold, mb, fn, Vector.fromList(asList(nestedA)));
+    }
+
+    @Override
+    default <A, B> List<B> parMap(ForkJoinPool pool, int threshold, Function<A, B> fn, __<µ, A> nestedA) {
+        return asVector(Vector.parallelFunctor.parMap(pool, threshold, fn, Vector.fromList(asList(nestedA)))).toList();
+    }
+}
@@ -5,7 +5,10 @@ import org.highj.data.List;
 import org.highj.typeclass1.foldable.Traversable;
 import org.highj.typeclass1.monad.Applicative;
 
+import java.util.Iterator;
+import java.util.function.BiFunction;
 import java.util.function.Function;
+import java.util.function.Predicate;
 
 import static org.highj.Hkt.asList;
 import static org.highj.data.List.*;
@@ -40,4 +43,27 @@ public interface ListTraversable extends ListFunctor, Traversable<µ> {
             return applicative.ap(mapF, bs);
         }, applicative.pure(emptyB));
     }
+
+    @Override
+    default <A, B> A foldlStrict(BiFunction<A, B, A> fn, A a, __<µ, B> bs) {
+        A result = a;
+        for (B b : asList(bs)) {
+            result = fn.apply(result, b);
+        }
+        return result;
+    }
+
+    @Override
+    default <A, B> A foldWhile(BiFunction<A, B, A> fn, A a, Predicate<? super A> condition, __<µ, B> bs) {
+        A result = a;
+        for (Iterator<B> it = asList(bs).iterator(); it.hasNext() && condition.test(result); ) {
+            result = fn.apply(result, it.next());
+        }
+        return result;
+    }
+
+    @Override
+    default <A> int length(__<µ, A> nestedA) {
+        return asList(nestedA).size();
+    }
 }
@@ -0,0 +1,16 @@
+package org.highj.data.instance.longmap;
+
+import org.derive4j.hkt.__;
+import org.highj.data.LongMap;
+import org.highj.typeclass1.functor.Functor;
+
+import java.util.function.Function;
+
+import static org.highj.Hkt.asLongMap;
+
+public interface LongMapFunctor extends Functor<LongMap.µ> {
+    @Override
+    default <A, B> LongMap<B> map(Function<A, B> fn, __<LongMap.µ, A> nestedA) {
+        return asLongMap(nestedA).mapValues(fn);
+    }
+}
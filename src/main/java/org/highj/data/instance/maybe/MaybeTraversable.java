@@ -7,7 +7,9 @@ import org.highj.typeclass0.group.Monoid;
 import org.highj.typeclass1.foldable.Traversable;
 import org.highj.typeclass1.monad.Applicative;
 
+import java.util.function.BiFunction;
 import java.util.function.Function;
+import java.util.function.Predicate;
 
 import static org.highj.Hkt.asMaybe;
 import static org.highj.data.Maybe.µ;
@@ -30,6 +32,26 @@ public interface MaybeTraversable extends MaybeFunctor, Traversable<µ> {
         return asMaybe(bs).cata(a, b -> fn.apply(a).apply(b));
     }
 
+    @Override
+    default <A, B> A foldlStrict(BiFunction<A, B, A> fn, A a, __<µ, B> bs) {
+        return asMaybe(bs).cata(a, b -> fn.apply(a, b));
+    }
+
+    @Override
+    default <A, B> A foldWhile(BiFunction<A, B, A> fn, A a, Predicate<? super A> condition, __<µ, B> bs) {
+        return condition.test(a) ? foldlStrict(fn, a, bs) : a;
+    }
+
+    @Override
+    default <A> Maybe<A> find(Predicate<? super A> predicate, __<µ, A> nestedA) {
+        return asMaybe(nestedA).filter(predicate);
+    }
+
+    @Override
+    default <A> int length(__<µ, A> nestedA) {
+        return asMaybe(nestedA).isJust() ? 1 : 0;
+    }
+
     @Override
     default <A, B> Maybe<B> map(Function<A, B> fn, __<µ, A> nestedA){
         return MaybeFunctor.super.map(fn, nestedA);
@@ -0,0 +1,16 @@
+package org.highj.data.instance.seq;
+
+import org.derive4j.hkt.__;
+import org.highj.data.Seq;
+import org.highj.typeclass1.functor.Functor;
+
+import java.util.function.Function;
+
+import static org.highj.Hkt.asSeq;
+
+public interface SeqFunctor extends Functor<Seq.µ> {
+    @Override
+    default <A, B> Seq<B> map(final Function<A, B> fn, __<Seq.µ, A> nestedA) {
+        return asSeq(nestedA).map(fn);
+    }
+}
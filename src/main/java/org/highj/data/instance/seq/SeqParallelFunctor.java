@@ -0,0 +1,29 @@
+package org.highj.data.instance.seq;
+
+import org.derive4j.hkt.__;
+import org.highj.data.Seq;
+import org.highj.data.tuple.T2;
+import org.highj.typeclass1.foldable.ParallelFunctor;
+
+import static org.highj.Hkt.asSeq;
+import static org.highj.data.Seq.µ;
+
+public interface SeqParallelFunctor extends SeqTraversable, ParallelFunctor<µ> {
+
+    @Override
+    default <A> int size(__<µ, A> nestedA) {
+        return asSeq(nestedA).size();
+    }
+
+    @Override
+    default <A> T2<__<µ, A>, __<µ, A>> split(__<µ, A> nestedA) {
+        Seq<A> seq = asSeq(nestedA);
+        T2<Seq<A>, Seq<A>> halves = seq.splitAt(seq.size() / 2);
+        return T2.of(halves._1(), halves._2());
+    }
+
+    @Override
+    default <A> Seq<A> concat(__<µ, A> first, __<µ, A> second) {
+        return asSeq(first).concat(asSeq(second));
+    }
+}
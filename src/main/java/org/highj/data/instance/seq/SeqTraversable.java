@@ -0,0 +1,66 @@
+package org.highj.data.instance.seq;
+
+import org.derive4j.hkt.__;
+import org.highj.Hkt;
+import org.highj.data.Seq;
+import org.highj.typeclass1.foldable.Traversable;
+import org.highj.typeclass1.monad.Applicative;
+
+import java.util.Iterator;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import static org.highj.Hkt.asSeq;
+import static org.highj.data.Seq.µ;
+
+public interface SeqTraversable extends Traversable<µ>, SeqFunctor {
+
+    default <A, B> A foldl(Function<A, Function<B, A>> fn, A a, __<µ, B> bs) {
+        return asSeq(bs).foldl(a, (x,y) -> fn.apply(x).apply(y));
+    }
+
+    default <A, B> B foldr(Function<A, Function<B, B>> fn, B b, __<µ, A> as) {
+        return asSeq(as).foldr((x,y) -> fn.apply(x).apply(y), b);
+    }
+
+    @Override
+    default <A, B> Seq<B> map(Function<A, B> fn, __<µ, A> as) {
+        return SeqFunctor.super.map(fn, as);
+    }
+
+    @Override
+    default <A, B, X> __<X, __<µ, B>> traverse(Applicative<X> applicative, Function<A, __<X, B>> fn, __<µ, A> traversable) {
+        //traverse f = Prelude.foldr cons_f (pure [])
+        //  where cons_f x ys = (:) <$> f x <*> ys
+        Seq<A> seqA = asSeq(traversable);
+        __<µ, B> emptyB = Seq.empty();
+        return seqA.foldr((a, bs) ->
+                        applicative.ap(applicative.map(e -> es ->
+                                asSeq(es).cons(e), fn.apply(a)), bs),
+                applicative.pure(emptyB));
+    }
+
+    @Override
+    default <A, B> A foldlStrict(BiFunction<A, B, A> fn, A a, __<µ, B> bs) {
+        A result = a;
+        for (B b : asSeq(bs)) {
+            result = fn.apply(result, b);
+        }
+        return result;
+    }
+
+    @Override
+    default <A, B> A foldWhile(BiFunction<A, B, A> fn, A a, Predicate<? super A> condition, __<µ, B> bs) {
+        A result = a;
+        for (Iterator<B> it = asSeq(bs).iterator(); it.hasNext() && condition.test(result); ) {
+            result = fn.apply(result, it.next());
+        }
+        return result;
+    }
+
+    @Override
+    default <A> int length(__<µ, A> nestedA) {
+        return asSeq(nestedA).size();
+    }
+}
@@ -31,7 +31,7 @@ public interface SetMonadPlus extends SetFunctor, MonadPlus<Set.µ>, MonadRec<Se
 
     @Override
     default <A> Set<A> mplus(__<Set.µ, A> one, __<Set.µ, A> two) {
-        return asSet(one).plus(asSet(two));
+        return asSet(one).union(asSet(two));
     }
 
     @Override
@@ -0,0 +1,81 @@
+package org.highj.data.instance.treemap;
+
+import org.derive4j.hkt.__;
+import org.highj.data.TreeMap;
+import org.highj.data.tuple.T2;
+import org.highj.typeclass0.group.Monoid;
+import org.highj.typeclass1.foldable.ParallelFunctor;
+
+import java.util.Iterator;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import static org.highj.Hkt.asTreeMap;
+
+/**
+ * Folds and maps the values of a {@link TreeMap}, in the order of their keys.
+ *
+ * @param <K> the key type
+ */
+public interface TreeMapParallelFunctor<K> extends ParallelFunctor<__<TreeMap.µ, K>> {
+
+    @Override
+    default <A, B> TreeMap<K, B> map(Function<A, B> fn, __<__<TreeMap.µ, K>, A> nestedA) {
+        return asTreeMap(nestedA).mapValues(fn);
+    }
+
+    @Override
+    default <A, B> B foldMap(Monoid<B> mb, Function<A, B> fn, __<__<TreeMap.µ, K>, A> nestedA) {
+        B result = mb.identity();
+        for (T2<K, A> entry : asTreeMap(nestedA)) {
+            result = mb.apply(result, fn.apply(entry._2()));
+        }
+        return result;
+    }
+
+    @Override
+    default <A, B> B foldr(Function<A, Function<B, B>> fn, B b, __<__<TreeMap.µ, K>, A> as) {
+        return asTreeMap(as).toValues().foldr((x, y) -> fn.apply(x).apply(y), b);
+    }
+
+    @Override
+    default <A> int size(__<__<TreeMap.µ, K>, A> nestedA) {
+        return asTreeMap(nestedA).size();
+    }
+
+    @Override
+    default <A> T2<__<__<TreeMap.µ, K>, A>, __<__<TreeMap.µ, K>, A>> split(__<__<TreeMap.µ, K>, A> nestedA) {
+        TreeMap<K, A> map = asTreeMap(nestedA);
+        T2<TreeMap<K, A>, TreeMap<K, A>> halves = map.splitAt(map.size() / 2);
+        return T2.of(halves._1(), halves._2());
+    }
+
+    @Override
+    default <A> TreeMap<K, A> concat(__<__<TreeMap.µ, K>, A> first, __<__<TreeMap.µ, K>, A> second) {
+        return TreeMap.union((x, y) -> x, asTreeMap(first), asTreeMap(second));
+    }
+
+    @Override
+    default <A, B> A foldlStrict(BiFunction<A, B, A> fn, A a, __<__<TreeMap.µ, K>, B> bs) {
+        A result = a;
+        for (T2<K, B> entry : asTreeMap(bs)) {
+            result = fn.apply(result, entry._2());
+        }
+        return result;
+    }
+
+    @Override
+    default <A, B> A foldWhile(BiFunction<A, B, A> fn, A a, Predicate<? super A> condition, __<__<TreeMap.µ, K>, B> bs) {
+        A result = a;
+        for (Iterator<T2<K, B>> it = asTreeMap(bs).iterator(); it.hasNext() && condition.test(result); ) {
+            result = fn.apply(result, it.next()._2());
+        }
+        return result;
+    }
+
+    @Override
+    default <A> int length(__<__<TreeMap.µ, K>, A> nestedA) {
+        return asTreeMap(nestedA).size();
+    }
+}
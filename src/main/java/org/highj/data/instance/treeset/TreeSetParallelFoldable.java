@@ -0,0 +1,67 @@
+package org.highj.data.instance.treeset;
+
+import org.derive4j.hkt.__;
+import org.highj.data.TreeSet;
+import org.highj.data.tuple.T2;
+import org.highj.typeclass0.group.Monoid;
+import org.highj.typeclass1.foldable.ParallelFoldable;
+
+import java.util.Iterator;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import static org.highj.Hkt.asTreeSet;
+import static org.highj.data.TreeSet.µ;
+
+public interface TreeSetParallelFoldable extends ParallelFoldable<µ> {
+
+    @Override
+    default <A, B> B foldMap(Monoid<B> mb, Function<A, B> fn, __<µ, A> nestedA) {
+        B result = mb.identity();
+        for (A a : asTreeSet(nestedA)) {
+            result = mb.apply(result, fn.apply(a));
+        }
+        return result;
+    }
+
+    @Override
+    default <A, B> B foldr(Function<A, Function<B, B>> fn, B b, __<µ, A> as) {
+        return asTreeSet(as).toList().foldr((x, y) -> fn.apply(x).apply(y), b);
+    }
+
+    @Override
+    default <A> int size(__<µ, A> nestedA) {
+        return asTreeSet(nestedA).size();
+    }
+
+    @Override
+    default <A> T2<__<µ, A>, __<µ, A>> split(__<µ, A> nestedA) {
+        TreeSet<A> set = asTreeSet(nestedA);
+        T2<TreeSet<A>, TreeSet<A>> halves = set.splitAt(set.size() / 2);
+        return T2.of(halves._1(), halves._2());
+    }
+
+    @Override
+    default <A, B> A foldlStrict(BiFunction<A, B, A> fn, A a, __<µ, B> bs) {
+        A result = a;
+        for (B b : asTreeSet(bs)) {
+            result = fn.apply(result, b);
+        }
+        return result;
+    }
+
+    @Override
+    default <A, B> A foldWhile(BiFunction<A, B, A> fn, A a, Predicate<? super A> condition, __<µ, B> bs) {
+        A result = a;
+        for (Iterator<B> it = asTreeSet(bs).iterator(); it.hasNext() && condition.test(result); ) {
+            result = fn.apply(result, it.next());
+        }
+        return result;
+    }
+
+    @Override
+    default <A> int length(__<µ, A> nestedA) {
+        return asTreeSet(nestedA).size();
+    }
+}
@@ -0,0 +1,16 @@
+package org.highj.data.instance.vector;
+
+import org.derive4j.hkt.__;
+import org.highj.data.Vector;
+import org.highj.typeclass1.functor.Functor;
+
+import java.util.function.Function;
+
+import static org.highj.Hkt.asVector;
+
+public interface VectorFunctor extends Functor<Vector.µ> {
+    @Override
+    default <A, B> Vector<B> map(final Function<A, B> fn, __<Vector.µ, A> nestedA) {
+        return asVector(nestedA).map(fn);
+    }
+}
@@ -0,0 +1,38 @@
+package org.highj.data.instance.vector;
+
+import org.derive4j.hkt.__;
+import org.highj.data.Vector;
+import org.highj.typeclass1.monad.MonadPlus;
+
+import java.util.function.Function;
+
+import static org.highj.Hkt.asVector;
+
+public interface VectorMonadPlus extends VectorFunctor, MonadPlus<Vector.µ> {
+
+    @Override
+    default <A> Vector<A> pure(A a) {
+        return Vector.of(a);
+    }
+
+    @Override
+    default <A, B> Vector<B> ap(__<Vector.µ, Function<A, B>> fn, __<Vector.µ, A> nestedA) {
+        Vector<A> vectorA = asVector(nestedA);
+        return asVector(fn).concatMap(f -> vectorA.map(f));
+    }
+
+    @Override
+    default <A, B> Vector<B> bind(__<Vector.µ, A> nestedA, Function<A, __<Vector.µ, B>> fn) {
+        return asVector(nestedA).concatMap(a -> asVector(fn.apply(a)));
+    }
+
+    @Override
+    default <A> Vector<A> mzero() {
+        return Vector.empty();
+    }
+
+    @Override
+    default <A> Vector<A> mplus(__<Vector.µ, A> one, __<Vector.µ, A> two) {
+        return asVector(one).concat(asVector(two));
+    }
+}
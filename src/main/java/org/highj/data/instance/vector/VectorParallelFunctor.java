@@ -0,0 +1,29 @@
+package org.highj.data.instance.vector;
+
+import org.derive4j.hkt.__;
+import org.highj.data.Vector;
+import org.highj.data.tuple.T2;
+import org.highj.typeclass1.foldable.ParallelFunctor;
+
+import static org.highj.Hkt.asVector;
+import static org.highj.data.Vector.µ;
+
+public interface VectorParallelFunctor extends VectorTraversable, ParallelFunctor<µ> {
+
+    @Override
+    default <A> int size(__<µ, A> nestedA) {
+        return asVector(nestedA).size();
+    }
+
+    @Override
+    default <A> T2<__<µ, A>, __<µ, A>> split(__<µ, A> nestedA) {
+        Vector<A> vector = asVector(nestedA);
+        int half = vector.size() / 2;
+        return T2.of(vector.take(half), vector.drop(half));
+    }
+
+    @Override
+    default <A> Vector<A> concat(__<µ, A> first, __<µ, A> second) {
+        return asVector(first).concat(asVector(second));
+    }
+}
@@ -0,0 +1,65 @@
+package org.highj.data.instance.vector;
+
+import org.derive4j.hkt.__;
+import org.highj.data.Vector;
+import org.highj.typeclass1.foldable.Traversable;
+import org.highj.typeclass1.monad.Applicative;
+
+import java.util.Iterator;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import static org.highj.Hkt.asVector;
+import static org.highj.data.Vector.µ;
+
+public interface VectorTraversable extends Traversable<µ>, VectorFunctor {
+
+    @Override
+    default <A, B> Vector<B> map(Function<A, B> fn, __<µ, A> as) {
+        return VectorFunctor.super.map(fn, as);
+    }
+
+    @Override
+    default <A, B> B foldr(Function<A, Function<B, B>> fn, B b, __<µ, A> as) {
+        return asVector(as).foldr((x, y) -> fn.apply(x).apply(y), b);
+    }
+
+    @Override
+    default <A, B> A foldl(Function<A, Function<B, A>> fn, A a, __<µ, B> bs) {
+        return asVector(bs).foldl(a, (x, y) -> fn.apply(x).apply(y));
+    }
+
+    @Override
+    default <A, B, X> __<X, __<µ, B>> traverse(Applicative<X> applicative, Function<A, __<X, B>> fn, __<µ, A> traversable) {
+        //appending at the end is cheap, so the effects are combined from left to right
+        __<X, __<µ, B>> result = applicative.pure(Vector.empty());
+        for (A a : asVector(traversable)) {
+            result = applicative.ap(applicative.map(bs -> b -> asVector(bs).append(b), result), fn.apply(a));
+        }
+        return result;
+    }
+
+    @Override
+    default <A, B> A foldlStrict(BiFunction<A, B, A> fn, A a, __<µ, B> bs) {
+        A result = a;
+        for (B b : asVector(bs)) {
+            result = fn.apply(result, b);
+        }
+        return result;
+    }
+
+    @Override
+    default <A, B> A foldWhile(BiFunction<A, B, A> fn, A a, Predicate<? super A> condition, __<µ, B> bs) {
+        A result = a;
+        for (Iterator<B> it = asVector(bs).iterator(); it.hasNext() && condition.test(result); ) {
+            result = fn.apply(result, it.next());
+        }
+        return result;
+    }
+
+    @Override
+    default <A> int length(__<µ, A> nestedA) {
+        return asVector(nestedA).size();
+    }
+}
@@ -0,0 +1,45 @@
+package org.highj.data.stateful.fiber;
+
+import org.highj.data.Either;
+import org.highj.data.Maybe;
+import org.highj.data.stateful.AsyncIO;
+import org.highj.data.stateful.SafeIO;
+import org.highj.data.tuple.T0;
+
+import java.io.IOException;
+
+/**
+ * A handle to an {@link AsyncIO} computation running concurrently on a {@link FiberRuntime}.
+ * <p>
+ * Fibers don't block threads while waiting: {@link #join()} registers a continuation, which is
+ * resumed on the runtime's executor when the fiber completes.
+ *
+ * @param <A> the result type
+ */
+public interface Fiber<A> {
+
+    /**
+     * Waits for the result of the fiber, without blocking a thread.
+     * If the fiber failed or was cancelled, the returned computation fails with the same exception.
+     *
+     * @return the result of the fiber
+     */
+    AsyncIO<A> join();
+
+    /**
+     * Cancels the fiber. Joining fibers see an {@link java.io.InterruptedIOException} immediately,
+     * and the computation is dropped at its next suspension point provided by the {@link FiberRuntime}
+     * (like {@link FiberRuntime#yieldNow()}, {@link FiberRuntime#sleep} or {@link #join()}).
+     * Cancelling a completed fiber has no effect.
+     *
+     * @return the cancellation, which completes immediately
+     */
+    AsyncIO<T0> cancel();
+
+    /**
+     * Retrieves the result of the fiber, if it is already done.
+     *
+     * @return the result, or Nothing if the fiber is still running
+     */
+    SafeIO<Maybe<Either<IOException, A>>> poll();
+}
@@ -0,0 +1,153 @@
+package org.highj.data.stateful.fiber;
+
+import org.highj.data.Either;
+import org.highj.data.List;
+import org.highj.data.Maybe;
+import org.highj.data.stateful.AsyncIO;
+import org.highj.data.stateful.SafeIO;
+import org.highj.data.tuple.T0;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+final class FiberImpl<A> implements Fiber<A> {
+
+    //the fiber whose code is currently executed by a thread of the runtime
+    static final ThreadLocal<FiberImpl<?>> CURRENT = new ThreadLocal<>();
+
+    private final FiberRuntime runtime;
+    private final AsyncIO<A> io;
+    //the waiting callbacks while the fiber is running, the result when it is done
+    private final AtomicReference<Object> state = new AtomicReference<>(List.empty());
+    private volatile boolean cancelled;
+    //the finalizers of the resources the fiber holds, in the order of acquisition
+    private final ConcurrentLinkedDeque<Runnable> finalizers = new ConcurrentLinkedDeque<>();
+
+    FiberImpl(FiberRuntime runtime, AsyncIO<A> io) {
+        this.runtime = runtime;
+        this.io = io;
+    }
+
+    //the fiber running on this thread; the asynchronous operations can only resume a known fiber
+    static FiberImpl<?> current() {
+        FiberImpl<?> fiber = CURRENT.get();
+        if (fiber == null) {
+            throw new IllegalStateException("not running in a fiber of a FiberRuntime");
+        }
+        return fiber;
+    }
+
+    FiberRuntime runtime() {
+        return runtime;
+    }
+
+    void start() {
+        runtime.dispatch(this, () -> {
+            Maybe<Either<IOException, A>> immediate = io.toIO(result -> () -> {
+                complete(result);
+                return T0.of();
+            }).run();
+            for (Either<IOException, A> result : immediate) {
+                complete(result);
+            }
+        });
+    }
+
+    boolean isCancelled() {
+        return cancelled;
+    }
+
+    @SuppressWarnings("unchecked")
+    boolean complete(Either<IOException, A> result) {
+        while (true) {
+            Object current = state.get();
+            if (current instanceof Either) {
+                return false;
+            }
+            if (state.compareAndSet(current, result)) {
+                for (Consumer<Either<IOException, A>> callback : ((List<Consumer<Either<IOException, A>>>) current).reverse()) {
+                    callback.accept(result);
+                }
+                return true;
+            }
+        }
+    }
+
+    //calls the callback with the result, immediately if the fiber is already done
+    @SuppressWarnings("unchecked")
+    void onComplete(Consumer<Either<IOException, A>> callback) {
+        while (true) {
+            Object current = state.get();
+            if (current instanceof Either) {
+                callback.accept((Either<IOException, A>) current);
+                return;
+            }
+            if (state.compareAndSet(current, ((List<Consumer<Either<IOException, A>>>) current).plus(callback))) {
+                return;
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    Maybe<Either<IOException, A>> result() {
+        Object current = state.get();
+        return current instanceof Either ? Maybe.Just((Either<IOException, A>) current) : Maybe.Nothing();
+    }
+
+    void addFinalizer(Runnable finalizer) {
+        finalizers.addLast(finalizer);
+        if (cancelled) {
+            runFinalizers();
+        }
+    }
+
+    void removeFinalizer(Runnable finalizer) {
+        finalizers.removeLastOccurrence(finalizer);
+    }
+
+    //outer resources first, e.g. closing a channel before releasing the buffer of its pending operation
+    void runFinalizers() {
+        for (Runnable finalizer = finalizers.pollFirst(); finalizer != null; finalizer = finalizers.pollFirst()) {
+            finalizer.run();
+        }
+    }
+
+    void fail(IOException exception) {
+        complete(Either.Left(exception));
+    }
+
+    void cancelNow() {
+        cancelled = true;
+        fail(new InterruptedIOException("fiber cancelled"));
+        runFinalizers();
+    }
+
+    @Override
+    public AsyncIO<A> join() {
+        return handler -> () -> {
+            Maybe<Either<IOException, A>> result = result();
+            if (result.isJust()) {
+                return result;
+            }
+            FiberImpl<?> joiner = current();
+            onComplete(r -> runtime.dispatch(joiner, () -> handler.apply(r).run()));
+            return Maybe.Nothing();
+        };
+    }
+
+    @Override
+    public AsyncIO<T0> cancel() {
+        return handler -> () -> {
+            cancelNow();
+            return Maybe.Just(Either.Right(T0.of()));
+        };
+    }
+
+    @Override
+    public SafeIO<Maybe<Either<IOException, A>>> poll() {
+        return this::result;
+    }
+}
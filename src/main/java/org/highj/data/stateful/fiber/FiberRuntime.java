@@ -0,0 +1,379 @@
+package org.highj.data.stateful.fiber;
+
+import org.highj.data.Either;
+import org.highj.data.List;
+import org.highj.data.Maybe;
+import org.highj.data.stateful.AsyncIO;
+import org.highj.data.stateful.SafeIO;
+import org.highj.data.tuple.T0;
+import org.highj.data.tuple.T2;
+import org.highj.function.F1;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import static org.highj.Hkt.asAsyncIO;
+
+/**
+ * Runs {@link AsyncIO} computations as lightweight {@link Fiber}s on an {@link Executor}.
+ * <p>
+ * A fiber occupies a thread only while it is computing. At asynchronous boundaries (joining another fiber,
+ * sleeping, yielding or waiting for a callback registered with {@link #async}) the continuation is stored,
+ * and later resubmitted to the executor, so a few threads can serve tens of thousands of concurrent fibers.
+ * By default, the fibers run on a work-stealing {@link ForkJoinPool} in FIFO mode, but any executor can be used,
+ * e.g. one starting a virtual thread per task on JVMs supporting them.
+ * <p>
+ * The asynchronous operations of the runtime can only be run by a fiber, and fail with an
+ * {@link IllegalStateException} on any other thread.
+ * <p>
+ * The runtime should be closed when it isn't needed any more, which stops its timer thread and its default pool.
+ */
+public final class FiberRuntime implements AutoCloseable {
+
+    private final Executor executor;
+    private final boolean ownsExecutor;
+    private final ScheduledExecutorService timer;
+
+    /**
+     * Creates a runtime with its own {@link ForkJoinPool}, using one thread per available processor.
+     */
+    public FiberRuntime() {
+        this(new ForkJoinPool(Runtime.getRuntime().availableProcessors(),
+                ForkJoinPool.defaultForkJoinWorkerThreadFactory, null, true), true);
+    }
+
+    /**
+     * Creates a runtime running its fibers on the given executor, which isn't shut down when the runtime is closed.
+     *
+     * @param executor the executor
+     */
+    public FiberRuntime(Executor executor) {
+        this(executor, false);
+    }
+
+    private FiberRuntime(Executor executor, boolean ownsExecutor) {
+        this.executor = executor;
+        this.ownsExecutor = ownsExecutor;
+        ScheduledThreadPoolExecutor timer = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "fiber-timer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        timer.setRemoveOnCancelPolicy(true);
+        this.timer = timer;
+    }
+
+    /**
+     * Starts a fiber running the computation concurrently.
+     *
+     * @param io  the computation
+     * @param <A> the result type
+     * @return the computation returning the fiber immediately
+     */
+    public <A> AsyncIO<Fiber<A>> fork(AsyncIO<A> io) {
+        return handler -> () -> Maybe.Just(Either.Right(start(io)));
+    }
+
+    /**
+     * Gives up the current thread, and continues on the executor after the already waiting tasks.
+     * Long-running computations should yield from time to time, so other fibers get a chance to run.
+     * This is also a point where a cancelled fiber stops.
+     * <p>
+     * A {@link ForkJoinPool} worker runs its own queue before looking at tasks submitted from outside,
+     * so there the continuation is resubmitted from the timer thread, behind the external submissions.
+     *
+     * @return the computation
+     */
+    public AsyncIO<T0> yieldNow() {
+        return handler -> () -> {
+            FiberImpl<?> fiber = FiberImpl.current();
+            Runnable resume = () -> dispatch(fiber, () -> handler.apply(Either.Right(T0.of())).run());
+            Thread thread = Thread.currentThread();
+            if (thread instanceof ForkJoinWorkerThread && ((ForkJoinWorkerThread) thread).getPool() == executor) {
+                timer.execute(resume);
+            } else {
+                resume.run();
+            }
+            return Maybe.Nothing();
+        };
+    }
+
+    /**
+     * Suspends the current fiber for the given time, without blocking a thread.
+     *
+     * @param time the time to sleep
+     * @param unit the time unit
+     * @return the computation
+     */
+    public AsyncIO<T0> sleep(long time, TimeUnit unit) {
+        return handler -> () -> {
+            FiberImpl<?> fiber = FiberImpl.current();
+            timer.schedule(() -> dispatch(fiber, () -> handler.apply(Either.Right(T0.of())).run()), time, unit);
+            return Maybe.Nothing();
+        };
+    }
+
+    /**
+     * Lifts a callback-based operation. The registration function receives the callback, which has to be
+     * called exactly once, from any thread. The waiting fiber then continues on the executor.
+     *
+     * @param register starts the operation and registers the callback
+     * @param <A>      the result type
+     * @return the computation
+     */
+    public <A> AsyncIO<A> async(Consumer<Consumer<Either<IOException, A>>> register) {
+        return handler -> () -> suspend(FiberImpl.current(), register, handler);
+    }
+
+    /**
+     * Lifts a callback-based operation like {@link #async}, on the runtime of the fiber running the computation.
+     * This lets libraries suspend fibers without knowing their runtime.
+     *
+     * @param register starts the operation and registers the callback
+     * @param <A>      the result type
+     * @return the computation
+     */
+    public static <A> AsyncIO<A> asyncCurrent(Consumer<Consumer<Either<IOException, A>>> register) {
+        return handler -> () -> {
+            FiberImpl<?> fiber = FiberImpl.current();
+            return fiber.runtime().suspend(fiber, register, handler);
+        };
+    }
+
+    /**
+     * Runs the finalizer if the fiber running the computation is cancelled before the computation completes.
+     * A cancelled fiber doesn't continue, so this is the only chance to release the resources it holds.
+     * The finalizer may run on any thread, and outside a fiber it is never run.
+     *
+     * @param io        the computation
+     * @param finalizer the finalizer
+     * @param <A>       the result type
+     * @return the computation with the finalizer
+     */
+    public static <A> AsyncIO<A> onCancel(AsyncIO<A> io, Runnable finalizer) {
+        return handler -> () -> {
+            FiberImpl<?> fiber = FiberImpl.CURRENT.get();
+            if (fiber == null) {
+                return io.toIO(handler).run();
+            }
+            fiber.addFinalizer(finalizer);
+            Maybe<Either<IOException, A>> immediate = io.toIO(result -> () -> {
+                fiber.removeFinalizer(finalizer);
+                return handler.apply(result).run();
+            }).run();
+            if (immediate.isJust()) {
+                fiber.removeFinalizer(finalizer);
+            }
+            return immediate;
+        };
+    }
+
+    /**
+     * Runs both computations concurrently, and returns the result of the one completing first, successfully or not.
+     * The other one is cancelled.
+     *
+     * @param left  the first computation
+     * @param right the second computation
+     * @param <A>   the result type of the first computation
+     * @param <B>   the result type of the second computation
+     * @return the computation returning the first result
+     */
+    public <A, B> AsyncIO<Either<A, B>> race(AsyncIO<A> left, AsyncIO<B> right) {
+        return handler -> () -> {
+            FiberImpl<?> fiber = FiberImpl.current();
+            FiberImpl<A> leftFiber = start(left);
+            FiberImpl<B> rightFiber = start(right);
+            AtomicBoolean decided = new AtomicBoolean();
+            leftFiber.onComplete(result -> {
+                if (decided.compareAndSet(false, true)) {
+                    rightFiber.cancelNow();
+                    dispatch(fiber, () -> handler.apply(result.rightMap(Either::<A, B>Left)).run());
+                }
+            });
+            rightFiber.onComplete(result -> {
+                if (decided.compareAndSet(false, true)) {
+                    leftFiber.cancelNow();
+                    dispatch(fiber, () -> handler.apply(result.rightMap(Either::<A, B>Right)).run());
+                }
+            });
+            return Maybe.Nothing();
+        };
+    }
+
+    /**
+     * Runs the computation, and fails with an {@link InterruptedIOException} if it doesn't complete in time.
+     * In that case, the computation is cancelled.
+     *
+     * @param io   the computation
+     * @param time the maximal time to wait
+     * @param unit the time unit
+     * @param <A>  the result type
+     * @return the computation with a time limit
+     */
+    public <A> AsyncIO<A> timeout(AsyncIO<A> io, long time, TimeUnit unit) {
+        return asAsyncIO(AsyncIO.bind.bind(race(io, sleep(time, unit)), result -> result.either(
+                AsyncIO.applicative::pure,
+                elapsed -> failed(new InterruptedIOException("timed out after " + time + " " + unit)))));
+    }
+
+    /**
+     * Runs both computations concurrently, and waits for both results.
+     *
+     * @param left  the first computation
+     * @param right the second computation
+     * @param <A>   the result type of the first computation
+     * @param <B>   the result type of the second computation
+     * @return the computation returning both results
+     */
+    public <A, B> AsyncIO<T2<A, B>> par(AsyncIO<A> left, AsyncIO<B> right) {
+        return asAsyncIO(AsyncIO.bind.bind(fork(right), rightFiber ->
+                AsyncIO.bind.bind(left, a ->
+                        AsyncIO.functor.map(b -> T2.of(a, b), rightFiber.join()))));
+    }
+
+    /**
+     * Runs the computations for all elements concurrently, and collects the results in the order of the list.
+     * When one of the computations fails, the others are cancelled, and the whole computation fails.
+     *
+     * @param fn   the function creating the computations
+     * @param list the elements
+     * @param <A>  the element type
+     * @param <B>  the result type
+     * @return the computation returning the list of results
+     */
+    @SuppressWarnings("unchecked")
+    public <A, B> AsyncIO<List<B>> parTraverse(Function<A, AsyncIO<B>> fn, List<A> list) {
+        return handler -> () -> {
+            int size = list.size();
+            if (size == 0) {
+                return Maybe.Just(Either.Right(List.empty()));
+            }
+            FiberImpl<?> fiber = FiberImpl.current();
+            Object[] results = new Object[size];
+            AtomicInteger remaining = new AtomicInteger(size);
+            AtomicBoolean failed = new AtomicBoolean();
+            AtomicReference<List<FiberImpl<B>>> started = new AtomicReference<>(List.empty());
+            int index = 0;
+            for (A a : list) {
+                int position = index++;
+                FiberImpl<B> child = new FiberImpl<>(this, fn.apply(a));
+                started.updateAndGet(children -> children.plus(child));
+                child.onComplete(result -> result.either(
+                        exception -> {
+                            if (failed.compareAndSet(false, true)) {
+                                started.get().forEach(FiberImpl::cancelNow);
+                                dispatch(fiber, () -> handler.apply(Either.Left(exception)).run());
+                            }
+                            return T0.of();
+                        },
+                        b -> {
+                            results[position] = b;
+                            if (remaining.decrementAndGet() == 0 && !failed.get()) {
+                                List<B> resultList = List.empty();
+                                for (int i = size - 1; i >= 0; i--) {
+                                    resultList = resultList.plus((B) results[i]);
+                                }
+                                List<B> finalList = resultList;
+                                dispatch(fiber, () -> handler.apply(Either.Right(finalList)).run());
+                            }
+                            return T0.of();
+                        }));
+            }
+            started.get().forEach(FiberImpl::start);
+            return Maybe.Nothing();
+        };
+    }
+
+    /**
+     * Starts a fiber running the computation, and blocks the calling thread until it is done.
+     * This is meant as the entry point from ordinary code, and must not be called from within a fiber.
+     *
+     * @param io  the computation
+     * @param <A> the result type
+     * @return the result
+     * @throws IOException if the computation failed
+     */
+    public <A> A runSync(AsyncIO<A> io) throws IOException {
+        FiberImpl<A> fiber = start(io);
+        CountDownLatch latch = new CountDownLatch(1);
+        fiber.onComplete(result -> latch.countDown());
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            fiber.cancelNow();
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("interrupted while waiting for fiber");
+        }
+        Either<IOException, A> result = fiber.result().get();
+        if (result.isLeft()) {
+            throw result.getLeft();
+        }
+        return result.getRight();
+    }
+
+    /**
+     * Stops the timer, and shuts down the executor if it was created by the runtime.
+     */
+    @Override
+    public void close() {
+        timer.shutdownNow();
+        if (ownsExecutor) {
+            ((ExecutorService) executor).shutdownNow();
+        }
+    }
+
+    <A> FiberImpl<A> start(AsyncIO<A> io) {
+        FiberImpl<A> fiber = new FiberImpl<>(this, io);
+        fiber.start();
+        return fiber;
+    }
+
+    //runs the task on behalf of the fiber, unless it was cancelled; failures complete the fiber
+    void dispatch(FiberImpl<?> fiber, Runnable task) {
+        executor.execute(() -> {
+            if (fiber.isCancelled()) {
+                //finalizers registered by a step still running when the fiber was cancelled
+                fiber.runFinalizers();
+                return;
+            }
+            FiberImpl<?> previous = FiberImpl.CURRENT.get();
+            FiberImpl.CURRENT.set(fiber);
+            try {
+                task.run();
+            } catch (RuntimeException | StackOverflowError e) {
+                fiber.fail(new IOException(e));
+            } finally {
+                FiberImpl.CURRENT.set(previous);
+            }
+        });
+    }
+
+    //registers the callback, which resumes the fiber on the executor, at most once
+    private <A> Maybe<Either<IOException, A>> suspend(FiberImpl<?> fiber, Consumer<Consumer<Either<IOException, A>>> register,
+                                                      F1<Either<IOException, A>, SafeIO<T0>> handler) {
+        AtomicBoolean called = new AtomicBoolean();
+        register.accept(result -> {
+            if (called.compareAndSet(false, true)) {
+                dispatch(fiber, () -> handler.apply(result).run());
+            }
+        });
+        return Maybe.Nothing();
+    }
+
+    private static <A> AsyncIO<A> failed(IOException exception) {
+        return handler -> () -> Maybe.Just(Either.Left(exception));
+    }
+}
@@ -6,6 +6,6 @@ import org.highj.typeclass1.monad.Applicative;
 public interface IOApplicative extends IOApply, Applicative<IO.µ> {
     @Override
     default <A> IO<A> pure(A a) {
-        return () -> a;
+        return IOTrampoline.pure(a);
     }
 }
@@ -11,9 +11,7 @@ import static org.highj.Hkt.asIO;
 public interface IOApply extends IOFunctor, Apply<IO.µ> {
     @Override
     default <A, B> IO<B> ap(__<IO.µ, Function<A, B>> fn, __<IO.µ, A> nestedA) {
-        return () -> {
-            Function<A,B> fn2 = asIO(fn).run(); // <-- this side effect 1st.
-            return fn2.apply(asIO(nestedA).run()); // <-- this side effect 2nd.
-        };
+        //the side effect of fn comes 1st, the one of nestedA 2nd
+        return IOTrampoline.flatMap(asIO(fn), fn2 -> IOTrampoline.map(asIO(nestedA), fn2));
     }
 }
@@ -11,6 +11,6 @@ import static org.highj.Hkt.asIO;
 public interface IOBind extends IOApply, Bind<IO.µ> {
     @Override
     default <A, B> IO<B> bind(__<IO.µ, A> nestedA, Function<A, __<IO.µ, B>> fn){
-        return () -> asIO(fn.apply(asIO(nestedA).run())).run();
+        return IOTrampoline.flatMap(asIO(nestedA), fn);
     }
 }
@@ -11,6 +11,6 @@ import static org.highj.Hkt.asIO;
 public interface IOFunctor extends Functor<IO.µ> {
     @Override
     default <A, B> IO<B> map(Function<A, B> fn, __<IO.µ, A> nestedA) {
-        return () -> fn.apply(asIO(nestedA).run());
+        return IOTrampoline.map(asIO(nestedA), fn);
     }
 }
@@ -0,0 +1,107 @@
+package org.highj.data.stateful.io;
+
+import org.derive4j.hkt.__;
+import org.highj.data.stateful.IO;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.function.Function;
+
+import static org.highj.Hkt.asIO;
+
+/**
+ * Reified {@link IO} steps, which are run in a loop with an explicit continuation stack.
+ * <p>
+ * {@link #map} and {@link #flatMap} only record the step, so arbitrarily deep chains of binds, nested
+ * to the left or to the right, run in constant JVM stack. Any other {@link IO} is treated as a suspended
+ * side effect, and simply run when it is reached.
+ */
+public final class IOTrampoline {
+
+    private IOTrampoline() {
+    }
+
+    public static <A> IO<A> pure(A a) {
+        return new Pure<>(a);
+    }
+
+    public static <A, B> IO<B> map(IO<A> source, Function<A, B> fn) {
+        return new Mapped<>(source, fn);
+    }
+
+    public static <A, B> IO<B> flatMap(IO<A> source, Function<A, __<IO.µ, B>> fn) {
+        return new FlatMapped<>(source, fn);
+    }
+
+    private static final class Pure<A> implements IO<A> {
+        private final A value;
+
+        private Pure(A value) {
+            this.value = value;
+        }
+
+        @Override
+        public A run() {
+            return value;
+        }
+    }
+
+    private static final class Mapped<A, B> implements IO<B> {
+        private final IO<A> source;
+        private final Function<A, B> fn;
+
+        private Mapped(IO<A> source, Function<A, B> fn) {
+            this.source = source;
+            this.fn = fn;
+        }
+
+        @Override
+        public B run() throws IOException {
+            return IOTrampoline.run(this);
+        }
+    }
+
+    private static final class FlatMapped<A, B> implements IO<B> {
+        private final IO<A> source;
+        private final Function<A, __<IO.µ, B>> fn;
+
+        private FlatMapped(IO<A> source, Function<A, __<IO.µ, B>> fn) {
+            this.source = source;
+            this.fn = fn;
+        }
+
+        @Override
+        public B run() throws IOException {
+            return IOTrampoline.run(this);
+        }
+    }
+
+    //the stack holds the Mapped and FlatMapped steps whose source is currently evaluated
+    @SuppressWarnings("unchecked")
+    private static <A> A run(IO<A> io) throws IOException {
+        ArrayDeque<IO<?>> continuations = new ArrayDeque<>();
+        IO<?> current = io;
+        while (true) {
+            if (current instanceof FlatMapped) {
+                continuations.push(current);
+                current = ((FlatMapped<?, ?>) current).source;
+            } else if (current instanceof Mapped) {
+                continuations.push(current);
+                current = ((Mapped<?, ?>) current).source;
+            } else {
+                Object value = current.run();
+                current = null;
+                while (current == null) {
+                    IO<?> step = continuations.poll();
+                    if (step == null) {
+                        return (A) value;
+                    } else if (step instanceof Mapped) {
+                        value = ((Mapped<Object, ?>) step).fn.apply(value);
+                    } else {
+                        current = asIO(((FlatMapped<Object, ?>) step).fn.apply(value));
+                    }
+                }
+            }
+        }
+    }
+}
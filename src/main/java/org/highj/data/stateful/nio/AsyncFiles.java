@@ -0,0 +1,110 @@
+package org.highj.data.stateful.nio;
+
+import org.highj.data.Either;
+import org.highj.data.stateful.AsyncIO;
+import org.highj.data.tuple.T0;
+import org.highj.data.tuple.T2;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.AsynchronousFileChannel;
+import java.nio.file.OpenOption;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static org.highj.Hkt.asAsyncIO;
+
+/**
+ * {@link AsyncIO} actions over {@link AsynchronousFileChannel}s.
+ */
+public final class AsyncFiles {
+
+    private AsyncFiles() {
+    }
+
+    public static AsyncIO<AsynchronousFileChannel> open(Path path, OpenOption... options) {
+        return Completions.sync(() -> AsynchronousFileChannel.open(path, options));
+    }
+
+    public static AsyncIO<Long> size(AsynchronousFileChannel channel) {
+        return Completions.sync(channel::size);
+    }
+
+    /**
+     * Reads bytes into the buffer, starting at the given file position.
+     *
+     * @param channel  the channel
+     * @param buffer   the buffer
+     * @param position the file position
+     * @return the number of bytes read, or -1 at the end of the file
+     */
+    public static AsyncIO<Integer> read(AsynchronousFileChannel channel, ByteBuffer buffer, long position) {
+        return Completions.async(handler -> channel.read(buffer, position, null, handler));
+    }
+
+    /**
+     * Writes bytes from the buffer, starting at the given file position.
+     *
+     * @param channel  the channel
+     * @param buffer   the buffer
+     * @param position the file position
+     * @return the number of bytes written, which may be less than the remaining bytes of the buffer
+     */
+    public static AsyncIO<Integer> write(AsynchronousFileChannel channel, ByteBuffer buffer, long position) {
+        return Completions.async(handler -> channel.write(buffer, position, null, handler));
+    }
+
+    /**
+     * Writes all remaining bytes of the buffer, starting at the given file position.
+     *
+     * @param channel  the channel
+     * @param buffer   the buffer
+     * @param position the file position
+     * @return the computation
+     */
+    public static AsyncIO<T0> writeFully(AsynchronousFileChannel channel, ByteBuffer buffer, long position) {
+        return asAsyncIO(AsyncIO.monadRec.<Long, T0>tailRec(pos -> AsyncIO.functor.map(
+                written -> buffer.hasRemaining() ? Either.<Long, T0>Left(pos + written) : Either.<Long, T0>Right(T0.of()),
+                write(channel, buffer, pos)), position));
+    }
+
+    /**
+     * Reads the whole file, using buffers from the pool.
+     *
+     * @param path the file
+     * @param pool the buffer pool
+     * @return the content of the file
+     */
+    public static AsyncIO<byte[]> readAllBytes(Path path, BufferPool pool) {
+        return asAsyncIO(AsyncIO.bind.bind(open(path, StandardOpenOption.READ), channel ->
+                Completions.guarantee(pool.withBuffer(buffer ->
+                        asAsyncIO(AsyncIO.monadRec.<T2<Long, ByteArrayOutputStream>, byte[]>tailRec(state -> {
+                            buffer.clear();
+                            return AsyncIO.functor.map(read -> {
+                                if (read < 0) {
+                                    return Either.Right(state._2().toByteArray());
+                                }
+                                buffer.flip();
+                                byte[] chunk = new byte[buffer.remaining()];
+                                buffer.get(chunk);
+                                state._2().write(chunk, 0, chunk.length);
+                                return Either.Left(T2.of(state._1() + read, state._2()));
+                            }, read(channel, buffer, state._1()));
+                        }, T2.of(0L, new ByteArrayOutputStream())))),
+                        () -> Completions.closeQuietly(channel))));
+    }
+
+    /**
+     * Writes the bytes to the file, creating or truncating it.
+     *
+     * @param path  the file
+     * @param bytes the content
+     * @return the computation
+     */
+    public static AsyncIO<T0> write(Path path, byte[] bytes) {
+        return asAsyncIO(AsyncIO.bind.bind(
+                open(path, StandardOpenOption.WRITE, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING),
+                channel -> Completions.guarantee(writeFully(channel, ByteBuffer.wrap(bytes), 0L),
+                        () -> Completions.closeQuietly(channel))));
+    }
+}
@@ -0,0 +1,116 @@
+package org.highj.data.stateful.nio;
+
+import org.highj.data.Either;
+import org.highj.data.stateful.AsyncIO;
+import org.highj.data.tuple.T0;
+
+import java.net.SocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.AsynchronousChannelGroup;
+import java.nio.channels.AsynchronousServerSocketChannel;
+import java.nio.channels.AsynchronousSocketChannel;
+import java.util.concurrent.TimeUnit;
+
+import static org.highj.Hkt.asAsyncIO;
+
+/**
+ * {@link AsyncIO} actions over {@link AsynchronousSocketChannel}s and {@link AsynchronousServerSocketChannel}s.
+ */
+public final class AsyncSockets {
+
+    private AsyncSockets() {
+    }
+
+    public static AsyncIO<AsynchronousSocketChannel> open() {
+        return Completions.sync(AsynchronousSocketChannel::open);
+    }
+
+    public static AsyncIO<AsynchronousSocketChannel> open(AsynchronousChannelGroup group) {
+        return Completions.sync(() -> AsynchronousSocketChannel.open(group));
+    }
+
+    /**
+     * Opens a server socket channel bound to the given address.
+     *
+     * @param address the local address, or null for an automatically assigned one
+     * @return the server channel
+     */
+    public static AsyncIO<AsynchronousServerSocketChannel> listen(SocketAddress address) {
+        return Completions.sync(() -> AsynchronousServerSocketChannel.open().bind(address));
+    }
+
+    public static AsyncIO<AsynchronousServerSocketChannel> listen(AsynchronousChannelGroup group, SocketAddress address) {
+        return Completions.sync(() -> AsynchronousServerSocketChannel.open(group).bind(address));
+    }
+
+    public static AsyncIO<AsynchronousSocketChannel> accept(AsynchronousServerSocketChannel server) {
+        return Completions.async(handler -> server.accept(null, handler));
+    }
+
+    public static AsyncIO<T0> connect(AsynchronousSocketChannel channel, SocketAddress remote) {
+        return asAsyncIO(AsyncIO.functor.map(ignored -> T0.of(),
+                Completions.<Void>async(handler -> channel.connect(remote, null, handler))));
+    }
+
+    /**
+     * Reads bytes into the buffer.
+     *
+     * @param channel the channel
+     * @param buffer  the buffer
+     * @return the number of bytes read, or -1 at the end of the stream
+     */
+    public static AsyncIO<Integer> read(AsynchronousSocketChannel channel, ByteBuffer buffer) {
+        return Completions.async(handler -> channel.read(buffer, null, handler));
+    }
+
+    /**
+     * Reads bytes into the buffer, failing with an {@link java.nio.channels.InterruptedByTimeoutException}
+     * if nothing arrives in time.
+     *
+     * @param channel the channel
+     * @param buffer  the buffer
+     * @param timeout the maximal time to wait
+     * @param unit    the time unit
+     * @return the number of bytes read, or -1 at the end of the stream
+     */
+    public static AsyncIO<Integer> read(AsynchronousSocketChannel channel, ByteBuffer buffer, long timeout, TimeUnit unit) {
+        return Completions.async(handler -> channel.read(buffer, timeout, unit, null, handler));
+    }
+
+    /**
+     * Writes bytes from the buffer.
+     *
+     * @param channel the channel
+     * @param buffer  the buffer
+     * @return the number of bytes written, which may be less than the remaining bytes of the buffer
+     */
+    public static AsyncIO<Integer> write(AsynchronousSocketChannel channel, ByteBuffer buffer) {
+        return Completions.async(handler -> channel.write(buffer, null, handler));
+    }
+
+    /**
+     * Writes all remaining bytes of the buffer.
+     *
+     * @param channel the channel
+     * @param buffer  the buffer
+     * @return the computation
+     */
+    public static AsyncIO<T0> writeFully(AsynchronousSocketChannel channel, ByteBuffer buffer) {
+        return asAsyncIO(AsyncIO.monadRec.<T0, T0>tailRec(unit -> AsyncIO.functor.map(
+                written -> buffer.hasRemaining() ? Either.<T0, T0>Left(unit) : Either.<T0, T0>Right(unit),
+                write(channel, buffer)), T0.of()));
+    }
+
+    /**
+     * Shuts down the output side of the connection, so the peer reads the end of the stream.
+     *
+     * @param channel the channel
+     * @return the computation
+     */
+    public static AsyncIO<T0> shutdownOutput(AsynchronousSocketChannel channel) {
+        return Completions.sync(() -> {
+            channel.shutdownOutput();
+            return T0.of();
+        });
+    }
+}
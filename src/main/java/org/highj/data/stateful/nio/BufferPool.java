@@ -0,0 +1,88 @@
+package org.highj.data.stateful.nio;
+
+import org.highj.data.stateful.AsyncIO;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * A thread-safe pool of {@link ByteBuffer}s of a fixed capacity, so the buffers of asynchronous
+ * reads and writes (especially direct ones) don't have to be allocated for every operation.
+ */
+public final class BufferPool {
+
+    private final int bufferSize;
+    private final int maxPooled;
+    private final boolean direct;
+    private final ConcurrentLinkedQueue<ByteBuffer> buffers = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pooled = new AtomicInteger();
+
+    /**
+     * Creates an empty pool.
+     *
+     * @param bufferSize the capacity of the buffers
+     * @param maxPooled  the maximal number of buffers kept for reuse
+     * @param direct     whether direct buffers should be allocated
+     */
+    public BufferPool(int bufferSize, int maxPooled, boolean direct) {
+        if (bufferSize <= 0 || maxPooled < 0) {
+            throw new IllegalArgumentException("invalid pool size");
+        }
+        this.bufferSize = bufferSize;
+        this.maxPooled = maxPooled;
+        this.direct = direct;
+    }
+
+    public int bufferSize() {
+        return bufferSize;
+    }
+
+    /**
+     * Takes a cleared buffer from the pool, or allocates a new one if the pool is empty.
+     *
+     * @return the buffer
+     */
+    public ByteBuffer acquire() {
+        ByteBuffer buffer = buffers.poll();
+        if (buffer == null) {
+            return direct ? ByteBuffer.allocateDirect(bufferSize) : ByteBuffer.allocate(bufferSize);
+        }
+        pooled.decrementAndGet();
+        buffer.clear();
+        return buffer;
+    }
+
+    /**
+     * Returns a buffer to the pool. The buffer must not be used by the caller afterwards.
+     * Buffers of a different capacity or exceeding the pool size are dropped.
+     *
+     * @param buffer the buffer
+     */
+    public void release(ByteBuffer buffer) {
+        if (buffer.capacity() != bufferSize || buffer.isDirect() != direct) {
+            return;
+        }
+        if (pooled.incrementAndGet() <= maxPooled) {
+            buffers.offer(buffer);
+        } else {
+            pooled.decrementAndGet();
+        }
+    }
+
+    /**
+     * Runs a computation with a buffer from the pool, which is released when the computation completes.
+     * The buffer must not escape the computation.
+     *
+     * @param fn  the computation using the buffer
+     * @param <A> the result type
+     * @return the computation
+     */
+    public <A> AsyncIO<A> withBuffer(Function<ByteBuffer, AsyncIO<A>> fn) {
+        return handler -> () -> {
+            ByteBuffer buffer = acquire();
+            return Completions.guarantee(fn.apply(buffer), () -> release(buffer)).toIO(handler).run();
+        };
+    }
+}
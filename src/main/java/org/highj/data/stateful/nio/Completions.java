@@ -0,0 +1,118 @@
+package org.highj.data.stateful.nio;
+
+import org.highj.data.Either;
+import org.highj.data.Maybe;
+import org.highj.data.stateful.AsyncIO;
+import org.highj.data.stateful.IO;
+import org.highj.data.stateful.fiber.FiberRuntime;
+import org.highj.data.tuple.T0;
+
+import java.io.IOException;
+import java.nio.channels.AsynchronousChannel;
+import java.nio.channels.CompletionHandler;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * Bridges between NIO2 {@link CompletionHandler}s and the handlers of {@link AsyncIO}.
+ */
+public final class Completions {
+
+    private Completions() {
+    }
+
+    /**
+     * Lifts an asynchronous NIO2 operation. The computation must be run by a fiber of a {@link FiberRuntime},
+     * which continues on its runtime when the operation completes, so it can still be cancelled, and its
+     * failures still complete it.
+     *
+     * @param operation starts the operation, reporting to the given completion handler
+     * @param <V>       the result type
+     * @return the computation
+     */
+    public static <V> AsyncIO<V> async(Consumer<CompletionHandler<V, Object>> operation) {
+        return FiberRuntime.asyncCurrent(callback -> {
+            try {
+                operation.accept(new CompletionHandler<V, Object>() {
+                    @Override
+                    public void completed(V result, Object attachment) {
+                        callback.accept(Either.Right(result));
+                    }
+
+                    @Override
+                    public void failed(Throwable exc, Object attachment) {
+                        callback.accept(Either.Left(toIOException(exc)));
+                    }
+                });
+            } catch (RuntimeException ex) {
+                //e.g. a ReadPendingException or a ClosedChannelException thrown when starting the operation
+                callback.accept(Either.Left(toIOException(ex)));
+            }
+        });
+    }
+
+    /**
+     * Lifts a synchronous operation, e.g. opening or closing a channel.
+     *
+     * @param io  the operation
+     * @param <A> the result type
+     * @return the computation, which always has an immediate result
+     */
+    public static <A> AsyncIO<A> sync(IO<A> io) {
+        return handler -> () -> Maybe.Just(io.toSafeIO().run());
+    }
+
+    /**
+     * Runs the finalizer once when the computation completes, successfully or not, or when the fiber running it
+     * is cancelled in the meantime.
+     *
+     * @param io        the computation
+     * @param finalizer the finalizer
+     * @param <A>       the result type
+     * @return the computation with the finalizer
+     */
+    public static <A> AsyncIO<A> guarantee(AsyncIO<A> io, Runnable finalizer) {
+        return handler -> () -> {
+            AtomicBoolean finalized = new AtomicBoolean();
+            Runnable once = () -> {
+                if (finalized.compareAndSet(false, true)) {
+                    finalizer.run();
+                }
+            };
+            AsyncIO<A> guarded = FiberRuntime.onCancel(io, once);
+            Maybe<Either<IOException, A>> immediate = guarded.toIO(result -> () -> {
+                once.run();
+                return handler.apply(result).run();
+            }).run();
+            if (immediate.isJust()) {
+                once.run();
+            }
+            return immediate;
+        };
+    }
+
+    static IOException toIOException(Throwable throwable) {
+        return throwable instanceof IOException ? (IOException) throwable : new IOException(throwable);
+    }
+
+    /**
+     * Closes the channel.
+     *
+     * @param channel the channel
+     * @return the computation
+     */
+    public static AsyncIO<T0> close(AsynchronousChannel channel) {
+        return sync(() -> {
+            channel.close();
+            return T0.of();
+        });
+    }
+
+    static void closeQuietly(AsynchronousChannel channel) {
+        try {
+            channel.close();
+        } catch (IOException ignored) {
+            //the result of the computation is more interesting
+        }
+    }
+}
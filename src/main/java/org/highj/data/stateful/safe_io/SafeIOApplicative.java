@@ -16,6 +16,6 @@ public interface SafeIOApplicative extends SafeIOApply, Applicative<SafeIO.µ> {
 
     @Override
     public default <A> SafeIO<A> pure(A a) {
-        return () -> a;
+        return SafeIOTrampoline.pure(a);
     }
 }
@@ -20,9 +20,7 @@ public interface SafeIOApply extends SafeIOFunctor, Apply<SafeIO.µ> {
 
     @Override
     public default <A, B> SafeIO<B> ap(__<SafeIO.µ, Function<A, B>> fn, __<SafeIO.µ, A> nestedA) {
-        return () -> {
-            Function<A,B> fn2 = asSafeIO(fn).run(); // <-- this side effect 1st
-            return fn2.apply(asSafeIO(nestedA).run()); // <-- this side effect 2nd
-        };
+        //the side effect of fn comes 1st, the one of nestedA 2nd
+        return SafeIOTrampoline.flatMap(asSafeIO(fn), fn2 -> SafeIOTrampoline.map(asSafeIO(nestedA), fn2));
     }
 }
@@ -20,6 +20,6 @@ public interface SafeIOBind extends SafeIOApply, Bind<SafeIO.µ> {
 
     @Override
     public default <A, B> SafeIO<B> bind(__<SafeIO.µ, A> nestedA, Function<A, __<SafeIO.µ, B>> fn) {
-        return () -> asSafeIO(fn.apply(asSafeIO(nestedA).run())).run();
+        return SafeIOTrampoline.flatMap(asSafeIO(nestedA), fn);
     }
 }
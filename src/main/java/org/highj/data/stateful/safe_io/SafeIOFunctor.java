@@ -20,6 +20,6 @@ public interface SafeIOFunctor extends Functor<SafeIO.µ> {
 
     @Override
     public default <A, B> SafeIO<B> map(Function<A, B> fn, __<SafeIO.µ, A> nestedA) {
-        return () -> fn.apply(asSafeIO(nestedA).run());
+        return SafeIOTrampoline.map(asSafeIO(nestedA), fn);
     }
 }
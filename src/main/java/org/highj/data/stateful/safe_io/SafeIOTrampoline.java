@@ -0,0 +1,106 @@
+package org.highj.data.stateful.safe_io;
+
+import org.derive4j.hkt.__;
+import org.highj.data.stateful.SafeIO;
+
+import java.util.ArrayDeque;
+import java.util.function.Function;
+
+import static org.highj.Hkt.asSafeIO;
+
+/**
+ * Reified {@link SafeIO} steps, which are run in a loop with an explicit continuation stack.
+ * <p>
+ * {@link #map} and {@link #flatMap} only record the step, so arbitrarily deep chains of binds, nested
+ * to the left or to the right, run in constant JVM stack. Any other {@link SafeIO} is treated as a suspended
+ * side effect, and simply run when it is reached.
+ */
+public final class SafeIOTrampoline {
+
+    private SafeIOTrampoline() {
+    }
+
+    public static <A> SafeIO<A> pure(A a) {
+        return new Pure<>(a);
+    }
+
+    public static <A, B> SafeIO<B> map(SafeIO<A> source, Function<A, B> fn) {
+        return new Mapped<>(source, fn);
+    }
+
+    public static <A, B> SafeIO<B> flatMap(SafeIO<A> source, Function<A, __<SafeIO.µ, B>> fn) {
+        return new FlatMapped<>(source, fn);
+    }
+
+    private static final class Pure<A> implements SafeIO<A> {
+        private final A value;
+
+        private Pure(A value) {
+            this.value = value;
+        }
+
+        @Override
+        public A run() {
+            return value;
+        }
+    }
+
+    private static final class Mapped<A, B> implements SafeIO<B> {
+        private final SafeIO<A> source;
+        private final Function<A, B> fn;
+
+        private Mapped(SafeIO<A> source, Function<A, B> fn) {
+            this.source = source;
+            this.fn = fn;
+        }
+
+        @Override
+        public B run() {
+            return SafeIOTrampoline.run(this);
+        }
+    }
+
+    private static final class FlatMapped<A, B> implements SafeIO<B> {
+        private final SafeIO<A> source;
+        private final Function<A, __<SafeIO.µ, B>> fn;
+
+        private FlatMapped(SafeIO<A> source, Function<A, __<SafeIO.µ, B>> fn) {
+            this.source = source;
+            this.fn = fn;
+        }
+
+        @Override
+        public B run() {
+            return SafeIOTrampoline.run(this);
+        }
+    }
+
+    //the stack holds the Mapped and FlatMapped steps whose source is currently evaluated
+    @SuppressWarnings("unchecked")
+    private static <A> A run(SafeIO<A> io) {
+        ArrayDeque<SafeIO<?>> continuations = new ArrayDeque<>();
+        SafeIO<?> current = io;
+        while (true) {
+            if (current instanceof FlatMapped) {
+                continuations.push(current);
+                current = ((FlatMapped<?, ?>) current).source;
+            } else if (current instanceof Mapped) {
+                continuations.push(current);
+                current = ((Mapped<?, ?>) current).source;
+            } else {
+                Object value = current.run();
+                current = null;
+                while (current == null) {
+                    SafeIO<?> step = continuations.poll();
+                    if (step == null) {
+                        return (A) value;
+                    } else if (step instanceof Mapped) {
+                        value = ((Mapped<Object, ?>) step).fn.apply(value);
+                    } else {
+                        current = asSafeIO(((FlatMapped<Object, ?>) step).fn.apply(value));
+                    }
+                }
+            }
+        }
+    }
+}
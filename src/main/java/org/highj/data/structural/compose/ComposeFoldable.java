@@ -6,7 +6,9 @@ import org.highj.data.structural.Compose;
 import org.highj.typeclass0.group.Monoid;
 import org.highj.typeclass1.foldable.Foldable;
 
+import java.util.function.BiFunction;
 import java.util.function.Function;
+import java.util.function.Predicate;
 
 public interface ComposeFoldable<F,G> extends Foldable<__<__<Compose.µ,F>,G>> {
 
@@ -19,4 +21,10 @@ public interface ComposeFoldable<F,G> extends Foldable<__<__<Compose.µ,F>,G>> {
         __<F, __<G, A>> fga = Hkt.asCompose(nestedA).get();
         return getF().foldMap(mb, ga -> getG().foldMap(mb, fn, ga), fga);
     }
+
+    @Override
+    default <A, B> A foldWhile(BiFunction<A, B, A> fn, A a, Predicate<? super A> condition, __<__<__<Compose.µ, F>, G>, B> nestedB) {
+        __<F, __<G, B>> fgb = Hkt.asCompose(nestedB).get();
+        return getF().foldWhile((A acc, __<G, B> gb) -> getG().foldWhile(fn, acc, condition, gb), a, condition, fgb);
+    }
 }
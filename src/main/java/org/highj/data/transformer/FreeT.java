@@ -36,15 +36,15 @@ public abstract class FreeT<F,M,A> implements __3<FreeT.µ,F,M,A> {
     
     public static class Bound<F,M,A,B> {
         private final FreeT<F,M,A> m;
-        private final F1<A,FreeT<F,M,B>> f;
+        private final Continuations<F,M,A,B> k;
         
-        private Bound(FreeT<F,M,A> m, F1<A,FreeT<F,M,B>> f) {
+        private Bound(FreeT<F,M,A> m, Continuations<F,M,A,B> k) {
             this.m = m;
-            this.f = f;
+            this.k = k;
         }
         
         public static <F,M,A,B> Bound<F,M,A,B> bound(FreeT<F,M,A> m, F1<A,FreeT<F,M,B>> f) {
-            return new Bound<>(m, f);
+            return new Bound<>(m, Continuations.of(f));
         }
         
         public FreeT<F,M,A> m() {
@@ -52,7 +52,62 @@ public abstract class FreeT<F,M,A> implements __3<FreeT.µ,F,M,A> {
         }
         
         public F1<A,FreeT<F,M,B>> f() {
-            return f;
+            return k::apply;
+        }
+    }
+
+    //type-aligned catenable queue of the continuations A -> FreeT<F,M,X1>, X1 -> FreeT<F,M,X2>, ..., Xn -> FreeT<F,M,B>
+    //appending is O(1), and applying rotates left-nested nodes until the first continuation is reached
+    private static abstract class Continuations<F,M,A,B> {
+
+        static <F,M,A,B> Continuations<F,M,A,B> of(F1<A,FreeT<F,M,B>> f) {
+            return new Leaf<>(f);
+        }
+
+        <C> Continuations<F,M,A,C> append(Continuations<F,M,B,C> that) {
+            return new Node<>(this, that);
+        }
+
+        //applies the first continuation, and binds the remaining ones to its result
+        @SuppressWarnings("unchecked")
+        FreeT<F,M,B> apply(A a) {
+            Continuations<F,M,A,B> queue = this;
+            while (queue instanceof Node && ((Node<F,M,A,?,B>) queue).left instanceof Node) {
+                queue = ((Node<F,M,A,?,B>) queue).rotate();
+            }
+            return queue instanceof Leaf
+                ? ((Leaf<F,M,A,B>) queue).f.apply(a)
+                : ((Node<F,M,A,?,B>) queue).applyFirst(a);
+        }
+    }
+
+    private static final class Leaf<F,M,A,B> extends Continuations<F,M,A,B> {
+        private final F1<A,FreeT<F,M,B>> f;
+
+        private Leaf(F1<A,FreeT<F,M,B>> f) {
+            this.f = f;
+        }
+    }
+
+    private static final class Node<F,M,A,X,B> extends Continuations<F,M,A,B> {
+        private final Continuations<F,M,A,X> left;
+        private final Continuations<F,M,X,B> right;
+
+        private Node(Continuations<F,M,A,X> left, Continuations<F,M,X,B> right) {
+            this.left = left;
+            this.right = right;
+        }
+
+        //(l1 ++ l2) ++ r -> l1 ++ (l2 ++ r)
+        @SuppressWarnings("unchecked")
+        private Continuations<F,M,A,B> rotate() {
+            Node<F,M,A,Object,X> l = (Node<F,M,A,Object,X>) left;
+            return new Node<>(l.left, new Node<>(l.right, right));
+        }
+
+        @SuppressWarnings("unchecked")
+        private FreeT<F,M,B> applyFirst(A a) {
+            return bindAll(((Leaf<F,M,A,X>) left).f.apply(a), right);
         }
     }
     
@@ -72,7 +127,7 @@ public abstract class FreeT<F,M,A> implements __3<FreeT.µ,F,M,A> {
         return FreeTImpl
             .<F,M,A>cases()
             .done(f)
-            .bind((Bound<F,M,?,A> bound) -> reassociateBind(bound, f))
+            .bind((Bound<F,M,?,A> bound) -> appendBound(bound, Continuations.of(f)))
             .otherwise(() -> FreeTImpl.bind(Bound.bound(m, f)))
             .apply(m);
     }
@@ -81,8 +136,16 @@ public abstract class FreeT<F,M,A> implements __3<FreeT.µ,F,M,A> {
         return FreeTImpl.suspend(a);
     }
     
-    private static <F,M,A,B,C> FreeT<F,M,C> reassociateBind(Bound<F,M,A,B> bound, F1<B,FreeT<F,M,C>> f) {
-        return suspend(() -> bind(bound.m(), (A a) -> bind(bound.f().apply(a), f)));
+    private static <F,M,A,B> FreeT<F,M,B> bindAll(FreeT<F,M,A> m, Continuations<F,M,A,B> k) {
+        return FreeTImpl
+            .<F,M,A>cases()
+            .bind((Bound<F,M,?,A> bound) -> appendBound(bound, k))
+            .otherwise(() -> FreeTImpl.bind(new Bound<>(m, k)))
+            .apply(m);
+    }
+
+    private static <F,M,A,B,C> FreeT<F,M,C> appendBound(Bound<F,M,A,B> bound, Continuations<F,M,B,C> k) {
+        return FreeTImpl.bind(new Bound<>(bound.m, bound.k.append(k)));
     }
 
     public <N> FreeT<F,N,A> hoist(NF<M,N> nm) {
@@ -110,8 +173,8 @@ public abstract class FreeT<F,M,A> implements __3<FreeT.µ,F,M,A> {
             .liftF((__<F,A> f) -> FreeT.bind(liftF(nf.apply(f)), (A a) -> bound.f().apply(a).bimap(nf, nm)))
             .liftM((__<M,A> m) -> FreeT.bind(liftM(nm.apply(m)), (A a) -> bound.f().apply(a).bimap(nf, nm)))
             .done((A a) -> bound.f().apply(a).bimap(nf, nm))
-            .bind((Bound<F,M,?,A> bound2) -> reassociateBind(bound2, bound.f()).bimap(nf, nm))
-            .suspend((Supplier<FreeT<F,M,A>> a) -> suspend(() -> bind(a.get(), bound.f()).bimap(nf, nm)))
+            .bind((Bound<F,M,?,A> bound2) -> appendBound(bound2, bound.k).bimap(nf, nm))
+            .suspend((Supplier<FreeT<F,M,A>> a) -> suspend(() -> bindAll(a.get(), bound.k).bimap(nf, nm)))
             .apply(bound.m());
     }
 
@@ -131,11 +194,11 @@ public abstract class FreeT<F,M,A> implements __3<FreeT.µ,F,M,A> {
     private static <F,M,A,B> __<M,Either<FreeT<F,M,B>,Either<B,__<F,FreeT<F,M,B>>>>> resumeBound(Monad<M> mMonad, Functor<F> fFunctor, Bound<F,M,A,B> bound) {
         return FreeTImpl
             .<F,M,A>cases()
-            .liftF((__<F, A> fa) -> mMonad.pure(Either.<FreeT<F, M, B>, Either<B, __<F, FreeT<F, M, B>>>>Right(Either.Right(fFunctor.map((A a) -> bound.f().apply(a), fa)))))
-            .liftM((__<M, A> ma) -> mMonad.map((A a) -> Either.<FreeT<F,M,B>,Either<B,__<F,FreeT<F,M,B>>>>Left(bound.f().apply(a)), ma))
-            .done((A a) -> mMonad.pure(Either.<FreeT<F, M, B>, Either<B, __<F, FreeT<F, M, B>>>>Left(bound.f().apply(a))))
-            .bind((Bound<F, M, ?, A> bound2) -> mMonad.pure(Either.Left(reassociateBind(bound2, bound.f()))))
-            .suspend((Supplier<FreeT<F,M,A>> a) -> mMonad.pure(Either.Left(bind(a.get(), bound.f()))))
+            .liftF((__<F, A> fa) -> mMonad.pure(Either.<FreeT<F, M, B>, Either<B, __<F, FreeT<F, M, B>>>>Right(Either.Right(fFunctor.map(bound.k::apply, fa)))))
+            .liftM((__<M, A> ma) -> mMonad.map((A a) -> Either.<FreeT<F,M,B>,Either<B,__<F,FreeT<F,M,B>>>>Left(bound.k.apply(a)), ma))
+            .done((A a) -> mMonad.pure(Either.<FreeT<F, M, B>, Either<B, __<F, FreeT<F, M, B>>>>Left(bound.k.apply(a))))
+            .bind((Bound<F, M, ?, A> bound2) -> mMonad.pure(Either.Left(appendBound(bound2, bound.k))))
+            .suspend((Supplier<FreeT<F,M,A>> a) -> mMonad.pure(Either.Left(bindAll(a.get(), bound.k))))
             .apply(bound.m());
     }
 
@@ -157,19 +220,19 @@ public abstract class FreeT<F,M,A> implements __3<FreeT.µ,F,M,A> {
             .<F,M,A>cases()
             .liftF((__<F, A> fa) ->
                     mMonad.map(
-                        (A a) -> Either.<FreeT<F, M, B>, B>Left(bound.f().apply(a)),
+                        (A a) -> Either.<FreeT<F, M, B>, B>Left(bound.k.apply(a)),
                         interp.apply(fa)
                     )
             )
             .liftM((__<M, A> ma) ->
                     mMonad.map(
-                        (A a) -> Either.<FreeT<F, M, B>, B>Left(bound.f().apply(a)),
+                        (A a) -> Either.<FreeT<F, M, B>, B>Left(bound.k.apply(a)),
                         ma
                     )
             )
-            .done((A a) -> mMonad.pure(Either.<FreeT<F, M, B>, B>Left(bound.f().apply(a))))
-            .bind((Bound<F, M, ?, A> bounds2) -> mMonad.pure(Either.Left(reassociateBind(bounds2, bound.f()))))
-            .suspend((Supplier<FreeT<F, M, A>> a) -> mMonad.pure(Either.<FreeT<F, M, B>, B>Left(bind(a.get(), bound.f()))))
+            .done((A a) -> mMonad.pure(Either.<FreeT<F, M, B>, B>Left(bound.k.apply(a))))
+            .bind((Bound<F, M, ?, A> bounds2) -> mMonad.pure(Either.Left(appendBound(bounds2, bound.k))))
+            .suspend((Supplier<FreeT<F, M, A>> a) -> mMonad.pure(Either.<FreeT<F, M, B>, B>Left(bindAll(a.get(), bound.k))))
             .apply(bound.m());
     }
 
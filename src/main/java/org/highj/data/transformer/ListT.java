@@ -2,7 +2,10 @@ package org.highj.data.transformer;
 
 import org.derive4j.hkt.__;
 import org.derive4j.hkt.__2;
+import org.highj.data.Either;
+import org.highj.data.List;
 import org.highj.data.Maybe;
+import org.highj.data.Memo;
 import org.highj.data.transformer.list.ListTAlt;
 import org.highj.data.transformer.list.ListTAlternative;
 import org.highj.data.transformer.list.ListTApplicative;
@@ -17,6 +20,7 @@ import org.highj.data.transformer.list.ListTMonadZero;
 import org.highj.data.transformer.list.ListTPlus;
 import org.highj.data.transformer.list.ListTUnfoldable;
 import org.highj.data.transformer.list.ListTZipApplicative;
+import org.highj.data.tuple.T0;
 import org.highj.data.tuple.T2;
 import org.highj.typeclass0.group.Monoid;
 import org.highj.typeclass0.group.Semigroup;
@@ -45,6 +49,10 @@ import java.util.function.Supplier;
  * <p>
  * Based on the ListT implementation of purescript, see
  * purescript-transformers/src/Control/Monad/List/Trans.purs
+ * <p>
+ * The tails of the steps are memoized, so a list can be traversed several times without rebuilding them.
+ * The folds taking a {@link MonadRec} instance run in constant stack, however long the list
+ * or its chains of {@link Skip} steps are.
  *
  * @param <M> nested monadic type
  * @param <A> element type
@@ -71,7 +79,7 @@ public class ListT<M, A> implements __2<ListT.µ, M, A> {
     }
 
     /**
-     * A calculation step resulting in a list head and tail.
+     * A calculation step resulting in a list head and tail. The tail is evaluated at most once.
      *
      * @param <M> nested monadic type
      * @param <A> element type
@@ -82,7 +90,7 @@ public class ListT<M, A> implements __2<ListT.µ, M, A> {
 
         private Yield(A head, Supplier<ListT<M, A>> tail) {
             this.head = head;
-            this.tail = tail;
+            this.tail = Memo.of(tail);
         }
 
         public A head() {
@@ -104,7 +112,7 @@ public class ListT<M, A> implements __2<ListT.µ, M, A> {
     }
 
     /**
-     * A calculation step resulting in a new list tail, without a head.
+     * A calculation step resulting in a new list tail, without a head. The tail is evaluated at most once.
      *
      * @param <M> nested monadic type
      * @param <A> element type
@@ -114,7 +122,7 @@ public class ListT<M, A> implements __2<ListT.µ, M, A> {
         private final Supplier<ListT<M, A>> tail;
 
         private Skip(Supplier<ListT<M, A>> tail) {
-            this.tail = tail;
+            this.tail = Memo.of(tail);
         }
 
         public Supplier<ListT<M, A>> tail() {
@@ -148,6 +156,69 @@ public class ListT<M, A> implements __2<ListT.µ, M, A> {
         }
     }
 
+    /**
+     * A calculation step resulting in several list elements at once, followed by a tail.
+     * It behaves like a {@link Yield} of its first element, whose tail holds the remaining elements
+     * without running the nested monad again. The folds taking a {@link MonadRec} instance
+     * consume all elements of the chunk in a single step.
+     *
+     * @param <M> nested monadic type
+     * @param <A> element type
+     */
+    public static final class Chunk<M, A> extends Yield<M, A> {
+        private final A[] elements;
+        private final int offset;
+        private final Supplier<ListT<M, A>> rest;
+
+        private Chunk(Applicative<M> applicative, A[] elements, int offset, Supplier<ListT<M, A>> rest) {
+            super(elements[offset], offset + 1 < elements.length
+                    ? () -> new ListT<>(applicative.pure(new Chunk<>(applicative, elements, offset + 1, rest)))
+                    : rest);
+            this.elements = elements;
+            this.offset = offset;
+            this.rest = rest;
+        }
+
+        /**
+         * The number of remaining elements in this chunk.
+         *
+         * @return the size of the chunk
+         */
+        public int size() {
+            return elements.length - offset;
+        }
+
+        /**
+         * An element of the chunk.
+         *
+         * @param index the index, starting with the head
+         * @return the element
+         */
+        public A get(int index) {
+            if (index < 0 || index >= size()) {
+                throw new IndexOutOfBoundsException("index " + index + " in chunk of size " + size());
+            }
+            return elements[offset + index];
+        }
+
+        /**
+         * The list after the last element of this chunk.
+         *
+         * @return the supplier of the remaining list
+         */
+        public Supplier<ListT<M, A>> rest() {
+            return rest;
+        }
+
+        private <B> T2<B, ListT<M, A>> foldl(BiFunction<B, A, B> fn, B b) {
+            B result = b;
+            for (int i = offset; i < elements.length; i++) {
+                result = fn.apply(result, elements[i]);
+            }
+            return T2.of(result, rest.get());
+        }
+    }
+
     /**
      * Constructs a {@link Yield} step.
      *
@@ -173,6 +244,23 @@ public class ListT<M, A> implements __2<ListT.µ, M, A> {
         return new Skip<>(supplier);
     }
 
+    /**
+     * Constructs a {@link Chunk} step, or a {@link Skip} step if there are no elements.
+     * The array is not copied, so it must not be modified afterwards.
+     *
+     * @param applicative the {@link Applicative} instance
+     * @param elements    the elements of the chunk
+     * @param supplier    tail supplier
+     * @param <M>         nested monadic type
+     * @param <A>         element type
+     * @return the {@link Chunk} step
+     */
+    public static <M, A> Step<M, A> chunk(Applicative<M> applicative, A[] elements, Supplier<ListT<M, A>> supplier) {
+        return elements.length == 0
+                ? skip(supplier)
+                : new Chunk<>(applicative, elements, 0, Memo.of(supplier));
+    }
+
     /**
      * Constructs a {@link Done} step.
      *
@@ -241,7 +329,7 @@ public class ListT<M, A> implements __2<ListT.µ, M, A> {
      * @return the prepended list
      */
     public ListT<M, A> prepend(Applicative<M> applicative, A head) {
-        return new ListT<>(applicative.pure(yield(head, () -> this)));
+        return new ListT<>(applicative.pure(yield(head, Memo.from(this))));
     }
 
     /**
@@ -380,6 +468,27 @@ public class ListT<M, A> implements __2<ListT.µ, M, A> {
                 fn.apply(z)));
     }
 
+    /**
+     * Constructs a list by iterating over a function, like {@link #unfold}, but each iteration
+     * results in an array of elements, which is stored as a single {@link Chunk} step.
+     *
+     * @param applicative the {@link Applicative} instance
+     * @param fn          the iteration function
+     * @param z           the start value
+     * @param <M>         nested monadic type
+     * @param <A>         element type
+     * @param <Z>         iterating type
+     * @return the result list
+     */
+    public static <M, A, Z> ListT<M, A> unfoldChunks(Applicative<M> applicative,
+                                                     Function<Z, __<M, Maybe<T2<Z, A[]>>>> fn, Z z) {
+        return new ListT<>(applicative.map(maybe ->
+                        maybe.<Step<M, A>> map(
+                                (T2<Z, A[]> t2) -> chunk(applicative, t2._2(), () -> unfoldChunks(applicative, fn, t2._1())))
+                                .getOrElse(() -> ListT.done()),
+                fn.apply(z)));
+    }
+
     /**
      * Constructs an infinite list by iterating over a function.
      *
@@ -524,17 +633,36 @@ public class ListT<M, A> implements __2<ListT.µ, M, A> {
      * Separates the current list in head and tail, if it is non-empty.
      * If the monadic return value contains Nothing, the list is empty.
      * Otherwise it wraps a {@link T2} containing head and tail of the list.
+     * If the instance is a {@link MonadRec}, this runs in constant stack.
      *
      * @param monad the {@link Monad} instance
      * @return maybe head and tail of the list
      */
     public __<M, Maybe<T2<A, ListT<M, A>>>> uncons(Monad<M> monad) {
+        if (monad instanceof MonadRec) {
+            return uncons((MonadRec<M>) monad);
+        }
         return monad.bind(step, s -> s.map(
                 stepYield -> monad.pure(Maybe.Just(T2.of(stepYield.head, stepYield.tail.get()))),
                 stepSkip -> stepSkip.tail.get().uncons(monad),
                 () -> monad.pure(Maybe.Nothing())));
     }
 
+    /**
+     * Separates the current list in head and tail like {@link #uncons(Monad)}, but skips
+     * over {@link Skip} steps in constant stack.
+     *
+     * @param monadRec the {@link MonadRec} instance
+     * @return maybe head and tail of the list
+     */
+    public __<M, Maybe<T2<A, ListT<M, A>>>> uncons(MonadRec<M> monadRec) {
+        return monadRec.tailRec((ListT<M, A> list) -> monadRec.map((Step<M, A> s) -> s.map(
+                stepYield -> Either.<ListT<M, A>, Maybe<T2<A, ListT<M, A>>>> Right(Maybe.Just(T2.of(stepYield.head, stepYield.tail.get()))),
+                stepSkip -> Either.<ListT<M, A>, Maybe<T2<A, ListT<M, A>>>> Left(stepSkip.tail.get()),
+                () -> Either.<ListT<M, A>, Maybe<T2<A, ListT<M, A>>>> Right(Maybe.Nothing())),
+                list.step), this);
+    }
+
     /**
      * Extracts the head of the current list, if it is non-empty.
      * If the monadic return value contains Nothing, the list is empty,
@@ -561,6 +689,7 @@ public class ListT<M, A> implements __2<ListT.µ, M, A> {
 
     /**
      * Left-folds the list with a function returning a monadic value.
+     * If the instance is a {@link MonadRec}, this runs in constant stack.
      *
      * @param monad the {@link Monad} instance
      * @param fn    folding function
@@ -569,6 +698,9 @@ public class ListT<M, A> implements __2<ListT.µ, M, A> {
      * @return the monadic result value
      */
     public <B> __<M, B> foldl_(Monad<M> monad, BiFunction<B, A, __<M, B>> fn, B b) {
+        if (monad instanceof MonadRec) {
+            return foldl_((MonadRec<M>) monad, fn, b);
+        }
         return monad.bind(uncons(monad),
                 g -> g.map(t2 -> monad.bind(fn.apply(b, t2._1()), b_ -> t2._2().foldl_(monad, fn, b_)))
                         .getOrElse(() -> monad.pure(b)));
@@ -576,6 +708,7 @@ public class ListT<M, A> implements __2<ListT.µ, M, A> {
 
     /**
      * Left-folds the list.
+     * If the instance is a {@link MonadRec}, this runs in constant stack.
      *
      * @param monad the {@link Monad} instance
      * @param fn    folding function
@@ -584,10 +717,71 @@ public class ListT<M, A> implements __2<ListT.µ, M, A> {
      * @return the monadic result value
      */
     public <B> __<M, B> foldl(Monad<M> monad, BiFunction<B, A, B> fn, B b) {
+        if (monad instanceof MonadRec) {
+            return foldl((MonadRec<M>) monad, fn, b);
+        }
         return monad.bind(uncons(monad),
                 g -> g.map(t2 -> t2._2().foldl(monad, fn, fn.apply(b, t2._1()))).getOrElse(() -> monad.pure(b)));
     }
 
+    /**
+     * Left-folds the list with a function returning a monadic value, in constant stack.
+     *
+     * @param monadRec the {@link MonadRec} instance
+     * @param fn       folding function
+     * @param b        start value
+     * @param <B>      result type
+     * @return the monadic result value
+     */
+    public <B> __<M, B> foldl_(MonadRec<M> monadRec, BiFunction<B, A, __<M, B>> fn, B b) {
+        return monadRec.tailRec((T2<B, ListT<M, A>> state) -> monadRec.bind(state._2().step, (Step<M, A> s) -> s.map(
+                stepYield -> monadRec.map(
+                        (B b_) -> Either.<T2<B, ListT<M, A>>, B> Left(T2.of(b_, stepYield.tail.get())),
+                        fn.apply(state._1(), stepYield.head)),
+                stepSkip -> monadRec.pure(Either.<T2<B, ListT<M, A>>, B> Left(T2.of(state._1(), stepSkip.tail.get()))),
+                () -> monadRec.pure(Either.<T2<B, ListT<M, A>>, B> Right(state._1())))),
+                T2.of(b, this));
+    }
+
+    /**
+     * Left-folds the list in constant stack. All elements of a {@link Chunk} are folded in a single step.
+     *
+     * @param monadRec the {@link MonadRec} instance
+     * @param fn       folding function
+     * @param b        start value
+     * @param <B>      result type
+     * @return the monadic result value
+     */
+    public <B> __<M, B> foldl(MonadRec<M> monadRec, BiFunction<B, A, B> fn, B b) {
+        return monadRec.tailRec((T2<B, ListT<M, A>> state) -> monadRec.map((Step<M, A> s) -> s.map(
+                stepYield -> Either.<T2<B, ListT<M, A>>, B> Left(stepYield instanceof Chunk
+                        ? ((Chunk<M, A>) stepYield).foldl(fn, state._1())
+                        : T2.of(fn.apply(state._1(), stepYield.head), stepYield.tail.get())),
+                stepSkip -> Either.<T2<B, ListT<M, A>>, B> Left(T2.of(state._1(), stepSkip.tail.get())),
+                () -> Either.<T2<B, ListT<M, A>>, B> Right(state._1())),
+                state._2().step), T2.of(b, this));
+    }
+
+    /**
+     * Runs the list, and collects its elements.
+     *
+     * @param monadRec the {@link MonadRec} instance
+     * @return the monadic list of all elements
+     */
+    public __<M, List<A>> runToList(MonadRec<M> monadRec) {
+        return monadRec.map(List::reverse, foldl(monadRec, List::plus, List.<A> empty()));
+    }
+
+    /**
+     * Runs the list for its effects, discarding the elements.
+     *
+     * @param monadRec the {@link MonadRec} instance
+     * @return the monadic unit value
+     */
+    public __<M, T0> drain(MonadRec<M> monadRec) {
+        return foldl(monadRec, (T0 unit, A a) -> unit, T0.of());
+    }
+
     /**
      * Left-folds the list, but collects all intermediate results in the process.
      *
@@ -1,11 +1,14 @@
 package org.highj.data.transformer.identity;
 
 import org.derive4j.hkt.__;
+import org.highj.data.Maybe;
 import org.highj.data.transformer.IdentityT;
 import org.highj.typeclass0.group.Monoid;
 import org.highj.typeclass1.foldable.Foldable;
 
+import java.util.function.BiFunction;
 import java.util.function.Function;
+import java.util.function.Predicate;
 
 import static org.highj.Hkt.asIdentityT;
 
@@ -18,4 +21,34 @@ public interface IdentityTFoldable<M> extends Foldable<__<IdentityT.µ, M>> {
         IdentityT<M, A> aId = asIdentityT(nestedA);
         return getM().foldMap(mb, fn, aId.get());
     }
+
+    @Override
+    public default <A, B> B foldr(Function<A, Function<B, B>> fn, B b, __<__<IdentityT.µ, M>, A> nestedA) {
+        return getM().foldr(fn, b, asIdentityT(nestedA).get());
+    }
+
+    @Override
+    public default <A, B> A foldl(Function<A, Function<B, A>> fn, A a, __<__<IdentityT.µ, M>, B> nestedB) {
+        return getM().foldl(fn, a, asIdentityT(nestedB).get());
+    }
+
+    @Override
+    public default <A, B> A foldlStrict(BiFunction<A, B, A> fn, A a, __<__<IdentityT.µ, M>, B> nestedB) {
+        return getM().foldlStrict(fn, a, asIdentityT(nestedB).get());
+    }
+
+    @Override
+    public default <A, B> A foldWhile(BiFunction<A, B, A> fn, A a, Predicate<? super A> condition, __<__<IdentityT.µ, M>, B> nestedB) {
+        return getM().foldWhile(fn, a, condition, asIdentityT(nestedB).get());
+    }
+
+    @Override
+    public default <A> Maybe<A> find(Predicate<? super A> predicate, __<__<IdentityT.µ, M>, A> nestedA) {
+        return getM().find(predicate, asIdentityT(nestedA).get());
+    }
+
+    @Override
+    public default <A> int length(__<__<IdentityT.µ, M>, A> nestedA) {
+        return getM().length(asIdentityT(nestedA).get());
+    }
 }
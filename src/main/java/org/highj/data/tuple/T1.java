@@ -4,6 +4,7 @@ import org.derive4j.hkt.__;
 import org.highj.data.HList;
 import org.highj.data.tuple.t1.T1Applicative;
 import org.highj.data.tuple.t1.T1Comonad;
+import org.highj.data.tuple.t1.T1Foldable;
 import org.highj.data.tuple.t1.T1Functor;
 import org.highj.data.tuple.t1.T1Monad;
 import org.highj.data.eq.Eq;
@@ -13,6 +14,7 @@ import org.highj.typeclass0.group.Group;
 import org.highj.typeclass0.group.Monoid;
 import org.highj.typeclass0.group.Semigroup;
 import org.highj.typeclass1.comonad.Comonad;
+import org.highj.typeclass1.foldable.Foldable;
 import org.highj.typeclass1.functor.Functor;
 import org.highj.typeclass1.monad.Applicative;
 import org.highj.typeclass1.monad.Monad;
@@ -217,6 +219,11 @@ public abstract class T1<A> implements __<T1.µ, A>, Supplier<A> {
      */
     public static final T1Functor functor = new T1Functor(){};
 
+    /**
+     * The {@link Foldable} instance.
+     */
+    public static final T1Foldable foldable = new T1Foldable(){};
+
     /**
      * The {@link Applicative} instance.
      */
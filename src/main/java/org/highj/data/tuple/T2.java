@@ -13,6 +13,7 @@ import org.highj.data.tuple.t2.T2Biapply;
 import org.highj.data.tuple.t2.T2Bifunctor;
 import org.highj.data.tuple.t2.T2Bind;
 import org.highj.data.tuple.t2.T2Comonad;
+import org.highj.data.tuple.t2.T2Foldable;
 import org.highj.data.tuple.t2.T2Functor;
 import org.highj.data.tuple.t2.T2Monad;
 import org.highj.data.tuple.t2.T2MonadRec;
@@ -20,6 +21,7 @@ import org.highj.typeclass0.group.Group;
 import org.highj.typeclass0.group.Monoid;
 import org.highj.typeclass0.group.Semigroup;
 import org.highj.typeclass1.comonad.Comonad;
+import org.highj.typeclass1.foldable.Foldable;
 import org.highj.typeclass1.functor.Functor;
 import org.highj.typeclass1.monad.Applicative;
 import org.highj.typeclass1.monad.Apply;
@@ -397,6 +399,17 @@ public abstract class T2<A, B> implements __2<T2.µ, A, B> {
         };
     }
 
+    /**
+     * The {@link Foldable} instance, folding over the second element.
+     *
+     * @param <M> the type of the first element
+     * @return the instance
+     */
+    public static <M> T2Foldable<M> foldable() {
+        return new T2Foldable<M>() {
+        };
+    }
+
     /**
      * The {@link Apply} instance.
      *
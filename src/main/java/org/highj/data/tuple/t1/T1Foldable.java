@@ -0,0 +1,45 @@
+package org.highj.data.tuple.t1;
+
+import org.derive4j.hkt.__;
+import org.highj.data.tuple.T1;
+import org.highj.typeclass0.group.Monoid;
+import org.highj.typeclass1.foldable.Foldable;
+
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import static org.highj.Hkt.asT1;
+
+public interface T1Foldable extends Foldable<T1.µ> {
+
+    @Override
+    default <A, B> B foldMap(Monoid<B> mb, Function<A, B> fn, __<T1.µ, A> nestedA) {
+        return fn.apply(asT1(nestedA)._1());
+    }
+
+    @Override
+    default <A, B> B foldr(Function<A, Function<B, B>> fn, B b, __<T1.µ, A> nestedA) {
+        return fn.apply(asT1(nestedA)._1()).apply(b);
+    }
+
+    @Override
+    default <A, B> A foldl(Function<A, Function<B, A>> fn, A a, __<T1.µ, B> nestedB) {
+        return fn.apply(a).apply(asT1(nestedB)._1());
+    }
+
+    @Override
+    default <A, B> A foldlStrict(BiFunction<A, B, A> fn, A a, __<T1.µ, B> nestedB) {
+        return fn.apply(a, asT1(nestedB)._1());
+    }
+
+    @Override
+    default <A, B> A foldWhile(BiFunction<A, B, A> fn, A a, Predicate<? super A> condition, __<T1.µ, B> nestedB) {
+        return condition.test(a) ? fn.apply(a, asT1(nestedB)._1()) : a;
+    }
+
+    @Override
+    default <A> int length(__<T1.µ, A> nestedA) {
+        return 1;
+    }
+}
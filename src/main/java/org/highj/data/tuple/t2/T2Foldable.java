@@ -0,0 +1,50 @@
+package org.highj.data.tuple.t2;
+
+import org.derive4j.hkt.__;
+import org.highj.data.tuple.T2;
+import org.highj.typeclass0.group.Monoid;
+import org.highj.typeclass1.foldable.Foldable;
+
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import static org.highj.Hkt.asT2;
+
+/**
+ * Folds over the second element of a pair, like Haskell's Foldable instance of ((,) a).
+ *
+ * @param <S> the type of the first element
+ */
+public interface T2Foldable<S> extends Foldable<__<T2.µ, S>> {
+
+    @Override
+    default <A, B> B foldMap(Monoid<B> mb, Function<A, B> fn, __<__<T2.µ, S>, A> nestedA) {
+        return fn.apply(asT2(nestedA)._2());
+    }
+
+    @Override
+    default <A, B> B foldr(Function<A, Function<B, B>> fn, B b, __<__<T2.µ, S>, A> nestedA) {
+        return fn.apply(asT2(nestedA)._2()).apply(b);
+    }
+
+    @Override
+    default <A, B> A foldl(Function<A, Function<B, A>> fn, A a, __<__<T2.µ, S>, B> nestedB) {
+        return fn.apply(a).apply(asT2(nestedB)._2());
+    }
+
+    @Override
+    default <A, B> A foldlStrict(BiFunction<A, B, A> fn, A a, __<__<T2.µ, S>, B> nestedB) {
+        return fn.apply(a, asT2(nestedB)._2());
+    }
+
+    @Override
+    default <A, B> A foldWhile(BiFunction<A, B, A> fn, A a, Predicate<? super A> condition, __<__<T2.µ, S>, B> nestedB) {
+        return condition.test(a) ? fn.apply(a, asT2(nestedB)._2()) : a;
+    }
+
+    @Override
+    default <A> int length(__<__<T2.µ, S>, A> nestedA) {
+        return 1;
+    }
+}
@@ -0,0 +1,12 @@
+package org.highj.function;
+
+/**
+ * An operation accepting an unboxed int and an object argument.
+ *
+ * @param <A> the type of the object argument
+ */
+@FunctionalInterface
+public interface IntObjConsumer<A> {
+
+    void accept(int i, A a);
+}
@@ -0,0 +1,12 @@
+package org.highj.function;
+
+/**
+ * An operation accepting an unboxed long and an object argument.
+ *
+ * @param <A> the type of the object argument
+ */
+@FunctionalInterface
+public interface LongObjConsumer<A> {
+
+    void accept(long l, A a);
+}
@@ -0,0 +1,38 @@
+package org.highj.typeclass1.foldable;
+
+import org.derive4j.hkt.__;
+import org.highj.data.tuple.T2;
+import org.highj.typeclass0.group.Monoid;
+
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Function;
+
+//forks the first part and folds the second one in the current thread
+final class FoldMapTask<F, A, B> extends RecursiveTask<B> {
+
+    private final ParallelFoldable<F> foldable;
+    private final int threshold;
+    private final Monoid<B> mb;
+    private final Function<A, B> fn;
+    private final __<F, A> nestedA;
+
+    FoldMapTask(ParallelFoldable<F> foldable, int threshold, Monoid<B> mb, Function<A, B> fn, __<F, A> nestedA) {
+        this.foldable = foldable;
+        this.threshold = threshold;
+        this.mb = mb;
+        this.fn = fn;
+        this.nestedA = nestedA;
+    }
+
+    @Override
+    protected B compute() {
+        if (foldable.size(nestedA) <= threshold) {
+            return foldable.foldMap(mb, fn, nestedA);
+        }
+        T2<__<F, A>, __<F, A>> parts = foldable.split(nestedA);
+        FoldMapTask<F, A, B> first = new FoldMapTask<>(foldable, threshold, mb, fn, parts._1());
+        first.fork();
+        B second = new FoldMapTask<>(foldable, threshold, mb, fn, parts._2()).compute();
+        return mb.apply(first.join(), second);
+    }
+}
@@ -7,7 +7,10 @@ import org.highj.function.Functions;
 import org.highj.typeclass0.group.Monoid;
 import org.highj.typeclass0.group.Semigroup;
 
+import java.util.Objects;
+import java.util.function.BiFunction;
 import java.util.function.Function;
+import java.util.function.Predicate;
 
 /**
  * The combined Foldable / Foldable1 type class.
@@ -35,13 +38,76 @@ public interface Foldable<F> {
         return foldr((B b) -> (Function<A, A> h) -> (A x) -> h.apply(fn.apply(x).apply(b)), Function.<A>identity(), bs).apply(a);
     }
 
+    /**
+     * A left fold calculating the accumulated value at every step, without building up a chain of closures
+     * (Haskell's foldl').
+     *
+     * @param fn      the combining function
+     * @param a       the start value
+     * @param bs      the structure
+     * @param <A>     the type of the accumulated value
+     * @param <B>     the element type
+     * @return the accumulated value
+     */
+    default <A, B> A foldlStrict(BiFunction<A, B, A> fn, A a, __<F, B> bs) {
+        return foldWhile(fn, a, x -> true, bs);
+    }
+
+    /**
+     * A left fold which stops as soon as the accumulated value doesn't satisfy the given condition any more.
+     * All other short-circuiting operations are based on this method, so instances should override it.
+     *
+     * @param fn        the combining function
+     * @param a         the start value
+     * @param condition the condition to continue
+     * @param bs        the structure
+     * @param <A>       the type of the accumulated value
+     * @param <B>       the element type
+     * @return the accumulated value
+     */
+    default <A, B> A foldWhile(BiFunction<A, B, A> fn, A a, Predicate<? super A> condition, __<F, B> bs) {
+        A result = a;
+        for (List<B> list = toList(bs); !list.isEmpty() && condition.test(result); list = list.tail()) {
+            result = fn.apply(result, list.head());
+        }
+        return result;
+    }
+
+    default <A> Maybe<A> find(Predicate<? super A> predicate, __<F, A> nestedA) {
+        return foldWhile((Maybe<A> found, A a) -> predicate.test(a) ? Maybe.Just(a) : found,
+                Maybe.Nothing(), Maybe::isNothing, nestedA);
+    }
+
+    default <A> boolean any(Predicate<? super A> predicate, __<F, A> nestedA) {
+        return foldWhile((Boolean found, A a) -> predicate.test(a), false, found -> !found, nestedA);
+    }
+
+    default <A> boolean all(Predicate<? super A> predicate, __<F, A> nestedA) {
+        return !any(predicate.negate(), nestedA);
+    }
+
+    default <A> boolean elem(A value, __<F, A> nestedA) {
+        return any(a -> Objects.equals(a, value), nestedA);
+    }
+
+    default <A> int length(__<F, A> nestedA) {
+        return foldlStrict((Integer n, A a) -> n + 1, 0, nestedA);
+    }
+
     default <A> A fold1(Semigroup<A> sa, __<F, A> nestedA) {
         return foldMap1(sa, Function.<A>identity(), nestedA);
     }
 
+    @SuppressWarnings("unchecked")
     default <A, B> B foldMap1(Semigroup<B> sa, Function<A, B> fn, __<F, A> nestedA) {
-        Maybe<B> result = foldMap(Maybe.<B>monoid(sa), a -> Maybe.Just(fn.apply(a)), nestedA);
-        return result.getOrException("foldMap1 on mzero data structure");
+        //a sentinel marks the missing start value, so the intermediate results don't need to be wrapped
+        Object none = new Object();
+        Object result = foldlStrict((Object acc, A a) -> acc == none ? fn.apply(a) : sa.apply((B) acc, fn.apply(a)),
+                none, nestedA);
+        if (result == none) {
+            throw new RuntimeException("foldMap1 on mzero data structure");
+        }
+        return (B) result;
     }
 
     default <A> Maybe<A> foldr1(final Function<A, Function<A, A>> fn, __<F, A> nestedA) {
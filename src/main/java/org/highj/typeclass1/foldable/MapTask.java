@@ -0,0 +1,35 @@
+package org.highj.typeclass1.foldable;
+
+import org.derive4j.hkt.__;
+import org.highj.data.tuple.T2;
+
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Function;
+
+//forks the first part and maps the second one in the current thread
+final class MapTask<F, A, B> extends RecursiveTask<__<F, B>> {
+
+    private final ParallelFunctor<F> functor;
+    private final int threshold;
+    private final Function<A, B> fn;
+    private final __<F, A> nestedA;
+
+    MapTask(ParallelFunctor<F> functor, int threshold, Function<A, B> fn, __<F, A> nestedA) {
+        this.functor = functor;
+        this.threshold = threshold;
+        this.fn = fn;
+        this.nestedA = nestedA;
+    }
+
+    @Override
+    protected __<F, B> compute() {
+        if (functor.size(nestedA) <= threshold) {
+            return functor.map(fn, nestedA);
+        }
+        T2<__<F, A>, __<F, A>> parts = functor.split(nestedA);
+        MapTask<F, A, B> first = new MapTask<>(functor, threshold, fn, parts._1());
+        first.fork();
+        __<F, B> second = new MapTask<>(functor, threshold, fn, parts._2()).compute();
+        return functor.concat(first.join(), second);
+    }
+}
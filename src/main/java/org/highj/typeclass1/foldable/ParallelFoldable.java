@@ -0,0 +1,48 @@
+package org.highj.typeclass1.foldable;
+
+import org.derive4j.hkt.__;
+import org.highj.data.tuple.T2;
+import org.highj.typeclass0.group.Monoid;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+
+/**
+ * A {@link Foldable} for structures which can be split cheaply, which allows to fold them in parallel.
+ * <p>
+ * As a {@link Monoid} is associative, the parts can be folded independently on a {@link ForkJoinPool},
+ * and their results combined in order. Parts up to a given threshold size are folded sequentially.
+ *
+ * Minimal complete definition: 'size', 'split' and the requirements of {@link Foldable}.
+ */
+public interface ParallelFoldable<F> extends Foldable<F> {
+
+    /**
+     * The default size up to which parts are folded sequentially.
+     */
+    int DEFAULT_THRESHOLD = 1024;
+
+    <A> int size(__<F, A> nestedA);
+
+    /**
+     * Splits a structure with at least two elements into two non-empty parts. Folding the first part and then
+     * the second one must visit the elements in the same order as folding the whole structure.
+     *
+     * @param nestedA the structure
+     * @param <A>     the element type
+     * @return the two parts
+     */
+    <A> T2<__<F, A>, __<F, A>> split(__<F, A> nestedA);
+
+    default <A, B> B parFoldMap(Monoid<B> mb, Function<A, B> fn, __<F, A> nestedA) {
+        return parFoldMap(ForkJoinPool.commonPool(), DEFAULT_THRESHOLD, mb, fn, nestedA);
+    }
+
+    default <A, B> B parFoldMap(ForkJoinPool pool, int threshold, Monoid<B> mb, Function<A, B> fn, __<F, A> nestedA) {
+        return pool.invoke(new FoldMapTask<>(this, Math.max(threshold, 1), mb, fn, nestedA));
+    }
+
+    default <A> A parFold(Monoid<A> ma, __<F, A> nestedA) {
+        return parFoldMap(ma, Function.<A>identity(), nestedA);
+    }
+}
@@ -0,0 +1,34 @@
+package org.highj.typeclass1.foldable;
+
+import org.derive4j.hkt.__;
+import org.highj.typeclass1.functor.Functor;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+
+/**
+ * A {@link ParallelFoldable} {@link Functor}, which can map the parts of a structure in parallel and
+ * glue the results back together.
+ *
+ * Minimal complete definition: 'concat' and the requirements of {@link ParallelFoldable} and {@link Functor}.
+ */
+public interface ParallelFunctor<F> extends ParallelFoldable<F>, Functor<F> {
+
+    /**
+     * Joins two parts created by {@link #split} (or mapped versions of them).
+     *
+     * @param first  the first part
+     * @param second the second part
+     * @param <A>    the element type
+     * @return the joined structure
+     */
+    <A> __<F, A> concat(__<F, A> first, __<F, A> second);
+
+    default <A, B> __<F, B> parMap(Function<A, B> fn, __<F, A> nestedA) {
+        return parMap(ForkJoinPool.commonPool(), DEFAULT_THRESHOLD, fn, nestedA);
+    }
+
+    default <A, B> __<F, B> parMap(ForkJoinPool pool, int threshold, Function<A, B> fn, __<F, A> nestedA) {
+        return pool.invoke(new MapTask<>(this, Math.max(threshold, 1), fn, nestedA));
+    }
+}
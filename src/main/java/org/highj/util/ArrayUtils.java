@@ -371,4 +371,65 @@ public enum ArrayUtils {
         return result;
     }
 
+    /*
+     * Copy-on-write updates, as used by the persistent collections.
+     */
+
+    public static <A> A[] copyUpdate(A[] as, int index, A a) {
+        A[] result = as.clone();
+        result[index] = a;
+        return result;
+    }
+
+    public static <A> A[] copyInsert(A[] as, int index, A a) {
+        A[] result = Arrays.copyOf(as, as.length + 1);
+        System.arraycopy(as, index, result, index + 1, as.length - index);
+        result[index] = a;
+        return result;
+    }
+
+    public static <A> A[] copyRemove(A[] as, int index) {
+        A[] result = Arrays.copyOf(as, as.length - 1);
+        System.arraycopy(as, index + 1, result, index, as.length - index - 1);
+        return result;
+    }
+
+    public static int[] copyUpdate(int[] as, int index, int a) {
+        int[] result = as.clone();
+        result[index] = a;
+        return result;
+    }
+
+    public static int[] copyInsert(int[] as, int index, int a) {
+        int[] result = Arrays.copyOf(as, as.length + 1);
+        System.arraycopy(as, index, result, index + 1, as.length - index);
+        result[index] = a;
+        return result;
+    }
+
+    public static int[] copyRemove(int[] as, int index) {
+        int[] result = Arrays.copyOf(as, as.length - 1);
+        System.arraycopy(as, index + 1, result, index, as.length - index - 1);
+        return result;
+    }
+
+    public static long[] copyUpdate(long[] as, int index, long a) {
+        long[] result = as.clone();
+        result[index] = a;
+        return result;
+    }
+
+    public static long[] copyInsert(long[] as, int index, long a) {
+        long[] result = Arrays.copyOf(as, as.length + 1);
+        System.arraycopy(as, index, result, index + 1, as.length - index);
+        result[index] = a;
+        return result;
+    }
+
+    public static long[] copyRemove(long[] as, int index) {
+        long[] result = Arrays.copyOf(as, as.length - 1);
+        System.arraycopy(as, index + 1, result, index, as.length - index - 1);
+        return result;
+    }
+
 }
@@ -0,0 +1,93 @@
+package org.highj.util;
+
+import org.highj.data.tuple.T2;
+
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+/**
+ * A {@link Spliterator} over a persistent structure with a cheap size and a cheap split operation,
+ * like the split along the trie of {@link org.highj.data.HashMap}.
+ * <p>
+ * Splitting replaces the structure by its second part, and returns a spliterator over the first one,
+ * so the encounter order is kept. Once iteration has started, the spliterator doesn't split any more.
+ *
+ * @param <S> the structure type
+ * @param <A> the element type
+ */
+public final class SplittingSpliterator<S extends Iterable<A>, A> implements Spliterator<A> {
+
+    private final ToIntFunction<S> sizeFn;
+    private final Function<S, T2<S, S>> splitFn;
+    private final int characteristics;
+    private S structure;
+    private int size;
+    private Iterator<A> iterator;
+
+    /**
+     * Creates the spliterator. It is always {@link #SIZED} and {@link #SUBSIZED}.
+     *
+     * @param structure       the structure
+     * @param sizeFn          calculates the size of a structure in constant time
+     * @param splitFn         splits a structure with at least two elements into two non-empty parts,
+     *                        which iterated one after the other yield the elements of the whole structure
+     * @param characteristics the additional characteristics
+     */
+    public SplittingSpliterator(S structure, ToIntFunction<S> sizeFn, Function<S, T2<S, S>> splitFn, int characteristics) {
+        this.sizeFn = sizeFn;
+        this.splitFn = splitFn;
+        this.characteristics = characteristics | SIZED | SUBSIZED;
+        this.structure = structure;
+        this.size = sizeFn.applyAsInt(structure);
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super A> action) {
+        if (iterator == null) {
+            iterator = structure.iterator();
+        }
+        if (!iterator.hasNext()) {
+            return false;
+        }
+        size--;
+        action.accept(iterator.next());
+        return true;
+    }
+
+    @Override
+    public void forEachRemaining(Consumer<? super A> action) {
+        if (iterator == null) {
+            //the structure may provide a faster internal iteration
+            iterator = Iterators.emptyIterator();
+            size = 0;
+            structure.forEach(action);
+        } else {
+            size = 0;
+            iterator.forEachRemaining(action);
+        }
+    }
+
+    @Override
+    public Spliterator<A> trySplit() {
+        if (iterator != null || size < 2) {
+            return null;
+        }
+        T2<S, S> parts = splitFn.apply(structure);
+        structure = parts._2();
+        size = sizeFn.applyAsInt(structure);
+        return new SplittingSpliterator<>(parts._1(), sizeFn, splitFn, characteristics);
+    }
+
+    @Override
+    public long estimateSize() {
+        return size;
+    }
+
+    @Override
+    public int characteristics() {
+        return characteristics;
+    }
+}
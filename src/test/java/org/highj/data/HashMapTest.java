@@ -2,12 +2,16 @@ package org.highj.data;
 
 import org.highj.data.tuple.T2;
 import org.junit.Test;
+import org.highj.util.SpliteratorCheck;
 
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.Random;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assert.fail;
 
 public class HashMapTest {
     @Test
@@ -42,6 +46,30 @@ public class HashMapTest {
         assertThat(count).isEqualTo(1000);
     }
 
+    @Test
+    public void testForEach() {
+        HashMap<String, Integer> m = HashMap.empty();
+        for (int i = 0; i < 1000; i++) {
+            m = m.insert(Integer.toHexString(i), i);
+        }
+        java.util.List<T2<String, Integer>> entries = new java.util.ArrayList<>();
+        m.forEach(entries::add);
+        assertThat(entries).containsExactlyElementsOf(m);
+        java.util.Map<String, Integer> jMap = new java.util.HashMap<>();
+        m.forEachEntry((k, v) -> jMap.put(k, v));
+        assertThat(jMap).hasSize(1000).containsEntry("3e7", 999);
+        assertThat(java.util.stream.StreamSupport.stream(m.spliterator(), false).count()).isEqualTo(1000);
+    }
+
+    @Test
+    public void testKeysAndValues() {
+        HashMap<String, Integer> m = HashMap.<String, Integer>empty().insert("one", 1).insert("two", 2).insert("three", 3);
+        assertThat(m.keys()).containsOnly("one", "two", "three");
+        assertThat(m.values()).containsOnly(1, 2, 3);
+        assertThat(m.keys()).containsExactlyElementsOf(List.fromIterable(m).map(T2::_1));
+        assertThat(HashMap.empty().keys()).isEmpty();
+    }
+
     @Test
     public void testSize() {
         assertThat(HashMap.empty().size()).isEqualTo(0);
@@ -101,6 +129,244 @@ public class HashMapTest {
         assertThat(map.lookup(new HashCollider("three")).get()).isEqualTo(3);
     }
 
+    @Test
+    public void testCollisionsDelete() {
+        HashMap<HashCollider, Integer> map = HashMap.<HashCollider, Integer>empty()
+                .insert(new HashCollider("one"), 1)
+                .insert(new HashCollider("two"), 2)
+                .insert(new HashCollider("three"), 3);
+        map = map.delete(new HashCollider("two")).delete(new HashCollider("four"));
+        assertThat(map.size()).isEqualTo(2);
+        assertThat(map.lookup(new HashCollider("two")).isNothing()).isTrue();
+        map = map.delete(new HashCollider("one"));
+        assertThat(map.size()).isEqualTo(1);
+        assertThat(map.lookup(new HashCollider("three")).get()).isEqualTo(3);
+        assertThat(map).containsExactly(T2.of(new HashCollider("three"), 3));
+    }
+
+    @Test
+    public void testAgainstJavaHashMap() {
+        Random random = new Random(4711);
+        HashMap<Integer, Integer> map = HashMap.empty();
+        java.util.Map<Integer, Integer> expected = new java.util.HashMap<>();
+        for (int i = 0; i < 20000; i++) {
+            //small key range to get many replacements and deletions, large multiplier to spread the hashes
+            int key = random.nextInt(2000) * 0x9E3779B9;
+            if (random.nextInt(3) == 0) {
+                map = map.delete(key);
+                expected.remove(key);
+            } else {
+                map = map.insert(key, i);
+                expected.put(key, i);
+            }
+        }
+        assertThat(map.size()).isEqualTo(expected.size());
+        java.util.Map<Integer, Integer> actual = new java.util.HashMap<>();
+        map.forEachEntry(actual::put);
+        assertThat(actual).isEqualTo(expected);
+        for (Integer key : expected.keySet()) {
+            assertThat(map.lookup(key)).isEqualTo(Maybe.Just(expected.get(key)));
+            map = map.delete(key);
+        }
+        assertThat(map.isEmpty()).isTrue();
+        assertThat(map.iterator().hasNext()).isFalse();
+    }
+
+    @Test
+    public void testUnchangedInstance() {
+        HashMap<String, Integer> map = HashMap.<String, Integer>empty().insert("one", 1).insert("two", 2);
+        assertThat(map.delete("three")).isSameAs(map);
+        assertThat(map.insert("one", map.lookup("one").get())).isSameAs(map);
+    }
+
+    @Test
+    public void testTransient() {
+        Random random = new Random(11);
+        HashMap<Integer, Integer> original = HashMap.<Integer, Integer>empty().insert(1, 1).insert(2, 2);
+        HashMap.Transient<Integer, Integer> builder = original.toTransient();
+        java.util.Map<Integer, Integer> expected = new java.util.HashMap<>();
+        expected.put(1, 1);
+        expected.put(2, 2);
+        for (int i = 0; i < 20000; i++) {
+            int key = random.nextInt(5000);
+            if (random.nextInt(4) == 0) {
+                builder.delete(key);
+                expected.remove(key);
+            } else {
+                builder.insert(key, i);
+                expected.put(key, i);
+            }
+        }
+        assertThat(builder.size()).isEqualTo(expected.size());
+        HashMap<Integer, Integer> map = builder.persistent();
+        java.util.Map<Integer, Integer> actual = new java.util.HashMap<>();
+        map.forEachEntry(actual::put);
+        assertThat(actual).isEqualTo(expected);
+        assertThat(original.size()).isEqualTo(2);
+        assertThat(original.lookup(1).get()).isEqualTo(1);
+        //persistent updates after freezing don't affect the frozen map
+        HashMap<Integer, Integer> map2 = map.insert(-1, -1).delete(map.keys().iterator().next());
+        assertThat(map.size()).isEqualTo(expected.size());
+        assertThat(map2.size()).isEqualTo(expected.size());
+        try {
+            builder.insert(1, 1);
+            fail("transient should not be usable after persistent()");
+        } catch (IllegalStateException expectedException) {
+            //expected
+        }
+    }
+
+    @Test
+    public void testFromIterableAndCollector() {
+        List<T2<String, Integer>> entries = List.range(0, 1, 999).map(i -> T2.of(Integer.toHexString(i % 500), i));
+        HashMap<String, Integer> map = HashMap.fromIterable(entries);
+        assertThat(map.size()).isEqualTo(500);
+        assertThat(map.lookup("0").get()).isEqualTo(500);
+        HashMap<String, Integer> collected = entries.toJList().stream().collect(HashMap.collector());
+        assertThat(collected.size()).isEqualTo(500);
+        assertThat(collected.lookup("1f3").get()).isEqualTo(999);
+        HashMap<Integer, Integer> parallel = java.util.stream.IntStream.range(0, 10000).boxed().parallel()
+                .map(i -> T2.of(i, -i)).collect(HashMap.collector());
+        assertThat(parallel.size()).isEqualTo(10000);
+        assertThat(parallel.lookup(4711).get()).isEqualTo(-4711);
+    }
+
+    private static HashMap<Integer, Integer> randomMap(Random random, int size, java.util.Map<Integer, Integer> expected) {
+        HashMap<Integer, Integer> map = HashMap.empty();
+        for (int i = 0; i < size; i++) {
+            int key = random.nextInt(1000) * 0x9E3779B9;
+            map = map.insert(key, i);
+            expected.put(key, i);
+        }
+        return map;
+    }
+
+    private static <K, V> java.util.Map<K, V> toJMap(HashMap<K, V> map) {
+        java.util.Map<K, V> result = new java.util.HashMap<>();
+        map.forEachEntry(result::put);
+        assertThat(result).hasSize(map.size());
+        return result;
+    }
+
+    @Test
+    public void testBulkOperations() {
+        Random random = new Random(42);
+        for (int round = 0; round < 20; round++) {
+            java.util.Map<Integer, Integer> expected1 = new java.util.HashMap<>();
+            java.util.Map<Integer, Integer> expected2 = new java.util.HashMap<>();
+            HashMap<Integer, Integer> m1 = randomMap(random, random.nextInt(600), expected1);
+            HashMap<Integer, Integer> m2 = randomMap(random, random.nextInt(600), expected2);
+
+            java.util.Map<Integer, Integer> union = new java.util.HashMap<>(expected1);
+            expected2.forEach((key, value) -> union.merge(key, value, Integer::sum));
+            assertThat(toJMap(m1.unionWith(m2, Integer::sum))).isEqualTo(union);
+
+            java.util.Map<Integer, Integer> intersection = new java.util.HashMap<>(expected1);
+            intersection.keySet().retainAll(expected2.keySet());
+            assertThat(toJMap(m1.intersection(m2))).isEqualTo(intersection);
+
+            java.util.Map<Integer, Integer> difference = new java.util.HashMap<>(expected1);
+            difference.keySet().removeAll(expected2.keySet());
+            assertThat(toJMap(m1.difference(m2))).isEqualTo(difference);
+
+            java.util.Map<Integer, Integer> even = new java.util.HashMap<>(expected1);
+            even.values().removeIf(value -> value % 2 != 0);
+            java.util.Map<Integer, Integer> odd = new java.util.HashMap<>(expected1);
+            odd.values().removeIf(value -> value % 2 == 0);
+            assertThat(toJMap(m1.filter((key, value) -> value % 2 == 0))).isEqualTo(even);
+            T2<HashMap<Integer, Integer>, HashMap<Integer, Integer>> partition = m1.partition((key, value) -> value % 2 == 0);
+            assertThat(toJMap(partition._1())).isEqualTo(even);
+            assertThat(toJMap(partition._2())).isEqualTo(odd);
+        }
+    }
+
+    @Test
+    public void testBulkOperationsShareStructure() {
+        java.util.Map<Integer, Integer> expected = new java.util.HashMap<>();
+        HashMap<Integer, Integer> map = randomMap(new Random(3), 1000, expected);
+        HashMap<Integer, Integer> smaller = map.filter((key, value) -> key % 3 != 0);
+        assertThat(smaller.size()).isLessThan(map.size());
+        assertThat(map.union(smaller)).isSameAs(map);
+        assertThat(smaller.union(map).size()).isEqualTo(map.size());
+        assertThat(map.union(HashMap.empty())).isSameAs(map);
+        assertThat(HashMap.<Integer, Integer>empty().union(map)).isSameAs(map);
+        assertThat(map.intersection(map)).isSameAs(map);
+        assertThat(map.difference(HashMap.<Integer, String>empty().insert(-1, "x"))).isSameAs(map);
+        assertThat(map.filter((key, value) -> true)).isSameAs(map);
+        assertThat(map.partition((key, value) -> false)._2()).isSameAs(map);
+        assertThat(map.difference(map).isEmpty()).isTrue();
+        assertThat(smaller.intersection(map)).isSameAs(smaller);
+    }
+
+    @Test
+    public void testSplit() {
+        java.util.Map<Integer, Integer> expected = new java.util.HashMap<>();
+        HashMap<Integer, Integer> map = randomMap(new Random(5), 3000, expected);
+        java.util.List<T2<Integer, Integer>> order = new java.util.ArrayList<>();
+        map.forEach(order::add);
+        java.util.List<T2<Integer, Integer>> splitOrder = new java.util.ArrayList<>();
+        collectSplits(map, splitOrder);
+        assertThat(splitOrder).isEqualTo(order);
+        T2<HashMap<Integer, Integer>, HashMap<Integer, Integer>> halves = map.split();
+        assertThat(halves._1().size() + halves._2().size()).isEqualTo(map.size());
+        assertThat(halves._1().union(halves._2()).size()).isEqualTo(map.size());
+        for (T2<Integer, Integer> entry : halves._2()) {
+            assertThat(halves._1().containsKey(entry._1())).isFalse();
+            assertThat(halves._2().delete(entry._1()).lookup(entry._1()).isNothing()).isTrue();
+        }
+        HashMap<HashCollider, Integer> colliding = HashMap.<HashCollider, Integer>empty()
+                .insert(new HashCollider("one"), 1)
+                .insert(new HashCollider("two"), 2)
+                .insert(new HashCollider("three"), 3);
+        java.util.List<T2<HashCollider, Integer>> collidingOrder = new java.util.ArrayList<>();
+        collectSplits(colliding, collidingOrder);
+        assertThat(collidingOrder).containsExactlyElementsOf(colliding);
+        assertThat(HashMap.empty().split()._1().isEmpty()).isTrue();
+    }
+
+    private static <K, V> void collectSplits(HashMap<K, V> map, java.util.List<T2<K, V>> result) {
+        if (map.size() < 2) {
+            map.forEach(result::add);
+        } else {
+            T2<HashMap<K, V>, HashMap<K, V>> halves = map.split();
+            assertThat(halves._1().isEmpty()).isFalse();
+            assertThat(halves._2().isEmpty()).isFalse();
+            collectSplits(halves._1(), result);
+            collectSplits(halves._2(), result);
+        }
+    }
+
+    @Test
+    public void testBulkOperationsWithCollisions() {
+        HashMap<HashCollider, Integer> m1 = HashMap.<HashCollider, Integer>empty()
+                .insert(new HashCollider("one"), 1)
+                .insert(new HashCollider("two"), 2)
+                .insert(new HashCollider("three"), 3);
+        HashMap<HashCollider, Integer> m2 = HashMap.<HashCollider, Integer>empty()
+                .insert(new HashCollider("three"), 30)
+                .insert(new HashCollider("four"), 40);
+        HashMap<HashCollider, Integer> union = m1.unionWith(m2, Integer::sum);
+        assertThat(union.size()).isEqualTo(4);
+        assertThat(union.lookup(new HashCollider("three")).get()).isEqualTo(33);
+        assertThat(union.lookup(new HashCollider("four")).get()).isEqualTo(40);
+        assertThat(m1.intersection(m2)).containsExactly(T2.of(new HashCollider("three"), 3));
+        assertThat(m1.difference(m2).size()).isEqualTo(2);
+        assertThat(m1.difference(m2).lookup(new HashCollider("three")).isNothing()).isTrue();
+        T2<HashMap<HashCollider, Integer>, HashMap<HashCollider, Integer>> partition = m1.partition((key, value) -> value == 2);
+        assertThat(partition._1()).containsExactly(T2.of(new HashCollider("two"), 2));
+        assertThat(partition._2().size()).isEqualTo(2);
+        //a key sharing all but the highest hash bits with the colliding keys
+        int key = 11 | (1 << 30);
+        HashMap<Object, Integer> mixed = HashMap.<Object, Integer>empty().insert(key, 0);
+        HashMap<Object, Integer> colliding = HashMap.<Object, Integer>empty()
+                .insert(new HashCollider("one"), 1).insert(new HashCollider("two"), 2);
+        HashMap<Object, Integer> all = mixed.union(colliding);
+        assertThat(all.size()).isEqualTo(3);
+        assertThat(all.intersection(colliding).size()).isEqualTo(2);
+        assertThat(all.difference(colliding)).containsExactly(T2.of(key, 0));
+        assertThat(colliding.union(mixed).lookup(key).get()).isEqualTo(0);
+    }
+
     private static class HashCollider {
         public final String key;
 
@@ -124,4 +390,18 @@ public class HashMapTest {
         }
     }
 
-}
\ No newline at end of file
+    @Test
+    public void testSpliterator() {
+        HashMap<Integer, Integer> map = HashMap.fromIterable(List.range(0, 1, 4999).map(i -> T2.of(i * 7919, i)));
+        assertThat(SpliteratorCheck.splitAndCollect(map.spliterator())).containsExactlyElementsOf(map);
+        assertThat(StreamSupport.stream(map.spliterator(), true).mapToLong(T2::_2).sum()).isEqualTo(12497500L);
+    }
+
+    @Test
+    public void testCollectorInParallel() {
+        HashMap<Integer, Integer> map = IntStream.range(0, 5000).parallel().mapToObj(i -> T2.of(i % 1000, i))
+                .collect(HashMap.collector());
+        assertThat(map.size()).isEqualTo(1000);
+        assertThat(map.getOrDefault(42, -1)).isEqualTo(4042);
+    }
+}
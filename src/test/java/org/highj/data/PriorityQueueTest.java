@@ -1,6 +1,12 @@
 package org.highj.data;
 
 import org.junit.Test;
+import org.highj.util.SpliteratorCheck;
+
+import java.util.Arrays;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -95,4 +101,27 @@ public class PriorityQueueTest {
                 "brown", "dog", "fox", "jumps", "lazy", "over", "quick", "the", "the");
     }
 
-}
\ No newline at end of file
+    @Test
+    public void spliterator() throws Exception {
+        PriorityQueue<String> queue = PriorityQueue.maxQueue(STRINGS);
+        assertThat(SpliteratorCheck.splitAndCollect(queue.spliterator())).containsExactlyElementsOf(queue.toList());
+        assertThat(StreamSupport.stream(queue.spliterator(), true).collect(Collectors.joining(" ")))
+                .isEqualTo("the the quick over lazy jumps fox dog brown");
+    }
+
+    @Test
+    public void collector() throws Exception {
+        PriorityQueue<Integer> queue = IntStream.range(0, 1000).map(i -> (i * 7919) % 1000).boxed().parallel()
+                .collect(PriorityQueue.minQueueCollector());
+        assertThat(queue.size()).isEqualTo(1000);
+        assertThat(queue.balanced()).isTrue();
+        assertThat(queue.queueType()).isEqualTo(PriorityQueue.QueueType.MIN);
+        assertThat(queue).containsExactlyElementsOf(List.range(0, 1, 999));
+        assertThat(queue.plus(-1).peek()).isEqualTo(-1);
+
+        PriorityQueue<String> maxQueue = Arrays.stream(STRINGS_IC).collect(PriorityQueue.maxQueueCollectorCmp(String.CASE_INSENSITIVE_ORDER));
+        assertThat(maxQueue.queueType()).isEqualTo(PriorityQueue.QueueType.MAX);
+        assertThat(maxQueue.balanced()).isTrue();
+        assertThat(maxQueue.toList()).containsExactlyElementsOf(PriorityQueue.maxQueueCmp(String.CASE_INSENSITIVE_ORDER, STRINGS_IC).toList());
+    }
+}
@@ -6,12 +6,16 @@ import org.highj.data.ord.Ord;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
+import org.highj.util.SpliteratorCheck;
 
 import java.awt.*;
 import java.util.NoSuchElementException;
 import java.util.Random;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 public class TreeMapTest {
 
@@ -279,6 +283,23 @@ public class TreeMapTest {
                 T2.of("five",4), T2.of("four",8), T2.of("one",3),T2.of("three",10), T2.of("two",3));
     }
 
+    @Test
+    public void unionOfLargeMaps() {
+        //joining subtrees with red roots used to corrupt the black heights
+        TreeMap<Integer, Integer> lower = TreeMap.empty();
+        TreeMap<Integer, Integer> upper = TreeMap.empty();
+        for (int i = 0; i < 1000; i++) {
+            lower = lower.insert(i, i);
+            upper = upper.insert(i + 1000, i + 1000);
+        }
+        TreeMap<Integer, Integer> union = TreeMap.union((a, b) -> a, lower, upper);
+        assertThat(union.size()).isEqualTo(2000);
+        assertThat(union.toKeys()).containsExactlyElementsOf(List.range(0, 1, 1999));
+        T2<TreeMap<Integer, Integer>, TreeMap<Integer, Integer>> parts = union.splitAt(700);
+        assertThat(TreeMap.union((a, b) -> a, parts._1(), parts._2())).containsExactlyElementsOf(union);
+        assertThat(TreeMap.union((a, b) -> a, parts._2(), parts._1())).containsExactlyElementsOf(union);
+    }
+
     @Test
     public void intersection() {
         TreeMap<String, Integer> first = TreeMap.of(
@@ -324,6 +345,112 @@ public class TreeMapTest {
         }
         assertThat(treeMap.toKeys()).containsExactly(jMap.keySet().toArray(new Integer[]{}));
         assertThat(treeMap.toValues()).containsExactly(jMap.values().toArray(new Double[]{}));
+        assertThat(treeMap.size()).isEqualTo(jMap.size());
+    }
+
+    @Test
+    public void rank() {
+        TreeMap<Integer, String> treeMap = TreeMap.of(List.range(0, 2, 198).map(i -> T2.of(i, "" + i)));
+        assertThat(treeMap.rank(0)).isEqualTo(0);
+        assertThat(treeMap.rank(42)).isEqualTo(21);
+        assertThat(treeMap.rank(43)).isEqualTo(22);
+        assertThat(treeMap.rank(-5)).isEqualTo(0);
+        assertThat(treeMap.rank(1000)).isEqualTo(100);
+        assertThat(TreeMap.<Integer, String>empty().rank(1)).isEqualTo(0);
+    }
+
+    @Test
+    public void select() {
+        TreeMap<String, Integer> treeMap = TreeMap.of(List.of(STRING_DATA).map(s -> T2.of(s, s.length())));
+        List<T2<String, Integer>> list = treeMap.toList();
+        for (int i = 0; i < treeMap.size(); i++) {
+            assertThat(treeMap.select(i)).isEqualTo(list.get(i));
+            assertThat(treeMap.rank(treeMap.select(i)._1())).isEqualTo(i);
+        }
+        shouldThrow.expect(IndexOutOfBoundsException.class);
+        treeMap.select(treeMap.size());
     }
 
-}
\ No newline at end of file
+    @Test
+    public void splitAt() {
+        TreeMap<Integer, Integer> treeMap = TreeMap.of(List.range(0, 1, 99).map(i -> T2.of(i, i * i)));
+        for (int index : new int[]{-1, 0, 1, 37, 50, 99, 100, 200}) {
+            T2<TreeMap<Integer, Integer>, TreeMap<Integer, Integer>> pair = treeMap.splitAt(index);
+            int expected = Math.max(0, Math.min(100, index));
+            assertThat(pair._1().size()).isEqualTo(expected);
+            assertThat(pair._2().size()).isEqualTo(100 - expected);
+            assertThat(pair._1().toKeys()).isEqualTo(List.range(0, 1, expected - 1));
+            assertThat(pair._2().toKeys()).isEqualTo(List.range(expected, 1, 99));
+            assertThat(pair._2().insert(-1, 1).minimumKey()).isEqualTo(-1);
+        }
+    }
+
+    @Test
+    public void transientBackToBack() {
+        Random random = new Random(2);
+        TreeMap.Transient<Integer, Integer> builder = TreeMap.<Integer, Integer>empty().toTransient();
+        java.util.Map<Integer, Integer> jMap = new java.util.TreeMap<>();
+        for (int i = 0; i < 20000; i++) {
+            int k = random.nextInt(3000);
+            if (random.nextInt(3) > 0) {
+                builder.insert(k, i);
+                jMap.put(k, i);
+            } else {
+                builder.delete(k);
+                jMap.remove(k);
+            }
+            if (i % 5000 == 4999 || random.nextInt(500) == 0) {
+                assertThat(builder.lookup(k)).isEqualTo(Maybe.JustWhenTrue(jMap.containsKey(k), () -> jMap.get(k)));
+                assertThat(builder.size()).isEqualTo(jMap.size());
+            }
+        }
+        TreeMap<Integer, Integer> treeMap = builder.persistent();
+        assertThat(treeMap.toKeys()).containsExactlyElementsOf(jMap.keySet());
+        assertThat(treeMap.toValues()).containsExactlyElementsOf(jMap.values());
+        //the rebuilt tree must still support the usual operations
+        for (int i = 0; i < 3000; i += 7) {
+            treeMap = treeMap.delete(i).insert(-i, i);
+            jMap.remove(i);
+            jMap.put(-i, i);
+        }
+        treeMap = treeMap.deleteMin().deleteMax();
+        jMap.remove(((java.util.TreeMap<Integer, Integer>) jMap).firstKey());
+        jMap.remove(((java.util.TreeMap<Integer, Integer>) jMap).lastKey());
+        assertThat(treeMap.toKeys()).containsExactlyElementsOf(jMap.keySet());
+        assertThatThrownBy(() -> builder.insert(1, 1)).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    public void transientLeavesOriginalUnchanged() {
+        TreeMap<String, Integer> treeMap = TreeMap.of(List.of(STRING_DATA).map(s -> T2.of(s, s.length())));
+        TreeMap<String, Integer> changed = treeMap.toTransient().insert("zzz", 3).delete("it").persistent();
+        assertThat(treeMap.containsKey("zzz")).isFalse();
+        assertThat(treeMap.containsKey("it")).isTrue();
+        assertThat(changed.containsKey("zzz")).isTrue();
+        assertThat(changed.containsKey("it")).isFalse();
+        assertThat(changed.size()).isEqualTo(treeMap.size());
+    }
+
+    @Test
+    public void insertAllLastWins() {
+        TreeMap<Integer, String> treeMap = TreeMap.of(1, "a")
+                .insertAll(List.of(T2.of(2, "b"), T2.of(1, "c"), T2.of(2, "d"), T2.of(0, "e")));
+        assertThat(treeMap.toString()).isEqualTo("Map(0->e,1->c,2->d)");
+    }
+
+    @Test
+    public void spliterator() {
+        TreeMap<Integer, String> map = TreeMap.fromKeys(String::valueOf, List.range(0, 1, 999));
+        assertThat(SpliteratorCheck.splitAndCollect(map.spliterator())).containsExactlyElementsOf(map);
+        assertThat(StreamSupport.stream(map.spliterator(), true).mapToInt(T2::_1).sum()).isEqualTo(499500);
+    }
+
+    @Test
+    public void collector() {
+        TreeMap<Integer, Integer> map = IntStream.range(0, 2000).parallel().mapToObj(i -> T2.of(i % 500, i))
+                .collect(TreeMap.collector());
+        assertThat(map.size()).isEqualTo(500);
+        assertThat(map.toKeys()).containsExactlyElementsOf(List.range(0, 1, 499));
+        assertThat(map.get(7)).isEqualTo(1507);
+    }
+}
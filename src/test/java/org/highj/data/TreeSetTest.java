@@ -1,10 +1,16 @@
 package org.highj.data;
 
 import org.highj.data.ord.Ord;
+import org.highj.data.tuple.T2;
 import org.highj.function.Strings;
 import org.junit.Test;
+import org.highj.util.SpliteratorCheck;
 
 import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.Arrays;
+import java.util.Spliterator;
+import java.util.stream.StreamSupport;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -211,4 +217,88 @@ public class TreeSetTest {
         assertThat(TreeSet.difference(set2, set1)).containsExactly("faz");
     }
 
-}
\ No newline at end of file
+
+    @Test
+    public void rankAndSelect() {
+        TreeSet<Integer> set = TreeSet.fromIterable(List.range(0, 3, 297));
+        assertThat(set.rank(-1)).isEqualTo(0);
+        assertThat(set.rank(30)).isEqualTo(10);
+        assertThat(set.rank(31)).isEqualTo(11);
+        assertThat(set.rank(300)).isEqualTo(100);
+        for (int i = 0; i < set.size(); i++) {
+            assertThat(set.select(i)).isEqualTo(3 * i);
+        }
+        assertThatThrownBy(() -> set.select(-1)).isInstanceOf(IndexOutOfBoundsException.class);
+        assertThatThrownBy(() -> set.select(100)).isInstanceOf(IndexOutOfBoundsException.class);
+    }
+
+    @Test
+    public void splitAt() {
+        TreeSet<Integer> set = TreeSet.fromIterable(List.range(0, 1, 99));
+        for (int index : new int[]{0, 1, 42, 64, 99, 100}) {
+            T2<TreeSet<Integer>, TreeSet<Integer>> pair = set.splitAt(index);
+            assertThat(pair._1().toList()).isEqualTo(List.range(0, 1, index - 1));
+            assertThat(pair._2().toList()).isEqualTo(List.range(index, 1, 99));
+            assertThat(pair._1().size() + pair._2().size()).isEqualTo(100);
+        }
+    }
+
+    @Test
+    public void backToBack() {
+        Random random = new Random(1);
+        TreeSet<Integer> set = TreeSet.empty();
+        java.util.TreeSet<Integer> jSet = new java.util.TreeSet<>();
+        for (int i = 0; i < 10000; i++) {
+            int value = random.nextInt(1000);
+            if (random.nextBoolean()) {
+                set = set.insert(value);
+                jSet.add(value);
+            } else {
+                set = set.delete(value);
+                jSet.remove(value);
+            }
+        }
+        assertThat(set.toList()).containsExactlyElementsOf(jSet);
+        assertThat(set.size()).isEqualTo(jSet.size());
+        assertThat(set.deleteMin().deleteMax().size()).isEqualTo(jSet.size() - 2);
+    }
+
+    @Test
+    public void unionOfLargeSets() {
+        TreeSet<Integer> lower = TreeSet.empty();
+        TreeSet<Integer> upper = TreeSet.empty();
+        for (int i = 0; i < 1000; i++) {
+            lower = lower.insert(i);
+            upper = upper.insert(i + 1000);
+        }
+        TreeSet<Integer> union = TreeSet.union(lower, upper);
+        assertThat(union.size()).isEqualTo(2000);
+        assertThat(union.toList()).containsExactlyElementsOf(List.range(0, 1, 1999));
+        T2<TreeSet<Integer>, TreeSet<Integer>> parts = union.splitAt(700);
+        assertThat(TreeSet.union(parts._1(), parts._2())).containsExactlyElementsOf(union);
+        assertThat(TreeSet.intersection(union, parts._2()).size()).isEqualTo(1300);
+        assertThat(TreeSet.difference(union, parts._1()).size()).isEqualTo(1300);
+    }
+
+    @Test
+    public void spliterator() {
+        TreeSet<Integer> set = TreeSet.fromIterable(List.range(0, 3, 3000));
+        assertThat(SpliteratorCheck.splitAndCollect(set.spliterator())).containsExactlyElementsOf(set);
+        assertThat(set.spliterator().hasCharacteristics(Spliterator.SORTED | Spliterator.DISTINCT)).isTrue();
+        assertThat(set.spliterator().getComparator().compare(1, 2)).isNegative();
+        assertThat(StreamSupport.stream(set.spliterator(), true).mapToLong(i -> i).sum()).isEqualTo(1501500L);
+        assertThat(TreeSet.<Integer>empty().spliterator().tryAdvance(i -> {})).isFalse();
+    }
+
+    @Test
+    public void collector() {
+        Random random = new Random(1);
+        int[] values = random.ints(2000, 0, 1000).toArray();
+        TreeSet<Integer> set = Arrays.stream(values).boxed().parallel().collect(TreeSet.collector());
+        assertThat(set).containsExactlyElementsOf(TreeSet.fromIterable(List.of(values)));
+        assertThat(set.insert(-1).minimum()).isEqualTo(-1);
+        TreeSet<String> strings = Arrays.stream("b A a B c".split(" "))
+                .collect(TreeSet.collector(Ord.fromComparator(String.CASE_INSENSITIVE_ORDER)));
+        assertThat(strings).containsExactly("A", "b", "c");
+    }
+}
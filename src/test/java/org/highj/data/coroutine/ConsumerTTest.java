@@ -0,0 +1,67 @@
+package org.highj.data.coroutine;
+
+import org.highj.data.List;
+import org.highj.data.Maybe;
+import org.highj.data.stateful.IO;
+import org.highj.data.tuple.T0;
+import org.highj.data.tuple.T1;
+import org.junit.Test;
+
+import java.io.IOException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.highj.Hkt.asConsumerT;
+import static org.highj.Hkt.asIO;
+import static org.highj.Hkt.asT1;
+
+public class ConsumerTTest {
+
+    private static ProducerT<Integer, T1.µ, T0> range(int from, int to) {
+        return from == to ? ProducerT.done(T0.of())
+            : ProducerT.bind(ProducerT.yield(from), (T0 unit) -> range(from + 1, to));
+    }
+
+    //reads n inputs, or until the input ends
+    private static <I, M> ConsumerT<I, M, List<I>> read(int n) {
+        return n == 0 ? ConsumerT.done(List.empty())
+            : ConsumerT.bind(ConsumerT.<I, M>await(), (Maybe<I> input) -> input.cata$(
+                () -> ConsumerT.<I, M, List<I>>done(List.empty()),
+                (I i) -> ConsumerT.bind(ConsumerT.<I, M, List<I>>suspend(() -> read(n - 1)),
+                    (List<I> rest) -> ConsumerT.done(rest.plus(i)))));
+    }
+
+    @Test
+    public void testFold() {
+        int sum = asT1(ConsumerT.connect(T1.monadRec, range(0, 20000), ConsumerT.<Integer, T1.µ, Integer>fold(0, Integer::sum)))._1();
+        assertThat(sum).isEqualTo(199990000);
+    }
+
+    @Test
+    public void testStopsPulling() throws IOException {
+        int[] effects = new int[1];
+        ProducerT<Integer, IO.µ, T0> producer = ProducerT.bind(ProducerT.lift((IO<T0>) () -> {
+            effects[0]++;
+            return T0.of();
+        }), (T0 unit) -> ProducerT.yield(effects[0]));
+        ProducerT<Integer, IO.µ, T0> repeated = ProducerT.bind(producer, (T0 unit) ->
+            ProducerT.bind(producer, (T0 unit2) -> producer));
+        List<Integer> result = asIO(ConsumerT.connect(IO.monadRec, repeated, ConsumerTTest.<Integer, IO.µ>read(2))).run();
+        assertThat(result).containsExactly(1, 2);
+        assertThat(effects[0]).isEqualTo(2);
+    }
+
+    @Test
+    public void testInputEnds() {
+        assertThat(asT1(ConsumerT.connect(T1.monadRec, range(0, 3), ConsumerTTest.<Integer, T1.µ>read(5)))._1())
+            .containsExactly(0, 1, 2);
+    }
+
+    @Test
+    public void testMonad() {
+        ConsumerT<Integer, T1.µ, Integer> pairSum = asConsumerT(ConsumerT.<Integer, T1.µ>monad().map(
+            (List<Integer> list) -> list.foldl(0, Integer::sum), read(2)));
+        ConsumerT<Integer, T1.µ, Integer> twice = asConsumerT(ConsumerT.<Integer, T1.µ>monad().bind(pairSum,
+            (Integer first) -> ConsumerT.<Integer, T1.µ>functor().map((Integer second) -> first * 100 + second, pairSum)));
+        assertThat(asT1(ConsumerT.connect(T1.monadRec, range(1, 5), twice))._1()).isEqualTo(307);
+    }
+}
@@ -0,0 +1,101 @@
+package org.highj.data.coroutine;
+
+import org.derive4j.hkt.__;
+import org.highj.data.Either;
+import org.highj.data.tuple.T0;
+import org.highj.data.tuple.T2;
+import org.highj.do_.Do_;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.highj.Hkt.asGenerator;
+
+public class GeneratorTest {
+
+    private static final int DEPTH = 100000;
+
+    private static Generator<Integer, T0> range(int from, int to) {
+        return from == to ? Generator.done(T0.of())
+            : Generator.bind(Generator.yield(from), unit -> range(from + 1, to));
+    }
+
+    private static <A> Generator<T2<A, A>, T0> hanoi(int n, A from, A to, A other) {
+        if (n == 0) {
+            return Generator.done(T0.of());
+        }
+        return Generator.suspend(() -> asGenerator(
+            Do_.<__<Generator.µ, T2<A, A>>>do_()
+                .__(hanoi(n - 1, from, other, to))
+                .__(Generator.yield(T2.of(from, to)))
+                .__(hanoi(n - 1, other, to, from))
+                .runNoResultNoTailRec(Generator.monad())));
+    }
+
+    private static <E> List<E> toList(Iterable<E> iterable) {
+        List<E> result = new ArrayList<>();
+        iterable.forEach(result::add);
+        return result;
+    }
+
+    @Test
+    public void testIterator() {
+        Iterator<Integer> iterator = range(0, 3).iterator();
+        assertThat(iterator.hasNext()).isTrue();
+        assertThat(iterator.hasNext()).isTrue();
+        assertThat(iterator.next()).isEqualTo(0);
+        assertThat(iterator.next()).isEqualTo(1);
+        assertThat(iterator.next()).isEqualTo(2);
+        assertThat(iterator.hasNext()).isFalse();
+        assertThatThrownBy(iterator::next).isInstanceOf(NoSuchElementException.class);
+    }
+
+    @Test
+    public void testHanoi() {
+        assertThat(toList(hanoi(2, 'a', 'b', 'c'))).containsExactly(
+            T2.of('a', 'c'), T2.of('a', 'b'), T2.of('c', 'b'));
+        assertThat(toList(hanoi(10, 'a', 'b', 'c'))).hasSize(1023);
+    }
+
+    @Test
+    public void testRightNested() {
+        List<Integer> result = toList(range(0, DEPTH));
+        assertThat(result).hasSize(DEPTH);
+        assertThat(result.get(DEPTH - 1)).isEqualTo(DEPTH - 1);
+    }
+
+    @Test
+    public void testLeftNested() {
+        Generator<Integer, T0> generator = Generator.done(T0.of());
+        for (int i = 0; i < DEPTH; i++) {
+            int n = i;
+            generator = Generator.bind(generator, unit -> Generator.yield(n));
+        }
+        List<Integer> result = toList(generator);
+        assertThat(result).hasSize(DEPTH);
+        assertThat(result.get(0)).isEqualTo(0);
+        assertThat(result.get(DEPTH - 1)).isEqualTo(DEPTH - 1);
+    }
+
+    @Test
+    public void testTailRec() {
+        Generator<Integer, String> generator = asGenerator(Generator.<Integer>monadRec().tailRec(
+            (Integer i) -> i == DEPTH ? Generator.done(Either.<Integer, String>Right("done"))
+                : Generator.<Integer>functor().map(unit -> Either.<Integer, String>Left(i + 1), Generator.yield(i)),
+            0));
+        assertThat(toList(generator)).hasSize(DEPTH);
+    }
+
+    @Test
+    public void testProducerTConversion() {
+        assertThat(toList(() -> ProducerT.toIterator(hanoi(3, 1, 2, 3).toProducerT())))
+            .isEqualTo(toList(hanoi(3, 1, 2, 3)));
+        assertThat(toList(Generator.fromProducerT(range(0, 1000).toProducerT())))
+            .isEqualTo(toList(range(0, 1000)));
+    }
+}
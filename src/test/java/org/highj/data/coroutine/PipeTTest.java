@@ -0,0 +1,125 @@
+package org.highj.data.coroutine;
+
+import org.highj.data.Either;
+import org.highj.data.List;
+import org.highj.data.Maybe;
+import org.highj.data.Vector;
+import org.highj.data.stateful.IO;
+import org.highj.data.tuple.T0;
+import org.highj.data.tuple.T1;
+import org.junit.Test;
+
+import java.io.IOException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.highj.Hkt.asIO;
+import static org.highj.Hkt.asPipeT;
+import static org.highj.Hkt.asT1;
+
+public class PipeTTest {
+
+    private static ProducerT<Integer, T1.µ, T0> naturals(int from) {
+        return ProducerT.bind(ProducerT.yield(from), (T0 unit) -> naturals(from + 1));
+    }
+
+    //yields the numbers from 0 until n, counting the effects
+    private static ProducerT<Integer, IO.µ, T0> effectful(int from, int to, int[] effects) {
+        return from == to ? ProducerT.done(T0.of())
+            : ProducerT.bind(ProducerT.lift((IO<Integer>) () -> {
+                effects[0]++;
+                return from;
+            }), (Integer i) -> ProducerT.bind(ProducerT.yield(i), (T0 unit) -> effectful(from + 1, to, effects)));
+    }
+
+    private static <I> ConsumerT<I, T1.µ, java.util.List<I>> toJList() {
+        return ConsumerT.bind(ConsumerT.fold(List.<I>empty(), List::plus),
+            (List<I> list) -> ConsumerT.done(list.reverse().toJList()));
+    }
+
+    //awaits three times, and counts the ends of input
+    private static <M> ConsumerT<Integer, M, Integer> countEnds() {
+        return ConsumerT.bind(ConsumerT.<Integer, M>await(), (Maybe<Integer> a) ->
+            ConsumerT.bind(ConsumerT.<Integer, M>await(), (Maybe<Integer> b) ->
+                ConsumerT.bind(ConsumerT.<Integer, M>await(), (Maybe<Integer> c) ->
+                    ConsumerT.done(List.of(a, b, c).filter(Maybe::isNothing).size()))));
+    }
+
+    private static <I, O> java.util.List<O> run(ProducerT<I, T1.µ, ?> producer, PipeT<I, O, T1.µ, ?> pipe) {
+        return asT1(PipeT.connect(T1.monadRec, producer, pipe, PipeTTest.<O>toJList()))._1();
+    }
+
+    @Test
+    public void testUnboundedProducer() {
+        PipeT<Integer, String, T1.µ, T0> pipe = PipeT.compose(T1.monadRec,
+            PipeT.<Integer, T1.µ>filter(i -> i % 3 == 0),
+            PipeT.compose(T1.monadRec, PipeT.<Integer, T1.µ>take(4), PipeT.<Integer, String, T1.µ>map(i -> "#" + i)));
+        assertThat(run(naturals(0), pipe)).containsExactly("#0", "#3", "#6", "#9");
+    }
+
+    @Test
+    public void testPullsOnDemand() throws IOException {
+        int[] effects = new int[1];
+        PipeT<Integer, Integer, IO.µ, T0> pipe = PipeT.compose(IO.monadRec,
+            PipeT.<Integer, IO.µ>filter(i -> i % 2 == 1), PipeT.<Integer, IO.µ>take(3));
+        int sum = asIO(PipeT.connect(IO.monadRec, effectful(0, 100, effects), pipe,
+            ConsumerT.<Integer, IO.µ, Integer>fold(0, Integer::sum))).run();
+        assertThat(sum).isEqualTo(1 + 3 + 5);
+        assertThat(effects[0]).isEqualTo(6);
+    }
+
+    @Test
+    public void testBufferBound() throws IOException {
+        int[] effects = new int[1];
+        int[] maxAhead = new int[1];
+        int[] consumed = new int[1];
+        ConsumerT<Integer, IO.µ, T0> consumer = ConsumerT.forEach((Integer i) -> (IO<T0>) () -> {
+            consumed[0]++;
+            maxAhead[0] = Math.max(maxAhead[0], effects[0] - consumed[0]);
+            return T0.of();
+        });
+        asIO(PipeT.connect(IO.monadRec, effectful(0, 1000, effects), PipeT.<Integer, IO.µ>buffer(8), consumer)).run();
+        assertThat(consumed[0]).isEqualTo(1000);
+        assertThat(maxAhead[0]).isEqualTo(7);
+        assertThat(run(naturals(0), PipeT.compose(T1.monadRec, PipeT.<Integer, T1.µ>take(10), PipeT.<Integer, T1.µ>buffer(3))))
+            .containsExactly(0, 1, 2, 3, 4, 5, 6, 7, 8, 9);
+    }
+
+    @Test
+    public void testChunked() {
+        assertThat(run(naturals(0), PipeT.compose(T1.monadRec, PipeT.<Integer, T1.µ>take(7), PipeT.<Integer, T1.µ>chunked(3))))
+            .extracting(Vector::toJList)
+            .containsExactly(java.util.Arrays.asList(0, 1, 2), java.util.Arrays.asList(3, 4, 5),
+                java.util.Collections.singletonList(6));
+    }
+
+    @Test
+    public void testEndOfInput() {
+        //after a stage has returned, every further await gets Nothing
+        assertThat(asT1(PipeT.connect(T1.monadRec, naturals(0), PipeT.<Integer, T1.µ>take(1), PipeTTest.<T1.µ>countEnds()))._1())
+            .isEqualTo(2);
+        PipeT<Integer, Integer, T1.µ, T0> composed = PipeT.compose(T1.monadRec,
+            PipeT.<Integer, T1.µ>take(1), PipeT.<Integer, Integer, T1.µ>map(i -> i));
+        assertThat(asT1(PipeT.connect(T1.monadRec, naturals(0), composed, PipeTTest.<T1.µ>countEnds()))._1())
+            .isEqualTo(2);
+        assertThat(asT1(ConsumerT.connect(T1.monadRec, ProducerT.<Integer, T1.µ, T0>done(T0.of()), PipeTTest.<T1.µ>countEnds()))._1())
+            .isEqualTo(3);
+    }
+
+    @Test
+    public void testLongPipeline() {
+        PipeT<Integer, Integer, T1.µ, T0> pipe = PipeT.compose(T1.monadRec,
+            PipeT.<Integer, T1.µ>take(20000), PipeT.<Integer, Integer, T1.µ>map(i -> i % 2));
+        int sum = asT1(PipeT.connect(T1.monadRec, naturals(0), pipe, ConsumerT.<Integer, T1.µ, Integer>fold(0, Integer::sum)))._1();
+        assertThat(sum).isEqualTo(10000);
+    }
+
+    @Test
+    public void testMonadRec() {
+        PipeT<Integer, Integer, T1.µ, Integer> doubler = asPipeT(PipeT.<Integer, Integer, T1.µ>monadRec().tailRec(
+            (Integer count) -> PipeT.bind(PipeT.<Integer, Integer, T1.µ>await(), (Maybe<Integer> input) -> input.cata$(
+                () -> PipeT.done(Either.<Integer, Integer>Right(count)),
+                (Integer i) -> PipeT.bind(PipeT.<Integer, Integer, T1.µ>yield(2 * i), (T0 unit) -> PipeT.done(Either.<Integer, Integer>Left(count + 1))))),
+            0));
+        assertThat(run(naturals(1), PipeT.compose(T1.monadRec, PipeT.<Integer, T1.µ>take(3), doubler))).containsExactly(2, 4, 6);
+    }
+}
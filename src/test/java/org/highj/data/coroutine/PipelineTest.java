@@ -0,0 +1,152 @@
+package org.highj.data.coroutine;
+
+import org.derive4j.hkt.__;
+import org.highj.data.List;
+import org.highj.data.Vector;
+import org.highj.data.stateful.IO;
+import org.highj.data.stateful.io.IOMonadRec;
+import org.highj.data.tuple.T0;
+import org.highj.data.tuple.T1;
+import org.highj.data.tuple.T2;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.highj.Hkt.asIO;
+import static org.highj.Hkt.asT1;
+
+public class PipelineTest {
+
+    private static Pipeline<Integer, T1.µ, T0> range(int from, int to) {
+        return Pipeline.fromIterable(T1.monadRec, List.range(from, 1, to - 1));
+    }
+
+    private static <E> java.util.List<E> toJList(Pipeline<E, T1.µ, ?> pipeline) {
+        return asT1(pipeline.fold(List.<E>empty(), List::plus))._1().reverse().toJList();
+    }
+
+    //yields the numbers from 0 until n, counting the effects
+    private static ProducerT<Integer, IO.µ, T0> effectful(int n, int[] effects) {
+        return n == 0 ? ProducerT.done(T0.of())
+            : ProducerT.bind(effectful(n - 1, effects), (T0 unit) ->
+                ProducerT.bind(ProducerT.lift((IO<Integer>) () -> {
+                    effects[0]++;
+                    return n - 1;
+                }), (Integer i) -> ProducerT.yield(i)));
+    }
+
+    @Test
+    public void testFusedStages() {
+        int[] calls = new int[1];
+        Pipeline<String, T1.µ, T0> pipeline = range(0, 10)
+            .map(i -> {
+                calls[0]++;
+                return i * 3;
+            })
+            .filter(i -> i % 2 == 0)
+            .map(i -> i + 1)
+            .filter(i -> i > 1)
+            .map(i -> "#" + i);
+        assertThat(toJList(pipeline)).containsExactly("#7", "#13", "#19", "#25");
+        assertThat(calls[0]).isEqualTo(10);
+        assertThat(ProducerT.toIterator(pipeline.toProducerT())).containsExactly("#7", "#13", "#19", "#25");
+    }
+
+    @Test
+    public void testTakeStopsPulling() throws IOException {
+        int[] effects = new int[1];
+        Pipeline<Integer, IO.µ, T0> pipeline = Pipeline.of(IO.monadRec, effectful(100, effects))
+            .filter(i -> i % 2 == 1)
+            .take(3);
+        List<Integer> result = asIO(pipeline.fold(List.<Integer>empty(), List::plus)).run();
+        assertThat(result.reverse()).containsExactly(1, 3, 5);
+        assertThat(effects[0]).isEqualTo(6);
+    }
+
+    @Test
+    public void testDropAndScan() {
+        assertThat(toJList(range(0, 10).drop(7))).containsExactly(7, 8, 9);
+        assertThat(toJList(range(0, 3).drop(5))).isEmpty();
+        assertThat(toJList(range(1, 5).filter(i -> i != 2).scan(0, Integer::sum))).containsExactly(0, 1, 4, 8);
+    }
+
+    @Test
+    public void testZip() {
+        Pipeline<T2<Integer, String>, T1.µ, T0> zipped = range(0, 10).filter(i -> i % 3 == 0)
+            .zip(Pipeline.fromIterable(T1.monadRec, List.of("a", "b", "c")));
+        assertThat(toJList(zipped)).containsExactly(T2.of(0, "a"), T2.of(3, "b"), T2.of(6, "c"));
+    }
+
+    @Test
+    public void testConcatMap() {
+        assertThat(toJList(range(1, 4).concatMap(i -> range(0, i).toProducerT())))
+            .containsExactly(0, 0, 1, 0, 1, 2);
+    }
+
+    @Test
+    public void testChunked() {
+        Pipeline<Vector<Integer>, T1.µ, T0> chunks = range(0, 10).chunked(3);
+        assertThat(toJList(chunks.map(Vector::toJList))).containsExactly(
+            java.util.Arrays.asList(0, 1, 2), java.util.Arrays.asList(3, 4, 5),
+            java.util.Arrays.asList(6, 7, 8), java.util.Collections.singletonList(9));
+        assertThat(toJList(Pipeline.unchunked(chunks))).isEqualTo(toJList(range(0, 10)));
+        assertThat(toJList(range(0, 6).chunked(3))).hasSize(2);
+    }
+
+    @Test
+    public void testChunkedFoldOverIO() throws IOException {
+        int[] effects = new int[1];
+        Pipeline<Vector<Integer>, IO.µ, T0> chunks = Pipeline.of(IO.monadRec, effectful(1000, effects)).chunked(100);
+        int sum = asIO(chunks.fold(0, (acc, chunk) -> acc + chunk.foldl(0, Integer::sum))).run();
+        assertThat(sum).isEqualTo(499500);
+        assertThat(effects[0]).isEqualTo(1000);
+    }
+
+    @Test
+    public void testChunkedStepsPerElement() throws IOException {
+        int[] effects = new int[1];
+        int[] steps = new int[1];
+        IOMonadRec counting = countingSteps(steps);
+        int plainSum = asIO(Pipeline.of(counting, effectful(1000, effects)).fold(0, Integer::sum)).run();
+        int plainSteps = steps[0];
+        steps[0] = 0;
+        Pipeline<Vector<Integer>, IO.µ, T0> chunks = Pipeline.of(counting, effectful(1000, effects)).chunked(100);
+        int chunkedSum = asIO(chunks.fold(0, (acc, chunk) -> acc + chunk.foldl(0, Integer::sum))).run();
+        assertThat(chunkedSum).isEqualTo(plainSum);
+        assertThat(effects[0]).isEqualTo(2000);
+        //the same steps per element as a plain fold, plus a few per chunk
+        assertThat(steps[0]).isLessThanOrEqualTo(plainSteps + 10 * 10);
+    }
+
+    @Test
+    public void testLongPipeline() {
+        int sum = asT1(range(0, 100000).filter(i -> i % 2 == 0).map(i -> 1).fold(0, Integer::sum))._1();
+        assertThat(sum).isEqualTo(50000);
+        assertThat(toJList(range(0, 100000).filter(i -> i > 99990).take(5))).containsExactly(99991, 99992, 99993, 99994, 99995);
+    }
+
+    //counts the operations of the base monad
+    private static IOMonadRec countingSteps(int[] steps) {
+        return new IOMonadRec() {
+            @Override
+            public <A> IO<A> pure(A a) {
+                steps[0]++;
+                return IOMonadRec.super.pure(a);
+            }
+
+            @Override
+            public <A, B> IO<B> map(Function<A, B> fn, __<IO.µ, A> nestedA) {
+                steps[0]++;
+                return IOMonadRec.super.map(fn, nestedA);
+            }
+
+            @Override
+            public <A, B> IO<B> bind(__<IO.µ, A> nestedA, Function<A, __<IO.µ, B>> fn) {
+                steps[0]++;
+                return IOMonadRec.super.bind(nestedA, fn);
+            }
+        };
+    }
+}
@@ -6,6 +6,10 @@ import org.highj.data.List;
 import org.highj.data.Maybe;
 import org.highj.data.tuple.T2;
 import org.junit.Test;
+import org.highj.util.SpliteratorCheck;
+
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.highj.Hkt.asDequeue;
@@ -185,4 +189,26 @@ public class DequeueTest {
         Integer result = Dequeue.traversable.foldl(i -> s -> 10*i + s.length(), 5, dq);
         assertThat(result).isEqualTo(5124);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testSpliterator() {
+        Dequeue<Integer> dequeue = Dequeue.of(4, 5, 6);
+        for (int i = 3; i > 0; i--) {
+            dequeue = dequeue.pushFront(i);
+        }
+        for (int i = 7; i <= 10; i++) {
+            dequeue = dequeue.pushBack(i);
+        }
+        assertThat(SpliteratorCheck.splitAndCollect(dequeue.spliterator()))
+                .containsExactly(1, 2, 3, 4, 5, 6, 7, 8, 9, 10);
+        assertThat(StreamSupport.stream(dequeue.spliterator(), true).mapToInt(i -> i).sum()).isEqualTo(55);
+    }
+
+    @Test
+    public void testCollector() {
+        Dequeue<Integer> dequeue = IntStream.rangeClosed(1, 100).boxed().parallel().collect(Dequeue.collector());
+        assertThat(dequeue.size()).isEqualTo(100);
+        assertThat(dequeue).containsExactlyElementsOf(List.range(1, 1, 100));
+        assertThat(dequeue.popBack()._1().get()).isEqualTo(100);
+    }
+}
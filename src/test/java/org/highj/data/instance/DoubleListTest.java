@@ -0,0 +1,35 @@
+package org.highj.data.instance;
+
+import org.highj.data.DoubleList;
+import org.highj.data.List;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class DoubleListTest {
+
+    @Test
+    public void testOfAndPlus() {
+        DoubleList list = DoubleList.of(2.0, 3.0).plus(1.5);
+        assertThat(list).containsExactly(1.5, 2.0, 3.0);
+        assertThat(list.get(1)).isEqualTo(2.0);
+        assertThat(list.toString()).isEqualTo("DoubleList(1.5,2.0,3.0)");
+        assertThat(DoubleList.empty().plus(3.0).plus(2.0).plus(1.5)).isEqualTo(list);
+        assertThat(DoubleList.of(Double.NaN)).isEqualTo(DoubleList.of(Double.NaN));
+    }
+
+    @Test
+    public void testMapFilterFold() {
+        DoubleList list = DoubleList.of(1.0, 2.0, 3.0, 4.0);
+        assertThat(list.map(x -> x / 2)).containsExactly(0.5, 1.0, 1.5, 2.0);
+        assertThat(list.filter(x -> x > 2.5)).containsExactly(3.0, 4.0);
+        assertThat(list.foldl(0.0, Math::max)).isEqualTo(4.0);
+        assertThat(list.sum()).isEqualTo(10.0);
+    }
+
+    @Test
+    public void testConversions() {
+        List<Double> list = List.of(1.0, 2.0, 3.0);
+        assertThat(DoubleList.fromList(list).toList()).isEqualTo(list);
+    }
+}
@@ -0,0 +1,117 @@
+package org.highj.data.instance;
+
+import org.highj.data.IntList;
+import org.highj.data.List;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class IntListTest {
+
+    @Test
+    public void testEmpty() {
+        IntList empty = IntList.empty();
+        assertThat(empty.isEmpty()).isTrue();
+        assertThat(empty.size()).isEqualTo(0);
+        assertThat(empty).isEmpty();
+        assertThat(empty.toString()).isEqualTo("IntList()");
+        assertThat(IntList.of()).isEqualTo(empty);
+        assertThatThrownBy(empty::head).isInstanceOf(java.util.NoSuchElementException.class);
+    }
+
+    @Test
+    public void testOf() {
+        int[] values = {1, 2, 3};
+        IntList list = IntList.of(values);
+        values[0] = 42;
+        assertThat(list).containsExactly(1, 2, 3);
+        assertThat(list.toString()).isEqualTo("IntList(1,2,3)");
+        assertThat(list.toArray()).containsExactly(1, 2, 3);
+    }
+
+    @Test
+    public void testPlus() {
+        IntList list = IntList.empty();
+        for (int i = 99; i >= 0; i--) {
+            list = list.plus(i);
+        }
+        assertThat(list.size()).isEqualTo(100);
+        for (int i = 0; i < 100; i++) {
+            assertThat(list.get(i)).isEqualTo(i);
+        }
+        assertThat(list.head()).isEqualTo(0);
+        assertThat(list.tail().head()).isEqualTo(1);
+        assertThatThrownBy(() -> IntList.of(1).get(1)).isInstanceOf(IndexOutOfBoundsException.class);
+    }
+
+    @Test
+    public void testPlusDoesNotShareClaimedSlots() {
+        IntList base = IntList.empty().plus(3);
+        IntList one = base.plus(1);
+        IntList two = base.plus(2);
+        assertThat(one).containsExactly(1, 3);
+        assertThat(two).containsExactly(2, 3);
+        assertThat(base).containsExactly(3);
+        assertThat(one.tail().plus(4)).containsExactly(4, 3);
+        assertThat(one).containsExactly(1, 3);
+    }
+
+    @Test
+    public void testTail() {
+        IntList list = IntList.of(1, 2).append(IntList.of(3));
+        assertThat(list.tail()).containsExactly(2, 3);
+        assertThat(list.tail().tail()).containsExactly(3);
+        assertThat(list.tail().tail().tail().isEmpty()).isTrue();
+    }
+
+    @Test
+    public void testAppend() {
+        IntList list = IntList.of(1, 2).append(IntList.of(3, 4)).append(IntList.empty());
+        assertThat(list).containsExactly(1, 2, 3, 4);
+        assertThat(list.get(2)).isEqualTo(3);
+        assertThat(IntList.empty().append(list)).isSameAs(list);
+        assertThat(IntList.monoid.apply(IntList.of(1), IntList.of(2))).isEqualTo(IntList.of(1, 2));
+    }
+
+    @Test
+    public void testMapFilterFold() {
+        IntList list = IntList.of(1, 2, 3, 4, 5);
+        assertThat(list.map(x -> x * x)).containsExactly(1, 4, 9, 16, 25);
+        assertThat(list.filter(x -> x % 2 == 1)).containsExactly(1, 3, 5);
+        assertThat(list.filter(x -> x > 5).isEmpty()).isTrue();
+        assertThat(list.foldl(0, (acc, x) -> 10 * acc + x)).isEqualTo(12345);
+        assertThat(list.foldr((x, acc) -> 10 * acc + x, 0)).isEqualTo(54321);
+        assertThat(list.sum()).isEqualTo(15);
+        assertThat(list.reverse()).containsExactly(5, 4, 3, 2, 1);
+        assertThat(list.mapToObj(Integer::toString)).isEqualTo(List.of("1", "2", "3", "4", "5"));
+    }
+
+    @Test
+    public void testConversions() {
+        List<Integer> list = List.range(1, 1, 100);
+        assertThat(IntList.fromList(list).toList()).isEqualTo(list);
+        assertThat(IntList.fromList(list).sum()).isEqualTo(5050);
+    }
+
+    @Test
+    public void testEqualsAndHashCode() {
+        IntList one = IntList.of(1, 2, 3);
+        IntList two = IntList.empty().plus(3).plus(2).plus(1);
+        assertThat(one).isEqualTo(two);
+        assertThat(one.hashCode()).isEqualTo(two.hashCode());
+        assertThat(one).isNotEqualTo(IntList.of(1, 2));
+    }
+
+    @Test
+    public void testLargeList() {
+        IntList list = IntList.empty();
+        for (int i = 0; i < 1_000_000; i++) {
+            list = list.plus(i);
+        }
+        assertThat(list.size()).isEqualTo(1_000_000);
+        assertThat(list.head()).isEqualTo(999_999);
+        assertThat(list.get(999_999)).isEqualTo(0);
+        assertThat(list.filter(x -> x % 100_000 == 0)).containsExactly(900_000, 800_000, 700_000, 600_000, 500_000, 400_000, 300_000, 200_000, 100_000, 0);
+    }
+}
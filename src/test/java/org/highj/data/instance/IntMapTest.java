@@ -10,10 +10,13 @@ import org.highj.data.List;
 import org.highj.data.Maybe;
 import org.highj.data.tuple.T2;
 import org.junit.Test;
+import org.highj.util.SpliteratorCheck;
 
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.Random;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -50,6 +53,40 @@ public class IntMapTest {
         }
     }
 
+    @Test
+    public void testIteratorKeys() {
+        IntMap<String> m = IntMap.empty();
+        List<Integer> ints = List.of(1000, 5, 3, 0, 32, 1024, 99, -150, -1000, Integer.MAX_VALUE, Integer.MIN_VALUE);
+        for (int i : ints) {
+            m = m.insert(i, Integer.toHexString(i));
+        }
+        java.util.Set<Integer> keys = new java.util.HashSet<>();
+        for (T2<Integer, String> x : m) {
+            assertThat(Integer.toHexString(x._1())).isEqualTo(x._2());
+            keys.add(x._1());
+        }
+        assertThat(keys).containsOnlyElementsOf(ints);
+        assertThat(keys).hasSize(ints.size());
+        assertThat(m.keys()).containsExactlyElementsOf(List.fromIterable(m).map(T2::_1));
+        assertThat(m.values()).containsExactlyElementsOf(List.fromIterable(m).map(T2::_2));
+    }
+
+    @Test
+    public void testForEach() {
+        IntMap<String> m = IntMap.empty();
+        for (int i : List.of(1000, 5, 3, 0, -150, Integer.MIN_VALUE)) {
+            m = m.insert(i, Integer.toHexString(i));
+        }
+        java.util.List<T2<Integer, String>> entries = new java.util.ArrayList<>();
+        m.forEach(entries::add);
+        assertThat(entries).containsExactlyElementsOf(m);
+        java.util.List<Integer> keys = new java.util.ArrayList<>();
+        m.forEachEntry((k, v) -> keys.add(k));
+        assertThat(keys).containsExactlyElementsOf(m.keys());
+        assertThat(java.util.stream.StreamSupport.stream(m.spliterator(), false).count()).isEqualTo(6);
+        assertThat(IntMap.empty().iterator().hasNext()).isFalse();
+    }
+
     @Test
     public void testLookup() {
         IntMap<String> m = IntMap.empty();
@@ -110,4 +147,205 @@ public class IntMapTest {
         assertThat(m.isEmpty()).isTrue();
     }
 
+
+    @Test
+    public void testAgainstJavaHashMap() {
+        Random random = new Random(4711);
+        IntMap<Integer> m = IntMap.empty();
+        java.util.Map<Integer, Integer> expected = new java.util.HashMap<>();
+        for (int i = 0; i < 20000; i++) {
+            int key = random.nextBoolean() ? random.nextInt(1000) : random.nextInt(2000) << 20;
+            if (random.nextInt(3) == 0) {
+                m = m.delete(key);
+                expected.remove(key);
+            } else {
+                m = m.insert(key, i);
+                expected.put(key, i);
+            }
+        }
+        assertThat(m.size()).isEqualTo(expected.size());
+        java.util.Map<Integer, Integer> actual = new java.util.HashMap<>();
+        m.forEachEntry(actual::put);
+        assertThat(actual).isEqualTo(expected);
+        for (int key : expected.keySet()) {
+            assertThat(m.lookup(key)).isEqualTo(Maybe.Just(expected.get(key)));
+            m = m.delete(key);
+        }
+        assertThat(m.isEmpty()).isTrue();
+        assertThat(m.iterator().hasNext()).isFalse();
+    }
+
+    @Test
+    public void testMapValues() {
+        IntMap<Integer> m = IntMap.empty();
+        for (int i = -100; i < 100; i += 3) {
+            m = m.insert(i, i);
+        }
+        IntMap<String> m2 = m.mapValues(Integer::toHexString);
+        assertThat(m2.size()).isEqualTo(m.size());
+        for (T2<Integer, String> x : m2) {
+            assertThat(Integer.toHexString(x._1())).isEqualTo(x._2());
+        }
+    }
+
+    @Test
+    public void testTransient() {
+        Random random = new Random(11);
+        IntMap<Integer> original = IntMap.<Integer>empty().insert(1, 1).insert(-2, 2);
+        IntMap.Transient<Integer> builder = original.toTransient();
+        java.util.Map<Integer, Integer> expected = new java.util.HashMap<>();
+        expected.put(1, 1);
+        expected.put(-2, 2);
+        for (int i = 0; i < 20000; i++) {
+            int key = random.nextInt(5000) - 2500;
+            if (random.nextInt(4) == 0) {
+                builder.delete(key);
+                expected.remove(key);
+            } else {
+                builder.insert(key, i);
+                expected.put(key, i);
+            }
+        }
+        assertThat(builder.size()).isEqualTo(expected.size());
+        IntMap<Integer> m = builder.persistent();
+        java.util.Map<Integer, Integer> actual = new java.util.HashMap<>();
+        m.forEachEntry(actual::put);
+        assertThat(actual).isEqualTo(expected);
+        assertThat(original.size()).isEqualTo(2);
+        assertThat(original.lookup(-2)).isEqualTo(Maybe.Just(2));
+    }
+
+    private static IntMap<Integer> randomMap(Random random, int size, java.util.Map<Integer, Integer> expected) {
+        IntMap<Integer> m = IntMap.empty();
+        for (int i = 0; i < size; i++) {
+            int key = random.nextBoolean() ? random.nextInt(2000) - 1000 : random.nextInt(500) << 22;
+            m = m.insert(key, key + i);
+            expected.put(key, key + i);
+        }
+        return m;
+    }
+
+    @Test
+    public void testGetOrDefaultAndContainsKey() {
+        IntMap<String> m = IntMap.empty();
+        List<Integer> ints = List.of(1000, 5, 3, 0, 32, 1024, 99, -150, -1000, Integer.MAX_VALUE, Integer.MIN_VALUE);
+        for (int i : ints) {
+            m = m.insert(i, Integer.toHexString(i));
+        }
+        for (int i : ints) {
+            assertThat(m.getOrDefault(i, "none")).isEqualTo(Integer.toHexString(i));
+            assertThat(m.containsKey(i)).isTrue();
+        }
+        for (int i : List.of(-1, 2, 4, 64, 1025, -1024, Integer.MAX_VALUE - 1)) {
+            assertThat(m.getOrDefault(i, "none")).isEqualTo("none");
+            assertThat(m.containsKey(i)).isFalse();
+        }
+        assertThat(m.insert(7, null).containsKey(7)).isTrue();
+        assertThat(m.insert(7, null).getOrDefault(7, "none")).isNull();
+        assertThat(IntMap.<String>empty().containsKey(0)).isFalse();
+    }
+
+    @Test
+    public void testCursor() {
+        IntMap<Integer> m = randomMap(new Random(7), 1000, new java.util.HashMap<>());
+        IntMap.Cursor<Integer> cursor = m.cursor();
+        java.util.List<T2<Integer, Integer>> entries = new java.util.ArrayList<>();
+        while (cursor.advance()) {
+            entries.add(T2.of(cursor.key(), cursor.value()));
+        }
+        assertThat(cursor.advance()).isFalse();
+        assertThat(entries).containsExactlyElementsOf(m);
+        java.util.List<Integer> keys = new java.util.ArrayList<>();
+        m.keyIterator().forEachRemaining((int key) -> keys.add(key));
+        assertThat(keys).containsExactlyElementsOf(m.keys());
+        assertThat(IntMap.empty().cursor().advance()).isFalse();
+        assertThat(IntMap.empty().keyIterator().hasNext()).isFalse();
+    }
+
+    @Test
+    public void testUnionWith() {
+        Random random = new Random(42);
+        for (int round = 0; round < 20; round++) {
+            java.util.Map<Integer, Integer> expected1 = new java.util.HashMap<>();
+            java.util.Map<Integer, Integer> expected2 = new java.util.HashMap<>();
+            IntMap<Integer> m1 = randomMap(random, random.nextInt(500), expected1);
+            IntMap<Integer> m2 = randomMap(random, random.nextInt(500), expected2);
+            java.util.Map<Integer, Integer> expected = new java.util.HashMap<>(expected1);
+            expected2.forEach((key, value) -> expected.merge(key, value, (x, y) -> x - y));
+            IntMap<Integer> union = m1.unionWith(m2, (x, y) -> x - y);
+            java.util.Map<Integer, Integer> actual = new java.util.HashMap<>();
+            union.forEachEntry(actual::put);
+            assertThat(actual).isEqualTo(expected);
+            assertThat(union.size()).isEqualTo(expected.size());
+            for (int key : expected.keySet()) {
+                assertThat(union.getOrDefault(key, null)).isEqualTo(expected.get(key));
+            }
+        }
+    }
+
+    @Test
+    public void testUnionSharesStructure() {
+        IntMap<Integer> m = randomMap(new Random(3), 1000, new java.util.HashMap<>());
+        assertThat(m.union(IntMap.empty())).isSameAs(m);
+        assertThat(IntMap.<Integer>empty().union(m)).isSameAs(m);
+        assertThat(m.union(m)).isSameAs(m);
+        IntMap<Integer> smaller = m;
+        for (int key : List.fromIterable(m.keys()).take(100)) {
+            smaller = smaller.delete(key);
+        }
+        assertThat(m.union(smaller)).isSameAs(m);
+        assertThat(smaller.union(m).size()).isEqualTo(m.size());
+    }
+
+    @Test
+    public void testIntersectionWith() {
+        Random random = new Random(43);
+        for (int round = 0; round < 20; round++) {
+            java.util.Map<Integer, Integer> expected1 = new java.util.HashMap<>();
+            java.util.Map<Integer, Integer> expected2 = new java.util.HashMap<>();
+            IntMap<Integer> m1 = randomMap(random, random.nextInt(500), expected1);
+            IntMap<Integer> m2 = randomMap(random, random.nextInt(500), expected2);
+            java.util.Map<Integer, String> expected = new java.util.HashMap<>();
+            expected1.forEach((key, value) -> {
+                if (expected2.containsKey(key)) {
+                    expected.put(key, value + "/" + expected2.get(key));
+                }
+            });
+            IntMap<String> intersection = m1.intersectionWith(m2, (x, y) -> x + "/" + y);
+            java.util.Map<Integer, String> actual = new java.util.HashMap<>();
+            intersection.forEachEntry(actual::put);
+            assertThat(actual).isEqualTo(expected);
+            assertThat(intersection.size()).isEqualTo(expected.size());
+            for (int key : expected.keySet()) {
+                intersection = intersection.delete(key);
+            }
+            assertThat(intersection.isEmpty()).isTrue();
+        }
+    }
+
+    @Test
+    public void testSpliterator() {
+        IntMap<Integer> map = IntStream.range(0, 5000).mapToObj(i -> T2.of(i * 7919, i)).collect(IntMap.collector());
+        assertThat(SpliteratorCheck.splitAndCollect(map.spliterator())).containsExactlyElementsOf(map);
+        assertThat(StreamSupport.stream(map.spliterator(), true).mapToLong(T2::_2).sum()).isEqualTo(12497500L);
+    }
+
+    @Test
+    public void testSplit() {
+        IntMap<Integer> map = IntStream.range(0, 100).mapToObj(i -> T2.of(i, i)).collect(IntMap.collector());
+        T2<IntMap<Integer>, IntMap<Integer>> halves = map.split();
+        assertThat(halves._1().size() + halves._2().size()).isEqualTo(100);
+        assertThat(halves._1().isEmpty() || halves._2().isEmpty()).isFalse();
+        assertThat(List.append(List.fromIterable(halves._1()), List.fromIterable(halves._2())))
+                .containsExactlyElementsOf(map);
+        assertThat(IntMap.<Integer>empty().insert(1, 1).split()._2().isEmpty()).isTrue();
+    }
+
+    @Test
+    public void testCollector() {
+        IntMap<Integer> map = IntStream.range(0, 5000).parallel().mapToObj(i -> T2.of(i % 1000, i))
+                .collect(IntMap.collector());
+        assertThat(map.size()).isEqualTo(1000);
+        assertThat(map.getOrDefault(42, -1)).isEqualTo(4042);
+    }
 }
@@ -0,0 +1,91 @@
+package org.highj.data.instance;
+
+import org.highj.data.Either;
+import org.highj.data.List;
+import org.highj.data.Maybe;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.highj.Hkt.asList;
+import static org.highj.Hkt.asMaybe;
+
+public class ListStackSafetyTest {
+
+    private static final int SIZE = 10_000_000;
+
+    private static List<Integer> bigList() {
+        return List.range(1, 1, SIZE);
+    }
+
+    @Test
+    public void sparseFilter() {
+        assertThat(bigList().filter(x -> x % 2_500_000 == 0)).containsExactly(2_500_000, 5_000_000, 7_500_000, 10_000_000);
+        assertThat(bigList().filter(x -> x < 0).isEmpty()).isTrue();
+    }
+
+    @Test
+    public void sparseConcatMap() {
+        List<Integer> result = bigList().concatMap(x -> x % 5_000_000 == 0 ? List.of(x, -x) : List.<Integer>Nil());
+        assertThat(result).containsExactly(5_000_000, -5_000_000, 10_000_000, -10_000_000);
+    }
+
+    @Test
+    public void denseConcatMap() {
+        long sum = List.range(1, 1, 1000)
+                .concatMap(x -> List.range(1, 1, SIZE / 1000))
+                .foldl(0L, (acc, x) -> acc + x);
+        assertThat(sum).isEqualTo(1000L * (SIZE / 1000) * (SIZE / 1000 + 1) / 2);
+    }
+
+    @Test
+    public void concatMapIsLazy() {
+        assertThat(List.range(1).concatMap(x -> List.of(x, x)).take(5)).containsExactly(1, 1, 2, 2, 3);
+    }
+
+    @Test
+    public void append() {
+        List<Integer> list = List.append(bigList(), List.of(0));
+        assertThat(list.foldl(0, (acc, x) -> acc + 1)).isEqualTo(SIZE + 1);
+    }
+
+    @Test
+    public void foldr() {
+        assertThat(bigList().foldr((x, acc) -> acc + 1, 0)).isEqualTo(SIZE);
+        assertThat(List.of(1, 2, 3).foldr((x, acc) -> acc + x, "")).isEqualTo("321");
+    }
+
+    @Test
+    public void mplus() {
+        List<Integer> list = List.monadPlus.mplus(bigList(), bigList());
+        assertThat(list.foldl(0L, (acc, x) -> acc + 1)).isEqualTo(2L * SIZE);
+    }
+
+    @Test
+    public void bind() {
+        List<Integer> list = asList(List.monadPlus.bind(bigList(), x -> x == SIZE ? List.of(x) : List.<Integer>Nil()));
+        assertThat(list).containsExactly(SIZE);
+    }
+
+    @Test
+    public void tailRec() {
+        List<Integer> list = List.monadPlus.tailRec(
+                n -> n < SIZE ? List.of(Either.Left(n + 1)) : List.of(Either.Right(n)), 0);
+        assertThat(list).containsExactly(SIZE);
+    }
+
+    @Test
+    public void traverse() {
+        Maybe<List<Integer>> result = asMaybe(List.traversable.traverse(Maybe.monad, Maybe::Just, bigList())).map(list -> asList(list));
+        assertThat(result.map(List::size).getOrElse(0)).isEqualTo(SIZE);
+        Maybe<List<Integer>> none = asMaybe(List.traversable.traverse(Maybe.monad,
+                x -> x == SIZE ? Maybe.<Integer>Nothing() : Maybe.Just(x), bigList())).map(list -> asList(list));
+        assertThat(none.isNothing()).isTrue();
+    }
+
+    @Test
+    public void traversableFoldr() {
+        long count = List.traversable.foldr(x -> acc -> acc + 1, 0L, bigList());
+        assertThat(count).isEqualTo(SIZE);
+        assertThat(asList(List.traversable.map(x -> x + 1, bigList())).last()).isEqualTo(SIZE + 1);
+    }
+}
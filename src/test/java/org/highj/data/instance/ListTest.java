@@ -19,10 +19,16 @@ import org.highj.util.Gen1;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
+import org.highj.util.SpliteratorCheck;
 
 import java.util.Comparator;
 import java.util.NoSuchElementException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
+import java.util.Spliterator;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.highj.Hkt.asList;
@@ -515,4 +521,91 @@ public class ListTest {
     public void monadLaw() {
         new MonadLaw<>(List.monadPlus, Gen1.listGen1, List.eq1).test();
     }
+
+    @Test
+    public void testLazyTailIsMemoized() {
+        AtomicInteger calls = new AtomicInteger();
+        List<Integer> list = List.range(1, 1, 100).map(x -> {
+            calls.incrementAndGet();
+            return 2 * x;
+        }).filter(x -> x % 3 == 0);
+        assertThat(list.size()).isEqualTo(33);
+        assertThat(calls.get()).isEqualTo(100);
+        assertThat(list).hasSize(33).startsWith(6, 12, 18);
+        assertThat(list.last()).isEqualTo(198);
+        assertThat(calls.get()).isEqualTo(100);
+    }
+
+    @Test
+    public void testLazyTailReleasesSupplier() {
+        AtomicInteger calls = new AtomicInteger();
+        List<Integer> list = List.Cons$(1, () -> {
+            calls.incrementAndGet();
+            return List.of(2, 3);
+        });
+        assertThat(list.tail()).isSameAs(list.tail());
+        assertThat(list.maybeTail().get()).isSameAs(list.tail());
+        assertThat(calls.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void testLazyTailConcurrentAccess() throws InterruptedException {
+        AtomicInteger calls = new AtomicInteger();
+        List<Integer> list = List.range(0, 1, 9999).map(x -> {
+            calls.incrementAndGet();
+            return x;
+        });
+        CountDownLatch start = new CountDownLatch(1);
+        Thread[] threads = new Thread[4];
+        int[] sums = new int[threads.length];
+        for (int t = 0; t < threads.length; t++) {
+            int index = t;
+            threads[t] = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    throw new RuntimeException(e);
+                }
+                for (int x : list) {
+                    sums[index] += x;
+                }
+            });
+            threads[t].start();
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertThat(sums).containsOnly(49995000);
+        assertThat(calls.get()).isEqualTo(10000);
+    }
+
+    @Test
+    public void testSpliterator() {
+        List<Integer> list = List.range(1, 1, 1000);
+        Spliterator<Integer> spliterator = list.spliterator();
+        assertThat(spliterator.hasCharacteristics(Spliterator.ORDERED)).isTrue();
+        assertThat(spliterator.hasCharacteristics(Spliterator.SIZED)).isFalse();
+        assertThat(spliterator.estimateSize()).isEqualTo(Long.MAX_VALUE);
+        Spliterator<Integer> prefix = spliterator.trySplit();
+        java.util.List<Integer> elements = SpliteratorCheck.splitAndCollect(prefix);
+        elements.addAll(SpliteratorCheck.splitAndCollect(spliterator));
+        assertThat(elements).containsExactlyElementsOf(list);
+        assertThat(StreamSupport.stream(list.spliterator(), true).mapToLong(i -> i).sum()).isEqualTo(500500L);
+        assertThat(StreamSupport.stream(List.<Integer>of().spliterator(), true).count()).isEqualTo(0L);
+    }
+
+    @Test
+    public void testInfiniteStream() {
+        assertThat(StreamSupport.stream(List.range(0).spliterator(), false).limit(5).collect(List.collector()))
+                .containsExactly(0, 1, 2, 3, 4);
+        assertThat(StreamSupport.stream(List.cycle(1, 2).spliterator(), false).skip(3).findFirst().get()).isEqualTo(2);
+    }
+
+    @Test
+    public void testCollector() {
+        List<Integer> list = IntStream.rangeClosed(1, 1000).boxed().parallel().collect(List.collector());
+        assertThat(list).containsExactlyElementsOf(List.range(1, 1, 1000));
+        assertThat(IntStream.range(0, 0).boxed().collect(List.collector())).isEmpty();
+    }
 }
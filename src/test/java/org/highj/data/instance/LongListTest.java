@@ -0,0 +1,35 @@
+package org.highj.data.instance;
+
+import org.highj.data.List;
+import org.highj.data.LongList;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class LongListTest {
+
+    @Test
+    public void testOfAndPlus() {
+        LongList list = LongList.of(2L, 3L).plus(1L);
+        assertThat(list).containsExactly(1L, 2L, 3L);
+        assertThat(list.get(2)).isEqualTo(3L);
+        assertThat(list.toString()).isEqualTo("LongList(1,2,3)");
+        assertThat(LongList.empty().plus(3L).plus(2L).plus(1L)).isEqualTo(list);
+    }
+
+    @Test
+    public void testMapFilterFold() {
+        LongList list = LongList.of(1L, 2L, 3L, 4L, 5L);
+        assertThat(list.map(x -> x * 1_000_000_000L)).containsExactly(1_000_000_000L, 2_000_000_000L, 3_000_000_000L, 4_000_000_000L, 5_000_000_000L);
+        assertThat(list.filter(x -> x % 2 == 0)).containsExactly(2L, 4L);
+        assertThat(list.foldr((x, acc) -> 10 * acc + x, 0L)).isEqualTo(54321L);
+        assertThat(list.sum()).isEqualTo(15L);
+    }
+
+    @Test
+    public void testConversions() {
+        List<Long> list = List.of(1L, 2L, 3L);
+        assertThat(LongList.fromList(list).toList()).isEqualTo(list);
+        assertThat(LongList.of(1L).append(LongList.of(2L, 3L)).mapToObj(Long::valueOf)).isEqualTo(list);
+    }
+}
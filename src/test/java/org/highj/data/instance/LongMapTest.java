@@ -0,0 +1,166 @@
+package org.highj.data.instance;
+
+import org.highj.data.List;
+import org.highj.data.LongMap;
+import org.highj.data.Maybe;
+import org.highj.data.tuple.T2;
+import org.highj.util.SpliteratorCheck;
+import org.junit.Test;
+
+import java.util.Random;
+import java.util.stream.StreamSupport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.highj.Hkt.asLongMap;
+
+public class LongMapTest {
+
+    private static final List<Long> KEYS = List.of(0L, 5L, -150L, 1L << 32, (1L << 32) + 5, 1L << 62, -(1L << 40),
+            Long.MAX_VALUE, Long.MIN_VALUE, (long) Integer.MAX_VALUE, Integer.MAX_VALUE + 1L);
+
+    private static LongMap<String> sample() {
+        LongMap<String> m = LongMap.empty();
+        for (long key : KEYS) {
+            m = m.insert(key, Long.toHexString(key));
+        }
+        return m;
+    }
+
+    private static LongMap<Long> randomMap(Random random, int size, java.util.Map<Long, Long> expected) {
+        LongMap<Long> m = LongMap.empty();
+        for (int i = 0; i < size; i++) {
+            long key = random.nextBoolean() ? random.nextInt(2000) - 1000 : (long) random.nextInt(500) << 40;
+            m = m.insert(key, key + i);
+            expected.put(key, key + i);
+        }
+        return m;
+    }
+
+    @Test
+    public void testLookup() {
+        LongMap<String> m = sample();
+        assertThat(m.size()).isEqualTo(KEYS.size());
+        for (long key : KEYS) {
+            assertThat(m.lookup(key)).isEqualTo(Maybe.Just(Long.toHexString(key)));
+            assertThat(m.getOrDefault(key, "none")).isEqualTo(Long.toHexString(key));
+            assertThat(m.containsKey(key)).isTrue();
+        }
+        for (long key : List.of(1L, 1L << 30, (1L << 32) + 1, 1L << 61, Long.MAX_VALUE - 1)) {
+            assertThat(m.lookup(key).isNothing()).isTrue();
+            assertThat(m.getOrDefault(key, "none")).isEqualTo("none");
+            assertThat(m.containsKey(key)).isFalse();
+        }
+    }
+
+    @Test
+    public void testIteration() {
+        LongMap<String> m = sample();
+        java.util.Set<Long> keys = new java.util.HashSet<>();
+        for (T2<Long, String> x : m) {
+            assertThat(Long.toHexString(x._1())).isEqualTo(x._2());
+            keys.add(x._1());
+        }
+        assertThat(keys).containsOnlyElementsOf(KEYS).hasSize(KEYS.size());
+        assertThat(m.keys()).containsExactlyElementsOf(List.fromIterable(m).map(T2::_1));
+        assertThat(m.values()).containsExactlyElementsOf(List.fromIterable(m).map(T2::_2));
+        java.util.List<Long> cursorKeys = new java.util.ArrayList<>();
+        for (LongMap.Cursor<String> cursor = m.cursor(); cursor.advance(); ) {
+            assertThat(cursor.value()).isEqualTo(Long.toHexString(cursor.key()));
+            cursorKeys.add(cursor.key());
+        }
+        assertThat(cursorKeys).containsExactlyElementsOf(m.keys());
+        java.util.List<Long> iteratedKeys = new java.util.ArrayList<>();
+        m.keyIterator().forEachRemaining((long key) -> iteratedKeys.add(key));
+        assertThat(iteratedKeys).containsExactlyElementsOf(m.keys());
+        java.util.List<Long> forEachKeys = new java.util.ArrayList<>();
+        m.forEachEntry((key, value) -> forEachKeys.add(key));
+        assertThat(forEachKeys).containsExactlyElementsOf(m.keys());
+    }
+
+    @Test
+    public void testAgainstJavaHashMap() {
+        Random random = new Random(4711);
+        LongMap<Integer> m = LongMap.empty();
+        LongMap.Transient<Integer> builder = LongMap.<Integer>empty().toTransient();
+        java.util.Map<Long, Integer> expected = new java.util.HashMap<>();
+        for (int i = 0; i < 20000; i++) {
+            long key = random.nextBoolean() ? random.nextInt(1000) : random.nextLong() >> random.nextInt(64);
+            if (random.nextInt(3) == 0) {
+                m = m.delete(key);
+                builder.delete(key);
+                expected.remove(key);
+            } else {
+                m = m.insert(key, i);
+                builder.insert(key, i);
+                expected.put(key, i);
+            }
+        }
+        assertThat(m.size()).isEqualTo(expected.size());
+        java.util.Map<Long, Integer> actual = new java.util.HashMap<>();
+        m.forEachEntry(actual::put);
+        assertThat(actual).isEqualTo(expected);
+        java.util.Map<Long, Integer> actualTransient = new java.util.HashMap<>();
+        builder.persistent().forEachEntry(actualTransient::put);
+        assertThat(actualTransient).isEqualTo(expected);
+        for (long key : expected.keySet()) {
+            m = m.delete(key);
+        }
+        assertThat(m.isEmpty()).isTrue();
+    }
+
+    @Test
+    public void testUnionAndIntersection() {
+        Random random = new Random(42);
+        for (int round = 0; round < 20; round++) {
+            java.util.Map<Long, Long> expected1 = new java.util.HashMap<>();
+            java.util.Map<Long, Long> expected2 = new java.util.HashMap<>();
+            LongMap<Long> m1 = randomMap(random, random.nextInt(500), expected1);
+            LongMap<Long> m2 = randomMap(random, random.nextInt(500), expected2);
+            java.util.Map<Long, Long> expectedUnion = new java.util.HashMap<>(expected1);
+            expected2.forEach((key, value) -> expectedUnion.merge(key, value, (x, y) -> x - y));
+            java.util.Map<Long, Long> actualUnion = new java.util.HashMap<>();
+            m1.unionWith(m2, (x, y) -> x - y).forEachEntry(actualUnion::put);
+            assertThat(actualUnion).isEqualTo(expectedUnion);
+            java.util.Map<Long, Long> expectedIntersection = new java.util.HashMap<>(expected1);
+            expectedIntersection.keySet().retainAll(expected2.keySet());
+            java.util.Map<Long, Long> actualIntersection = new java.util.HashMap<>();
+            LongMap<Long> intersection = m1.intersectionWith(m2, (x, y) -> x);
+            intersection.forEachEntry(actualIntersection::put);
+            assertThat(actualIntersection).isEqualTo(expectedIntersection);
+            assertThat(intersection.size()).isEqualTo(expectedIntersection.size());
+        }
+        LongMap<String> m = sample();
+        assertThat(m.union(m.delete(5L))).isSameAs(m);
+        assertThat(m.union(LongMap.empty())).isSameAs(m);
+    }
+
+    @Test
+    public void testFunctor() {
+        LongMap<Integer> m = asLongMap(LongMap.functor.map(String::length, sample()));
+        assertThat(m.size()).isEqualTo(KEYS.size());
+        for (long key : KEYS) {
+            assertThat(m.getOrDefault(key, -1)).isEqualTo(Long.toHexString(key).length());
+        }
+    }
+
+    @Test
+    public void testSpliterator() {
+        LongMap<Integer> map = LongMap.empty();
+        for (int i = 0; i < 5000; i++) {
+            map = map.insert(i * 7919L << 20, i);
+        }
+        assertThat(SpliteratorCheck.splitAndCollect(map.spliterator())).containsExactlyElementsOf(map);
+        assertThat(StreamSupport.stream(map.spliterator(), true).mapToLong(T2::_2).sum()).isEqualTo(12497500L);
+    }
+
+    @Test
+    public void testSplit() {
+        LongMap<String> map = sample();
+        T2<LongMap<String>, LongMap<String>> halves = map.split();
+        assertThat(halves._1().size() + halves._2().size()).isEqualTo(map.size());
+        assertThat(halves._1().isEmpty() || halves._2().isEmpty()).isFalse();
+        assertThat(List.append(List.fromIterable(halves._1()), List.fromIterable(halves._2())))
+                .containsExactlyElementsOf(map);
+        assertThat(LongMap.<Integer>empty().insert(1L, 1).split()._2().isEmpty()).isTrue();
+    }
+}
@@ -174,4 +174,71 @@ public class MapTest {
     }
 
 
-}
\ No newline at end of file
+
+    @Test
+    public void testSizeWithCollisions() throws Exception {
+        //"Aa" and "BB" have the same hash code
+        Map<String, Integer> map = Map.<String, Integer>empty().plus("Aa", 1).plus("BB", 2).plus("x", 3).plus("Aa", 4);
+        assertEquals(3, map.size());
+        assertEquals(2, map.minus("x").size());
+        assertEquals(0, Map.empty().size());
+    }
+
+    @Test
+    public void testUnionWith() throws Exception {
+        Map<String, Integer> other = Map.<String, Integer>empty().plus("y", 1).plus("w", 7);
+        Map<String, Integer> union = aMap.unionWith(other, Integer::sum);
+        assertEquals(4, union.size());
+        assertEquals(Integer.valueOf(6), union.get("y"));
+        assertEquals(Integer.valueOf(7), union.get("w"));
+        assertEquals(Integer.valueOf(3), union.get("x"));
+        assertEquals(Integer.valueOf(5), aMap.union(other).get("y"));
+        assertTrue(aMap.union(Map.empty()) == aMap);
+        assertTrue(aMap.union(aMap.minus("x")) == aMap);
+        assertTrue(Map.<String, Integer>empty().union(aMap) == aMap);
+    }
+
+    @Test
+    public void testIntersectionAndDifference() throws Exception {
+        Map<String, String> other = Map.<String, String>empty().plus("y", "a").plus("z", "b").plus("w", "c");
+        Map<String, Integer> intersection = aMap.intersection(other);
+        assertEquals(2, intersection.size());
+        assertEquals(Integer.valueOf(5), intersection.get("y"));
+        assertEquals(Integer.valueOf(10), intersection.get("z"));
+        Map<String, Integer> difference = aMap.difference(other);
+        assertEquals(1, difference.size());
+        assertEquals(Integer.valueOf(3), difference.get("x"));
+        assertTrue(aMap.intersection(aMap) == aMap);
+        assertTrue(aMap.difference(other.minus("y").minus("z")) == aMap);
+        //"Aa" and "BB" have the same hash code
+        Map<String, Integer> colliding = Map.<String, Integer>empty().plus("Aa", 1).plus("BB", 2);
+        assertEquals("Map(BB->2)", colliding.intersection(Map.<String, Integer>empty().plus("BB", 0)).toString());
+        assertEquals("Map(Aa->1)", colliding.difference(Map.<String, Integer>empty().plus("BB", 0)).toString());
+    }
+
+    @Test
+    public void testFilterAndPartition() throws Exception {
+        Map<String, Integer> filtered = aMap.filter((key, value) -> value > 4);
+        assertEquals(2, filtered.size());
+        assertTrue(filtered.apply("x").isNothing());
+        assertTrue(aMap.filter((key, value) -> true) == aMap);
+        T2<Map<String, Integer>, Map<String, Integer>> partition = aMap.partition((key, value) -> key.equals("y"));
+        assertEquals("Map(y->5)", partition._1().toString());
+        assertEquals(2, partition._2().size());
+        assertEquals(Integer.valueOf(10), partition._2().get("z"));
+    }
+
+    @Test
+    public void testSequentialKeys() throws Exception {
+        Map<Integer, Integer> map = Map.empty();
+        for (int i = 0; i < 200_000; i++) {
+            map = map.plus(i, -i);
+        }
+        assertEquals(200_000, map.size());
+        assertEquals(Integer.valueOf(-4711), map.get(4711));
+        assertEquals(Integer.valueOf(42), map.getOrElse(200_000, 42));
+        Map<Integer, Integer> doubled = map.map(i -> 2 * i);
+        assertEquals(Integer.valueOf(-9422), doubled.get(4711));
+        assertEquals(200_000, doubled.keys().size());
+    }
+}
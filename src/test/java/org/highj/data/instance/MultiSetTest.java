@@ -1,7 +1,10 @@
 package org.highj.data.instance;
 
+import org.highj.data.MultiSet;
 import org.junit.Test;
 
+import static org.assertj.core.api.Assertions.assertThat;
+
 public class MultiSetTest {
 
     @Test
@@ -94,4 +97,47 @@ public class MultiSetTest {
     public void testMonoid() throws Exception {
 
     }
+
+    @Test
+    public void testSetAlgebra() throws Exception {
+        MultiSet<String> m1 = MultiSet.<String>empty().plus("a", 3).plus("b", 1).plus("Aa", 2);
+        MultiSet<String> m2 = MultiSet.<String>empty().plus("a", 1).plus("c", 4).plus("BB", 5);
+        MultiSet<String> union = m1.union(m2);
+        assertThat(union.size()).isEqualTo(5);
+        assertThat(union.apply("a")).isEqualTo(3);
+        assertThat(union.apply("c")).isEqualTo(4);
+        assertThat(union.apply("BB")).isEqualTo(5);
+        MultiSet<String> intersection = m1.intersection(m2);
+        assertThat(intersection.size()).isEqualTo(1);
+        assertThat(intersection.apply("a")).isEqualTo(1);
+        MultiSet<String> difference = m1.difference(m2);
+        assertThat(difference.apply("a")).isEqualTo(2);
+        assertThat(difference.apply("b")).isEqualTo(1);
+        assertThat(difference.apply("Aa")).isEqualTo(2);
+        assertThat(difference.size()).isEqualTo(3);
+        assertThat(m1.difference(MultiSet.<String>empty().plus("a", 3)).apply("a")).isEqualTo(0);
+        assertThat(m1.union(m1.minus1("a"))).isSameAs(m1);
+        assertThat(m1.difference(MultiSet.empty())).isSameAs(m1);
+    }
+
+    @Test
+    public void testFilterAndPartition() throws Exception {
+        MultiSet<String> m = MultiSet.<String>empty().plus("a", 3).plus("bb", 1).plus("cc", 2);
+        assertThat(m.filter(s -> s.length() == 2).toJMap()).containsOnlyKeys("bb", "cc");
+        assertThat(m.filter(s -> true)).isSameAs(m);
+        assertThat(m.partition(s -> s.length() == 1)._1().toJMap()).containsOnlyKeys("a");
+        assertThat(m.partition(s -> s.length() == 1)._2().toJMap()).containsOnlyKeys("bb", "cc");
+    }
+
+    @Test
+    public void testSequentialKeys() throws Exception {
+        MultiSet<Integer> m = MultiSet.empty();
+        for (int i = 0; i < 200_000; i++) {
+            m = m.plus(i, i % 3 + 1);
+        }
+        assertThat(m.size()).isEqualTo(200_000);
+        assertThat(m.apply(4711)).isEqualTo(4711 % 3 + 1);
+        assertThat(m.minus(4711, 4711 % 3 + 1).apply(4711)).isEqualTo(0);
+        assertThat(m.toSet().size()).isEqualTo(200_000);
+    }
 }
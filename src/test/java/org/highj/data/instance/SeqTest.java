@@ -0,0 +1,225 @@
+package org.highj.data.instance;
+
+import org.highj.data.List;
+import org.highj.data.Maybe;
+import org.highj.data.Seq;
+import org.highj.data.impl.fingerTree.FingerTree;
+import org.highj.data.impl.fingerTree.Measured;
+import org.highj.data.num.Integers;
+import org.highj.data.tuple.T2;
+import org.highj.util.SpliteratorCheck;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Random;
+import java.util.Spliterator;
+import java.util.stream.StreamSupport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.highj.Hkt.asMaybe;
+import static org.highj.Hkt.asSeq;
+
+public class SeqTest {
+
+    private static Seq<Integer> range(int from, int to) {
+        Seq<Integer> result = Seq.empty();
+        for (int i = from; i < to; i++) {
+            result = result.snoc(i);
+        }
+        return result;
+    }
+
+    private static java.util.List<Integer> jRange(int from, int to) {
+        java.util.List<Integer> result = new ArrayList<>();
+        for (int i = from; i < to; i++) {
+            result.add(i);
+        }
+        return result;
+    }
+
+    private static void assertSame(Seq<Integer> seq, java.util.List<Integer> expected) {
+        assertThat(seq.size()).isEqualTo(expected.size());
+        assertThat(seq).containsExactlyElementsOf(expected);
+        for (int i = 0; i < expected.size(); i++) {
+            assertThat(seq.get(i)).isEqualTo(expected.get(i));
+        }
+    }
+
+    @Test
+    public void testEmpty() {
+        Seq<String> seq = Seq.empty();
+        assertThat(seq.isEmpty()).isTrue();
+        assertThat(seq).isEmpty();
+        assertThat(seq.getFirst()).isEqualTo(Maybe.Nothing());
+        assertThat(seq.getLast()).isEqualTo(Maybe.Nothing());
+        assertThat(seq.uncons().isNothing()).isTrue();
+        assertThat(seq.unsnoc().isNothing()).isTrue();
+        assertThat(seq.toString()).isEqualTo("Seq()");
+    }
+
+    @Test
+    public void testOf() {
+        Seq<String> seq = Seq.of("a", "b", "c");
+        assertThat(seq).containsExactly("a", "b", "c");
+        assertThat(seq.toString()).isEqualTo("Seq(a,b,c)");
+        assertThat(seq.toList()).isEqualTo(List.of("a", "b", "c"));
+        assertThat(Seq.fromList(List.of("a", "b", "c"))).isEqualTo(seq);
+    }
+
+    @Test
+    public void testConsAndSnoc() {
+        Seq<Integer> seq = Seq.empty();
+        for (int i = 0; i < 1000; i++) {
+            seq = seq.cons(-i).snoc(i);
+        }
+        assertThat(seq.size()).isEqualTo(2000);
+        assertThat(seq.getFirst()).isEqualTo(Maybe.Just(-999));
+        assertThat(seq.getLast()).isEqualTo(Maybe.Just(999));
+        assertThat(seq.get(999)).isEqualTo(0);
+        assertThat(seq.get(1000)).isEqualTo(0);
+        assertThat(seq.get(1001)).isEqualTo(1);
+    }
+
+    @Test
+    public void testUnconsAndUnsnoc() {
+        Seq<Integer> seq = range(0, 1000);
+        java.util.List<Integer> fromFront = new ArrayList<>();
+        for (Maybe<T2<Integer, Seq<Integer>>> step = seq.uncons(); step.isJust(); step = step.get()._2().uncons()) {
+            fromFront.add(step.get()._1());
+        }
+        assertThat(fromFront).isEqualTo(jRange(0, 1000));
+        java.util.List<Integer> fromBack = new ArrayList<>();
+        for (Maybe<T2<Seq<Integer>, Integer>> step = seq.unsnoc(); step.isJust(); step = step.get()._1().unsnoc()) {
+            fromBack.add(0, step.get()._2());
+        }
+        assertThat(fromBack).isEqualTo(jRange(0, 1000));
+    }
+
+    @Test
+    public void testGetAndUpdate() {
+        Seq<Integer> seq = range(0, 3000);
+        Seq<Integer> updated = seq;
+        for (int i = 0; i < 3000; i += 11) {
+            updated = updated.update(i, -i);
+        }
+        for (int i = 0; i < 3000; i++) {
+            assertThat(updated.get(i)).isEqualTo(i % 11 == 0 ? -i : i);
+        }
+        assertSame(seq, jRange(0, 3000));
+        assertThatThrownBy(() -> seq.get(3000)).isInstanceOf(IndexOutOfBoundsException.class);
+        assertThatThrownBy(() -> seq.update(-1, 0)).isInstanceOf(IndexOutOfBoundsException.class);
+    }
+
+    @Test
+    public void testSplitAtAndConcat() {
+        Seq<Integer> seq = range(0, 1000);
+        for (int i = -1; i <= 1001; i += 7) {
+            T2<Seq<Integer>, Seq<Integer>> split = seq.splitAt(i);
+            int index = Math.max(0, Math.min(i, 1000));
+            assertSame(split._1(), jRange(0, index));
+            assertSame(split._2(), jRange(index, 1000));
+            assertSame(split._1().concat(split._2()), jRange(0, 1000));
+            assertSame(seq.take(i), jRange(0, index));
+            assertSame(seq.drop(i), jRange(index, 1000));
+        }
+    }
+
+    @Test
+    public void testRandomOperations() {
+        Random random = new Random(4711);
+        Seq<Integer> seq = Seq.empty();
+        java.util.List<Integer> expected = new ArrayList<>();
+        for (int step = 0; step < 1000; step++) {
+            int size = expected.size();
+            switch (random.nextInt(6)) {
+                case 0:
+                    seq = seq.cons(step);
+                    expected.add(0, step);
+                    break;
+                case 1:
+                    seq = seq.snoc(step);
+                    expected.add(step);
+                    break;
+                case 2:
+                    if (size > 0) {
+                        seq = seq.uncons().get()._2();
+                        expected.remove(0);
+                    }
+                    break;
+                case 3:
+                    if (size > 0) {
+                        seq = seq.unsnoc().get()._1();
+                        expected.remove(size - 1);
+                    }
+                    break;
+                case 4:
+                    int index = random.nextInt(size + 1);
+                    T2<Seq<Integer>, Seq<Integer>> split = seq.splitAt(index);
+                    Seq<Integer> other = range(0, random.nextInt(100));
+                    seq = split._1().concat(other).concat(split._2());
+                    expected.addAll(index, jRange(0, other.size()));
+                    break;
+                default:
+                    if (size > 0) {
+                        int i = random.nextInt(size);
+                        seq = seq.update(i, -step);
+                        expected.set(i, -step);
+                    }
+            }
+            assertSame(seq, expected);
+        }
+    }
+
+    @Test
+    public void testFolds() {
+        Seq<String> seq = Seq.of("a", "b", "c");
+        assertThat(seq.foldr((s, acc) -> acc + s, "")).isEqualTo("cba");
+        assertThat(seq.foldl("", (acc, s) -> acc + s)).isEqualTo("abc");
+        assertThat(Seq.traversable.foldr(x -> acc -> acc + x, 0, range(0, 100))).isEqualTo(4950);
+    }
+
+    @Test
+    public void testFunctor() {
+        Seq<Integer> seq = asSeq(Seq.functor.map(x -> x * 2, range(0, 100)));
+        assertThat(seq).isEqualTo(range(0, 100).map(x -> 2 * x));
+        assertThat(seq.get(50)).isEqualTo(100);
+    }
+
+    @Test
+    public void testTraversable() {
+        Maybe<Seq<Integer>> result = asMaybe(Seq.traversable.traverse(Maybe.monad,
+                x -> Maybe.Just(x + 1), range(0, 100))).map(s -> asSeq(s));
+        assertThat(result).isEqualTo(Maybe.Just(range(1, 101)));
+        Maybe<Seq<Integer>> none = asMaybe(Seq.traversable.traverse(Maybe.monad,
+                x -> x == 50 ? Maybe.<Integer>Nothing() : Maybe.Just(x), range(0, 100))).map(s -> asSeq(s));
+        assertThat(none.isNothing()).isTrue();
+    }
+
+    @Test
+    public void testCustomMeasure() {
+        //a max-priority queue, finding the first element with the maximum priority
+        Measured<Integer, Integer> max = Measured.of(Integers.maxMonoid, x -> x);
+        FingerTree<Integer, Integer> tree = FingerTree.empty(max);
+        for (int x : new int[]{3, 1, 4, 1, 5, 9, 2, 6, 5, 3, 5}) {
+            tree = tree.snoc(x);
+        }
+        assertThat(tree.measure()).isEqualTo(9);
+        int top = tree.measure();
+        assertThat(tree.lookup(m -> m >= top)).isEqualTo(Maybe.Just(9));
+        T2<FingerTree<Integer, Integer>, FingerTree<Integer, Integer>> split = tree.split(m -> m >= top);
+        assertThat(split._1()).containsExactly(3, 1, 4, 1, 5);
+        assertThat(split._2()).containsExactly(9, 2, 6, 5, 3, 5);
+        assertThat(split._2().uncons().get()._2().measure()).isEqualTo(6);
+        assertThat(tree.lookup(m -> m > 9).isNothing()).isTrue();
+    }
+
+    @Test
+    public void testSpliterator() {
+        Seq<Integer> seq = Seq.fromList(List.range(1, 1, 1000));
+        assertThat(SpliteratorCheck.splitAndCollect(seq.spliterator())).containsExactlyElementsOf(seq);
+        assertThat(seq.spliterator().hasCharacteristics(Spliterator.ORDERED)).isTrue();
+        assertThat(StreamSupport.stream(seq.spliterator(), true).mapToLong(i -> i).sum()).isEqualTo(500500L);
+        assertThat(StreamSupport.stream(Seq.<Integer>empty().spliterator(), true).count()).isEqualTo(0L);
+    }
+}
@@ -5,9 +5,11 @@ import org.highj.data.Either;
 import org.highj.data.List;
 import org.highj.data.Set;
 import org.highj.data.instance.set.SetMonadPlus;
+import org.highj.data.tuple.T2;
 import org.highj.typeclass0.group.Monoid;
 import org.junit.Test;
 
+import java.util.Random;
 import java.util.function.Function;
 import java.util.function.Predicate;
 
@@ -194,4 +196,90 @@ public class SetTest {
         assertThat(Set.empty().toString()).isEqualTo("Set()");
         assertThat(Set.of(0, 8, 15).toString()).isEqualTo("Set(0,8,15)");
     }
+
+    @Test
+    public void testUnionIntersectionDifference() {
+        Random random = new Random(42);
+        for (int round = 0; round < 20; round++) {
+            java.util.Set<Integer> expected1 = new java.util.HashSet<>();
+            java.util.Set<Integer> expected2 = new java.util.HashSet<>();
+            Set<Integer> s1 = Set.empty();
+            Set<Integer> s2 = Set.empty();
+            for (int i = random.nextInt(300); i > 0; i--) {
+                int value = random.nextInt(500);
+                s1 = s1.plus(value);
+                expected1.add(value);
+            }
+            for (int i = random.nextInt(300); i > 0; i--) {
+                int value = random.nextInt(500);
+                s2 = s2.plus(value);
+                expected2.add(value);
+            }
+            java.util.Set<Integer> union = new java.util.HashSet<>(expected1);
+            union.addAll(expected2);
+            assertThat(s1.union(s2).toJSet()).isEqualTo(union);
+            assertThat(s1.union(s2).size()).isEqualTo(union.size());
+            java.util.Set<Integer> intersection = new java.util.HashSet<>(expected1);
+            intersection.retainAll(expected2);
+            assertThat(s1.intersection(s2).toJSet()).isEqualTo(intersection);
+            assertThat(s1.intersection(s2).size()).isEqualTo(intersection.size());
+            java.util.Set<Integer> difference = new java.util.HashSet<>(expected1);
+            difference.removeAll(expected2);
+            assertThat(s1.difference(s2).toJSet()).isEqualTo(difference);
+            assertThat(s1.difference(s2).size()).isEqualTo(difference.size());
+        }
+    }
+
+    @Test
+    public void testSetAlgebraWithCollisions() {
+        //"Aa" and "BB" have the same hash code
+        Set<String> s1 = Set.of("Aa", "x", "y");
+        Set<String> s2 = Set.of("BB", "y", "z");
+        assertThat(s1.union(s2)).containsExactlyInAnyOrder("Aa", "BB", "x", "y", "z");
+        assertThat(s1.intersection(s2)).containsExactly("y");
+        assertThat(s1.difference(s2)).containsExactlyInAnyOrder("Aa", "x");
+        assertThat(s1.union(Set.of("BB", "Aa")).intersection(Set.of("BB"))).containsExactly("BB");
+    }
+
+    @Test
+    public void testSetAlgebraSharesStructure() {
+        Set<Integer> set = Set.of(List.range(0, 7, 700));
+        Set<Integer> subset = set.filter(i -> i % 3 == 0);
+        assertThat(set.union(subset)).isSameAs(set);
+        assertThat(set.union(Set.empty())).isSameAs(set);
+        assertThat(Set.<Integer>empty().union(set)).isSameAs(set);
+        assertThat(set.intersection(set)).isSameAs(set);
+        assertThat(subset.intersection(set)).isSameAs(subset);
+        assertThat(set.difference(Set.of(-1, 1))).isSameAs(set);
+        assertThat(set.filter(i -> true)).isSameAs(set);
+        assertThat(set.difference(set)).isEmpty();
+    }
+
+    @Test
+    public void testPartition() {
+        T2<Set<Integer>, Set<Integer>> partition = Set.of(1, 2, 3, 4, 5, 6, 7).partition(i -> i % 2 == 0);
+        assertThat(partition._1()).containsExactlyInAnyOrder(2, 4, 6);
+        assertThat(partition._2()).containsExactlyInAnyOrder(1, 3, 5, 7);
+        Set<Integer> set = Set.of(1, 3, 5);
+        assertThat(set.partition(i -> i % 2 == 0)._1()).isEmpty();
+        assertThat(set.partition(i -> i % 2 == 0)._2()).isSameAs(set);
+    }
+
+    @Test
+    public void testSequentialKeys() {
+        //sequential hash codes used to degenerate the old hash-ordered tree into a list
+        Set<Integer> set = Set.empty();
+        for (int i = 0; i < 200_000; i++) {
+            set = set.plus(i);
+        }
+        assertThat(set.size()).isEqualTo(200_000);
+        assertThat(set.test(199_999)).isTrue();
+        assertThat(set.test(200_000)).isFalse();
+        for (int i = 0; i < 200_000; i += 2) {
+            set = set.minus(i);
+        }
+        assertThat(set.size()).isEqualTo(100_000);
+        assertThat(set.test(4711)).isTrue();
+        assertThat(set.test(4712)).isFalse();
+    }
 }
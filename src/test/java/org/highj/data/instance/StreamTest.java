@@ -10,6 +10,7 @@ import org.highj.function.Strings;
 import org.highj.typeclass1.monad.Monad;
 
 import java.util.Iterator;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 import static org.highj.Hkt.asStream;
@@ -303,4 +304,41 @@ public class StreamTest
     assertThat("Stream(3,1,4,2,5,3,6,4,7,5...)")
       .isEqualTo(stream.toString());
   }
+
+  @Test
+  public void testUnfoldIsMemoized() throws Exception
+  {
+    AtomicInteger calls = new AtomicInteger();
+    Stream<Integer> stream = unfold(x -> {
+      calls.incrementAndGet();
+      return x + 1;
+    }, 0);
+    assertThat(stream.apply(100)).isEqualTo(100);
+    assertThat(stream.apply(50)).isEqualTo(50);
+    assertThat(stream.tail()).isSameAs(stream.tail());
+    assertThat(calls.get()).isEqualTo(100);
+  }
+
+  @Test
+  public void testLazyStreamFromIterator() throws Exception
+  {
+    Stream<Integer> stream = newLazyStream(range(0).iterator());
+    assertThat(stream.tail().head()).isEqualTo(1);
+    assertThat(stream.tail().head()).isEqualTo(1);
+    assertThat(stream.apply(5)).isEqualTo(5);
+  }
+
+  @Test
+  public void testSparseFilter() throws Exception
+  {
+    AtomicInteger calls = new AtomicInteger();
+    Stream<Integer> stream = range(0).map(x -> {
+      calls.incrementAndGet();
+      return x;
+    }).filter(x -> x % 100000 == 0);
+    assertThat(stream.apply(5)).isEqualTo(500000);
+    assertThat(stream.apply(3)).isEqualTo(300000);
+    assertThat(calls.get()).isEqualTo(500001);
+    assertThat(stream.dropWhile(x -> x < 400000).head()).isEqualTo(400000);
+  }
 }
@@ -0,0 +1,234 @@
+package org.highj.data.instance;
+
+import org.highj.data.List;
+import org.highj.data.Maybe;
+import org.highj.data.Vector;
+import org.highj.util.SpliteratorCheck;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.Spliterator;
+import java.util.stream.StreamSupport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.highj.Hkt.asMaybe;
+import static org.highj.Hkt.asVector;
+
+public class VectorTest {
+
+    private static Vector<Integer> range(int from, int to) {
+        Vector<Integer> result = Vector.empty();
+        for (int i = from; i < to; i++) {
+            result = result.append(i);
+        }
+        return result;
+    }
+
+    private static java.util.List<Integer> jRange(int from, int to) {
+        java.util.List<Integer> result = new ArrayList<>();
+        for (int i = from; i < to; i++) {
+            result.add(i);
+        }
+        return result;
+    }
+
+    private static void assertSame(Vector<Integer> vector, java.util.List<Integer> expected) {
+        assertThat(vector.size()).isEqualTo(expected.size());
+        assertThat(vector.toJList()).isEqualTo(expected);
+        for (int i = 0; i < expected.size(); i++) {
+            assertThat(vector.get(i)).isEqualTo(expected.get(i));
+        }
+    }
+
+    @Test
+    public void testEmpty() {
+        Vector<String> empty = Vector.empty();
+        assertThat(empty.isEmpty()).isTrue();
+        assertThat(empty.size()).isEqualTo(0);
+        assertThat(empty).isEmpty();
+        assertThat(empty.maybeGet(0)).isEqualTo(Maybe.Nothing());
+        assertThat(empty.toString()).isEqualTo("Vector()");
+    }
+
+    @Test
+    public void testOf() {
+        Vector<String> vector = Vector.of("a", "b", "c");
+        assertThat(vector).containsExactly("a", "b", "c");
+        assertThat(vector.toString()).isEqualTo("Vector(a,b,c)");
+        //the varargs array has runtime type String[], but mapping must still work
+        assertThat(vector.map(String::length)).containsExactly(1, 1, 1);
+    }
+
+    @Test
+    public void testAppendAndGet() {
+        for (int size : new int[]{0, 1, 31, 32, 33, 1024, 1025, 1056, 32768 + 33, 100000}) {
+            assertSame(range(0, size), jRange(0, size));
+        }
+    }
+
+    @Test
+    public void testGetOutOfBounds() {
+        Vector<Integer> vector = range(0, 100);
+        assertThatThrownBy(() -> vector.get(100)).isInstanceOf(IndexOutOfBoundsException.class);
+        assertThatThrownBy(() -> vector.get(-1)).isInstanceOf(IndexOutOfBoundsException.class);
+        assertThat(vector.maybeGet(99)).isEqualTo(Maybe.Just(99));
+        assertThat(vector.maybeGet(100)).isEqualTo(Maybe.Nothing());
+    }
+
+    @Test
+    public void testUpdate() {
+        Vector<Integer> vector = range(0, 2000);
+        Vector<Integer> updated = vector;
+        for (int i = 0; i < 2000; i += 7) {
+            updated = updated.update(i, -i);
+        }
+        for (int i = 0; i < 2000; i++) {
+            assertThat(updated.get(i)).isEqualTo(i % 7 == 0 ? -i : i);
+            assertThat(vector.get(i)).isEqualTo(i);
+        }
+        assertThatThrownBy(() -> vector.update(2000, 0)).isInstanceOf(IndexOutOfBoundsException.class);
+    }
+
+    @Test
+    public void testConcat() {
+        int[] sizes = {0, 1, 5, 32, 33, 100, 1024, 1057, 5000, 40000};
+        for (int left : sizes) {
+            for (int right : sizes) {
+                Vector<Integer> vector = range(0, left).concat(range(left, left + right));
+                assertSame(vector, jRange(0, left + right));
+                assertSame(vector.append(-1).update(left + right, -2),
+                        concat(jRange(0, left + right), Arrays.asList(-2)));
+            }
+        }
+    }
+
+    @Test
+    public void testSlice() {
+        Vector<Integer> vector = range(0, 5000);
+        int[] bounds = {0, 1, 31, 32, 33, 1023, 1024, 1025, 2500, 4967, 4999, 5000};
+        for (int from : bounds) {
+            for (int to : bounds) {
+                if (from <= to) {
+                    Vector<Integer> slice = vector.slice(from, to);
+                    assertSame(slice, jRange(from, to));
+                    assertSame(slice.append(-1), concat(jRange(from, to), Arrays.asList(-1)));
+                }
+            }
+        }
+        assertThatThrownBy(() -> vector.slice(10, 5)).isInstanceOf(IndexOutOfBoundsException.class);
+        assertThatThrownBy(() -> vector.slice(0, 5001)).isInstanceOf(IndexOutOfBoundsException.class);
+    }
+
+    @Test
+    public void testRandomOperations() {
+        Random random = new Random(42);
+        Vector<Integer> vector = Vector.empty();
+        java.util.List<Integer> expected = new ArrayList<>();
+        for (int step = 0; step < 400; step++) {
+            int size = expected.size();
+            switch (random.nextInt(5)) {
+                case 0:
+                    int count = random.nextInt(300);
+                    for (int i = 0; i < count; i++) {
+                        vector = vector.append(step);
+                        expected.add(step);
+                    }
+                    break;
+                case 1:
+                    if (size > 0) {
+                        int index = random.nextInt(size);
+                        vector = vector.update(index, -step);
+                        expected.set(index, -step);
+                    }
+                    break;
+                case 2:
+                    int from = random.nextInt(size + 1);
+                    int to = from + random.nextInt(size - from + 1);
+                    vector = vector.slice(from, to);
+                    expected = new ArrayList<>(expected.subList(from, to));
+                    break;
+                default:
+                    Vector<Integer> other = Vector.fromJavaList(jRange(0, random.nextInt(3000)));
+                    if (random.nextBoolean()) {
+                        vector = vector.concat(other);
+                        expected = concat(expected, other.toJList());
+                    } else {
+                        vector = other.concat(vector);
+                        expected = concat(other.toJList(), expected);
+                    }
+                    if (expected.size() > 50000) {
+                        vector = vector.take(20000);
+                        expected = new ArrayList<>(expected.subList(0, 20000));
+                    }
+            }
+            assertSame(vector, expected);
+        }
+    }
+
+    @Test
+    public void testConversions() {
+        List<Integer> list = List.range(1, 1, 1000);
+        Vector<Integer> vector = Vector.fromList(list);
+        assertThat(vector.toList()).isEqualTo(list);
+        assertThat(Vector.fromJavaList(list.toJList())).isEqualTo(vector);
+        assertThat(Vector.fromIterable(list)).isEqualTo(vector);
+        assertThat(vector.toJList()).isEqualTo(list.toJList());
+        assertThat(vector.hashCode()).isEqualTo(range(1, 1001).hashCode());
+        assertThat(vector).isNotEqualTo(range(1, 1000));
+    }
+
+    @Test
+    public void testFolds() {
+        Vector<String> vector = Vector.of("a", "b", "c");
+        assertThat(vector.foldr((s, acc) -> acc + s, "")).isEqualTo("cba");
+        assertThat(vector.foldl("", (acc, s) -> acc + s)).isEqualTo("abc");
+    }
+
+    @Test
+    public void testFunctor() {
+        Vector<Integer> vector = asVector(Vector.functor.map(x -> x * 2, range(0, 1000)));
+        assertSame(vector, Arrays.asList(jRange(0, 1000).stream().map(x -> x * 2).toArray(Integer[]::new)));
+    }
+
+    @Test
+    public void testTraversable() {
+        Maybe<Vector<Integer>> result = asMaybe(Vector.traversable.traverse(Maybe.monad,
+                x -> Maybe.Just(x + 1), range(0, 100))).map(v -> asVector(v));
+        assertThat(result).isEqualTo(Maybe.Just(range(1, 101)));
+        Maybe<Vector<Integer>> none = asMaybe(Vector.traversable.traverse(Maybe.monad,
+                x -> x == 50 ? Maybe.<Integer>Nothing() : Maybe.Just(x), range(0, 100))).map(v -> asVector(v));
+        assertThat(none.isNothing()).isTrue();
+        assertThat(Vector.traversable.foldr(x -> acc -> acc + x, 0, range(0, 100))).isEqualTo(4950);
+        assertThat(Vector.traversable.foldl(acc -> x -> acc + x, 0, range(0, 100))).isEqualTo(4950);
+    }
+
+    @Test
+    public void testMonadPlus() {
+        Vector<Integer> vector = asVector(Vector.monadPlus.bind(Vector.of(1, 2, 3), x -> Vector.of(x, 10 * x)));
+        assertThat(vector).containsExactly(1, 10, 2, 20, 3, 30);
+        Vector<Integer> ap = asVector(Vector.monadPlus.ap(
+                Vector.<java.util.function.Function<Integer, Integer>>of(x -> x + 1, x -> x * 2), Vector.of(10, 20)));
+        assertThat(ap).containsExactly(11, 21, 20, 40);
+        assertThat(asVector(Vector.monadPlus.pure("x"))).containsExactly("x");
+        assertThat(asVector(Vector.monadPlus.mplus(range(0, 50), range(50, 100)))).isEqualTo(range(0, 100));
+        assertThat(asVector(Vector.monadPlus.<Integer>mzero())).isEmpty();
+    }
+
+    private static <A> java.util.List<A> concat(java.util.List<A> one, java.util.List<A> two) {
+        java.util.List<A> result = new ArrayList<>(one);
+        result.addAll(two);
+        return result;
+    }
+
+    @Test
+    public void testSpliterator() {
+        Vector<Integer> vector = range(0, 500).concat(range(500, 2000)).drop(3);
+        assertThat(SpliteratorCheck.splitAndCollect(vector.spliterator())).containsExactlyElementsOf(vector);
+        assertThat(vector.spliterator().hasCharacteristics(Spliterator.ORDERED)).isTrue();
+        assertThat(StreamSupport.stream(vector.spliterator(), true).mapToLong(i -> i).sum()).isEqualTo(1998997L);
+        assertThat(StreamSupport.stream(Vector.<Integer>empty().spliterator(), true).count()).isEqualTo(0L);
+    }
+}
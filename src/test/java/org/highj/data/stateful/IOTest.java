@@ -0,0 +1,108 @@
+package org.highj.data.stateful;
+
+import org.highj.data.List;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+import static org.highj.Hkt.asIO;
+import static org.highj.Hkt.asList;
+
+public class IOTest {
+
+    private static final int DEPTH = 100000;
+
+    @Test
+    public void testLeftNestedBinds() throws IOException {
+        IO<Integer> io = IO.applicative.pure(0);
+        for (int i = 0; i < DEPTH; i++) {
+            io = io.bind(x -> IO.applicative.pure(x + 1));
+        }
+        assertThat(io.run()).isEqualTo(DEPTH);
+    }
+
+    @Test
+    public void testRightNestedBinds() throws IOException {
+        assertThat(countDown(DEPTH).run()).isEqualTo(0);
+    }
+
+    private static IO<Integer> countDown(int n) {
+        return n == 0 ? IO.applicative.pure(0) : IO.applicative.pure(n - 1).bind(IOTest::countDown);
+    }
+
+    @Test
+    public void testNestedMaps() throws IOException {
+        IO<Integer> io = () -> 0;
+        for (int i = 0; i < DEPTH; i++) {
+            io = io.map(x -> x + 1);
+        }
+        assertThat(io.run()).isEqualTo(DEPTH);
+    }
+
+    @Test
+    public void testTraverse() throws IOException {
+        java.util.List<Integer> visited = new ArrayList<>();
+        List<Integer> numbers = List.range(1, 1, DEPTH);
+        List<Integer> result = asList(asIO(List.traversable.traverse(IO.applicative, (Integer i) -> (IO<Integer>) () -> {
+            visited.add(i);
+            return 2 * i;
+        }, numbers)).run());
+        assertThat(result.head()).isEqualTo(2);
+        assertThat(result.size()).isEqualTo(DEPTH);
+        assertThat(visited.size()).isEqualTo(DEPTH);
+        assertThat(visited.get(DEPTH - 1)).isEqualTo(DEPTH);
+    }
+
+    @Test
+    public void testEffectOrder() throws IOException {
+        StringBuilder sb = new StringBuilder();
+        IO<Integer> io = IO.apply.ap((IO<Function<Integer, Integer>>) () -> {
+            sb.append("fn ");
+            return x -> x * 2;
+        }, (IO<Integer>) () -> {
+            sb.append("arg ");
+            return 21;
+        });
+        assertThat(sb.toString()).isEmpty();
+        assertThat(io.run()).isEqualTo(42);
+        assertThat(sb.toString()).isEqualTo("fn arg ");
+        assertThat(io.run()).isEqualTo(42);
+        assertThat(sb.toString()).isEqualTo("fn arg fn arg ");
+    }
+
+    @Test
+    public void testExceptionStopsChain() {
+        StringBuilder sb = new StringBuilder();
+        IO<Integer> io = IO.applicative.pure(1)
+                .bind(x -> IO.monadError.<Integer>throwError(new IOException("boom")))
+                .map(x -> {
+                    sb.append("unreachable");
+                    return x;
+                });
+        try {
+            io.run();
+            fail("expected IOException");
+        } catch (IOException ex) {
+            assertThat(ex).hasMessage("boom");
+        }
+        assertThat(sb.toString()).isEmpty();
+    }
+
+    @Test
+    public void testCatchError() throws IOException {
+        IO<Integer> failing = IO.applicative.pure(1).bind(x -> IO.monadError.throwError(new IOException("boom")));
+        IO<Integer> io = asIO(IO.monadError.catchError(failing, ex -> IO.applicative.pure(ex.getMessage().length())));
+        assertThat(io.bind(x -> IO.applicative.pure(x + 1)).run()).isEqualTo(5);
+    }
+
+    @Test
+    public void testToSafeIO() {
+        assertThat(IO.applicative.pure(1).map(x -> x + 1).toSafeIO().run().getRight()).isEqualTo(2);
+        IO<Integer> failing = IO.monadError.throwError(new IOException("boom"));
+        assertThat(failing.toSafeIO().run().getLeft()).hasMessage("boom");
+    }
+}
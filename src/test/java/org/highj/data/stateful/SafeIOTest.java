@@ -0,0 +1,68 @@
+package org.highj.data.stateful;
+
+import org.highj.data.List;
+import org.junit.Test;
+
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.highj.Hkt.asList;
+import static org.highj.Hkt.asSafeIO;
+
+public class SafeIOTest {
+
+    private static final int DEPTH = 100000;
+
+    @Test
+    public void testLeftNestedBinds() {
+        SafeIO<Integer> io = SafeIO.applicative.pure(0);
+        for (int i = 0; i < DEPTH; i++) {
+            io = asSafeIO(SafeIO.bind.bind(io, x -> SafeIO.applicative.pure(x + 1)));
+        }
+        assertThat(io.run()).isEqualTo(DEPTH);
+    }
+
+    @Test
+    public void testRightNestedBinds() {
+        assertThat(countDown(DEPTH).run()).isEqualTo(0);
+    }
+
+    private static SafeIO<Integer> countDown(int n) {
+        return n == 0 ? SafeIO.applicative.pure(0)
+                : asSafeIO(SafeIO.bind.bind(SafeIO.applicative.pure(n - 1), SafeIOTest::countDown));
+    }
+
+    @Test
+    public void testTraverse() {
+        int[] counter = new int[1];
+        List<Integer> numbers = List.range(1, 1, DEPTH);
+        List<Integer> result = asList(asSafeIO(List.traversable.traverse(SafeIO.applicative, (Integer i) -> (SafeIO<Integer>) () -> {
+            counter[0]++;
+            return 2 * i;
+        }, numbers)).run());
+        assertThat(result.size()).isEqualTo(DEPTH);
+        assertThat(result.head()).isEqualTo(2);
+        assertThat(counter[0]).isEqualTo(DEPTH);
+    }
+
+    @Test
+    public void testEffectOrder() {
+        StringBuilder sb = new StringBuilder();
+        SafeIO<Integer> io = asSafeIO(SafeIO.apply.ap((SafeIO<Function<Integer, Integer>>) () -> {
+            sb.append("fn ");
+            return x -> x * 2;
+        }, (SafeIO<Integer>) () -> {
+            sb.append("arg ");
+            return 21;
+        }));
+        assertThat(sb.toString()).isEmpty();
+        assertThat(io.run()).isEqualTo(42);
+        assertThat(sb.toString()).isEqualTo("fn arg ");
+    }
+
+    @Test
+    public void testToIO() throws Exception {
+        SafeIO<Integer> io = asSafeIO(SafeIO.functor.map(x -> x + 1, SafeIO.applicative.pure(1)));
+        assertThat(io.toIO().map(x -> x * 2).run()).isEqualTo(4);
+    }
+}
@@ -0,0 +1,184 @@
+package org.highj.data.stateful.fiber;
+
+import org.highj.data.Either;
+import org.highj.data.List;
+import org.highj.data.Maybe;
+import org.highj.data.stateful.AsyncIO;
+import org.highj.data.tuple.T0;
+import org.highj.data.tuple.T2;
+import org.junit.After;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.fail;
+import static org.highj.Hkt.asAsyncIO;
+
+public class FiberRuntimeTest {
+
+    private final FiberRuntime runtime = new FiberRuntime();
+
+    @After
+    public void tearDown() {
+        runtime.close();
+    }
+
+    @Test
+    public void testForkJoin() throws IOException {
+        AsyncIO<Integer> io = asAsyncIO(AsyncIO.bind.bind(runtime.fork(delayed(42, 10)), Fiber::join));
+        assertThat(runtime.runSync(io)).isEqualTo(42);
+    }
+
+    @Test
+    public void testManyFibers() throws IOException {
+        List<Integer> numbers = List.range(1, 1, 20000);
+        List<Integer> result = runtime.runSync(runtime.parTraverse(i -> delayed(2 * i, 20), numbers));
+        assertThat(result.toJList()).isEqualTo(numbers.map(i -> 2 * i).toJList());
+    }
+
+    @Test
+    public void testParTraverseFailure() {
+        AsyncIO<List<Integer>> io = runtime.parTraverse(
+                i -> i == 5 ? failed(new IOException("five")) : delayed(i, 1000), List.range(1, 1, 10));
+        try {
+            runtime.runSync(io);
+            fail("exception expected");
+        } catch (IOException e) {
+            assertThat(e).hasMessage("five");
+        }
+    }
+
+    @Test
+    public void testPar() throws IOException {
+        assertThat(runtime.runSync(runtime.par(delayed("a", 20), delayed(1, 10)))).isEqualTo(T2.of("a", 1));
+    }
+
+    @Test
+    public void testRace() throws IOException {
+        assertThat(runtime.runSync(runtime.race(delayed("slow", 2000), delayed(1, 10))))
+                .isEqualTo(Either.<String, Integer>Right(1));
+        assertThat(runtime.runSync(runtime.race(delayed("fast", 10), delayed(1, 2000))))
+                .isEqualTo(Either.<String, Integer>Left("fast"));
+    }
+
+    @Test
+    public void testTimeout() throws IOException {
+        assertThat(runtime.runSync(runtime.timeout(delayed(1, 10), 5, TimeUnit.SECONDS))).isEqualTo(1);
+        try {
+            runtime.runSync(runtime.timeout(delayed(1, 5000), 20, TimeUnit.MILLISECONDS));
+            fail("exception expected");
+        } catch (InterruptedIOException e) {
+            assertThat(e).hasMessageContaining("timed out");
+        }
+    }
+
+    @Test
+    public void testYieldLoop() throws IOException {
+        AtomicInteger counter = new AtomicInteger();
+        assertThat(runtime.runSync(countDown(runtime, 100000, counter::incrementAndGet))).isEqualTo(T0.of());
+        assertThat(counter.get()).isEqualTo(100000);
+    }
+
+    @Test
+    public void testYieldFairness() throws Exception {
+        //a single worker must not keep running a yielding fiber before the fibers submitted from outside
+        ForkJoinPool pool = singleWorkerPool();
+        try (FiberRuntime single = new FiberRuntime(pool)) {
+            CountDownLatch first = new CountDownLatch(1000);
+            CountDownLatch second = new CountDownLatch(1000);
+            Fiber<T0> firstFiber = single.runSync(single.fork(countDown(single, Integer.MAX_VALUE, first::countDown)));
+            Fiber<T0> secondFiber = runWithin(single, single.fork(countDown(single, Integer.MAX_VALUE, second::countDown)));
+            assertThat(first.await(10, TimeUnit.SECONDS)).isTrue();
+            assertThat(second.await(10, TimeUnit.SECONDS)).isTrue();
+            runWithin(single, firstFiber.cancel());
+            runWithin(single, secondFiber.cancel());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testCancel() throws Exception {
+        //with a single worker, no step of the cancelled fiber can be in progress while the cancellation runs
+        ForkJoinPool pool = singleWorkerPool();
+        try (FiberRuntime single = new FiberRuntime(pool)) {
+            AtomicInteger counter = new AtomicInteger();
+            CountDownLatch running = new CountDownLatch(100);
+            Fiber<T0> fiber = single.runSync(single.fork(countDown(single, Integer.MAX_VALUE, () -> {
+                counter.incrementAndGet();
+                running.countDown();
+            })));
+            assertThat(running.await(10, TimeUnit.SECONDS)).isTrue();
+            runWithin(single, fiber.cancel());
+            int stopped = counter.get();
+            try {
+                single.runSync(fiber.join());
+                fail("exception expected");
+            } catch (InterruptedIOException e) {
+                assertThat(e).hasMessage("fiber cancelled");
+            }
+            single.runSync(countDown(single, 100, () -> {}));
+            assertThat(counter.get()).isEqualTo(stopped);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testAsync() throws IOException {
+        AsyncIO<String> io = runtime.async(callback -> new Thread(() -> callback.accept(Either.Right("callback"))).start());
+        assertThat(runtime.runSync(io)).isEqualTo("callback");
+    }
+
+    @Test
+    public void testOutsideFiber() throws IOException {
+        Fiber<T0> sleeping = runtime.runSync(runtime.fork(runtime.sleep(1, TimeUnit.SECONDS)));
+        //without a fiber, there is nothing to resume or to cancel later
+        assertThatThrownBy(() -> runtime.sleep(1, TimeUnit.MILLISECONDS).toIO(result -> () -> T0.of()).run())
+                .isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> runtime.yieldNow().toIO(result -> () -> T0.of()).run())
+                .isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> sleeping.join().toIO(result -> () -> T0.of()).run())
+                .isInstanceOf(IllegalStateException.class);
+        runtime.runSync(sleeping.cancel());
+    }
+
+    private static AsyncIO<T0> countDown(FiberRuntime runtime, int n, Runnable step) {
+        return n == 0 ? asAsyncIO(AsyncIO.applicative.pure(T0.of()))
+                : asAsyncIO(AsyncIO.bind.bind(runtime.yieldNow(), unit -> {
+                    step.run();
+                    return countDown(runtime, n - 1, step);
+                }));
+    }
+
+    //runs the computation from another thread, so the test fails instead of hanging when it isn't scheduled
+    private static <A> A runWithin(FiberRuntime runtime, AsyncIO<A> io) throws Exception {
+        ExecutorService caller = Executors.newSingleThreadExecutor();
+        try {
+            return caller.submit(() -> runtime.runSync(io)).get(10, TimeUnit.SECONDS);
+        } finally {
+            caller.shutdownNow();
+        }
+    }
+
+    private static ForkJoinPool singleWorkerPool() {
+        return new ForkJoinPool(1, ForkJoinPool.defaultForkJoinWorkerThreadFactory, null, true);
+    }
+
+    private <A> AsyncIO<A> delayed(A a, long millis) {
+        return asAsyncIO(AsyncIO.functor.map(unit -> a, runtime.sleep(millis, TimeUnit.MILLISECONDS)));
+    }
+
+    private static <A> AsyncIO<A> failed(IOException exception) {
+        return handler -> () -> Maybe.Just(Either.Left(exception));
+    }
+}
@@ -0,0 +1,225 @@
+package org.highj.data.stateful.nio;
+
+import org.highj.data.Either;
+import org.highj.data.List;
+import org.highj.data.stateful.AsyncIO;
+import org.highj.data.stateful.fiber.Fiber;
+import org.highj.data.stateful.fiber.FiberRuntime;
+import org.highj.data.tuple.T0;
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.AsynchronousServerSocketChannel;
+import java.nio.channels.AsynchronousSocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+import static org.highj.Hkt.asAsyncIO;
+
+public class AsyncNioTest {
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    private final FiberRuntime runtime = new FiberRuntime();
+
+    private final BufferPool pool = new BufferPool(4096, 16, true);
+
+    @After
+    public void tearDown() {
+        runtime.close();
+    }
+
+    @Test
+    public void testFileRoundTrip() throws IOException {
+        byte[] bytes = new byte[100000];
+        new Random(42).nextBytes(bytes);
+        Path path = folder.getRoot().toPath().resolve("data.bin");
+        runtime.runSync(AsyncFiles.write(path, bytes));
+        assertThat(Files.readAllBytes(path)).isEqualTo(bytes);
+        assertThat(runtime.runSync(AsyncFiles.readAllBytes(path, pool))).isEqualTo(bytes);
+    }
+
+    @Test
+    public void testReadAtEndOfFile() throws IOException {
+        Path path = folder.newFile().toPath();
+        Files.write(path, new byte[]{1, 2, 3});
+        AsyncIO<Integer> io = asAsyncIO(AsyncIO.bind.bind(AsyncFiles.open(path, StandardOpenOption.READ), channel ->
+                Completions.guarantee(AsyncFiles.read(channel, ByteBuffer.allocate(10), 3L), () -> Completions.closeQuietly(channel))));
+        assertThat(runtime.runSync(io)).isEqualTo(-1);
+    }
+
+    @Test
+    public void testOpenMissingFile() {
+        try {
+            runtime.runSync(AsyncFiles.readAllBytes(folder.getRoot().toPath().resolve("missing"), pool));
+            fail("exception expected");
+        } catch (IOException e) {
+            assertThat(e).isInstanceOf(NoSuchFileException.class);
+        }
+    }
+
+    @Test
+    public void testFailureAfterNio() throws IOException {
+        Path path = folder.newFile().toPath();
+        Files.write(path, new byte[]{1, 2, 3});
+        AsyncIO<Integer> io = asAsyncIO(AsyncIO.bind.bind(AsyncFiles.readAllBytes(path, pool), bytes ->
+                AsyncIO.functor.<T0, Integer>map(unit -> {
+                    throw new IllegalStateException("boom");
+                }, runtime.sleep(1, TimeUnit.MILLISECONDS))));
+        try {
+            runtime.runSync(runtime.timeout(io, 10, TimeUnit.SECONDS));
+            fail("exception expected");
+        } catch (IOException e) {
+            assertThat(e).hasCauseInstanceOf(IllegalStateException.class);
+            assertThat(e.getCause()).hasMessage("boom");
+        }
+    }
+
+    @Test
+    public void testCancelAfterNio() throws Exception {
+        Path path = folder.newFile().toPath();
+        Files.write(path, new byte[]{1, 2, 3});
+        CountDownLatch read = new CountDownLatch(1);
+        AtomicBoolean resumed = new AtomicBoolean();
+        AsyncIO<T0> io = asAsyncIO(AsyncIO.bind.bind(AsyncFiles.readAllBytes(path, pool), bytes -> {
+            read.countDown();
+            return AsyncIO.functor.map(unit -> {
+                resumed.set(true);
+                return unit;
+            }, runtime.sleep(100, TimeUnit.MILLISECONDS));
+        }));
+        Fiber<T0> fiber = runtime.runSync(runtime.fork(io));
+        assertThat(read.await(10, TimeUnit.SECONDS)).isTrue();
+        runtime.runSync(fiber.cancel());
+        Thread.sleep(300);
+        assertThat(resumed.get()).isFalse();
+    }
+
+    @Test
+    public void testTimeoutReleasesResources() throws IOException {
+        AsynchronousServerSocketChannel server = runtime.runSync(
+                AsyncSockets.listen(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0)));
+        try (AsynchronousSocketChannel client = runtime.runSync(AsyncSockets.open())) {
+            runtime.runSync(AsyncSockets.connect(client, server.getLocalAddress()));
+            AsynchronousSocketChannel channel = runtime.runSync(AsyncSockets.accept(server));
+            ByteBuffer[] used = new ByteBuffer[1];
+            //the client never writes, so the read is still pending when the time is up
+            AsyncIO<Integer> read = Completions.guarantee(pool.withBuffer(buffer -> {
+                used[0] = buffer;
+                return AsyncSockets.read(channel, buffer);
+            }), () -> Completions.closeQuietly(channel));
+            try {
+                runtime.runSync(runtime.timeout(read, 50, TimeUnit.MILLISECONDS));
+                fail("exception expected");
+            } catch (InterruptedIOException e) {
+                assertThat(e).hasMessageContaining("timed out");
+            }
+            assertThat(channel.isOpen()).isFalse();
+            assertThat(pool.acquire()).isSameAs(used[0]);
+        } finally {
+            server.close();
+        }
+    }
+
+    @Test
+    public void testBufferPool() throws IOException {
+        ByteBuffer buffer = pool.acquire();
+        buffer.put((byte) 1);
+        pool.release(buffer);
+        ByteBuffer reused = pool.acquire();
+        assertThat(reused).isSameAs(buffer);
+        assertThat(reused.position()).isEqualTo(0);
+        pool.release(reused);
+        ByteBuffer[] used = new ByteBuffer[1];
+        runtime.runSync(pool.withBuffer(b -> {
+            used[0] = b;
+            return asAsyncIO(AsyncIO.applicative.pure(T0.of()));
+        }));
+        assertThat(pool.acquire()).isSameAs(used[0]);
+    }
+
+    @Test
+    public void testLoopbackEcho() throws IOException {
+        AsynchronousServerSocketChannel server = runtime.runSync(
+                AsyncSockets.listen(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0)));
+        try {
+            SocketAddress address = server.getLocalAddress();
+            Fiber<T0> serverFiber = runtime.runSync(runtime.fork(serve(server)));
+            List<Integer> clients = List.range(1, 1, 50);
+            List<String> answers = runtime.runSync(runtime.parTraverse(i -> client(address, message(i)), clients));
+            assertThat(answers.toJList()).isEqualTo(clients.map(AsyncNioTest::message).toJList());
+            runtime.runSync(serverFiber.cancel());
+        } finally {
+            server.close();
+        }
+    }
+
+    private static String message(int i) {
+        StringBuilder sb = new StringBuilder();
+        for (int j = 0; j < i * 20; j++) {
+            sb.append("client ").append(i).append(' ');
+        }
+        return sb.toString();
+    }
+
+    private AsyncIO<T0> serve(AsynchronousServerSocketChannel server) {
+        return asAsyncIO(AsyncIO.monadRec.<T0, T0>tailRec(unit -> AsyncIO.bind.bind(AsyncSockets.accept(server),
+                channel -> AsyncIO.functor.map(fiber -> Either.<T0, T0>Left(unit), runtime.fork(echo(channel)))), T0.of()));
+    }
+
+    private AsyncIO<T0> echo(AsynchronousSocketChannel channel) {
+        return Completions.guarantee(pool.withBuffer(buffer ->
+                asAsyncIO(AsyncIO.monadRec.<T0, T0>tailRec(unit -> AsyncIO.bind.bind(AsyncSockets.read(channel, buffer), read -> {
+                    if (read < 0) {
+                        return AsyncIO.applicative.pure(Either.<T0, T0>Right(unit));
+                    }
+                    buffer.flip();
+                    return AsyncIO.functor.map(written -> {
+                        buffer.clear();
+                        return Either.<T0, T0>Left(unit);
+                    }, AsyncSockets.writeFully(channel, buffer));
+                }), T0.of()))), () -> Completions.closeQuietly(channel));
+    }
+
+    private static AsyncIO<String> client(SocketAddress address, String message) {
+        return asAsyncIO(AsyncIO.bind.bind(AsyncSockets.open(), channel -> Completions.guarantee(
+                asAsyncIO(AsyncIO.bind.bind(AsyncSockets.connect(channel, address), u1 ->
+                        AsyncIO.bind.bind(AsyncSockets.writeFully(channel, ByteBuffer.wrap(message.getBytes(StandardCharsets.UTF_8))), u2 ->
+                                AsyncIO.bind.bind(AsyncSockets.shutdownOutput(channel), u3 -> readToEnd(channel))))),
+                () -> Completions.closeQuietly(channel))));
+    }
+
+    private static AsyncIO<String> readToEnd(AsynchronousSocketChannel channel) {
+        ByteBuffer buffer = ByteBuffer.allocate(64);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        return asAsyncIO(AsyncIO.monadRec.<T0, String>tailRec(unit -> {
+            buffer.clear();
+            return AsyncIO.functor.map(read -> {
+                if (read < 0) {
+                    return Either.<T0, String>Right(new String(out.toByteArray(), StandardCharsets.UTF_8));
+                }
+                out.write(buffer.array(), 0, read);
+                return Either.<T0, String>Left(unit);
+            }, AsyncSockets.read(channel, buffer));
+        }, T0.of()));
+    }
+}
@@ -0,0 +1,80 @@
+package org.highj.data.transformer;
+
+import org.highj.data.coroutine.ProducerT;
+import org.highj.data.tuple.T0;
+import org.highj.data.tuple.T1;
+import org.highj.function.NF;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.highj.Hkt.asT1;
+
+public class FreeTTest {
+
+    private static final int DEPTH = 100000;
+
+    @Test
+    public void testLeftNestedBinds() {
+        FreeT<T1.µ, T1.µ, Integer> free = FreeT.liftM(T1.of(0));
+        for (int i = 0; i < DEPTH; i++) {
+            free = FreeT.bind(free, x -> FreeT.liftF(T1.of(x + 1)));
+        }
+        assertThat(asT1(free.run(T1.monadRec, NF.identity()))._1()).isEqualTo(DEPTH);
+    }
+
+    @Test
+    public void testRightNestedBinds() {
+        assertThat(asT1(countUp(0).run(T1.monadRec, NF.identity()))._1()).isEqualTo(DEPTH);
+    }
+
+    private static FreeT<T1.µ, T1.µ, Integer> countUp(int n) {
+        return n == DEPTH ? FreeT.done(n) : FreeT.bind(FreeT.liftM(T1.of(n + 1)), FreeTTest::countUp);
+    }
+
+    @Test
+    public void testMixedNesting() {
+        FreeT<T1.µ, T1.µ, Integer> free = FreeT.done(0);
+        for (int i = 0; i < 1000; i++) {
+            FreeT<T1.µ, T1.µ, Integer> inner = FreeT.liftF(T1.of(1));
+            for (int j = 0; j < 10; j++) {
+                inner = FreeT.bind(inner, x -> FreeT.liftM(T1.of(x + 1)));
+            }
+            FreeT<T1.µ, T1.µ, Integer> step = inner;
+            free = FreeT.bind(free, x -> FreeT.bind(step, y -> FreeT.suspend(() -> FreeT.done(x + y))));
+        }
+        assertThat(asT1(free.run(T1.monadRec, NF.identity()))._1()).isEqualTo(11000);
+    }
+
+    @Test
+    public void testResumeLeftNested() {
+        ProducerT<Integer, T1.µ, T0> producer = ProducerT.done(T0.of());
+        for (int i = 0; i < DEPTH; i++) {
+            int n = i;
+            producer = ProducerT.bind(producer, unit -> ProducerT.yield(n));
+        }
+        Iterator<Integer> iterator = ProducerT.toIterator(producer);
+        List<Integer> result = new ArrayList<>();
+        iterator.forEachRemaining(result::add);
+        assertThat(result).hasSize(DEPTH);
+        assertThat(result.get(0)).isEqualTo(0);
+        assertThat(result.get(DEPTH - 1)).isEqualTo(DEPTH - 1);
+    }
+
+    @Test
+    public void testRunAppliesEachContinuationOnce() {
+        int[] calls = new int[1];
+        FreeT<T1.µ, T1.µ, Integer> free = FreeT.liftF(T1.of(0));
+        for (int i = 0; i < 1000; i++) {
+            free = FreeT.bind(free, x -> {
+                calls[0]++;
+                return FreeT.liftF(T1.of(x + 1));
+            });
+        }
+        assertThat(asT1(free.run(T1.monadRec, NF.identity()))._1()).isEqualTo(1000);
+        assertThat(calls[0]).isEqualTo(1000);
+    }
+}
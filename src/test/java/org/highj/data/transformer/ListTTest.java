@@ -5,12 +5,16 @@ import org.derive4j.hkt.__2;
 import org.highj.data.Either;
 import org.highj.data.List;
 import org.highj.data.Maybe;
+import org.highj.data.stateful.IO;
+import org.highj.data.tuple.T0;
 import org.highj.data.tuple.T2;
 import org.junit.Test;
 
+import java.io.IOException;
 import java.util.function.Function;
 
 import static org.assertj.core.api.Assertions.*;
+import static org.highj.Hkt.asIO;
 import static org.highj.Hkt.asListT;
 import static org.highj.Hkt.asMaybe;
 import static org.highj.data.Maybe.*;
@@ -518,6 +522,71 @@ public class ListTTest {
         assertListTEquals(listT, 'c', 'c', 'b', 'b', 'b', 'a', 'a');
     }
 
+    @Test
+    public void memoizedTail() {
+        int[] calls = new int[1];
+        ListT.Yield<µ, Integer> yield = ListT.yield(24, () -> {
+            calls[0]++;
+            return listTOf(42);
+        });
+        // the tail must be evaluated only once
+        assertThat(yield.tail().get()).isSameAs(yield.tail().get());
+        assertThat(yield.mapTail(l -> l.head(monad)).get()).isEqualTo(Just(Just(42)));
+        assertThat(calls[0]).isEqualTo(1);
+    }
+
+    @Test
+    public void longSkipChain() {
+        Integer[] numbers = new Integer[100000];
+        for (int i = 0; i < numbers.length; i++) {
+            numbers[i] = i;
+        }
+        ListT<µ, Integer> listT = listTOf(numbers).filter(monad, i -> i >= 99998);
+        // uncons() and foldl() with a MonadRec instance must not overflow the stack
+        assertThat(asMaybe(listT.head(monad))).isEqualTo(Just(Just(99998)));
+        assertThat(listT.foldl(monad, Integer::sum, 0)).isEqualTo(Just(99998 + 99999));
+        assertThat(listT.foldl_(monad, (b, a) -> Just(b + 1), 0)).isEqualTo(Just(2));
+        assertThat(ListT.functor(monad).map(i -> -i, listT).runToList(monad)).isEqualTo(Just(List.of(-99998, -99999)));
+    }
+
+    @Test
+    public void runToListAndDrain() throws IOException {
+        int[] effects = new int[1];
+        ListT<IO.µ, Integer> listT = ListT.unfold(IO.monadRec, (Integer n) -> (IO<Maybe<T2<Integer, Integer>>>) () -> {
+            effects[0]++;
+            return n == 1000 ? Nothing() : Just(T2.of(n + 1, n));
+        }, 0);
+        List<Integer> result = asIO(listT.runToList(IO.monadRec)).run();
+        assertThat(result.toJList()).hasSize(1000).startsWith(0, 1, 2).endsWith(999);
+        assertThat(effects[0]).isEqualTo(1001);
+        assertThat(asIO(listT.drain(IO.monadRec)).run()).isEqualTo(T0.of());
+        assertThat(effects[0]).isEqualTo(2002);
+    }
+
+    @Test
+    public void chunks() throws IOException {
+        int[] effects = new int[1];
+        ListT<IO.µ, Integer> listT = ListT.unfoldChunks(IO.monadRec, (Integer n) -> (IO<Maybe<T2<Integer, Integer[]>>>) () -> {
+            effects[0]++;
+            return n == 10 ? Nothing() : Just(T2.of(n + 1, new Integer[]{2 * n, 2 * n + 1}));
+        }, 0);
+        // the MonadRec folds must consume a whole chunk per step of the nested monad
+        assertThat(asIO(listT.foldl(IO.monadRec, Integer::sum, 0)).run()).isEqualTo(190);
+        assertThat(effects[0]).isEqualTo(11);
+        // a chunk must behave like a sequence of yields for all other operations
+        ListT<µ, Integer> maybeListT = ListT.unfoldChunks(monad,
+                (Integer n) -> Just(n == 3 ? Nothing() : Just(T2.of(n + 1, n == 1 ? new Integer[0] : new Integer[]{n, n, n}))), 0);
+        assertListTEquals(maybeListT, 0, 0, 0, 2, 2, 2);
+        assertListTEquals(maybeListT.drop(monad, 2).take(monad, 2), 0, 2);
+        assertThat(maybeListT.runToList(monad)).isEqualTo(Just(List.of(0, 0, 0, 2, 2, 2)));
+        ListT.Step<µ, Integer> step = asMaybe(maybeListT.run()).get();
+        assertThat(step).isInstanceOf(ListT.Chunk.class);
+        ListT.Chunk<µ, Integer> chunk = (ListT.Chunk<µ, Integer>) step;
+        assertThat(chunk.size()).isEqualTo(3);
+        assertThat(chunk.head()).isEqualTo(0);
+        assertThatThrownBy(() -> chunk.get(3)).isInstanceOf(IndexOutOfBoundsException.class);
+    }
+
     @SafeVarargs
     private static <A> void assertListTEquals(ListT<µ, A> list, A... as) {
         ListT<µ, A> current = list;
@@ -1,13 +1,20 @@
 package org.highj.typeclass1.foldable;
 
+import org.derive4j.hkt.__;
+import org.highj.data.Dequeue;
 import org.highj.data.List;
 import org.highj.data.Maybe;
 import org.highj.data.num.Integers;
+import org.highj.data.transformer.IdentityT;
+import org.highj.data.tuple.T1;
+import org.highj.data.tuple.T2;
 import org.junit.Test;
 
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
 
@@ -60,4 +67,100 @@ public class FoldableTest {
         List<String> noStrings = List.of();
         assertTrue(List.traversable.foldl1(wrapFn, noStrings).isNothing());
     }
+
+    @Test
+    public void testFoldlStrict() throws Exception {
+        List<String> strings = List.of("e", "i", "o", "u");
+        String result = List.traversable.foldlStrict((a, b) -> "(" + a + "," + b + ")", "a", strings);
+        assertEquals("((((a,e),i),o),u)", result);
+        assertEquals("((a,e),i)", Dequeue.traversable.foldlStrict((a, b) -> "(" + a + "," + b + ")", "a", Dequeue.of("e", "i")));
+        assertEquals("(a,e)", Maybe.traversable.foldlStrict((a, b) -> "(" + a + "," + b + ")", "a", Maybe.Just("e")));
+        assertEquals("a", Maybe.traversable.<String, String>foldlStrict((a, b) -> "(" + a + "," + b + ")", "a", Maybe.Nothing()));
+    }
+
+    @Test
+    public void testFoldlStrictLargeList() throws Exception {
+        List<Integer> numbers = List.range(1, 1, 100000);
+        long result = List.traversable.foldlStrict((Long a, Integer b) -> a + b, 0L, numbers);
+        assertEquals(5000050000L, result);
+    }
+
+    @Test
+    public void testFoldWhile() throws Exception {
+        AtomicInteger visited = new AtomicInteger();
+        List<Integer> numbers = List.range(1, 1, 100);
+        int result = List.traversable.foldWhile((Integer a, Integer b) -> {
+            visited.incrementAndGet();
+            return a + b;
+        }, 0, a -> a < 10, numbers);
+        assertEquals(10, result);
+        assertEquals(4, visited.get());
+        assertEquals(10, (int) Dequeue.traversable.foldWhile((Integer a, Integer b) -> a + b, 0, a -> a < 10,
+                Dequeue.of(1, 2, 3, 4, 5, 6)));
+        assertEquals(0, (int) Maybe.traversable.foldWhile((Integer a, Integer b) -> a + b, 0, a -> a > 0, Maybe.Just(5)));
+    }
+
+    @Test
+    public void testFind() throws Exception {
+        AtomicInteger visited = new AtomicInteger();
+        List<Integer> numbers = List.range(1, 1, 100);
+        Maybe<Integer> result = List.traversable.find(i -> visited.incrementAndGet() > 0 && i % 7 == 0, numbers);
+        assertEquals(7, (int) result.get());
+        assertEquals(7, visited.get());
+        assertTrue(List.traversable.find(i -> i > 100, numbers).isNothing());
+        assertEquals(3, (int) Maybe.traversable.find(i -> i > 2, Maybe.Just(3)).get());
+        assertTrue(Maybe.traversable.find(i -> i > 5, Maybe.Just(3)).isNothing());
+    }
+
+    @Test
+    public void testAnyAllElem() throws Exception {
+        List<Integer> numbers = List.of(2, 4, 6, 7);
+        assertTrue(List.traversable.any(i -> i % 2 == 1, numbers));
+        assertFalse(List.traversable.all(i -> i % 2 == 0, numbers));
+        assertTrue(List.traversable.all(i -> i > 0, numbers));
+        assertFalse(List.traversable.any(i -> i > 0, List.<Integer>of()));
+        assertTrue(List.traversable.all(i -> i < 0, List.<Integer>of()));
+        assertTrue(List.traversable.elem(6, numbers));
+        assertFalse(List.traversable.elem(5, numbers));
+        assertTrue(Dequeue.traversable.elem("b", Dequeue.of("a", "b")));
+    }
+
+    @Test
+    public void testLength() throws Exception {
+        assertEquals(4, List.traversable.length(List.of(2, 4, 6, 7)));
+        assertEquals(0, List.traversable.length(List.of()));
+        assertEquals(3, Dequeue.traversable.length(Dequeue.of(1, 2, 3)));
+        assertEquals(1, Maybe.traversable.length(Maybe.Just(1)));
+        assertEquals(0, Maybe.traversable.length(Maybe.Nothing()));
+        assertEquals(1, T1.foldable.length(T1.of("x")));
+        assertEquals(1, T2.<String>foldable().length(T2.of("x", 1)));
+        assertEquals(3, IdentityT.foldable(List.traversable).length(new IdentityT<>(List.of(1, 2, 3))));
+    }
+
+    @Test
+    public void testTupleFolds() throws Exception {
+        assertEquals("(a,x)", T1.foldable.foldl(wrapFn, "a", T1.of("x")));
+        assertEquals("(x,b)", T2.<Integer>foldable().foldr(wrapFn, "b", T2.of(1, "x")));
+        assertTrue(T2.<Integer>foldable().elem("x", T2.of(1, "x")));
+        assertEquals("x", T1.foldable.find(s -> s.startsWith("x"), T1.of("x")).get());
+    }
+
+    @Test
+    public void testIdentityTFolds() throws Exception {
+        IdentityT<List.µ, Integer> numbers = new IdentityT<>(List.of(1, 2, 3, 4));
+        Foldable<__<IdentityT.µ, List.µ>> foldable = IdentityT.foldable(List.traversable);
+        assertEquals(6, (int) foldable.foldWhile((Integer a, Integer b) -> a + b, 0, a -> a < 5, numbers));
+        assertEquals(3, (int) foldable.find(i -> i > 2, numbers).get());
+        assertTrue(foldable.all(i -> i > 0, numbers));
+    }
+
+    @Test(expected = RuntimeException.class)
+    public void testFoldMap1OnEmpty() throws Exception {
+        List.traversable.foldMap1(Integers.additiveGroup, Function.<Integer>identity(), List.<Integer>of());
+    }
+
+    @Test
+    public void testFoldMap1() throws Exception {
+        assertEquals(10, (int) List.traversable.foldMap1(Integers.additiveGroup, Function.<Integer>identity(), List.of(1, 2, 3, 4)));
+    }
 }
@@ -0,0 +1,109 @@
+package org.highj.typeclass1.foldable;
+
+import org.derive4j.hkt.__;
+import org.highj.data.HashMap;
+import org.highj.data.List;
+import org.highj.data.Seq;
+import org.highj.data.TreeMap;
+import org.highj.data.TreeSet;
+import org.highj.data.Vector;
+import org.highj.data.num.Integers;
+import org.highj.data.tuple.T2;
+import org.highj.typeclass0.group.Monoid;
+import org.junit.AfterClass;
+import org.junit.Test;
+
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.highj.Hkt.asHashMap;
+import static org.highj.Hkt.asList;
+import static org.highj.Hkt.asSeq;
+import static org.highj.Hkt.asTreeMap;
+import static org.highj.Hkt.asVector;
+
+public class ParallelFoldableTest {
+
+    private static final ForkJoinPool pool = new ForkJoinPool(4);
+
+    //not commutative, so the parts must be combined in order
+    private static final Monoid<String> concat = Monoid.create("", String::concat);
+
+    private static final int SIZE = 5000;
+
+    @AfterClass
+    public static void shutdown() {
+        pool.shutdown();
+    }
+
+    private static List<Integer> range() {
+        return List.range(0, 1, SIZE - 1);
+    }
+
+    @Test
+    public void testList() {
+        List<Integer> list = range();
+        String expected = List.traversable.foldMap(concat, i -> i + ",", list);
+        assertThat(List.parallelFunctor.parFoldMap(pool, 100, concat, i -> i + ",", list)).isEqualTo(expected);
+        assertThat(List.parallelFunctor.parFold(Integers.additiveGroup, list)).isEqualTo(SIZE * (SIZE - 1) / 2);
+        assertThat(asList(List.parallelFunctor.parMap(pool, 100, i -> -i, list))).containsExactlyElementsOf(list.map(i -> -i));
+    }
+
+    @Test
+    public void testVector() {
+        Vector<Integer> vector = Vector.fromList(range());
+        String expected = Vector.traversable.foldMap(concat, i -> i + ",", vector);
+        assertThat(Vector.parallelFunctor.parFoldMap(pool, 100, concat, i -> i + ",", vector)).isEqualTo(expected);
+        assertThat(asVector(Vector.parallelFunctor.parMap(pool, 100, i -> -i, vector))).isEqualTo(vector.map(i -> -i));
+    }
+
+    @Test
+    public void testSeq() {
+        Seq<Integer> seq = Seq.fromList(range());
+        String expected = Seq.traversable.foldMap(concat, i -> i + ",", seq);
+        assertThat(Seq.parallelFunctor.parFoldMap(pool, 100, concat, i -> i + ",", seq)).isEqualTo(expected);
+        assertThat(asSeq(Seq.parallelFunctor.parMap(pool, 100, i -> -i, seq))).isEqualTo(seq.map(i -> -i));
+    }
+
+    @Test
+    public void testTreeSet() {
+        TreeSet<Integer> set = TreeSet.fromIterable(range());
+        String expected = TreeSet.parallelFoldable.foldMap(concat, i -> i + ",", set);
+        assertThat(expected).startsWith("0,1,2,");
+        assertThat(TreeSet.parallelFoldable.parFoldMap(pool, 100, concat, i -> i + ",", set)).isEqualTo(expected);
+        assertThat(TreeSet.parallelFoldable.parFoldMap(pool, 1, Integers.additiveGroup, i -> 1, set)).isEqualTo(SIZE);
+    }
+
+    @Test
+    public void testTreeMap() {
+        TreeMap<Integer, String> map = TreeMap.of(range().map(i -> T2.of(i, "v" + i)));
+        ParallelFunctor<__<TreeMap.µ, Integer>> functor = TreeMap.parallelFunctor();
+        String expected = functor.foldMap(concat, s -> s, map);
+        assertThat(expected).startsWith("v0v1v2");
+        assertThat(functor.parFoldMap(pool, 100, concat, s -> s, map)).isEqualTo(expected);
+        assertThat(asTreeMap(functor.parMap(pool, 100, String::length, map))).containsExactlyElementsOf(map.mapValues(String::length));
+    }
+
+    @Test
+    public void testHashMap() {
+        HashMap<Integer, String> map = HashMap.fromIterable(range().map(i -> T2.of(i, "v" + i)));
+        ParallelFunctor<__<HashMap.µ, Integer>> functor = HashMap.parallelFunctor();
+        String expected = functor.foldMap(concat, s -> s, map);
+        assertThat(functor.parFoldMap(pool, 100, concat, s -> s, map)).isEqualTo(expected);
+        assertThat(functor.parFoldMap(pool, 1, Integers.additiveGroup, String::length, map))
+                .isEqualTo(functor.foldMap(Integers.additiveGroup, String::length, map));
+        HashMap<Integer, Integer> mapped = asHashMap(functor.parMap(pool, 100, String::length, map));
+        assertThat(mapped.size()).isEqualTo(SIZE);
+        for (int i = 0; i < SIZE; i++) {
+            assertThat(mapped.getOrDefault(i, -1)).isEqualTo(("v" + i).length());
+        }
+    }
+
+    @Test
+    public void testSmallStructures() {
+        assertThat(Vector.parallelFunctor.parFoldMap(pool, 0, concat, s -> s, Vector.<String>empty())).isEmpty();
+        assertThat(Vector.parallelFunctor.parFoldMap(pool, 0, concat, s -> s, Vector.of("a", "b"))).isEqualTo("ab");
+        ParallelFunctor<__<HashMap.µ, String>> functor = HashMap.parallelFunctor();
+        assertThat(functor.parFoldMap(pool, 0, concat, s -> s, HashMap.<String, String>empty().insert("k", "v"))).isEqualTo("v");
+    }
+}
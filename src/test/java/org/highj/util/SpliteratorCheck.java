@@ -0,0 +1,54 @@
+package org.highj.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Spliterator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks the splitting of sized {@link Spliterator}s.
+ */
+public final class SpliteratorCheck {
+
+    private SpliteratorCheck() {
+    }
+
+    /**
+     * Splits the spliterator recursively as far as possible, advancing parts with an odd size by one element
+     * before splitting them. Checks that the exact sizes of the parts add up, and collects the elements.
+     *
+     * @param spliterator the spliterator
+     * @param <A>         the element type
+     * @return the elements in encounter order
+     */
+    public static <A> List<A> splitAndCollect(Spliterator<A> spliterator) {
+        assertThat(spliterator.hasCharacteristics(Spliterator.SIZED | Spliterator.SUBSIZED)).isTrue();
+        assertThat(spliterator.hasCharacteristics(Spliterator.IMMUTABLE)).isTrue();
+        List<A> result = new ArrayList<>();
+        collect(spliterator, result);
+        return result;
+    }
+
+    private static <A> void collect(Spliterator<A> spliterator, List<A> result) {
+        long size = spliterator.getExactSizeIfKnown();
+        if (size % 2 == 1) {
+            assertThat(spliterator.tryAdvance(result::add)).isTrue();
+            size--;
+            assertThat(spliterator.getExactSizeIfKnown()).isEqualTo(size);
+        }
+        Spliterator<A> prefix = spliterator.trySplit();
+        if (prefix == null) {
+            int before = result.size();
+            spliterator.forEachRemaining(result::add);
+            assertThat((long) (result.size() - before)).isEqualTo(size);
+            assertThat(spliterator.tryAdvance(result::add)).isFalse();
+        } else {
+            assertThat(prefix.getExactSizeIfKnown()).isPositive();
+            assertThat(spliterator.getExactSizeIfKnown()).isPositive();
+            assertThat(prefix.getExactSizeIfKnown() + spliterator.getExactSizeIfKnown()).isEqualTo(size);
+            collect(prefix, result);
+            collect(spliterator, result);
+        }
+    }
+}